@@ -0,0 +1,107 @@
+package com.app.taskmanager.benchmark;
+
+import com.app.taskmanager.dto.filters.FilterCriteriaDto;
+import com.app.taskmanager.repository.model.Operation;
+import com.app.taskmanager.repository.model.Status;
+import com.app.taskmanager.repository.model.Task;
+import com.app.taskmanager.repository.model.User;
+import org.bson.types.ObjectId;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Fixtures shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    /**
+     * ID of the user the filter of {@link #taskFilter()} selects and the benchmarks assign tasks to.
+     */
+    static final String USER_ID = "6705f1a2b3c4d5e6f7a8b9c0";
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates tasks resembling production data.
+     *
+     * @param count the number of tasks
+     * @return the tasks
+     */
+    static List<Task> tasks(int count) {
+        var creationDate = LocalDateTime.of(2025, 10, 24, 12, 0);
+
+        return IntStream.range(0, count)
+                .mapToObj(i -> Task.builder()
+                        .id(new ObjectId().toHexString())
+                        .title("Task " + i)
+                        .description("Description of the task number " + i + " with a few more words in it.")
+                        .creationDate(creationDate.plusMinutes(i))
+                        .status(Status.values()[i % Status.values().length])
+                        .userId(i % 2 == 0 ? null : new ObjectId().toHexString())
+                        .version((long) i)
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Creates tasks assigned to {@link #USER_ID} that all match {@link #taskFilter()}.
+     *
+     * @param count the number of tasks
+     * @return the tasks
+     */
+    static List<Task> matchingTasks(int count) {
+        var tasks = tasks(count);
+        for (var task : tasks) {
+            task.setTitle("Task 1" + task.getTitle().substring("Task ".length()));
+            task.setStatus(Status.TO_DO);
+            task.setUserId(USER_ID);
+        }
+        return tasks;
+    }
+
+    /**
+     * Creates unassigned {@link Status#TO_DO} tasks that can be assigned to a user.
+     *
+     * @param count the number of tasks
+     * @return the tasks
+     */
+    static List<Task> openTasks(int count) {
+        var tasks = tasks(count);
+        for (var task : tasks) {
+            task.setStatus(Status.TO_DO);
+            task.setUserId(null);
+        }
+        return tasks;
+    }
+
+    /**
+     * Creates the user whose tasks are filtered and assigned.
+     *
+     * @return the user
+     */
+    static User user() {
+        return User.builder()
+                .id(USER_ID)
+                .name("Jony")
+                .surname("Deep")
+                .username("SkyForest")
+                .build();
+    }
+
+    /**
+     * Creates a filter using every kind of predicate the task filter schema supports.
+     *
+     * @return the filter criteria
+     */
+    static List<FilterCriteriaDto<?>> taskFilter() {
+        return List.of(
+                new FilterCriteriaDto<>("title", "^Task 1.*", Operation.REGEX),
+                new FilterCriteriaDto<>("status", "TO_DO", Operation.IS),
+                new FilterCriteriaDto<>("creationDate", "2025-10-01T00:00:00", Operation.GTE),
+                new FilterCriteriaDto<>("userId", USER_ID, Operation.IS)
+        );
+    }
+}
@@ -0,0 +1,40 @@
+package com.app.taskmanager.benchmark;
+
+import com.app.taskmanager.dto.filters.FilterCriteriaDto;
+import com.app.taskmanager.repository.impl.TaskRepositoryImpl;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of turning request filters into a MongoDB query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FilterCriteriaBenchmark {
+
+    private List<FilterCriteriaDto<?>> filter;
+
+    @Setup
+    public void setUp() {
+        filter = BenchmarkData.taskFilter();
+    }
+
+    @Benchmark
+    public Criteria buildCriteria() {
+        return TaskRepositoryImpl.FILTER_SCHEMA.toCriteria(filter);
+    }
+
+    @Benchmark
+    public Document buildQueryDocument() {
+        return new Query(TaskRepositoryImpl.FILTER_SCHEMA.toCriteria(filter)).getQueryObject();
+    }
+}
@@ -0,0 +1,502 @@
+package com.app.taskmanager.benchmark;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.result.UpdateResult;
+import com.mongodb.reactivestreams.client.ClientSession;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import org.bson.BsonRegularExpression;
+import org.bson.Document;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.types.ObjectId;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.FieldLookupPolicy;
+import org.springframework.data.mongodb.core.aggregation.TypeBasedAggregationOperationContext;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-process stand-in for MongoDB behind a real {@link ReactiveMongoTemplate}.
+ * <p>
+ * Collections are kept in memory as BSON {@link Document}s written by the real {@link MappingMongoConverter}.
+ * Queries, updates and aggregation pipelines are rendered by the same mappers the template uses and then
+ * evaluated against the stored documents: {@code $match} with the comparison, set, {@code $regex},
+ * {@code $exists} and logical operators, {@code $sort}, {@code $skip}, {@code $limit} and inclusive
+ * {@code $project} stages, and {@code $set}, {@code $unset} and {@code $inc} updates. Results are read back
+ * with the converter, so query building, document mapping and result conversion are all measured;
+ * only the network round trip and the storage engine are left out.
+ * <p>
+ * Operations the benchmarks do not use are not emulated; they reach the database factory,
+ * which signals an {@link UnsupportedOperationException}.
+ */
+final class InMemoryMongoTemplate extends ReactiveMongoTemplate {
+
+    private final Map<String, Map<Object, Document>> collections = new ConcurrentHashMap<>();
+
+    private final QueryMapper queryMapper;
+
+    private final UpdateMapper updateMapper;
+
+    private final TypeBasedAggregationOperationContext aggregationContext;
+
+    private InMemoryMongoTemplate(MappingMongoConverter converter) {
+        super(new NoDatabaseFactory(), converter);
+        this.queryMapper = new QueryMapper(converter);
+        this.updateMapper = new UpdateMapper(converter);
+        this.aggregationContext = new TypeBasedAggregationOperationContext(Object.class,
+                converter.getMappingContext(), queryMapper, FieldLookupPolicy.relaxed());
+    }
+
+    /**
+     * Creates an empty in-memory template with the default mapping of the application.
+     *
+     * @return the template
+     */
+    static InMemoryMongoTemplate create() {
+        var conversions = new MongoCustomConversions(List.of());
+        var mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        var converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return new InMemoryMongoTemplate(converter);
+    }
+
+    /**
+     * Replaces the content of the collection of the entity type with the given entities.
+     *
+     * @param entities   the entities to store
+     * @param entityType the type of the entities
+     */
+    void store(Collection<?> entities, Class<?> entityType) {
+        var documents = new LinkedHashMap<Object, Document>();
+        for (var entity : entities) {
+            var document = new Document();
+            getConverter().write(entity, document);
+            documents.put(document.get("_id"), document);
+        }
+        collections.put(getCollectionName(entityType), documents);
+    }
+
+    /**
+     * Takes a deep copy of every collection, to be restored with {@link #restore(Map)}.
+     *
+     * @return the copy
+     */
+    Map<String, Map<Object, Document>> snapshot() {
+        var snapshot = new LinkedHashMap<String, Map<Object, Document>>();
+        collections.forEach((name, documents) -> snapshot.put(name, copy(documents)));
+        return snapshot;
+    }
+
+    /**
+     * Restores the collections from a {@link #snapshot()}.
+     *
+     * @param snapshot the copy to restore
+     */
+    void restore(Map<String, Map<Object, Document>> snapshot) {
+        collections.clear();
+        snapshot.forEach((name, documents) -> collections.put(name, copy(documents)));
+    }
+
+    @Override
+    public <O> Flux<O> aggregate(Aggregation aggregation, String collectionName, Class<O> outputType) {
+        return Flux.defer(() -> {
+            var documents = new ArrayList<>(documents(collectionName).values());
+            for (var stage : aggregation.toPipeline(aggregationContext)) {
+                documents = apply(stage, documents);
+            }
+            return Flux.fromIterable(documents).map(document -> getConverter().read(outputType, document));
+        });
+    }
+
+    @Override
+    public Mono<Long> count(Query query, String collectionName) {
+        return count(query, null, collectionName);
+    }
+
+    @Override
+    public Mono<Long> count(Query query, Class<?> entityClass, String collectionName) {
+        return Mono.fromSupplier(() -> {
+            var filter = matcher(queryMapper.getMappedObject(query.getQueryObject(), entity(entityClass)));
+            return documents(collectionName).values().stream().filter(filter).count();
+        });
+    }
+
+    @Override
+    public Mono<UpdateResult> updateFirst(Query query, UpdateDefinition update, Class<?> entityClass) {
+        return update(query, update, entityClass, false);
+    }
+
+    @Override
+    public Mono<UpdateResult> updateMulti(Query query, UpdateDefinition update, Class<?> entityClass) {
+        return update(query, update, entityClass, true);
+    }
+
+    /**
+     * Applies an update to the first or to all documents matching the query.
+     *
+     * @param query       the query selecting the documents
+     * @param update      the update
+     * @param entityClass the type of the updated entities
+     * @param multi       whether all matching documents are updated
+     * @return a {@link Mono} emitting the {@link UpdateResult}
+     */
+    private Mono<UpdateResult> update(Query query, UpdateDefinition update, Class<?> entityClass, boolean multi) {
+        return Mono.fromSupplier(() -> {
+            var entity = entity(entityClass);
+            var filter = matcher(queryMapper.getMappedObject(query.getQueryObject(), entity));
+            var changes = updateMapper.getMappedObject(update.getUpdateObject(), entity);
+
+            long matched = 0;
+            long modified = 0;
+            for (var document : documents(getCollectionName(entityClass)).values()) {
+                if (!filter.test(document)) {
+                    continue;
+                }
+                matched++;
+                if (applyUpdate(changes, document)) {
+                    modified++;
+                }
+                if (!multi) {
+                    break;
+                }
+            }
+            return UpdateResult.acknowledged(matched, modified, null);
+        });
+    }
+
+    private Map<Object, Document> documents(String collectionName) {
+        return collections.computeIfAbsent(collectionName, name -> new LinkedHashMap<>());
+    }
+
+    private MongoPersistentEntity<?> entity(Class<?> entityClass) {
+        return entityClass == null ? null : getConverter().getMappingContext().getPersistentEntity(entityClass);
+    }
+
+    /**
+     * Applies one stage of an aggregation pipeline.
+     *
+     * @param stage     the rendered stage
+     * @param documents the input documents
+     * @return the output documents
+     */
+    private ArrayList<Document> apply(Document stage, ArrayList<Document> documents) {
+        var operator = stage.keySet().iterator().next();
+        var argument = stage.get(operator);
+
+        return switch (operator) {
+            case "$match" -> new ArrayList<>(documents.stream().filter(matcher((Document) argument)).toList());
+            case "$sort" -> {
+                documents.sort(comparator((Document) argument));
+                yield documents;
+            }
+            case "$skip" -> new ArrayList<>(documents.stream().skip(((Number) argument).longValue()).toList());
+            case "$limit" -> new ArrayList<>(documents.stream().limit(((Number) argument).longValue()).toList());
+            case "$project" -> new ArrayList<>(documents.stream().map(d -> project((Document) argument, d)).toList());
+            default -> throw new UnsupportedOperationException("Stage " + operator + " is not emulated.");
+        };
+    }
+
+    /**
+     * Creates a predicate evaluating a query document.
+     *
+     * @param query the mapped query
+     * @return the predicate
+     */
+    private static Predicate<Document> matcher(Document query) {
+        Predicate<Document> result = document -> true;
+        for (var entry : query.entrySet()) {
+            var key = entry.getKey();
+            var value = entry.getValue();
+
+            Predicate<Document> predicate = switch (key) {
+                case "$and" -> all(value, true);
+                case "$or" -> all(value, false);
+                case "$nor" -> all(value, false).negate();
+                default -> {
+                    if (key.startsWith("$")) {
+                        throw new UnsupportedOperationException("Operator " + key + " is not emulated.");
+                    }
+                    yield document -> matches(resolve(document, key), value);
+                }
+            };
+            result = result.and(predicate);
+        }
+        return result;
+    }
+
+    /**
+     * Combines the predicates of a list of query documents.
+     *
+     * @param clauses the query documents
+     * @param and     whether all clauses must match, or any of them
+     * @return the combined predicate
+     */
+    private static Predicate<Document> all(Object clauses, boolean and) {
+        var predicates = ((List<?>) clauses).stream().map(clause -> matcher((Document) clause)).toList();
+        return document -> and
+                ? predicates.stream().allMatch(p -> p.test(document))
+                : predicates.stream().anyMatch(p -> p.test(document));
+    }
+
+    /**
+     * Checks whether a field value satisfies a condition, which is either a value to be equal to
+     * or a document of operators.
+     *
+     * @param actual    the value of the field, or {@code null} if missing
+     * @param condition the condition
+     * @return {@code true} if the value satisfies the condition
+     */
+    private static boolean matches(Object actual, Object condition) {
+        if (condition instanceof Pattern || condition instanceof BsonRegularExpression) {
+            return regex(actual, condition, null);
+        }
+        if (!(condition instanceof Document operators) || operators.isEmpty()
+                || !operators.keySet().iterator().next().startsWith("$")) {
+            return Objects.equals(actual, condition);
+        }
+
+        for (var entry : operators.entrySet()) {
+            var operand = entry.getValue();
+            var matched = switch (entry.getKey()) {
+                case "$eq" -> Objects.equals(actual, operand);
+                case "$ne" -> !Objects.equals(actual, operand);
+                case "$in" -> ((Collection<?>) operand).contains(actual);
+                case "$nin" -> !((Collection<?>) operand).contains(actual);
+                case "$gt" -> comparable(actual, operand) && compare(actual, operand) > 0;
+                case "$gte" -> comparable(actual, operand) && compare(actual, operand) >= 0;
+                case "$lt" -> comparable(actual, operand) && compare(actual, operand) < 0;
+                case "$lte" -> comparable(actual, operand) && compare(actual, operand) <= 0;
+                case "$exists" -> (actual != null) == (Boolean) operand;
+                case "$regex" -> regex(actual, operand, operators.getString("$options"));
+                case "$options" -> true;
+                case "$not" -> !matches(actual, operand);
+                default -> throw new UnsupportedOperationException("Operator " + entry.getKey() + " is not emulated.");
+            };
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean regex(Object actual, Object regex, String options) {
+        if (!(actual instanceof String value)) {
+            return false;
+        }
+        var pattern = switch (regex) {
+            case Pattern p -> p;
+            case BsonRegularExpression r -> Pattern.compile(r.getPattern(), flags(r.getOptions()));
+            default -> Pattern.compile(regex.toString(), flags(options));
+        };
+        return pattern.matcher(value).find();
+    }
+
+    private static int flags(String options) {
+        return options != null && options.contains("i") ? Pattern.CASE_INSENSITIVE : 0;
+    }
+
+    /**
+     * Checks whether a range operator can match, which as in MongoDB requires values of the same kind.
+     */
+    private static boolean comparable(Object actual, Object operand) {
+        return actual != null && operand != null && (actual.getClass() == operand.getClass()
+                || actual instanceof Number && operand instanceof Number);
+    }
+
+    /**
+     * Compares two field values of the same kind; a missing value sorts before any other.
+     *
+     * @param left  the first value
+     * @param right the second value
+     * @return the comparison result
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Object left, Object right) {
+        if (left == null || right == null) {
+            return left == right ? 0 : left == null ? -1 : 1;
+        }
+        if (left instanceof Number l && right instanceof Number r) {
+            return Double.compare(l.doubleValue(), r.doubleValue());
+        }
+        if (left instanceof Comparable l && left.getClass() == right.getClass()) {
+            return l.compareTo(right);
+        }
+        return Integer.compare(typeOrder(left), typeOrder(right));
+    }
+
+    /**
+     * Orders values of different types roughly as MongoDB compares BSON types.
+     */
+    private static int typeOrder(Object value) {
+        return switch (value) {
+            case Number n -> 1;
+            case String s -> 2;
+            case Document d -> 3;
+            case List<?> l -> 4;
+            case ObjectId id -> 5;
+            case Boolean b -> 6;
+            case Date d -> 7;
+            default -> 8;
+        };
+    }
+
+    private static Comparator<Document> comparator(Document sort) {
+        Comparator<Document> comparator = (a, b) -> 0;
+        for (var entry : sort.entrySet()) {
+            var path = entry.getKey();
+            Comparator<Document> key = (a, b) -> compare(resolve(a, path), resolve(b, path));
+            comparator = comparator.thenComparing(((Number) entry.getValue()).intValue() < 0 ? key.reversed() : key);
+        }
+        return comparator;
+    }
+
+    private static Document project(Document projection, Document document) {
+        var projected = new Document();
+        for (var entry : projection.entrySet()) {
+            var value = resolve(document, entry.getKey());
+            if (value != null && !Objects.equals(entry.getValue(), 0) && !Boolean.FALSE.equals(entry.getValue())) {
+                projected.put(entry.getKey(), value);
+            }
+        }
+        if (!projection.containsKey("_id") || !Objects.equals(projection.get("_id"), 0)) {
+            projected.put("_id", document.get("_id"));
+        }
+        return projected;
+    }
+
+    /**
+     * Applies the {@code $set}, {@code $unset} and {@code $inc} operators of an update to a document.
+     *
+     * @param update   the mapped update
+     * @param document the document to modify in place
+     * @return {@code true} if the document was modified
+     */
+    private static boolean applyUpdate(Document update, Document document) {
+        var before = copy(document);
+        for (var entry : update.entrySet()) {
+            var fields = (Document) entry.getValue();
+            switch (entry.getKey()) {
+                case "$set" -> fields.forEach((path, value) -> parent(document, path).put(leaf(path), value));
+                case "$unset" -> fields.keySet().forEach(path -> parent(document, path).remove(leaf(path)));
+                case "$inc" -> fields.forEach((path, delta) -> {
+                    var parent = parent(document, path);
+                    var current = (Number) parent.get(leaf(path));
+                    var increment = (Number) delta;
+                    parent.put(leaf(path), current instanceof Integer && increment instanceof Integer
+                            ? current.intValue() + increment.intValue()
+                            : (current == null ? 0L : current.longValue()) + increment.longValue());
+                });
+                default -> throw new UnsupportedOperationException("Update " + entry.getKey() + " is not emulated.");
+            }
+        }
+        return !before.equals(document);
+    }
+
+    private static Object resolve(Document document, String path) {
+        Object value = document;
+        for (var part : path.split("\\.")) {
+            if (!(value instanceof Document current)) {
+                return null;
+            }
+            value = current.get(part);
+        }
+        return value;
+    }
+
+    private static Document parent(Document document, String path) {
+        var parts = path.split("\\.");
+        var current = document;
+        for (int i = 0; i < parts.length - 1; i++) {
+            var child = current.get(parts[i]) instanceof Document d ? d : null;
+            if (child == null) {
+                child = new Document();
+                current.put(parts[i], child);
+            }
+            current = child;
+        }
+        return current;
+    }
+
+    private static String leaf(String path) {
+        return path.substring(path.lastIndexOf('.') + 1);
+    }
+
+    private static Map<Object, Document> copy(Map<Object, Document> documents) {
+        var copy = new LinkedHashMap<Object, Document>();
+        documents.forEach((id, document) -> copy.put(id, copy(document)));
+        return copy;
+    }
+
+    private static Document copy(Document document) {
+        var copy = new Document();
+        document.forEach((key, value) -> copy.put(key, value instanceof Document d ? copy(d) : value));
+        return copy;
+    }
+
+    /**
+     * Database factory of a template that never reaches a database.
+     */
+    private static final class NoDatabaseFactory implements ReactiveMongoDatabaseFactory {
+
+        private final MongoExceptionTranslator exceptionTranslator = new MongoExceptionTranslator();
+
+        @Override
+        public Mono<MongoDatabase> getMongoDatabase() {
+            return Mono.error(new UnsupportedOperationException("The in-memory template has no database."));
+        }
+
+        @Override
+        public Mono<MongoDatabase> getMongoDatabase(String dbName) {
+            return getMongoDatabase();
+        }
+
+        @Override
+        public PersistenceExceptionTranslator getExceptionTranslator() {
+            return exceptionTranslator;
+        }
+
+        @Override
+        public CodecRegistry getCodecRegistry() {
+            return MongoClientSettings.getDefaultCodecRegistry();
+        }
+
+        @Override
+        public Mono<ClientSession> getSession(ClientSessionOptions options) {
+            return Mono.error(new UnsupportedOperationException("The in-memory template has no sessions."));
+        }
+
+        @Override
+        public ReactiveMongoDatabaseFactory withSession(ClientSession session) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.app.taskmanager.benchmark;
+
+import com.app.taskmanager.repository.JobLockRepository;
+import com.app.taskmanager.repository.TaskChangeStream;
+import com.app.taskmanager.repository.TaskRepository;
+import com.app.taskmanager.repository.UserRepository;
+import com.app.taskmanager.repository.impl.CustomTaskRepositoryImpl;
+import com.app.taskmanager.repository.impl.CustomUserRepositoryImpl;
+import com.app.taskmanager.repository.impl.TaskRepositoryImpl;
+import com.app.taskmanager.repository.impl.UserRepositoryImpl;
+import com.app.taskmanager.repository.routing.ReadRouting;
+import com.app.taskmanager.service.TaskStatsService;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.repository.support.ReactiveMongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.transaction.reactive.TransactionCallback;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Repositories backed by the {@link InMemoryMongoTemplate}, together with stand-ins for the collaborators
+ * of the services that the benchmarks do not measure.
+ * <p>
+ * The repositories are composed by Spring Data from the real fragment implementations, the same way as in
+ * the application, so derived queries, query building and result mapping all run against the in-memory
+ * collections.
+ */
+final class InMemoryTaskRepository {
+
+    private InMemoryTaskRepository() {
+    }
+
+    /**
+     * Creates a task repository storing its tasks in the template.
+     *
+     * @param template the in-memory template
+     * @return the repository
+     */
+    static TaskRepository create(InMemoryMongoTemplate template) {
+        return new ReactiveMongoRepositoryFactory(template).getRepository(TaskRepository.class,
+                RepositoryFragments.just(
+                        new TaskRepositoryImpl(template, ReadRouting.primaryOnly()),
+                        new CustomTaskRepositoryImpl(template)));
+    }
+
+    /**
+     * Creates a user repository storing its users, including their task counters, in the template.
+     *
+     * @param template the in-memory template
+     * @return the repository
+     */
+    static UserRepository users(InMemoryMongoTemplate template) {
+        return new ReactiveMongoRepositoryFactory(template).getRepository(UserRepository.class,
+                RepositoryFragments.just(
+                        new UserRepositoryImpl(template, ReadRouting.primaryOnly()),
+                        new CustomUserRepositoryImpl(template)));
+    }
+
+    /**
+     * Creates a task statistics service that accepts changes without storing them.
+     *
+     * @return the service
+     */
+    static TaskStatsService taskStats() {
+        var service = Mockito.mock(TaskStatsService.class, Mockito.withSettings().stubOnly());
+
+        Mockito.when(service.record(any()))
+                .thenReturn(Mono.empty());
+        return service;
+    }
+
+    /**
+     * Creates a task change stream without changes; the benchmarks do not subscribe to it.
+     *
+     * @return the change stream
+     */
+    static TaskChangeStream noChanges() {
+        var changeStream = Mockito.mock(TaskChangeStream.class, Mockito.withSettings().stubOnly());
+
+        Mockito.when(changeStream.changes())
+                .thenReturn(Flux.empty());
+        return changeStream;
+    }
+
+    /**
+     * Creates a job lock repository that never grants a lock; the benchmarks do not run background jobs.
+     *
+     * @return the repository
+     */
+    static JobLockRepository noLocks() {
+        var repository = Mockito.mock(JobLockRepository.class, Mockito.withSettings().stubOnly());
+
+        Mockito.when(repository.tryLock(anyString(), anyString(), any()))
+                .thenReturn(Mono.just(false));
+        return repository;
+    }
+
+    /**
+     * Creates a transactional operator that runs the work without a transaction.
+     *
+     * @return the operator
+     */
+    static TransactionalOperator noTransactions() {
+        return new TransactionalOperator() {
+            @Override
+            public <T> Flux<T> execute(TransactionCallback<T> action) {
+                return Flux.defer(() -> Flux.from(action.doInTransaction(null)));
+            }
+        };
+    }
+}
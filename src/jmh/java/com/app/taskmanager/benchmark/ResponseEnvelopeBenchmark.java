@@ -0,0 +1,100 @@
+package com.app.taskmanager.benchmark;
+
+import com.app.taskmanager.dto.response.ResponseDto;
+import com.app.taskmanager.dto.response.TaskResponseDto;
+import com.app.taskmanager.web.ResponseEnvelopeResultHandler;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.ReactiveAdapterRegistry;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.HandlerResult;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolverBuilder;
+import org.springframework.web.reactive.result.method.annotation.ResponseBodyResultHandler;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing a controller response in the {@code ResponseDto} envelope.
+ * <p>
+ * Compares the {@link ResponseEnvelopeResultHandler}, which writes the envelope around the serialized body,
+ * with allocating a {@link ResponseDto} per response and writing it with the default {@link ResponseBodyResultHandler}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ResponseEnvelopeBenchmark {
+
+    private BenchmarkController controller;
+
+    private ResponseEnvelopeResultHandler envelopeHandler;
+
+    private ResponseBodyResultHandler bodyHandler;
+
+    private HandlerMethod findTask;
+
+    private HandlerMethod findWrappedTask;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        var objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        var codecs = ServerCodecConfigurer.create();
+        var resolver = new RequestedContentTypeResolverBuilder().build();
+        var registry = ReactiveAdapterRegistry.getSharedInstance();
+
+        controller = new BenchmarkController(BenchmarkData.tasks(1).get(0).toResponseTaskDto());
+        envelopeHandler = new ResponseEnvelopeResultHandler(codecs, resolver, registry, objectMapper);
+        bodyHandler = new ResponseBodyResultHandler(codecs.getWriters(), resolver, registry);
+        findTask = new HandlerMethod(controller, BenchmarkController.class.getMethod("findTask"));
+        findWrappedTask = new HandlerMethod(controller, BenchmarkController.class.getMethod("findWrappedTask"));
+    }
+
+    @Benchmark
+    public Object envelopeHandler() {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks/taskID"));
+        var result = new HandlerResult(findTask, controller.findTask(), findTask.getReturnType());
+
+        envelopeHandler.handleResult(exchange, result).block();
+        return exchange.getResponse();
+    }
+
+    @Benchmark
+    public Object responseDto() {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks/taskID"));
+        var result = new HandlerResult(findWrappedTask, controller.findWrappedTask(), findWrappedTask.getReturnType());
+
+        bodyHandler.handleResult(exchange, result).block();
+        return exchange.getResponse();
+    }
+
+    /**
+     * Controller returning a fixed task.
+     */
+    @RestController
+    public static class BenchmarkController {
+
+        private final TaskResponseDto task;
+
+        public BenchmarkController(TaskResponseDto task) {
+            this.task = task;
+        }
+
+        public Mono<TaskResponseDto> findTask() {
+            return Mono.just(task);
+        }
+
+        public Mono<ResponseDto<TaskResponseDto>> findWrappedTask() {
+            return Mono.just(task).map(ResponseDto::new);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.app.taskmanager.benchmark;
+
+import com.app.taskmanager.dto.response.PageResponseDto;
+import com.app.taskmanager.dto.response.ResponseDto;
+import com.app.taskmanager.dto.response.TaskResponseDto;
+import com.app.taskmanager.repository.model.Task;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JSON serialization of a page of tasks as it is written to the response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+
+    private ResponseDto<PageResponseDto<TaskResponseDto>> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        var tasks = BenchmarkData.tasks(size).stream().map(Task::toResponseTaskDto).toList();
+        response = new ResponseDto<>(new PageResponseDto<>(tasks, 1000, 0, size));
+    }
+
+    @Benchmark
+    public byte[] writePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,35 @@
+package com.app.taskmanager.benchmark;
+
+import com.app.taskmanager.dto.response.TaskResponseDto;
+import com.app.taskmanager.repository.model.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the mapping of task entities to response DTOs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TaskMappingBenchmark {
+
+    @Param({"1", "100"})
+    private int size;
+
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        tasks = BenchmarkData.tasks(size);
+    }
+
+    @Benchmark
+    public List<TaskResponseDto> toResponseTaskDto() {
+        return tasks.stream().map(Task::toResponseTaskDto).toList();
+    }
+}
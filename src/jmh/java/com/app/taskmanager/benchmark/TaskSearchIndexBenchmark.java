@@ -0,0 +1,42 @@
+package com.app.taskmanager.benchmark;
+
+import com.app.taskmanager.search.TaskSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures searching the in-memory task search index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TaskSearchIndexBenchmark {
+
+    @Param({"10000", "100000"})
+    private int size;
+
+    private TaskSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new TaskSearchIndex();
+        for (var task : BenchmarkData.tasks(size)) {
+            index.put(task.getId(), task.getVersion(), task.getTitle(), task.getDescription());
+        }
+    }
+
+    @Benchmark
+    public List<String> searchWords() {
+        return index.search("task number 42", 20);
+    }
+
+    @Benchmark
+    public List<String> searchPrefix() {
+        return index.search("description wor", 20);
+    }
+}
@@ -0,0 +1,113 @@
+package com.app.taskmanager.benchmark;
+
+import com.app.taskmanager.cache.ReactiveEntityCache;
+import com.app.taskmanager.configuration.TaskLeaseProperties;
+import com.app.taskmanager.dto.filters.CountMode;
+import com.app.taskmanager.dto.filters.FilterDto;
+import com.app.taskmanager.dto.response.IdResponseDto;
+import com.app.taskmanager.dto.response.PageResponseDto;
+import com.app.taskmanager.dto.response.TaskResponseDto;
+import com.app.taskmanager.metrics.ServiceMetrics;
+import com.app.taskmanager.repository.model.Task;
+import com.app.taskmanager.repository.model.User;
+import com.app.taskmanager.service.TaskService;
+import com.app.taskmanager.service.impl.TaskSearchServiceImpl;
+import com.app.taskmanager.service.impl.TaskServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the service hot paths end to end against repositories backed by the {@link InMemoryMongoTemplate}.
+ * <p>
+ * Everything except the database round trip is included: filter planning, pipeline building and mapping,
+ * evaluating the queries over the stored documents, the concurrent page and count queries, document
+ * conversion, result mapping, metrics and the reactive plumbing. Task statistics, the change stream and
+ * locks are not part of these paths and are stubbed.
+ * <p>
+ * The collection holds {@code size} tasks matching the filter, {@code size} open tasks that are assigned,
+ * and ten times as many other tasks the queries have to skip.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TaskServiceBenchmark {
+
+    @Param({"10", "100"})
+    private int size;
+
+    private TaskService taskService;
+
+    private FilterDto filter;
+
+    private List<String> taskIds;
+
+    private InMemoryMongoTemplate template;
+
+    private Map<String, Map<Object, Document>> initialState;
+
+    @Setup
+    public void setUp() {
+        var openTasks = BenchmarkData.openTasks(size);
+        var tasks = new ArrayList<Task>();
+        tasks.addAll(BenchmarkData.tasks(size * 10));
+        tasks.addAll(BenchmarkData.matchingTasks(size));
+        tasks.addAll(openTasks);
+
+        template = InMemoryMongoTemplate.create();
+        template.store(tasks, Task.class);
+        template.store(List.of(BenchmarkData.user()), User.class);
+        initialState = template.snapshot();
+
+        var taskRepository = InMemoryTaskRepository.create(template);
+        var serviceMetrics = new ServiceMetrics(new SimpleMeterRegistry());
+
+        taskService = new TaskServiceImpl(
+                taskRepository,
+                InMemoryTaskRepository.users(template),
+                InMemoryTaskRepository.noLocks(),
+                InMemoryTaskRepository.taskStats(),
+                InMemoryTaskRepository.noChanges(),
+                new TaskSearchServiceImpl(taskRepository, InMemoryTaskRepository.noChanges(), serviceMetrics),
+                new ReactiveEntityCache<>("tasks", Duration.ofSeconds(30), 10_000),
+                serviceMetrics,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TaskLeaseProperties(Duration.ofMinutes(5), Duration.ofSeconds(30), 500),
+                InMemoryTaskRepository.noTransactions());
+        filter = new FilterDto(BenchmarkData.taskFilter());
+        taskIds = openTasks.stream().map(Task::getId).toList();
+    }
+
+    @Benchmark
+    public PageResponseDto<TaskResponseDto> findAllTasks() {
+        return taskService.findAllTasks(0, size, CountMode.EXACT, filter).block();
+    }
+
+    @Benchmark
+    public List<IdResponseDto> assignUserTasks(Reset reset) {
+        return taskService.assignUserTasks(BenchmarkData.USER_ID, taskIds).block();
+    }
+
+    /**
+     * Restores the stored documents before every assignment, so it finds its tasks open again.
+     * Restoring is not measured, and an assignment takes long enough for per-invocation setup.
+     */
+    @State(Scope.Benchmark)
+    public static class Reset {
+
+        @Setup(Level.Invocation)
+        public void restore(TaskServiceBenchmark benchmark) {
+            benchmark.template.restore(benchmark.initialState);
+        }
+    }
+}
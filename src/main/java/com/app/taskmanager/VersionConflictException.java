@@ -0,0 +1,19 @@
+package com.app.taskmanager;
+
+/**
+ * Exception thrown when an entity cannot be modified because it was changed concurrently.
+ * <p>
+ * Signals that the state or version expected by the caller no longer matches the stored entity,
+ * so the modification was rejected instead of silently overwriting another update.
+ */
+public class VersionConflictException extends Exception {
+
+    /**
+     * Constructs a new {@code VersionConflictException} with the specified detail message.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,59 @@
+package com.app.taskmanager.cache;
+
+import com.app.taskmanager.dto.response.TaskResponseDto;
+import com.app.taskmanager.dto.response.UserResponseDto;
+import com.app.taskmanager.repository.TaskChangeStream;
+import com.app.taskmanager.repository.model.TaskChange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalidates the task and user caches of this node on the writes of every node.
+ * <p>
+ * The caches are local to each node, and a write only invalidates the entries of the node that made it.
+ * Following the {@link TaskChangeStream}, every node drops a changed task as soon as the change is read,
+ * instead of serving it until it expires. A user whose task was unassigned is dropped as well, since
+ * deleting a user unassigns all of its tasks; a deleted user without tasks is only dropped when it expires.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidator {
+
+    private final TaskChangeStream taskChangeStream;
+
+    private final ReactiveEntityCache<String, TaskResponseDto> taskCache;
+
+    private final ReactiveEntityCache<String, UserResponseDto> userCache;
+
+    /**
+     * Starts following the task changes once the application is ready.
+     * <p>
+     * The changes are subscribed to asynchronously, so application startup is not blocked.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void followChangesOnStartup() {
+        taskChangeStream.changes().subscribe(
+                this::apply,
+                e -> log.error("Caches stopped following task changes: ", e)
+        );
+    }
+
+    /**
+     * Drops the cached entries made stale by a change of the tasks, made by any node.
+     *
+     * @param change the change read from the change stream
+     */
+    void apply(TaskChange change) {
+        taskCache.invalidate(change.taskId());
+
+        var before = change.taskBefore();
+        if (before != null && before.getUserId() != null
+                && (change.task() == null || !before.getUserId().equals(change.task().getUserId()))) {
+            userCache.invalidate(before.getUserId());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.app.taskmanager.cache;
+
+import com.app.taskmanager.dto.response.CacheStatsResponseDto;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Reactive read-through cache of entities keyed by their ID.
+ * <p>
+ * Backed by a size-bounded Caffeine {@link AsyncCache} whose entries expire a fixed time after being written.
+ * Concurrent lookups of the same key share a single load, and lookups that find nothing are not cached,
+ * so an entity created after a miss is visible immediately. Writers must invalidate the entries they modify;
+ * the expiry bounds how long a concurrent load that raced with a write can serve stale data.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the cached value
+ */
+public class ReactiveEntityCache<K, V> {
+
+    private final String name;
+
+    private final AsyncCache<K, V> cache;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param name        the name of the cache, used in statistics
+     * @param ttl         how long an entry stays in the cache after being written
+     * @param maximumSize the maximum number of entries
+     */
+    public ReactiveEntityCache(String name, Duration ttl, long maximumSize) {
+        this.name = name;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Returns the cached value for the key, loading it when it is not cached.
+     *
+     * @param key    the key
+     * @param loader the function loading the value; an empty result is not cached
+     * @return a {@link Mono} emitting the value, or empty if the loader found nothing
+     */
+    public Mono<V> get(K key, Function<K, Mono<V>> loader) {
+        return Mono.defer(() -> Mono.fromFuture(
+                cache.get(key, (k, executor) -> loader.apply(k).toFuture()), true));
+    }
+
+    /**
+     * Returns the cached value for the key without loading it.
+     *
+     * @param key the key
+     * @return a {@link Mono} emitting the value, or empty if it is not cached
+     */
+    public Mono<V> getIfPresent(K key) {
+        return Mono.defer(() -> {
+            var future = cache.getIfPresent(key);
+            return future == null ? Mono.empty() : Mono.fromFuture(future, true);
+        });
+    }
+
+    /**
+     * Removes the entry for the key.
+     *
+     * @param key the key
+     */
+    public void invalidate(K key) {
+        cache.synchronous().invalidate(key);
+    }
+
+    /**
+     * Removes the entries for all given keys.
+     *
+     * @param keys the keys
+     */
+    public void invalidateAll(Collection<K> keys) {
+        cache.synchronous().invalidateAll(keys);
+    }
+
+    /**
+     * Removes every loaded entry whose value matches the predicate.
+     *
+     * @param predicate the predicate selecting the values to remove
+     */
+    public void invalidateIf(Predicate<V> predicate) {
+        cache.synchronous().asMap().values().removeIf(predicate);
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the cache.
+     *
+     * @return the {@link CacheStatsResponseDto}
+     */
+    public CacheStatsResponseDto stats() {
+        var stats = cache.synchronous().stats();
+
+        return new CacheStatsResponseDto(
+                name,
+                cache.synchronous().estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                stats.loadFailureCount());
+    }
+}
@@ -0,0 +1,45 @@
+package com.app.taskmanager.configuration;
+
+import com.app.taskmanager.cache.ReactiveEntityCache;
+import com.app.taskmanager.dto.response.TaskResponseDto;
+import com.app.taskmanager.dto.response.UserResponseDto;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the read-through caches of tasks and users.
+ * <p>
+ * Tasks change often, so they are kept only briefly; users are never updated in place
+ * and can be cached for longer.
+ */
+@Configuration
+public class CacheConfiguration {
+
+    private static final Duration TASK_CACHE_TTL = Duration.ofSeconds(30);
+
+    private static final Duration USER_CACHE_TTL = Duration.ofMinutes(5);
+
+    private static final long CACHE_SIZE = 10_000;
+
+    /**
+     * Creates the cache of tasks keyed by their ID.
+     *
+     * @return the task cache
+     */
+    @Bean
+    public ReactiveEntityCache<String, TaskResponseDto> taskCache() {
+        return new ReactiveEntityCache<>("tasks", TASK_CACHE_TTL, CACHE_SIZE);
+    }
+
+    /**
+     * Creates the cache of users keyed by their ID.
+     *
+     * @return the user cache
+     */
+    @Bean
+    public ReactiveEntityCache<String, UserResponseDto> userCache() {
+        return new ReactiveEntityCache<>("users", USER_CACHE_TTL, CACHE_SIZE);
+    }
+}
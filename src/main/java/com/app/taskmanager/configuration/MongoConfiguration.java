@@ -0,0 +1,178 @@
+package com.app.taskmanager.configuration;
+
+import com.app.taskmanager.repository.routing.ReadRouting;
+import com.mongodb.MongoCompressor;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.ReactiveMongoTransactionManager;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.WriteConcernResolver;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration of the MongoDB driver and template.
+ * <p>
+ * Applies the {@link MongoDriverProperties} to the client created by Spring Boot, resolves the write concern
+ * of every write from its operation class, records how long operations wait for a pooled connection,
+ * and provides the transaction manager behind the {@code TransactionalOperator} of the services.
+ */
+@Configuration
+@EnableConfigurationProperties(MongoDriverProperties.class)
+public class MongoConfiguration {
+
+    /**
+     * Name of the timer recording the time spent waiting for a pooled connection.
+     */
+    public static final String POOL_WAIT_METRIC = "mongodb.driver.pool.wait";
+
+    /**
+     * Applies the driver tuning to the client settings.
+     * <p>
+     * The default read preference and write concern are only applied when configured, so otherwise
+     * the ones of the connection string are kept.
+     *
+     * @param properties    the driver tuning
+     * @param meterRegistry the registry of the pool wait timer
+     * @return the customizer of the client settings
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoDriverCustomizer(MongoDriverProperties properties,
+                                                                      MeterRegistry meterRegistry) {
+        var pool = properties.pool();
+
+        return builder -> {
+            builder
+                    .applyToConnectionPoolSettings(settings -> settings
+                            .minSize(pool.minSize())
+                            .maxSize(pool.maxSize())
+                            .maxConnecting(pool.maxConnecting())
+                            .maxWaitTime(pool.maxWaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                            .maxConnectionIdleTime(pool.maxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                            .addConnectionPoolListener(poolWaitListener(meterRegistry)))
+                    .applyToSocketSettings(settings -> settings
+                            .connectTimeout(properties.connectTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                            .readTimeout(properties.socketTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                    .applyToClusterSettings(settings -> settings
+                            .serverSelectionTimeout(properties.serverSelectionTimeout().toMillis(),
+                                    TimeUnit.MILLISECONDS))
+                    .compressorList(properties.compressors().stream()
+                            .map(MongoConfiguration::toMongoCompressor)
+                            .toList());
+
+            properties.toReadPreference().ifPresent(builder::readPreference);
+            properties.writeConcern().toDefault().ifPresent(builder::writeConcern);
+        };
+    }
+
+    /**
+     * Resolves the write concern of a write from its operation class.
+     *
+     * @param properties the driver tuning
+     * @return the {@link WriteConcernResolver}
+     */
+    @Bean
+    public WriteConcernResolver writeConcernResolver(MongoDriverProperties properties) {
+        return action -> properties.writeConcern()
+                .forOperation(action.getMongoActionOperation())
+                .orElse(action.getDefaultWriteConcern());
+    }
+
+    /**
+     * Routes the configured list queries to secondaries.
+     *
+     * @param properties the driver tuning
+     * @return the {@link ReadRouting} used by the repositories
+     * @throws IllegalArgumentException if a configured method cannot be routed
+     */
+    @Bean
+    public ReadRouting readRouting(MongoDriverProperties properties) {
+        var routing = properties.readRouting();
+        return new ReadRouting(routing.toReadPreference(), routing.secondaryMethods());
+    }
+
+    /**
+     * Creates the template used by the repositories, applying the {@link WriteConcernResolver}.
+     *
+     * @param databaseFactory      the factory of the reactive database
+     * @param converter            the converter of the mapped entities
+     * @param writeConcernResolver the resolver of the write concerns
+     * @return the {@link ReactiveMongoTemplate}
+     */
+    @Bean
+    public ReactiveMongoTemplate reactiveMongoTemplate(ReactiveMongoDatabaseFactory databaseFactory,
+                                                       MongoConverter converter,
+                                                       WriteConcernResolver writeConcernResolver) {
+        var template = new ReactiveMongoTemplate(databaseFactory, converter);
+        template.setWriteConcernResolver(writeConcernResolver);
+        return template;
+    }
+
+    /**
+     * Creates the transaction manager for multi-document writes.
+     * <p>
+     * Spring Boot creates a {@code TransactionalOperator} for it. Transactions require a replica set.
+     *
+     * @param databaseFactory the factory of the reactive database
+     * @return the {@link ReactiveMongoTransactionManager}
+     */
+    @Bean
+    public ReactiveMongoTransactionManager transactionManager(ReactiveMongoDatabaseFactory databaseFactory) {
+        return new ReactiveMongoTransactionManager(databaseFactory);
+    }
+
+    /**
+     * Creates a listener recording how long each connection check-out waited, tagged by its outcome.
+     * <p>
+     * Check-outs happen on every operation, so the timers are registered once and not looked up per event.
+     *
+     * @param meterRegistry the registry of the timer
+     * @return the {@link ConnectionPoolListener}
+     */
+    private static ConnectionPoolListener poolWaitListener(MeterRegistry meterRegistry) {
+        var success = poolWaitTimer(meterRegistry, "success");
+        var failures = new ConcurrentHashMap<ConnectionCheckOutFailedEvent.Reason, Timer>();
+
+        return new ConnectionPoolListener() {
+
+            @Override
+            public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+                success.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+                failures
+                        .computeIfAbsent(event.getReason(), reason ->
+                                poolWaitTimer(meterRegistry, reason.name().toLowerCase(Locale.ROOT)))
+                        .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    private static Timer poolWaitTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(POOL_WAIT_METRIC)
+                .description("Time spent waiting for a pooled connection")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static MongoCompressor toMongoCompressor(MongoDriverProperties.Compressor compressor) {
+        return switch (compressor) {
+            case ZSTD -> MongoCompressor.createZstdCompressor();
+            case SNAPPY -> MongoCompressor.createSnappyCompressor();
+            case ZLIB -> MongoCompressor.createZlibCompressor();
+        };
+    }
+}
@@ -0,0 +1,236 @@
+package com.app.taskmanager.configuration;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.data.mongodb.core.MongoActionOperation;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tuning of the MongoDB driver, bound from the {@code app.mongo} properties.
+ * <p>
+ * All values are validated when the application starts, so a misconfiguration fails fast
+ * instead of surfacing as timeouts under load.
+ *
+ * @param pool                   the connection pool settings
+ * @param connectTimeout         how long opening a connection may take
+ * @param socketTimeout          how long a read from a connection may take; zero means no timeout
+ * @param serverSelectionTimeout how long to wait for a suitable server before failing an operation
+ * @param compressors            the wire compressors to negotiate with the server, in order of preference
+ * @param readPreference         the default read preference, e.g. {@code primary} or {@code secondaryPreferred};
+ *                               when not set, the one of the connection string applies
+ * @param writeConcern           the write concerns
+ * @param readRouting            the routing of list queries to secondaries
+ */
+@ConfigurationProperties("app.mongo")
+public record MongoDriverProperties(
+        @DefaultValue Pool pool,
+        @DefaultValue("10s") Duration connectTimeout,
+        @DefaultValue("0s") Duration socketTimeout,
+        @DefaultValue("30s") Duration serverSelectionTimeout,
+        @DefaultValue List<Compressor> compressors,
+        String readPreference,
+        @DefaultValue WriteConcerns writeConcern,
+        @DefaultValue ReadRouting readRouting
+) {
+
+    public MongoDriverProperties {
+        requireNonNegative("app.mongo.connect-timeout", connectTimeout);
+        requireNonNegative("app.mongo.socket-timeout", socketTimeout);
+        requireNonNegative("app.mongo.server-selection-timeout", serverSelectionTimeout);
+
+        for (var compressor : compressors) {
+            if (!compressor.isAvailable()) {
+                throw new IllegalArgumentException(
+                        "Compressor %s is configured but its library is not on the classpath.".formatted(compressor));
+            }
+        }
+
+        try {
+            if (readPreference != null) {
+                ReadPreference.valueOf(readPreference);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown read preference: " + readPreference);
+        }
+    }
+
+    /**
+     * Returns the default read preference.
+     *
+     * @return the configured {@link ReadPreference}, or empty if the connection string decides
+     */
+    public Optional<ReadPreference> toReadPreference() {
+        return Optional.ofNullable(readPreference).map(ReadPreference::valueOf);
+    }
+
+    /**
+     * Connection pool settings.
+     *
+     * @param minSize               the number of connections kept open even when idle
+     * @param maxSize               the maximum number of connections per server
+     * @param maxConnecting         the maximum number of connections being opened at the same time
+     * @param maxWaitTime           how long an operation may wait for a free connection before failing
+     * @param maxConnectionIdleTime how long a connection may stay idle before it is closed
+     */
+    public record Pool(
+            @DefaultValue("0") int minSize,
+            @DefaultValue("100") int maxSize,
+            @DefaultValue("2") int maxConnecting,
+            @DefaultValue("2m") Duration maxWaitTime,
+            @DefaultValue("0s") Duration maxConnectionIdleTime
+    ) {
+
+        public Pool {
+            if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+                throw new IllegalArgumentException(
+                        "app.mongo.pool requires 0 <= min-size <= max-size and max-size >= 1, got %d and %d."
+                                .formatted(minSize, maxSize));
+            }
+            if (maxConnecting < 1) {
+                throw new IllegalArgumentException("app.mongo.pool.max-connecting must be positive.");
+            }
+            requireNonNegative("app.mongo.pool.max-wait-time", maxWaitTime);
+            requireNonNegative("app.mongo.pool.max-connection-idle-time", maxConnectionIdleTime);
+        }
+    }
+
+    /**
+     * Write concerns, by the class of the write operation.
+     *
+     * @param defaultConcern the write concern of operations without their own entry, e.g. {@code majority};
+     *                       when not set, the one of the connection string applies
+     * @param operations     the write concerns by operation class, e.g. {@code insert: w1}
+     */
+    public record WriteConcerns(
+            String defaultConcern,
+            @DefaultValue Map<MongoActionOperation, String> operations
+    ) {
+
+        public WriteConcerns {
+            if (defaultConcern != null) {
+                parse("app.mongo.write-concern.default-concern", defaultConcern);
+            }
+            operations.forEach((operation, concern) ->
+                    parse("app.mongo.write-concern.operations." + operation, concern));
+        }
+
+        /**
+         * Returns the default write concern.
+         *
+         * @return the configured {@link WriteConcern}, or empty if the connection string decides
+         */
+        public Optional<WriteConcern> toDefault() {
+            return Optional.ofNullable(defaultConcern).map(WriteConcern::valueOf);
+        }
+
+        /**
+         * Returns the write concern configured for the operation class.
+         *
+         * @param operation the class of the write operation
+         * @return the configured {@link WriteConcern}, or empty if the operation uses the default
+         */
+        public Optional<WriteConcern> forOperation(MongoActionOperation operation) {
+            return Optional.ofNullable(operations.get(operation)).map(WriteConcern::valueOf);
+        }
+
+        private static void parse(String property, String concern) {
+            if (concern == null || WriteConcern.valueOf(concern) == null) {
+                throw new IllegalArgumentException("Unknown write concern in %s: %s".formatted(property, concern));
+            }
+        }
+    }
+
+    /**
+     * Routing of list queries to secondaries.
+     * <p>
+     * The listed repository methods read with {@code read-preference}, bounded by {@code max-staleness};
+     * all other reads, such as lookups by ID following a write, keep the default read preference.
+     *
+     * @param readPreference   the read preference of the listed methods, e.g. {@code secondaryPreferred}
+     * @param maxStaleness     how far behind the primary a secondary may be to serve them; zero means no bound,
+     *                         otherwise at least 90 seconds
+     * @param secondaryMethods the routed methods as {@code <collection>.<method>},
+     *                         e.g. {@code tasks.findWithPaginationAndFilter}
+     */
+    public record ReadRouting(
+            @DefaultValue("secondaryPreferred") String readPreference,
+            @DefaultValue("0s") Duration maxStaleness,
+            @DefaultValue Set<String> secondaryMethods
+    ) {
+
+        /**
+         * The smallest max staleness accepted by the server.
+         */
+        private static final Duration MIN_MAX_STALENESS = Duration.ofSeconds(90);
+
+        public ReadRouting {
+            requireNonNegative("app.mongo.read-routing.max-staleness", maxStaleness);
+            if (!maxStaleness.isZero() && maxStaleness.compareTo(MIN_MAX_STALENESS) < 0) {
+                throw new IllegalArgumentException("app.mongo.read-routing.max-staleness must be at least 90s.");
+            }
+
+            try {
+                toReadPreference(readPreference, maxStaleness);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                        "Invalid read preference in app.mongo.read-routing: %s with max staleness %s."
+                                .formatted(readPreference, maxStaleness));
+            }
+        }
+
+        /**
+         * Returns the read preference of the routed methods.
+         *
+         * @return the {@link ReadPreference}
+         */
+        public ReadPreference toReadPreference() {
+            return toReadPreference(readPreference, maxStaleness);
+        }
+
+        private static ReadPreference toReadPreference(String name, Duration maxStaleness) {
+            return maxStaleness.isZero()
+                    ? ReadPreference.valueOf(name)
+                    : ReadPreference.valueOf(name, List.of(), maxStaleness.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Wire compressors supported by the driver.
+     */
+    public enum Compressor {
+
+        /** Zstandard; requires {@code com.github.luben:zstd-jni}. */
+        ZSTD("com.github.luben.zstd.Zstd"),
+
+        /** Snappy; requires {@code org.xerial.snappy:snappy-java}. */
+        SNAPPY("org.xerial.snappy.Snappy"),
+
+        /** zlib; provided by the JDK. */
+        ZLIB(null);
+
+        private final String requiredClass;
+
+        Compressor(String requiredClass) {
+            this.requiredClass = requiredClass;
+        }
+
+        boolean isAvailable() {
+            return requiredClass == null || ClassUtils.isPresent(requiredClass, Compressor.class.getClassLoader());
+        }
+    }
+
+    private static void requireNonNegative(String property, Duration duration) {
+        if (duration == null || duration.isNegative()) {
+            throw new IllegalArgumentException(property + " must not be negative.");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.app.taskmanager.configuration;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the periodic background jobs of the application, such as the reconciliation of the task statistics
+ * and the release of expired task leases.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({TaskLeaseProperties.class, TaskStatsProperties.class})
+public class SchedulingConfiguration {
+}
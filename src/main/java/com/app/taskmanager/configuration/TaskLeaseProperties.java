@@ -0,0 +1,36 @@
+package com.app.taskmanager.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Leases of the tasks in progress, bound from the {@code app.tasks.lease} properties.
+ * <p>
+ * A task assigned to a user is leased to it for {@code duration}; the user keeps the task by sending heartbeats,
+ * and a sweeper returns tasks whose lease expired to {@code TO_DO} every {@code sweepInterval}.
+ *
+ * @param duration       how long an assignment or a heartbeat keeps a task leased
+ * @param sweepInterval  how often expired leases are released
+ * @param sweepBatchSize the maximum number of expired tasks released per batch
+ */
+@ConfigurationProperties("app.tasks.lease")
+public record TaskLeaseProperties(
+        @DefaultValue("5m") Duration duration,
+        @DefaultValue("30s") Duration sweepInterval,
+        @DefaultValue("500") int sweepBatchSize
+) {
+
+    public TaskLeaseProperties {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("app.tasks.lease.duration must be positive.");
+        }
+        if (sweepInterval.isNegative() || sweepInterval.isZero()) {
+            throw new IllegalArgumentException("app.tasks.lease.sweep-interval must be positive.");
+        }
+        if (sweepBatchSize < 1) {
+            throw new IllegalArgumentException("app.tasks.lease.sweep-batch-size must be positive.");
+        }
+    }
+}
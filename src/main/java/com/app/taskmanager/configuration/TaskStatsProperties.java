@@ -0,0 +1,23 @@
+package com.app.taskmanager.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Task statistics, bound from the {@code app.stats} properties.
+ *
+ * @param reconcileInterval how often the statistics are recomputed from the tasks
+ */
+@ConfigurationProperties("app.stats")
+public record TaskStatsProperties(
+        @DefaultValue("10m") Duration reconcileInterval
+) {
+
+    public TaskStatsProperties {
+        if (reconcileInterval.isNegative() || reconcileInterval.isZero()) {
+            throw new IllegalArgumentException("app.stats.reconcile-interval must be positive.");
+        }
+    }
+}
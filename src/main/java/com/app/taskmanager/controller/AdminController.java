@@ -0,0 +1,87 @@
+package com.app.taskmanager.controller;
+
+import com.app.taskmanager.dto.response.CacheStatsResponseDto;
+import com.app.taskmanager.dto.response.IndexStatsResponseDto;
+import com.app.taskmanager.service.CacheService;
+import com.app.taskmanager.service.IndexService;
+import com.app.taskmanager.swagger.SwaggerExampleObjects;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * REST controller exposing operational information about the application.
+ * <p>
+ * Provides reactive endpoints for inspecting the state of the database indexes and the application caches.
+ */
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final IndexService indexService;
+    private final CacheService cacheService;
+
+    @Operation(
+            summary = "List index usage statistics",
+            description = "Returns the $indexStats usage counters of every index of the task and user collections, "
+                    + "together with the declared indexes that are missing."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Index statistics retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.INDEX_STATS_LIST
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.INTERNAL_ERROR
+                            )
+                    )
+            )
+    })
+    @GetMapping("/indexes")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<List<IndexStatsResponseDto>> findIndexStats() {
+        return indexService.findIndexStats();
+    }
+
+    @Operation(
+            summary = "List cache statistics",
+            description = "Returns the size and the hit, miss and eviction counters of the task and user caches."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Cache statistics retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.CACHE_STATS_LIST
+                            )
+                    )
+            )
+    })
+    @GetMapping("/caches")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<List<CacheStatsResponseDto>> findCacheStats() {
+        return cacheService.findCacheStats();
+    }
+}
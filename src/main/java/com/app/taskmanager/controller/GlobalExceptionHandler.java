@@ -1,8 +1,10 @@
 package com.app.taskmanager.controller;
 
 import com.app.taskmanager.EntityNotFoundException;
+import com.app.taskmanager.VersionConflictException;
 import com.app.taskmanager.dto.response.ResponseDto;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -39,6 +41,20 @@ public class GlobalExceptionHandler {
         return Mono.just(new ResponseDto<>(e.getMessage()));
     }
 
+    /**
+     * Handles {@link VersionConflictException} and {@link OptimisticLockingFailureException}
+     * by returning a 409 CONFLICT response.
+     *
+     * @param e the exception indicating that the entity was modified concurrently
+     * @return a {@code Mono<ResponseDto>} containing the error message
+     */
+    @ExceptionHandler({VersionConflictException.class, OptimisticLockingFailureException.class})
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Mono<ResponseDto<String>> versionConflict(Exception e) {
+        log.warn("Version conflict: ", e);
+        return Mono.just(new ResponseDto<>(e.getMessage()));
+    }
+
     /**
      * Handles validation errors thrown during request binding.
      *
@@ -3,11 +3,20 @@ package com.app.taskmanager.controller;
 import com.app.taskmanager.swagger.SwaggerExampleObjects;
 import com.app.taskmanager.dto.create.CreateTaskDto;
 import com.app.taskmanager.dto.create.UpdateTaskDto;
+import com.app.taskmanager.dto.filters.CountMode;
 import com.app.taskmanager.dto.filters.FilterDto;
+import com.app.taskmanager.dto.response.BatchResponseDto;
+import com.app.taskmanager.dto.response.ExplainResponseDto;
 import com.app.taskmanager.dto.response.IdResponseDto;
+import com.app.taskmanager.dto.response.ImportProgressDto;
 import com.app.taskmanager.dto.response.PageResponseDto;
+import com.app.taskmanager.dto.response.TaskChangeDto;
 import com.app.taskmanager.dto.response.TaskResponseDto;
+import com.app.taskmanager.dto.response.TaskStatsResponseDto;
+import com.app.taskmanager.repository.model.Status;
+import com.app.taskmanager.service.TaskSearchService;
 import com.app.taskmanager.service.TaskService;
+import com.app.taskmanager.service.TaskStatsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,9 +26,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.List;
+
 /**
  * REST controller for managing tasks.
  * <p>
@@ -31,7 +46,14 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class TaskController {
 
+    /**
+     * Interval of the keep-alive comments sent to the subscribers of the live task feed.
+     */
+    private static final Duration KEEP_ALIVE_INTERVAL = Duration.ofSeconds(15);
+
     private final TaskService taskService;
+    private final TaskStatsService taskStatsService;
+    private final TaskSearchService taskSearchService;
 
 
     @Operation(
@@ -68,9 +90,93 @@ public class TaskController {
         return taskService.findTaskByID(id);
     }
 
+    @Operation(
+            summary = "Retrieve task statistics",
+            description = "Returns the number of tasks by status, the number of tasks created on each of the last days (UTC) "
+                    + "and the users with the most assigned tasks. The statistics are maintained on every task write "
+                    + "and periodically recomputed, so the answer does not depend on the number of tasks."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Statistics retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.TASK_STATS
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Limits out of range",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.BAD_REQUEST
+                            )
+                    )
+            )
+    })
+    @GetMapping("/stats")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<TaskStatsResponseDto> findTaskStats(
+            @Parameter(description = "Number of most recent days to report creations for", example = "30")
+            @RequestParam(defaultValue = "30") int days,
+            @Parameter(description = "Number of users with the most assigned tasks to report", example = "10")
+            @RequestParam(defaultValue = "10") int users) {
+        return taskStatsService.findStats(days, users);
+    }
+
+    @Operation(
+            summary = "Search tasks by words",
+            description = "Returns the tasks whose title or description contains every word of the query, "
+                    + "most recently written first. The last word also matches longer words starting with it, "
+                    + "so the endpoint can back a search-as-you-type box. Case and accents are ignored. "
+                    + "The search is answered from an in-memory index, so it does not depend on the number of tasks."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tasks found successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.TASK_SEARCH
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Blank or too long query, or limit out of range",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.BAD_REQUEST
+                            )
+                    )
+            )
+    })
+    @GetMapping("/search")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<List<TaskResponseDto>> searchTasks(
+            @Parameter(description = "Words to look for", example = "swagger doc")
+            @RequestParam String q,
+            @Parameter(description = "Maximum number of tasks to return", example = "20")
+            @RequestParam(defaultValue = "20") int limit) {
+        return taskSearchService.search(q, limit);
+    }
+
     @Operation(
             summary = "Retrieve all tasks with optional filters",
-            description = "Fetches a paginated list of tasks. You can filter results."
+            description = "Fetches a paginated list of tasks. You can filter results. "
+                    + "When a cursor is given, keyset pagination ordered by ID is used instead of page numbers. "
+                    + "List entity fields in \"fields\" to receive only those fields (and the ID) of the tasks. "
+                    + "A filter with key \"text\" and operation TEXT searches titles and descriptions for words; "
+                    + "without a cursor, its matches are ranked by relevance. "
+                    + "Without a cursor, \"sort\" orders the tasks by keys of one direction that an index can return "
+                    + "in order, e.g. creationDate, or status and creationDate; ties are broken by ID. "
+                    + "Otherwise tasks are ordered by ID."
     )
     @ApiResponses({
             @ApiResponse(
@@ -102,7 +208,56 @@ public class TaskController {
             @Parameter(description = "Number of tasks per page", example = "2")
             @RequestParam(defaultValue = "10") int size,
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
-                    description = "Filter criteria for users",
+                    description = "Filter criteria for tasks",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = {
+                                    @ExampleObject(name = "Filter", value = SwaggerExampleObjects.TASK_FILTER_DTO),
+                                    @ExampleObject(name = "Text search", value = SwaggerExampleObjects.TASK_TEXT_SEARCH),
+                                    @ExampleObject(name = "Sorted", value = SwaggerExampleObjects.TASK_SORTED)
+                            }
+                    )
+            )
+            @RequestBody FilterDto filter,
+            @Parameter(description = "Opaque cursor of the next page; enables cursor pagination "
+                    + "(pass an empty value for the first page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "How the total is computed: none, exact or estimated", example = "exact")
+            @RequestParam(defaultValue = "exact") String count) {
+
+        var countMode = CountMode.of(count);
+
+        if (cursor != null) {
+            return taskService.findAllTasksByCursor(cursor, size, countMode, filter);
+        }
+        return taskService.findAllTasks(page, size, countMode, filter);
+    }
+
+
+    @Operation(
+            summary = "Stream all tasks matching the filters",
+            description = "Streams every matching task as newline-delimited JSON without pagination. "
+                    + "Tasks are read from a database cursor as the client consumes them. "
+                    + "List entity fields in \"fields\" to receive only those fields (and the ID) of the tasks."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tasks streamed successfully",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.TASK_STREAM
+                            )
+                    )
+            )
+    })
+    @PostMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public Flux<TaskResponseDto> streamTasks(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Filter criteria for tasks",
                     required = true,
                     content = @Content(
                             mediaType = "application/json",
@@ -110,10 +265,109 @@ public class TaskController {
                     )
             )
             @RequestBody FilterDto filter) {
-        return taskService.findAllTasks(page, size, filter);
+        return taskService.streamTasks(filter);
+    }
+
+
+    @Operation(
+            summary = "Subscribe to the live changes of the tasks",
+            description = "Pushes every change of the tasks as a server-sent event, optionally narrowed to a user "
+                    + "and a status. The ID of every event is the resume token of the change; a client reconnecting "
+                    + "with it in the Last-Event-ID header first receives the changes it missed. "
+                    + "A change is pushed if the task matched the filters before or after it. Deletions without "
+                    + "a recorded pre-image are pushed regardless of the filters. Requires MongoDB 6.0 or later "
+                    + "running as a replica set."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Subscribed successfully",
+                    content = @Content(
+                            mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.TASK_CHANGES
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid Last-Event-ID or status",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public Flux<ServerSentEvent<TaskChangeDto>> streamTaskChanges(
+            @Parameter(description = "Resume token of the last event received before reconnecting")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @Parameter(description = "Only push changes of tasks assigned to this user", example = "68f4101f04083690f4a2df13")
+            @RequestParam(required = false) String userId,
+            @Parameter(description = "Only push changes of tasks with this status", example = "IN_PROGRESS")
+            @RequestParam(required = false) Status status) {
+        return taskService.streamTaskChanges(lastEventId, userId, status)
+                .map(change -> ServerSentEvent.builder(change)
+                        .id(change.resumeToken())
+                        .event(change.operation().name())
+                        .build())
+                .publish(events -> Flux.merge(events, keepAlive().takeUntilOther(events.then())));
+    }
+
+    /**
+     * Emits comment-only events while the feed is idle, so proxies do not close the connection.
+     */
+    private static Flux<ServerSentEvent<TaskChangeDto>> keepAlive() {
+        return Flux.interval(KEEP_ALIVE_INTERVAL)
+                .map(tick -> ServerSentEvent.<TaskChangeDto>builder().comment("keep-alive").build());
     }
 
 
+    @Operation(
+            summary = "Explain the query plan of a task filter",
+            description = "Validates the filters and returns the plan MongoDB chooses for the page "
+                    + "POST /all would fetch with them, including the index used and whether the sort "
+                    + "is answered by it. The query itself is not executed."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Query plan retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.TASK_EXPLAIN
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Filter is not allowed",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.BAD_REQUEST
+                            )
+                    )
+            )
+    })
+    @PostMapping("/explain")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<ExplainResponseDto> explainTasks(
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of tasks per page", example = "2")
+            @RequestParam(defaultValue = "10") int size,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Filter criteria for tasks",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(value = SwaggerExampleObjects.TASK_FILTER_DTO)
+                    )
+            )
+            @RequestBody FilterDto filter) {
+        return taskService.explainTasks(page, size, filter);
+    }
+
     @Operation(
             summary = "Create a new task",
             description = "Creates a new task and returns its unique ID."
@@ -149,6 +403,87 @@ public class TaskController {
     }
 
 
+    @Operation(
+            summary = "Create many tasks",
+            description = "Creates tasks from a JSON array or an NDJSON stream. Every task is validated on its own: "
+                    + "invalid tasks are reported with their index and the others are still created. "
+                    + "Valid tasks are written in chunks of unordered inserts."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed; the outcome of every task is listed in request order",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.BATCH_RESPONSE
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Malformed request body",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.BAD_REQUEST
+                            )
+                    )
+            )
+    })
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<BatchResponseDto> createTasks(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Tasks to create, as a JSON array or one JSON object per line",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(value = SwaggerExampleObjects.TASK_BATCH_REQUEST)
+                    )
+            )
+            @RequestBody Flux<CreateTaskDto> tasks) {
+        return taskService.createTasks(tasks);
+    }
+
+
+    @Operation(
+            summary = "Import a stream of tasks",
+            description = "Imports tasks from an NDJSON stream of any size without buffering it. "
+                    + "Tasks are written in chunks by size or time, and the progress is streamed back "
+                    + "as newline-delimited JSON after every written chunk, with the IDs of the created tasks "
+                    + "and the errors of the rejected ones by their line in the upload. "
+                    + "The upload is read only as fast as the tasks are written."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Import progress streamed successfully",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.TASK_IMPORT_PROGRESS
+                            )
+                    )
+            )
+    })
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public Flux<ImportProgressDto> importTasks(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Tasks to import, one JSON object per line",
+                    required = true,
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerExampleObjects.TASK_IMPORT_REQUEST)
+                    )
+            )
+            @RequestBody Flux<CreateTaskDto> tasks) {
+        return taskService.importTasks(tasks);
+    }
+
+
     @Operation(
             summary = "Update an existing task",
             description = "Updates an existing task by its ID and returns the updated task ID."
@@ -173,6 +508,16 @@ public class TaskController {
                                     value = SwaggerExampleObjects.INTERNAL_ERROR
                             )
                     )
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Task was modified concurrently",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.CONFLICT
+                            )
+                    )
             )
     })
     @PutMapping("/{id}")
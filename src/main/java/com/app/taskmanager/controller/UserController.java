@@ -3,6 +3,7 @@ package com.app.taskmanager.controller;
 import com.app.taskmanager.swagger.SwaggerExampleObjects;
 import com.app.taskmanager.dto.create.AddTaskDto;
 import com.app.taskmanager.dto.create.CreateUserDto;
+import com.app.taskmanager.dto.filters.CountMode;
 import com.app.taskmanager.dto.filters.FilterDto;
 import com.app.taskmanager.dto.response.*;
 import com.app.taskmanager.service.UserService;
@@ -15,7 +16,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -67,6 +70,41 @@ public class UserController {
         return userService.findUserByID(id);
     }
 
+    @Operation(
+            summary = "Get task statistics of a user",
+            description = "Returns the number of tasks assigned to the user, by status. "
+                    + "The counters are maintained on every task write, so the answer does not depend on the number of tasks."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Statistics retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.USER_STATS
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "User not found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.USER_NOT_FOUND
+                            )
+                    )
+            )
+    })
+    @GetMapping("/{id}/stats")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<UserStatsResponseDto> findUserStats(
+            @Parameter(description = "Unique identifier of the user", example = "68f4101f04083690f4a2df13")
+            @PathVariable String id) {
+        return userService.findUserStats(id);
+    }
+
     @Operation(
             summary = "Get user by username",
             description = "Fetches user information using the username."
@@ -103,7 +141,10 @@ public class UserController {
 
     @Operation(
             summary = "Retrieve all users with optional filters",
-            description = "Fetches a paginated list of users. You can filter results."
+            description = "Fetches a paginated list of users. You can filter results. "
+                    + "When a cursor is given, keyset pagination ordered by ID is used instead of page numbers. "
+                    + "List entity fields in \"fields\" to receive only those fields (and the ID) of the users. "
+                    + "Without a cursor, \"sort\" orders the users by username or ID; otherwise they are ordered by ID."
     )
     @ApiResponses({
             @ApiResponse(
@@ -143,8 +184,66 @@ public class UserController {
                             examples = @ExampleObject(value = SwaggerExampleObjects.USER_FILTER_DTO)
                     )
             )
+            @RequestBody FilterDto filter,
+            @Parameter(description = "Opaque cursor of the next page; enables cursor pagination "
+                    + "(pass an empty value for the first page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "How the total is computed: none, exact or estimated", example = "exact")
+            @RequestParam(defaultValue = "exact") String count) {
+
+        var countMode = CountMode.of(count);
+
+        if (cursor != null) {
+            return userService.findAllUsersByCursor(cursor, size, countMode, filter);
+        }
+        return userService.findAllUsers(page, size, countMode, filter);
+    }
+
+    @Operation(
+            summary = "Explain the query plan of a user filter",
+            description = "Validates the filters and returns the plan MongoDB chooses for the page "
+                    + "POST /all would fetch with them, including the index used and whether the sort "
+                    + "is answered by it. The query itself is not executed."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Query plan retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.USER_EXPLAIN
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Filter is not allowed",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.BAD_REQUEST
+                            )
+                    )
+            )
+    })
+    @PostMapping("/explain")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<ExplainResponseDto> explainUsers(
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of users per page", example = "20")
+            @RequestParam(defaultValue = "10") int size,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Filter criteria for users",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(value = SwaggerExampleObjects.USER_FILTER_DTO)
+                    )
+            )
             @RequestBody FilterDto filter) {
-        return userService.findAllUsers(page, size, filter);
+        return userService.explainUsers(page, size, filter);
     }
 
     @Operation(
@@ -180,6 +279,49 @@ public class UserController {
         return userService.createUser(createUserDto);
     }
 
+    @Operation(
+            summary = "Create many users",
+            description = "Creates users from a JSON array or an NDJSON stream. Every user is validated on its own: "
+                    + "invalid users are reported with their index and the others are still created. "
+                    + "Valid users are written in chunks of unordered inserts."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed; the outcome of every user is listed in request order",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.BATCH_RESPONSE
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Malformed request body",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.BAD_REQUEST
+                            )
+                    )
+            )
+    })
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<BatchResponseDto> createUsers(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Users to create, as a JSON array or one JSON object per line",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(value = SwaggerExampleObjects.USER_BATCH_REQUEST)
+                    )
+            )
+            @RequestBody Flux<CreateUserDto> users) {
+        return userService.createUsers(users);
+    }
+
     @Operation(
             summary = "Assign tasks to user",
             description = "Assigns one or more existing tasks to a specific user and returns a list of assigned task IDs."
@@ -218,6 +360,54 @@ public class UserController {
                 .map(ResponseDto::new);
     }
 
+    @Operation(
+            summary = "Claim the oldest waiting tasks for a user",
+            description = "Atomically assigns up to count of the oldest TO_DO tasks to the user and moves them to "
+                    + "IN_PROGRESS. Concurrent workers never receive the same task; fewer tasks are returned "
+                    + "when not enough are waiting. Claimed tasks are leased to the user and must be kept with heartbeats."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tasks claimed successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.USER_CLAIM
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Count out of range",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.BAD_REQUEST
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "User not found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.USER_NOT_FOUND
+                            )
+                    )
+            )
+    })
+    @PostMapping("/{id}/claim")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<List<TaskResponseDto>> claimTasks(
+            @Parameter(description = "User ID to claim tasks for", example = "68f4101f04083690f4a2df13")
+            @PathVariable String id,
+            @Parameter(description = "Maximum number of tasks to claim, between 1 and 100", example = "1")
+            @RequestParam(defaultValue = "1") int count) {
+        return userService.claimTasks(id, count);
+    }
+
     @Operation(
             summary = "Remove assigned task from user",
             description = "Removes a specific task previously assigned to a user and returns confirmation."
@@ -254,6 +444,43 @@ public class UserController {
         return userService.deleteAssignedTask(userId, taskId);
     }
 
+    @Operation(
+            summary = "Renew the lease on a task in progress",
+            description = "Extends the lease of the user on a task it holds in progress. A task whose lease "
+                    + "expires without a heartbeat is returned to TO_DO and unassigned."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Lease renewed successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.LEASE_RESPONSE
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "User not found, or the task is not in progress for the user",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = SwaggerExampleObjects.TASK_NOT_FOUND
+                            )
+                    )
+            )
+    })
+    @PatchMapping("/heartbeat/{userId}/{taskId}")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<LeaseResponseDto> heartbeat(
+            @Parameter(description = "User ID", example = "68f4101f04083690f4a2df13")
+            @PathVariable String userId,
+            @Parameter(description = "Task ID to keep leased", example = "68f245b1d494b40b89286165")
+            @PathVariable String taskId) {
+        return userService.heartbeat(userId, taskId);
+    }
+
     @Operation(
             summary = "Mark task as completed",
             description = "Marks a specific task as completed for the given user."
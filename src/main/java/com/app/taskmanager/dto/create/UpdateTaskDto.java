@@ -9,7 +9,7 @@ import jakarta.validation.constraints.Pattern;
 /**
  * DTO representing a request to update an existing task.
  * <p>
- * Contains the title, description, and status of the task.
+ * Contains the title, description, and status of the task, and optionally its expected version.
  * Validation constraints ensure that fields are properly filled and formatted.
  */
 public record UpdateTaskDto(
@@ -43,6 +43,25 @@ public record UpdateTaskDto(
          */
         @NotNull(message = "Fill the status.")
         @Schema(example = "IN_PROGRESS")
-        Status status
+        Status status,
+
+        /**
+         * Expected version of the task.
+         * <p>
+         * Optional. When present, the update is applied only if the stored task still has this version.
+         */
+        @Schema(example = "3")
+        Long version
 ) {
+
+    /**
+     * Creates an update request without a version check.
+     *
+     * @param title       the new title of the task
+     * @param description the new description of the task
+     * @param status      the new status of the task
+     */
+    public UpdateTaskDto(String title, String description, Status status) {
+        this(title, description, status, null);
+    }
 }
@@ -0,0 +1,36 @@
+package com.app.taskmanager.dto.filters;
+
+import java.util.Locale;
+
+/**
+ * Enumeration of the strategies for computing the total number of elements of a paginated query.
+ */
+public enum CountMode {
+
+    /** The total is not computed. */
+    NONE,
+
+    /** The total is computed exactly by counting every matching document. */
+    EXACT,
+
+    /**
+     * The total is estimated: collection metadata is used for unfiltered queries,
+     * and filtered counts are served from a short-lived cache.
+     */
+    ESTIMATED;
+
+    /**
+     * Parses a count mode from its case-insensitive name.
+     *
+     * @param value the name of the count mode, e.g. {@code "none"}
+     * @return the matching {@link CountMode}
+     * @throws IllegalArgumentException if the value does not name a count mode
+     */
+    public static CountMode of(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unknown count mode: " + value);
+        }
+    }
+}
@@ -1,13 +1,38 @@
 package com.app.taskmanager.dto.filters;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Data Transfer Object representing a set of filter criteria.
  * <p>
  * Encapsulates a list of {@link FilterCriteriaDto} objects to be applied
- * together when performing filtered queries.
+ * together when performing filtered queries, optionally the fields to return
+ * for every matching element, and optionally the order of the elements.
  *
  * @param filterCriteria the list of filter criteria to apply
+ * @param fields         the names of the fields to return, or {@code null} or empty to return all fields;
+ *                       the ID is always returned
+ * @param sort           the sort keys, most significant first, or {@code null} or empty to order by ID
  */
-public record FilterDto(List<FilterCriteriaDto<?>> filterCriteria) { }
+public record FilterDto(List<FilterCriteriaDto<?>> filterCriteria, Set<String> fields, List<SortCriteriaDto> sort) {
+
+    /**
+     * Creates a filter returning all fields of the matching elements, ordered by ID.
+     *
+     * @param filterCriteria the list of filter criteria to apply
+     */
+    public FilterDto(List<FilterCriteriaDto<?>> filterCriteria) {
+        this(filterCriteria, null, null);
+    }
+
+    /**
+     * Creates a filter returning the given fields of the matching elements, ordered by ID.
+     *
+     * @param filterCriteria the list of filter criteria to apply
+     * @param fields         the names of the fields to return, or {@code null} or empty to return all fields
+     */
+    public FilterDto(List<FilterCriteriaDto<?>> filterCriteria, Set<String> fields) {
+        this(filterCriteria, fields, null);
+    }
+}
@@ -0,0 +1,74 @@
+package com.app.taskmanager.dto.filters;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Continuation token used by cursor (keyset) pagination.
+ * <p>
+ * The cursor remembers the {@code _id} of the last element returned to the client,
+ * so the next page can be fetched with a {@code $match} on {@code _id > lastId}
+ * instead of skipping over all previous documents. On the wire the cursor is an
+ * opaque, URL-safe Base64 string.
+ *
+ * @param lastId the {@code _id} of the last returned element, or {@code null} for the first page
+ */
+public record PageCursor(Object lastId) {
+
+    /**
+     * Cursor pointing before the first element of the collection.
+     */
+    public static final PageCursor START = new PageCursor(null);
+
+    private static final String ID_FIELD = "id";
+
+    /**
+     * Creates a cursor pointing after the element with the given ID.
+     *
+     * @param id the ID of the last returned element
+     * @return a new {@link PageCursor}
+     */
+    public static PageCursor after(String id) {
+        return new PageCursor(ObjectId.isValid(id) ? new ObjectId(id) : id);
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     * <p>
+     * A blank token is interpreted as a request for the first page.
+     *
+     * @param token the opaque cursor token
+     * @return the decoded {@link PageCursor}
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+
+        try {
+            var json = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var lastId = Document.parse(json).get(ID_FIELD);
+
+            if (lastId == null) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+            return new PageCursor(lastId);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+
+    /**
+     * Encodes this cursor into an opaque, URL-safe token.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        var json = new Document(ID_FIELD, lastId).toJson();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,14 @@
+package com.app.taskmanager.dto.filters;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Data Transfer Object representing a single sort key.
+ * <p>
+ * Used to define the order of the elements returned by paginated queries,
+ * specifying the field key and the direction to sort it in.
+ *
+ * @param key       the name of the field to sort by
+ * @param direction the {@link Sort.Direction} of the key, or {@code null} for ascending
+ */
+public record SortCriteriaDto(String key, Sort.Direction direction) {}
@@ -0,0 +1,33 @@
+package com.app.taskmanager.dto.response;
+
+/**
+ * Response DTO describing the outcome of a single element of a batch create request.
+ *
+ * @param index the position of the element in the request, starting at zero
+ * @param id    the ID of the created entity, or {@code null} if the element was rejected
+ * @param error the reason the element was rejected, or {@code null} if it was created
+ */
+public record BatchItemResponseDto(int index, String id, String error) {
+
+    /**
+     * Creates the outcome of a created element.
+     *
+     * @param index the position of the element in the request
+     * @param id    the ID of the created entity
+     * @return a new {@link BatchItemResponseDto}
+     */
+    public static BatchItemResponseDto created(int index, String id) {
+        return new BatchItemResponseDto(index, id, null);
+    }
+
+    /**
+     * Creates the outcome of a rejected element.
+     *
+     * @param index the position of the element in the request
+     * @param error the reason the element was rejected
+     * @return a new {@link BatchItemResponseDto}
+     */
+    public static BatchItemResponseDto failed(int index, String error) {
+        return new BatchItemResponseDto(index, null, error);
+    }
+}
@@ -0,0 +1,24 @@
+package com.app.taskmanager.dto.response;
+
+import java.util.List;
+
+/**
+ * Response DTO summarizing a batch create request.
+ *
+ * @param created the number of created entities
+ * @param failed  the number of rejected elements
+ * @param items   the outcome of every element, in request order
+ */
+public record BatchResponseDto(int created, int failed, List<BatchItemResponseDto> items) {
+
+    /**
+     * Summarizes the outcomes of the elements of a batch.
+     *
+     * @param items the outcome of every element, in request order
+     * @return a new {@link BatchResponseDto}
+     */
+    public static BatchResponseDto of(List<BatchItemResponseDto> items) {
+        var created = (int) items.stream().filter(item -> item.error() == null).count();
+        return new BatchResponseDto(created, items.size() - created, items);
+    }
+}
@@ -0,0 +1,49 @@
+package com.app.taskmanager.dto.response;
+
+/**
+ * Response DTO representing the statistics of an application cache.
+ */
+public record CacheStatsResponseDto(
+        /**
+         * Name of the cache.
+         */
+
+        String name,
+
+        /**
+         * Approximate number of entries in the cache.
+         */
+
+        long size,
+
+        /**
+         * Number of lookups that found a cached value.
+         */
+
+        long hits,
+
+        /**
+         * Number of lookups that had to load the value.
+         */
+
+        long misses,
+
+        /**
+         * Ratio of hits to all lookups.
+         */
+
+        double hitRate,
+
+        /**
+         * Number of entries removed because of their size or expiry.
+         */
+
+        long evictions,
+
+        /**
+         * Number of loads that failed.
+         */
+
+        long loadFailures
+) {
+}
@@ -0,0 +1,58 @@
+package com.app.taskmanager.dto.response;
+
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO describing how MongoDB plans a filtered query.
+ */
+public record ExplainResponseDto(
+        /**
+         * Namespace ({@code database.collection}) the query runs against.
+         */
+
+        String namespace,
+
+        /**
+         * Query as parsed by MongoDB, in relaxed extended JSON.
+         */
+
+        String parsedQuery,
+
+        /**
+         * Plan chosen by the query planner.
+         */
+
+        Map<String, Object> winningPlan,
+
+        /**
+         * Number of candidate plans that were rejected.
+         */
+
+        int rejectedPlans
+) {
+
+    private static final JsonWriterSettings JSON_SETTINGS =
+            JsonWriterSettings.builder().outputMode(JsonMode.RELAXED).build();
+
+    /**
+     * Creates the DTO from the {@code queryPlanner} section of the {@code explain} output.
+     *
+     * @param queryPlanner the {@code queryPlanner} document
+     * @return a new {@link ExplainResponseDto}
+     */
+    public static ExplainResponseDto of(Document queryPlanner) {
+        var parsedQuery = queryPlanner.get("parsedQuery", Document.class);
+
+        return new ExplainResponseDto(
+                queryPlanner.getString("namespace"),
+                parsedQuery == null ? null : parsedQuery.toJson(JSON_SETTINGS),
+                queryPlanner.get("winningPlan", Document.class),
+                queryPlanner.getList("rejectedPlans", Object.class, List.of()).size()
+        );
+    }
+}
@@ -0,0 +1,35 @@
+package com.app.taskmanager.dto.response;
+
+import java.util.List;
+
+/**
+ * Response DTO reporting the progress of a streaming import after a chunk was written.
+ *
+ * @param created      the number of entities created from the chunk
+ * @param failed       the number of rejected elements of the chunk
+ * @param totalCreated the number of entities created so far
+ * @param totalFailed  the number of elements rejected so far
+ * @param successes    the created elements of the chunk, with their index in the request and the ID of the entity
+ * @param failures     the rejected elements of the chunk, with their index in the request
+ */
+public record ImportProgressDto(int created, int failed, long totalCreated, long totalFailed,
+                                List<BatchItemResponseDto> successes, List<BatchItemResponseDto> failures) {
+
+    /**
+     * Progress before the first chunk was written.
+     */
+    public static final ImportProgressDto START = new ImportProgressDto(0, 0, 0, 0, List.of(), List.of());
+
+    /**
+     * Adds the outcome of the next written chunk to this progress.
+     *
+     * @param chunk the outcome of the elements of the chunk
+     * @return the {@link ImportProgressDto} after the chunk
+     */
+    public ImportProgressDto next(List<BatchItemResponseDto> chunk) {
+        var successes = chunk.stream().filter(item -> item.error() == null).toList();
+        var failures = chunk.stream().filter(item -> item.error() != null).toList();
+        return new ImportProgressDto(successes.size(), failures.size(),
+                totalCreated + successes.size(), totalFailed + failures.size(), successes, failures);
+    }
+}
@@ -0,0 +1,54 @@
+package com.app.taskmanager.dto.response;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Response DTO representing the usage statistics of an index.
+ * <p>
+ * Covers both the indexes that exist in the database and the declared indexes that are missing.
+ */
+public record IndexStatsResponseDto(
+        /**
+         * Name of the collection the index belongs to.
+         */
+
+        String collection,
+
+        /**
+         * Name of the index.
+         */
+
+        String name,
+
+        /**
+         * Key pattern of the index, or {@code null} if the index is missing.
+         */
+
+        Map<String, Object> key,
+
+        /**
+         * Number of operations that used the index since {@code since}.
+         */
+
+        long ops,
+
+        /**
+         * Time from which the usage is counted, or {@code null} if the index is missing.
+         */
+
+        Instant since,
+
+        /**
+         * Whether the index is declared by the application.
+         */
+
+        boolean declared,
+
+        /**
+         * Whether the index exists in the database.
+         */
+
+        boolean present
+) {
+}
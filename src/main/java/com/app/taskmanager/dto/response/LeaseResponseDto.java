@@ -0,0 +1,20 @@
+package com.app.taskmanager.dto.response;
+
+import java.time.Instant;
+
+/**
+ * Response DTO representing the lease of a user on a task in progress.
+ */
+public record LeaseResponseDto(
+
+        /**
+         * The ID of the leased task.
+         */
+        String id,
+
+        /**
+         * Time when the lease expires unless renewed by another heartbeat.
+         */
+        Instant leaseExpiresAt
+) {
+}
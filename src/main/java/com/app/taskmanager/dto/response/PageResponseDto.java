@@ -16,7 +16,7 @@ public record PageResponseDto<T>(
         List<T> list,
 
         /**
-         * Total number of items across all pages.
+         * Total number of items across all pages, or {@link #UNKNOWN_TOTAL} if it was not counted.
          */
 
         long total,
@@ -31,6 +31,30 @@ public record PageResponseDto<T>(
          * Number of items per page.
          */
 
-        long size
+        long size,
+
+        /**
+         * Opaque token for fetching the next page in cursor mode,
+         * or {@code null} when there are no more elements or offset pagination is used.
+         */
+
+        String nextCursor
 ) {
+
+    /**
+     * Value of {@code total} when the count was not requested.
+     */
+    public static final long UNKNOWN_TOTAL = -1;
+
+    /**
+     * Creates an offset-based page without a continuation cursor.
+     *
+     * @param list  the items in the current page
+     * @param total the total number of items across all pages
+     * @param page  the current page number (zero-based)
+     * @param size  the number of items per page
+     */
+    public PageResponseDto(List<T> list, long total, long page, long size) {
+        this(list, total, page, size, null);
+    }
 }
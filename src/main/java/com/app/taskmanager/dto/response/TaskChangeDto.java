@@ -0,0 +1,30 @@
+package com.app.taskmanager.dto.response;
+
+import com.app.taskmanager.repository.model.TaskChange;
+
+/**
+ * DTO representing a change of a task, pushed to the subscribers of the live task feed.
+ */
+public record TaskChangeDto(
+
+        /**
+         * The resume token of the change, to be sent back as {@code Last-Event-ID} when reconnecting.
+         */
+        String resumeToken,
+
+        /**
+         * The kind of the change.
+         */
+        TaskChange.Operation operation,
+
+        /**
+         * The ID of the changed task.
+         */
+        String id,
+
+        /**
+         * The task after the change, or {@code null} if it was deleted.
+         */
+        TaskResponseDto task
+) {
+}
@@ -1,6 +1,7 @@
 package com.app.taskmanager.dto.response;
 
 import com.app.taskmanager.repository.model.Status;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.LocalDateTime;
@@ -8,8 +9,11 @@ import java.time.LocalDateTime;
 /**
  * Response DTO representing a task.
  * <p>
- * Contains the task's ID, title, description, creation date, and current status.
+ * Contains the task's ID, title, description, creation date, current status, assigned user and version.
+ * <p>
+ * Fields without a value are left out, so a task read with a projection only carries the requested fields.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record TaskResponseDto(
         /**
          * Unique identifier of the task.
@@ -40,7 +44,28 @@ public record TaskResponseDto(
          * The user ID.
          */
 
-        String userID
+        String userID,
+
+        /**
+         * Version of the task, to be sent back with updates for optimistic concurrency control.
+         */
+
+        Long version
 ) {
+
+    /**
+     * Creates a task response without version information.
+     *
+     * @param id           the unique identifier of the task
+     * @param title        the title of the task
+     * @param description  the description of the task
+     * @param creationDate the date and time when the task was created
+     * @param status       the current status of the task
+     * @param userID       the ID of the assigned user
+     */
+    public TaskResponseDto(String id, String title, String description, LocalDateTime creationDate,
+                           Status status, String userID) {
+        this(id, title, description, creationDate, status, userID, null);
+    }
 }
 
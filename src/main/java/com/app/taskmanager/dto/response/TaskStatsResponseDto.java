@@ -0,0 +1,27 @@
+package com.app.taskmanager.dto.response;
+
+import com.app.taskmanager.repository.model.Status;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO with the dashboard statistics of tasks.
+ *
+ * @param byStatus the number of tasks by status; every status is present
+ * @param total    the number of tasks
+ * @param byDay    the number of tasks created on each day of the requested window (UTC), oldest first
+ * @param topUsers the users with the most assigned tasks, most first
+ */
+public record TaskStatsResponseDto(Map<Status, Long> byStatus, long total, Map<String, Long> byDay,
+                                   List<UserCount> topUsers) {
+
+    /**
+     * Number of tasks assigned to a user.
+     *
+     * @param userId the ID of the user
+     * @param tasks  the number of assigned tasks
+     */
+    public record UserCount(String userId, long tasks) {
+    }
+}
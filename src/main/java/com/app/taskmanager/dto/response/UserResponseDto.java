@@ -1,12 +1,16 @@
 package com.app.taskmanager.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 /**
  * Response DTO representing a user.
  * <p>
  * Contains basic user information such as ID, name, surname, and username.
+ * <p>
+ * Fields without a value are left out, so a user read with a projection only carries the requested fields.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record UserResponseDto(
         /**
          * Unique identifier of the user.
@@ -0,0 +1,33 @@
+package com.app.taskmanager.dto.response;
+
+import com.app.taskmanager.repository.model.Status;
+import com.app.taskmanager.repository.model.User;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Response DTO with the number of tasks assigned to a user.
+ *
+ * @param id         the ID of the user
+ * @param taskCounts the number of assigned tasks, by status; every status is present
+ * @param total      the number of assigned tasks
+ */
+public record UserStatsResponseDto(String id, Map<Status, Long> taskCounts, long total) {
+
+    /**
+     * Creates the statistics from the task counters of a user.
+     *
+     * @param user the user with its task counters loaded
+     * @return a new {@link UserStatsResponseDto}
+     */
+    public static UserStatsResponseDto of(User user) {
+        var counts = new EnumMap<Status, Long>(Status.class);
+        for (var status : Status.values()) {
+            var count = user.getTaskCounts() == null ? null : user.getTaskCounts().get(status);
+            counts.put(status, count == null ? 0 : count);
+        }
+        var total = counts.values().stream().mapToLong(Long::longValue).sum();
+        return new UserStatsResponseDto(user.getId(), counts, total);
+    }
+}
@@ -0,0 +1,93 @@
+package com.app.taskmanager.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Records the latency of service methods.
+ * <p>
+ * A reactive service method returns immediately, so the time is measured from subscription until the
+ * returned publisher terminates. Every execution is recorded in the {@value #METRIC_NAME} timer tagged with
+ * the service, the method and the outcome: {@value #SUCCESS}, {@value #CANCELLED}, or the simple name of the
+ * exception that terminated the publisher (e.g. {@code EntityNotFoundException}).
+ */
+@Component
+@RequiredArgsConstructor
+public class ServiceMetrics {
+
+    /**
+     * Name of the timer recording the service method executions.
+     */
+    public static final String METRIC_NAME = "service.method";
+
+    /**
+     * Outcome of an execution that completed normally.
+     */
+    public static final String SUCCESS = "success";
+
+    /**
+     * Outcome of an execution that was cancelled by the subscriber.
+     */
+    public static final String CANCELLED = "cancelled";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Creates an operator timing a {@link Mono} returned by a service method.
+     *
+     * @param service the name of the service
+     * @param method  the name of the method
+     * @return a function to pass to {@link Mono#transform(Function)}
+     */
+    public <T> Function<Mono<T>, Mono<T>> timed(String service, String method) {
+        return mono -> Mono.defer(() -> {
+            var sample = Timer.start(meterRegistry);
+
+            return mono
+                    .doOnSuccess(value -> stop(sample, service, method, SUCCESS))
+                    .doOnError(e -> stop(sample, service, method, e.getClass().getSimpleName()))
+                    .doOnCancel(() -> stop(sample, service, method, CANCELLED));
+        });
+    }
+
+    /**
+     * Creates an operator timing a {@link Flux} returned by a service method.
+     *
+     * @param service the name of the service
+     * @param method  the name of the method
+     * @return a function to pass to {@link Flux#transform(Function)}
+     */
+    public <T> Function<Flux<T>, Flux<T>> timedFlux(String service, String method) {
+        return flux -> Flux.defer(() -> {
+            var sample = Timer.start(meterRegistry);
+
+            return flux
+                    .doOnComplete(() -> stop(sample, service, method, SUCCESS))
+                    .doOnError(e -> stop(sample, service, method, e.getClass().getSimpleName()))
+                    .doOnCancel(() -> stop(sample, service, method, CANCELLED));
+        });
+    }
+
+    /**
+     * Stops the sample and records it in the timer of the method and outcome.
+     *
+     * @param sample  the started sample
+     * @param service the name of the service
+     * @param method  the name of the method
+     * @param outcome the outcome of the execution
+     */
+    private void stop(Timer.Sample sample, String service, String method, String outcome) {
+        sample.stop(Timer.builder(METRIC_NAME)
+                .description("Latency of service method executions")
+                .tag("service", service)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+}
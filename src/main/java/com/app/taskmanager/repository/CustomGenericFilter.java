@@ -1,18 +1,26 @@
 package com.app.taskmanager.repository;
 
+import com.app.taskmanager.dto.filters.CountMode;
 import com.app.taskmanager.dto.filters.FilterCriteriaDto;
+import com.app.taskmanager.dto.filters.PageCursor;
+import com.app.taskmanager.dto.filters.SortCriteriaDto;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.Document;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Generic repository interface for performing filtered and paginated queries.
  * <p>
  * Provides a contract for fetching data with dynamic filtering and pagination.
  *
+ * @param <E> the type of the entity stored in the collection
  * @param <T> the type of the response object returned by the query
  */
-public interface CustomGenericFilter<T> {
+public interface CustomGenericFilter<E, T> {
 
     /**
      * Retrieves entities with pagination and filtering based on the provided criteria.
@@ -20,7 +28,59 @@ public interface CustomGenericFilter<T> {
      * @param size    the number of elements per page
      * @param page    the page number (zero-based)
      * @param filter  a list of {@link FilterCriteriaDto} representing filtering conditions
+     * @param fields  the names of the fields to return, or {@code null} or empty to return whole entities
+     * @param sort    the sort keys, most significant first, or {@code null} or empty to order by {@code _id}
+     * @param countMode the {@link CountMode} used to compute the total number of elements
      * @return a {@link Mono} emitting the paginated and filtered result of type {@code T}
      */
-    Mono<T> findWithPaginationAndFilter(long size, long page, List<FilterCriteriaDto<?>> filter);
+    Mono<T> findWithPaginationAndFilter(long size, long page, List<FilterCriteriaDto<?>> filter, Set<String> fields,
+                                        List<SortCriteriaDto> sort, CountMode countMode);
+
+    /**
+     * Retrieves entities ordered by {@code _id} that come after the given cursor (keyset pagination).
+     * <p>
+     * At most {@code size + 1} elements are returned, so the caller can tell whether a next page exists.
+     *
+     * @param size   the number of elements per page
+     * @param cursor the {@link PageCursor} pointing after the last element of the previous page
+     * @param filter a list of {@link FilterCriteriaDto} representing filtering conditions
+     * @param fields the names of the fields to return, or {@code null} or empty to return whole entities
+     * @param countMode the {@link CountMode} used to compute the total number of elements
+     * @return a {@link Mono} emitting the filtered result of type {@code T}
+     */
+    Mono<T> findWithCursorAndFilter(long size, PageCursor cursor, List<FilterCriteriaDto<?>> filter, Set<String> fields,
+                                    CountMode countMode);
+
+    /**
+     * Streams all entities matching the filter straight from a database cursor.
+     * <p>
+     * Elements are emitted as the cursor is consumed, honouring downstream demand,
+     * so the result set is never materialized in memory.
+     *
+     * @param filter a list of {@link FilterCriteriaDto} representing filtering conditions
+     * @param fields the names of the fields to return, or {@code null} or empty to return whole entities
+     * @return a {@link Flux} emitting the matching entities
+     */
+    Flux<E> streamWithFilter(List<FilterCriteriaDto<?>> filter, Set<String> fields);
+
+    /**
+     * Explains how MongoDB executes a page of {@link #findWithPaginationAndFilter}, without running it.
+     *
+     * @param size   the number of elements per page
+     * @param page   the page number (zero-based)
+     * @param filter a list of {@link FilterCriteriaDto} representing filtering conditions
+     * @param fields the names of the fields to return, or {@code null} or empty to return whole entities
+     * @param sort   the sort keys, most significant first, or {@code null} or empty to order by {@code _id}
+     * @return a {@link Mono} emitting the query planner output, including the winning plan
+     */
+    Mono<Document> explainFilter(long size, long page, List<FilterCriteriaDto<?>> filter, Set<String> fields,
+                                 List<SortCriteriaDto> sort);
+
+    /**
+     * Inserts the entities with a single unordered write, so one rejected entity does not stop the others.
+     *
+     * @param entities the entities to insert, with their IDs already assigned
+     * @return a {@link Mono} emitting the errors of the rejected entities, indexed by their position in the list
+     */
+    Mono<List<BulkWriteError>> insertUnordered(List<E> entities);
 }
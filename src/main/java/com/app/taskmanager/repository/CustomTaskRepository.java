@@ -1,8 +1,14 @@
 package com.app.taskmanager.repository;
 
+import com.app.taskmanager.repository.model.Status;
+import com.app.taskmanager.repository.model.Task;
 import com.mongodb.client.result.UpdateResult;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+import java.util.Collection;
+
 /**
  * Custom repository interface for advanced task queries and operations.
  * <p>
@@ -11,7 +17,7 @@ import reactor.core.publisher.Mono;
 public interface CustomTaskRepository {
 
     /**
-     * Unassigns all tasks currently assigned to a specific user.
+     * Unassigns all tasks currently assigned to a specific user that are not {@link Status#IN_PROGRESS}.
      *
      * @param userId the ID of the user whose tasks will be unassigned
      * @return a {@link Mono} emitting an {@link UpdateResult} with the update result
@@ -19,11 +25,108 @@ public interface CustomTaskRepository {
     Mono<UpdateResult> unassignUserTasks(String userId);
 
     /**
-     * Unassigns a specific task from a specific user.
+     * Returns all tasks a specific user has {@link Status#IN_PROGRESS} to {@link Status#TO_DO}, unassigned.
+     *
+     * @param userId the ID of the user whose tasks will be returned
+     * @return a {@link Mono} emitting an {@link UpdateResult} with the number of returned tasks
+     */
+    Mono<UpdateResult> reopenUserTasks(String userId);
+
+    /**
+     * Atomically unassigns a specific task from a specific user.
+     * <p>
+     * A task {@link Status#IN_PROGRESS} is returned to {@link Status#TO_DO}.
      *
      * @param userId the ID of the user
      * @param taskId the ID of the task to unassign
+     * @return a {@link Mono} emitting the task as it was before it was unassigned, or empty if no task matched
+     */
+    Mono<Task> unassignUserTask(String userId, String taskId);
+
+    /**
+     * Atomically marks a task as completed if it is assigned to the user and not yet completed.
+     * <p>
+     * The precondition check and the update are performed in a single {@code findAndModify} operation.
+     *
+     * @param userId the ID of the user the task must be assigned to
+     * @param taskId the ID of the task to complete
+     * @return a {@link Mono} emitting the task as it was before the completion, or empty if the preconditions were not met
+     */
+    Mono<Task> completeTask(String userId, String taskId);
+
+    /**
+     * Atomically updates the title, description and status of a task.
+     * <p>
+     * If an expected version is given, the update is applied only when the stored task still has that version.
+     * A task moved back to {@link Status#TO_DO} is unassigned, and a task put {@link Status#IN_PROGRESS}
+     * is leased until the given time. An unassigned task is never put {@link Status#IN_PROGRESS}.
+     *
+     * @param id              the ID of the task to update
+     * @param expectedVersion the version the task must have, or {@code null} to skip the version check
+     * @param title           the new title
+     * @param description     the new description
+     * @param status          the new status
+     * @param leaseExpiresAt  the time when the lease expires if the new status is {@link Status#IN_PROGRESS}
+     * @return a {@link Mono} emitting the task as it was before the update, or empty if no task matched
+     *         or an unassigned task would be put in progress
+     */
+    Mono<Task> updateTask(String id, Long expectedVersion, String title, String description, Status status,
+                          Instant leaseExpiresAt);
+
+    /**
+     * Atomically deletes a task.
+     *
+     * @param id the ID of the task to delete
+     * @return a {@link Mono} emitting the deleted task, or empty if no task matched
+     */
+    Mono<Task> removeTask(String id);
+
+    /**
+     * Assigns all listed tasks that are still {@link Status#TO_DO} and unassigned to a user in a single {@code updateMulti},
+     * moving them to {@link Status#IN_PROGRESS}.
+     *
+     * @param userId         the ID of the user
+     * @param taskIds        the IDs of the tasks to assign
+     * @param leaseExpiresAt the time when the lease of the user on the tasks expires
      * @return a {@link Mono} emitting an {@link UpdateResult} with the update result
      */
-    Mono<UpdateResult> unassignUserTask(String userId, String taskId);
+    Mono<UpdateResult> assignUserTasks(String userId, Collection<String> taskIds, Instant leaseExpiresAt);
+
+    /**
+     * Atomically claims the oldest unassigned {@link Status#TO_DO} task for a user, moving it to {@link Status#IN_PROGRESS}.
+     *
+     * @param userId         the ID of the user
+     * @param leaseExpiresAt the time when the lease of the user on the task expires
+     * @return a {@link Mono} emitting the claimed task as it is after the claim, or empty if no task is waiting
+     */
+    Mono<Task> claimTask(String userId, Instant leaseExpiresAt);
+
+    /**
+     * Atomically extends the lease of a user on a task in progress.
+     *
+     * @param userId         the ID of the user the task must be assigned to
+     * @param taskId         the ID of the task
+     * @param leaseExpiresAt the new time when the lease expires
+     * @return a {@link Mono} emitting the task as it is after the renewal, or empty if the user does not hold the task
+     */
+    Mono<Task> renewLease(String userId, String taskId, Instant leaseExpiresAt);
+
+    /**
+     * Finds the assigned tasks in progress whose lease expired before the given time, longest expired first.
+     *
+     * @param now   the current time
+     * @param limit the maximum number of tasks
+     * @return a {@link Flux} emitting the tasks with only the ID and the user ID populated
+     */
+    Flux<Task> findExpiredLeases(Instant now, int limit);
+
+    /**
+     * Returns the listed tasks of a user whose lease is still expired to {@link Status#TO_DO}, unassigned.
+     *
+     * @param userId  the ID of the user the tasks are assigned to
+     * @param taskIds the IDs of the tasks
+     * @param now     the current time
+     * @return a {@link Mono} emitting an {@link UpdateResult} with the number of released tasks
+     */
+    Mono<UpdateResult> releaseExpiredLeases(String userId, Collection<String> taskIds, Instant now);
 }
@@ -0,0 +1,51 @@
+package com.app.taskmanager.repository;
+
+import com.app.taskmanager.repository.model.TaskStat;
+import com.app.taskmanager.repository.model.TaskStatDeltas;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Custom repository interface for maintaining and reading the task statistics.
+ */
+public interface CustomTaskStatRepository {
+
+    /**
+     * Applies the changes of the counters in a single unordered bulk write, creating missing counters.
+     *
+     * @param deltas the changes of the counters
+     * @return a {@link Mono} completing when the counters were updated
+     */
+    Mono<Void> increment(TaskStatDeltas deltas);
+
+    /**
+     * Retrieves the counters of a dimension whose keys lie in the given range, ordered by key.
+     *
+     * @param dimension the dimension of the counters
+     * @param fromKey   the smallest key, inclusive
+     * @param toKey     the largest key, inclusive
+     * @return a {@link Flux} emitting the counters
+     */
+    Flux<TaskStat> findRange(TaskStat.Dimension dimension, String fromKey, String toKey);
+
+    /**
+     * Retrieves the largest counters of a dimension.
+     *
+     * @param dimension the dimension of the counters
+     * @param limit     the maximum number of counters
+     * @return a {@link Flux} emitting the counters, largest first
+     */
+    Flux<TaskStat> findTop(TaskStat.Dimension dimension, int limit);
+
+    /**
+     * Recomputes all counters from the tasks collection.
+     * <p>
+     * Counters are rewritten on the server with {@code $merge}, and counters of values that no longer
+     * have any task are removed. Counters incremented since the reconciliation started are neither
+     * rewritten nor removed, so no concurrent increment is lost.
+     * Must not run concurrently with another reconciliation.
+     *
+     * @return a {@link Mono} emitting the number of removed counters
+     */
+    Mono<Long> reconcile();
+}
@@ -0,0 +1,37 @@
+package com.app.taskmanager.repository;
+
+import com.app.taskmanager.repository.model.Status;
+import com.app.taskmanager.repository.model.User;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Custom repository interface for maintaining the denormalized task counters of users.
+ * <p>
+ * Provides single-document updates of {@link User#getTaskCounts()} and a lookup that reads only the counters.
+ */
+public interface CustomUserRepository {
+
+    /**
+     * Atomically adds the deltas to the task counters of a user with a single {@code $inc}.
+     * @param userId the ID of the user
+     * @param deltas the change of the number of tasks, by status
+     * @return a {@link Mono} completing when the counters were updated
+     */
+    Mono<Void> incrementTaskCounts(String userId, Map<Status, Long> deltas);
+
+    /**
+     * Resets all task counters of a user.
+     * @param userId the ID of the user
+     * @return a {@link Mono} completing when the counters were reset
+     */
+    Mono<Void> clearTaskCounts(String userId);
+
+    /**
+     * Retrieves a user with only the ID and the task counters loaded.
+     * @param id the ID of the user
+     * @return a {@link Mono} emitting the user, or empty if not found
+     */
+    Mono<User> findTaskCountsById(String id);
+}
@@ -0,0 +1,24 @@
+package com.app.taskmanager.repository;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Locks ensuring that a background job runs on one node of the application at a time.
+ */
+public interface JobLockRepository {
+
+    /**
+     * Acquires or extends the lock of a job for a node.
+     * <p>
+     * The lock is granted if it is free, expired, or already held by the same node,
+     * and is then held for the given time unless extended again.
+     *
+     * @param job   the name of the job
+     * @param owner the ID of the node
+     * @param ttl   how long the lock is held
+     * @return a {@link Mono} emitting {@code true} if the node holds the lock, or {@code false} if another node does
+     */
+    Mono<Boolean> tryLock(String job, String owner, Duration ttl);
+}
@@ -0,0 +1,34 @@
+package com.app.taskmanager.repository;
+
+import com.app.taskmanager.repository.model.TaskChange;
+import reactor.core.publisher.Flux;
+
+/**
+ * Source of the changes of the "tasks" collection, read from its MongoDB change stream.
+ * <p>
+ * Change streams require a replica set or a sharded cluster.
+ */
+public interface TaskChangeStream {
+
+    /**
+     * Returns the live changes of the tasks.
+     * <p>
+     * All subscribers share a single change stream, opened with the first subscriber
+     * and closed with the last one.
+     *
+     * @return a {@link Flux} emitting the changes made after the subscription
+     */
+    Flux<TaskChange> changes();
+
+    /**
+     * Returns the changes of the tasks made after the change with the given resume token.
+     * <p>
+     * A dedicated change stream replays the changes the subscriber missed; once it has caught up,
+     * the subscriber continues with the shared change stream of {@link #changes()}.
+     *
+     * @param resumeToken the resume token of the last change received by the subscriber
+     * @return a {@link Flux} emitting the changes made after the given one
+     * @throws IllegalArgumentException (as an error signal) if the resume token is malformed
+     */
+    Flux<TaskChange> changesAfter(String resumeToken);
+}
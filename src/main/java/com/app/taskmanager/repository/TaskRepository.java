@@ -1,8 +1,12 @@
 package com.app.taskmanager.repository;
 
+import com.app.taskmanager.repository.model.Status;
 import com.app.taskmanager.repository.model.Task;
 import com.app.taskmanager.repository.view.TaskWithPaginationAndFilterView;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
 
 /**
  * Repository interface for {@link Task} entities.
@@ -10,5 +14,22 @@ import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
  * Extends {@link ReactiveMongoRepository} for standard CRUD operations
  * and {@link CustomTaskRepository} for custom queries and updates.
  */
-public interface TaskRepository extends ReactiveMongoRepository<Task, String>, CustomGenericFilter<TaskWithPaginationAndFilterView>, CustomTaskRepository {
+public interface TaskRepository extends ReactiveMongoRepository<Task, String>, CustomGenericFilter<Task, TaskWithPaginationAndFilterView>, CustomTaskRepository {
+
+    /**
+     * Counts the unassigned tasks with the given IDs that have the given status.
+     *
+     * @param ids    the IDs of the tasks
+     * @param status the required status
+     * @return a {@link Mono} emitting the number of matching tasks
+     */
+    Mono<Long> countByIdInAndStatusAndUserIdIsNull(Collection<String> ids, Status status);
+
+    /**
+     * Counts the existing tasks among the given IDs.
+     *
+     * @param ids the IDs of the tasks
+     * @return a {@link Mono} emitting the number of existing tasks
+     */
+    Mono<Long> countByIdIn(Collection<String> ids);
 }
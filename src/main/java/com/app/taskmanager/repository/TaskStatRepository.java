@@ -0,0 +1,13 @@
+package com.app.taskmanager.repository;
+
+import com.app.taskmanager.repository.model.TaskStat;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+/**
+ * Repository interface for {@link TaskStat} counters.
+ * <p>
+ * Extends {@link ReactiveMongoRepository} with the incremental maintenance and range reads
+ * of {@link CustomTaskStatRepository}.
+ */
+public interface TaskStatRepository extends ReactiveMongoRepository<TaskStat, String>, CustomTaskStatRepository {
+}
@@ -12,7 +12,7 @@ import reactor.core.publisher.Mono;
  * Extends {@link ReactiveMongoRepository} to provide standard CRUD operations
  * and custom aggregation queries for pagination and counting.
  */
-public interface UserRepository extends ReactiveMongoRepository<User, String>, CustomGenericFilter<UserWithPaginationAndFilterView> {
+public interface UserRepository extends ReactiveMongoRepository<User, String>, CustomGenericFilter<User, UserWithPaginationAndFilterView>, CustomUserRepository {
 
     /**
      * Finds a user by their username.
@@ -22,6 +22,17 @@ public interface UserRepository extends ReactiveMongoRepository<User, String>, C
      */
     Mono<User> findByUsername(String username);
 
+    /**
+     * Deletes a user by their ID.
+     * <p>
+     * Unlike {@link #deleteById(Object)}, reports whether a user was deleted,
+     * so the existence of the user does not have to be checked beforehand.
+     *
+     * @param id the ID of the user
+     * @return a {@link Mono} emitting the number of deleted users
+     */
+    Mono<Long> removeById(String id);
+
     /**
      * Retrieves users with pagination and total count using an aggregation pipeline.
      * <p>
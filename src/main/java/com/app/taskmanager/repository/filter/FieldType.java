@@ -0,0 +1,129 @@
+package com.app.taskmanager.repository.filter;
+
+import com.app.taskmanager.repository.model.Operation;
+import com.app.taskmanager.repository.model.Status;
+import org.bson.types.ObjectId;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Enumeration of the types of filterable fields.
+ * <p>
+ * Each type defines which {@link Operation}s may be applied to the field and how values
+ * received in a request body are converted into the representation stored in MongoDB.
+ */
+public enum FieldType {
+
+    /** Free-form text field. */
+    STRING(EnumSet.of(Operation.IS, Operation.GT, Operation.GTE, Operation.LT, Operation.LTE, Operation.REGEX)) {
+        @Override
+        Object coerce(Object value) {
+            return value.toString();
+        }
+    },
+
+    /** Document identifier stored as an {@link ObjectId} when it has the ObjectId format. */
+    OBJECT_ID(EnumSet.of(Operation.IS, Operation.GT, Operation.GTE, Operation.LT, Operation.LTE)) {
+        @Override
+        Object coerce(Object value) {
+            var id = value.toString();
+            return ObjectId.isValid(id) ? new ObjectId(id) : id;
+        }
+    },
+
+    /** Date and time field stored as a BSON date. */
+    DATE(EnumSet.of(Operation.IS, Operation.GT, Operation.GTE, Operation.LT, Operation.LTE)) {
+        @Override
+        Object coerce(Object value) {
+            if (value instanceof Date date) {
+                return date;
+            }
+            if (value instanceof Number millis) {
+                return new Date(millis.longValue());
+            }
+            return parseDate(value.toString());
+        }
+    },
+
+    /** Task {@link Status} stored by its name. */
+    STATUS(EnumSet.of(Operation.IS)) {
+        @Override
+        Object coerce(Object value) {
+            return Status.valueOf(value.toString()).name();
+        }
+    },
+
+    /** Search terms matched against the text index of the collection rather than a single field. */
+    TEXT(EnumSet.of(Operation.TEXT)) {
+        @Override
+        Object coerce(Object value) {
+            var terms = value.toString().strip();
+            if (terms.isEmpty() || terms.length() > MAX_TEXT_LENGTH) {
+                throw new IllegalArgumentException("Invalid search terms.");
+            }
+            return terms;
+        }
+    };
+
+    /**
+     * Maximum length of the search terms of a text search.
+     */
+    public static final int MAX_TEXT_LENGTH = 200;
+
+    private final Set<Operation> operations;
+
+    FieldType(Set<Operation> operations) {
+        this.operations = operations;
+    }
+
+    /**
+     * Checks whether the operation may be applied to fields of this type.
+     *
+     * @param operation the filter operation
+     * @return {@code true} if the operation is supported
+     */
+    boolean supports(Operation operation) {
+        return operations.contains(operation);
+    }
+
+    /**
+     * Converts a value received in a request into the representation stored in MongoDB.
+     *
+     * @param value the raw value, never {@code null}
+     * @return the converted value
+     * @throws IllegalArgumentException if the value cannot be converted
+     */
+    abstract Object coerce(Object value);
+
+    /**
+     * Parses an ISO-8601 date, date-time or date-time with offset.
+     * <p>
+     * Values without an offset are interpreted in the system time zone, the same way
+     * {@link LocalDateTime} fields are written by Spring Data.
+     *
+     * @param value the text to parse
+     * @return the parsed {@link Date}
+     */
+    private static Date parseDate(String value) {
+        try {
+            return Date.from(OffsetDateTime.parse(value).toInstant());
+        } catch (DateTimeParseException ignored) {
+        }
+        try {
+            return Date.from(LocalDateTime.parse(value).atZone(ZoneId.systemDefault()).toInstant());
+        } catch (DateTimeParseException ignored) {
+        }
+        try {
+            return Date.from(LocalDate.parse(value).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + value);
+        }
+    }
+}
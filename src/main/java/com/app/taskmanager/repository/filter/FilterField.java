@@ -0,0 +1,27 @@
+package com.app.taskmanager.repository.filter;
+
+/**
+ * Field that clients are allowed to filter on.
+ *
+ * @param key  the name of the field in the request
+ * @param path the name of the field in the MongoDB document
+ * @param type the {@link FieldType} of the field
+ * @param rank the selectivity rank of the field; indexed fields with a lower rank are matched first,
+ *             and {@link #UNINDEXED} marks fields that are not backed by an index
+ */
+public record FilterField(String key, String path, FieldType type, int rank) {
+
+    /**
+     * Rank of fields that are not backed by an index.
+     */
+    public static final int UNINDEXED = Integer.MAX_VALUE;
+
+    /**
+     * Checks whether the field is backed by an index.
+     *
+     * @return {@code true} if the field is indexed
+     */
+    public boolean indexed() {
+        return rank != UNINDEXED;
+    }
+}
@@ -0,0 +1,341 @@
+package com.app.taskmanager.repository.filter;
+
+import com.app.taskmanager.dto.filters.FilterCriteriaDto;
+import com.app.taskmanager.dto.filters.SortCriteriaDto;
+import com.app.taskmanager.repository.index.DeclaredIndex;
+import com.app.taskmanager.repository.model.Operation;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Describes which fields of an entity may be filtered on and plans the resulting MongoDB query.
+ * <p>
+ * Filters are validated against the whitelist of {@link FilterField}s, their values are coerced
+ * to the stored types, expensive shapes are rewritten or rejected, and predicates on the most
+ * selective indexed fields are placed first.
+ * <p>
+ * Sorts are accepted only if one of the declared indexes of the collection can return the documents
+ * in the requested order, so MongoDB walks the index instead of sorting the matches in memory.
+ */
+public class FilterSchema {
+
+    /**
+     * Maximum length of a regular expression accepted in a filter.
+     */
+    public static final int MAX_REGEX_LENGTH = 100;
+
+    /**
+     * Matches regular expressions that only test for a literal prefix, e.g. {@code ^Sky} or {@code ^Sky.*}.
+     */
+    private static final Pattern PREFIX_REGEX = Pattern.compile("\\^([^\\\\.*+?()\\[\\]{}|^$]+)(?:\\.\\*)?");
+
+    /**
+     * Path of the document ID, which breaks ties between equal sort keys.
+     */
+    private static final String ID_PATH = "_id";
+
+    private final Map<String, FilterField> fields;
+
+    private final List<DeclaredIndex> indexes;
+
+    /**
+     * Key of the field searching the text index, pointed at when a regex is rejected, or {@code null}.
+     */
+    private final String textKey;
+
+    /**
+     * Creates a schema allowing filters on the given fields and sorting by ID only.
+     *
+     * @param fields the filterable fields
+     */
+    public FilterSchema(List<FilterField> fields) {
+        this(fields, List.of());
+    }
+
+    /**
+     * Creates a schema allowing filters on the given fields and sorts backed by the given indexes.
+     *
+     * @param fields  the filterable fields
+     * @param indexes the declared indexes of the collection
+     */
+    public FilterSchema(List<FilterField> fields, List<DeclaredIndex> indexes) {
+        this.fields = fields.stream().collect(Collectors.toUnmodifiableMap(FilterField::key, Function.identity()));
+        this.indexes = List.copyOf(indexes);
+        this.textKey = fields.stream()
+                .filter(field -> field.type() == FieldType.TEXT)
+                .map(FilterField::key)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Returns the filterable field with the given request key.
+     *
+     * @param key the name of the field in the request
+     * @return the {@link FilterField}
+     * @throws IllegalArgumentException if filtering on the field is not allowed
+     */
+    public FilterField field(String key) {
+        var field = key == null ? null : fields.get(key);
+        if (field == null) {
+            throw new IllegalArgumentException("Filtering by '%s' is not supported.".formatted(key));
+        }
+        return field;
+    }
+
+    /**
+     * Builds a {@link Criteria} object based on the provided filtering conditions.
+     * <p>
+     * Each filter is validated and converted to a {@link Criteria}; the results are ordered by the selectivity
+     * rank of their field and combined using {@link Criteria#andOperator(Criteria...)}.
+     *
+     * @param filters the list of {@link FilterCriteriaDto} to apply
+     * @return the {@link Criteria} representing all combined filtering conditions
+     * @throws IllegalArgumentException if a filter uses an unknown field, an unsupported operation or an invalid value
+     */
+    public Criteria toCriteria(List<FilterCriteriaDto<?>> filters) {
+        if (filters == null || filters.isEmpty()) {
+            return new Criteria();
+        }
+        if (filters.stream().filter(f -> f.operation() == Operation.TEXT).count() > 1) {
+            throw new IllegalArgumentException("Only one text search is allowed per query.");
+        }
+
+        var planned = new ArrayList<PlannedCriteria>();
+
+        for (var filter : filters) {
+            var field = field(filter.key());
+            planned.add(new PlannedCriteria(field.rank(), toCriteria(field, filter.operation(), filter.value())));
+        }
+
+        planned.sort(Comparator.comparingInt(PlannedCriteria::rank));
+
+        return new Criteria().andOperator(planned.stream().map(PlannedCriteria::criteria).toArray(Criteria[]::new));
+    }
+
+    /**
+     * Checks whether the filters contain a text search, whose matches should be ranked by relevance.
+     *
+     * @param filters the list of {@link FilterCriteriaDto} to apply
+     * @return {@code true} if one of the filters is a {@link Operation#TEXT} search
+     */
+    public boolean isTextSearch(List<FilterCriteriaDto<?>> filters) {
+        return filters != null && filters.stream().anyMatch(f -> f.operation() == Operation.TEXT);
+    }
+
+    /**
+     * Builds the {@link Sort} for the requested sort keys.
+     * <p>
+     * Unless the keys end with the ID, or with all keys of a unique index, the ID is appended in the same
+     * direction, so elements with equal keys keep their order across pages. All keys must have the same
+     * direction, and an index must list the resulting keys in order, possibly after fields the filters
+     * match by equality; MongoDB can then walk that index forwards or backwards.
+     * Without sort keys the elements are ordered by ID.
+     *
+     * @param sort    the sort keys, most significant first, or {@code null} or empty to sort by ID
+     * @param filters the filters the sort is combined with
+     * @return the {@link Sort}
+     * @throws IllegalArgumentException if a key cannot be sorted by, the directions differ,
+     *                                  no index backs the sort, or the filters contain a text search
+     */
+    public Sort toSort(List<SortCriteriaDto> sort, List<FilterCriteriaDto<?>> filters) {
+        if (sort == null || sort.isEmpty()) {
+            return Sort.by(Sort.Direction.ASC, ID_PATH);
+        }
+        if (isTextSearch(filters)) {
+            throw new IllegalArgumentException("Sorting cannot be combined with a text search.");
+        }
+
+        var direction = direction(sort.getFirst());
+        var paths = new ArrayList<String>();
+        for (var key : sort) {
+            if (direction(key) != direction) {
+                throw new IllegalArgumentException("All sort keys must have the same direction.");
+            }
+
+            var field = key.key() == null ? null : fields.get(key.key());
+            if (field == null || field.type() == FieldType.TEXT) {
+                throw new IllegalArgumentException("Sorting by '%s' is not supported.".formatted(key.key()));
+            }
+            if (paths.contains(field.path())) {
+                throw new IllegalArgumentException("Duplicate sort key '%s'.".formatted(key.key()));
+            }
+            if (paths.contains(ID_PATH)) {
+                throw new IllegalArgumentException("Sort key '%s' cannot follow the ID.".formatted(key.key()));
+            }
+            paths.add(field.path());
+        }
+
+        if (paths.equals(List.of(ID_PATH))) {
+            return Sort.by(direction, ID_PATH);
+        }
+
+        var equalities = equalityPaths(filters);
+        if (indexes.stream().anyMatch(index -> index.unique() && index.ordered()
+                && indexedAfterEqualities(index.fields(), paths, equalities, true))) {
+            return Sort.by(direction, paths.toArray(String[]::new));
+        }
+
+        if (!paths.getLast().equals(ID_PATH)) {
+            paths.add(ID_PATH);
+        }
+        if (indexes.stream().anyMatch(index -> index.ordered()
+                && indexedAfterEqualities(index.fields(), paths, equalities, false))) {
+            return Sort.by(direction, paths.toArray(String[]::new));
+        }
+
+        throw new IllegalArgumentException("Sorting by %s is not backed by an index."
+                .formatted(sort.stream().map(SortCriteriaDto::key).toList()));
+    }
+
+    /**
+     * Checks whether the keys of an index, after a prefix of fields matched by equality, start with the given paths.
+     *
+     * @param indexed    the fields of the index, in key order
+     * @param paths      the sort paths
+     * @param equalities the paths the filters match by equality
+     * @param whole      whether the paths must also end the index
+     * @return {@code true} if the index returns documents in the order of the paths
+     */
+    private static boolean indexedAfterEqualities(List<String> indexed, List<String> paths, Set<String> equalities,
+                                                  boolean whole) {
+        for (var skipped = 0; skipped + paths.size() <= indexed.size(); skipped++) {
+            var rest = indexed.subList(skipped, indexed.size());
+            if (whole ? rest.equals(paths) : rest.subList(0, paths.size()).equals(paths)) {
+                return true;
+            }
+            if (!equalities.contains(indexed.get(skipped))) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects the paths of the fields the filters match by equality.
+     *
+     * @param filters the filters
+     * @return the paths of the fields filtered with {@link Operation#IS}
+     */
+    private Set<String> equalityPaths(List<FilterCriteriaDto<?>> filters) {
+        var paths = new HashSet<String>();
+        if (filters != null) {
+            for (var filter : filters) {
+                if (filter.operation() == Operation.IS) {
+                    paths.add(field(filter.key()).path());
+                }
+            }
+        }
+        return paths;
+    }
+
+    private static Sort.Direction direction(SortCriteriaDto key) {
+        return key.direction() == null ? Sort.Direction.ASC : key.direction();
+    }
+
+    /**
+     * Converts a single validated filter into a {@link Criteria}.
+     * <p>
+     * A {@link Operation#IS} filter without a value matches documents where the field is {@code null} or missing,
+     * e.g. unassigned tasks; all other operations require a value.
+     *
+     * @param field     the filtered field
+     * @param operation the filter operation
+     * @param value     the raw filter value
+     * @return the {@link Criteria} for the filter
+     */
+    private Criteria toCriteria(FilterField field, Operation operation, Object value) {
+        if (operation == null || !field.type().supports(operation)) {
+            throw new IllegalArgumentException(
+                    "Operation %s is not supported for '%s'.".formatted(operation, field.key()));
+        }
+        var where = Criteria.where(field.path());
+
+        if (operation == Operation.IS && value == null) {
+            return where.is(null);
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("Provide a value for '%s'.".formatted(field.key()));
+        }
+
+        return switch (operation) {
+            case IS -> where.is(coerce(field, value));
+            case GTE -> where.gte(coerce(field, value));
+            case LTE -> where.lte(coerce(field, value));
+            case GT -> where.gt(coerce(field, value));
+            case LT -> where.lt(coerce(field, value));
+            case REGEX -> regex(where, field, value.toString());
+            case TEXT -> Criteria.where("$text").is(new Document("$search", coerce(field, value)));
+        };
+    }
+
+    /**
+     * Builds the criteria for a regular expression filter.
+     * <p>
+     * A regex that only tests for a literal prefix is rewritten to an equivalent range,
+     * which is matched with tight index bounds. Other regexes would test the value of every candidate
+     * document, so they are rejected; words are searched with the text index instead, where there is one.
+     *
+     * @param where the criteria on the filtered field
+     * @param field the filtered field
+     * @param regex the regular expression
+     * @return the {@link Criteria} for the filter
+     */
+    private Criteria regex(Criteria where, FilterField field, String regex) {
+        if (regex.isEmpty() || regex.length() > MAX_REGEX_LENGTH) {
+            throw new IllegalArgumentException("Regex for '%s' must have between 1 and %d characters."
+                    .formatted(field.key(), MAX_REGEX_LENGTH));
+        }
+
+        var prefix = PREFIX_REGEX.matcher(regex);
+        if (!prefix.matches()) {
+            var message = "Regex for '%s' must be a prefix match such as ^abc.".formatted(field.key());
+            throw new IllegalArgumentException(textKey == null
+                    ? message
+                    : message + " Search for words with the '%s' filter.".formatted(textKey));
+        }
+
+        var lower = prefix.group(1);
+        var last = lower.charAt(lower.length() - 1);
+        if (!Character.isSurrogate(last) && last != Character.MAX_VALUE) {
+            var upper = lower.substring(0, lower.length() - 1) + (char) (last + 1);
+            return where.gte(lower).lt(upper);
+        }
+        return where.regex(regex);
+    }
+
+    /**
+     * Converts a filter value to the type stored for the field.
+     *
+     * @param field the filtered field
+     * @param value the raw filter value
+     * @return the converted value
+     */
+    private Object coerce(FilterField field, Object value) {
+        try {
+            return field.type().coerce(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value for '%s'.".formatted(field.key()));
+        }
+    }
+
+    /**
+     * Criteria of a single filter together with the selectivity rank of its field.
+     *
+     * @param rank     the selectivity rank
+     * @param criteria the criteria
+     */
+    private record PlannedCriteria(int rank, Criteria criteria) {
+    }
+}
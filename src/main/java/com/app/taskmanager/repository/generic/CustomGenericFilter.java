@@ -1,16 +1,41 @@
 package com.app.taskmanager.repository.generic;
 
+import com.app.taskmanager.dto.filters.CountMode;
 import com.app.taskmanager.dto.filters.FilterCriteriaDto;
-import com.app.taskmanager.repository.model.Operation;
+import com.app.taskmanager.dto.filters.PageCursor;
+import com.app.taskmanager.dto.filters.SortCriteriaDto;
+import com.app.taskmanager.repository.filter.FilterSchema;
+import com.app.taskmanager.repository.routing.ReadRouting;
+import com.app.taskmanager.repository.view.CountInfoView;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ReadPreference;
+import com.mongodb.bulk.BulkWriteError;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.FieldLookupPolicy;
+import org.springframework.data.mongodb.core.aggregation.TypeBasedAggregationOperationContext;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
 import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.lang.reflect.ParameterizedType;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
 
 /**
  * Abstract generic repository providing pagination and filtering capabilities.
@@ -18,81 +43,386 @@ import java.util.List;
  * Implements the {@link com.app.taskmanager.repository.CustomGenericFilter} interface
  * and provides a base implementation for executing paginated and filtered queries
  * using {@link ReactiveMongoTemplate}.
+ * <p>
+ * The page and the total count are fetched by two independent queries that run concurrently,
+ * so the count can be skipped or estimated and large pages are not bound by the 16MB limit
+ * of a single {@code $facet} result document.
+ * <p>
+ * Filters are validated when the returned publisher is subscribed, so an invalid filter
+ * is reported as an error signal rather than thrown to the caller.
+ * <p>
+ * Reads of the list methods follow the {@link ReadRouting}, so they can be served by secondaries
+ * while every other read keeps the default read preference of the client.
  *
+ * @param <E> the type of the entity stored in the collection
  * @param <T> the type of the result object returned by the query
  */
 @RequiredArgsConstructor
-public abstract class CustomGenericFilter<T> implements com.app.taskmanager.repository.CustomGenericFilter<T> {
+public abstract class CustomGenericFilter<E, T> implements com.app.taskmanager.repository.CustomGenericFilter<E, T> {
+
+    /**
+     * How long a filtered count stays in the cache used by {@link CountMode#ESTIMATED}.
+     */
+    private static final Duration COUNT_CACHE_TTL = Duration.ofSeconds(30);
+
+    /**
+     * Maximum number of distinct filters whose counts are cached.
+     */
+    private static final long COUNT_CACHE_SIZE = 10_000;
+
+    /**
+     * Number of documents fetched per round trip when streaming a result set.
+     */
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    /**
+     * Orders the matches of a text search by relevance, breaking ties by {@code _id} so pages are stable.
+     */
+    private static final AggregationOperation TEXT_SCORE_SORT = Aggregation.stage(new Document("$sort",
+            new Document("score", new Document("$meta", "textScore")).append("_id", 1)));
 
     private final ReactiveMongoTemplate mongoTemplate;
 
     /**
-     * The class type of the result object {@code T}.
+     * The class type of the entity {@code E}.
+     */
+    private final Class<E> eClass =
+            (Class<E>) ((ParameterizedType) getClass().getGenericSuperclass()).getActualTypeArguments()[0];
+
+    /**
+     * Cache of filtered counts keyed by the normalized filter.
      */
-    private final Class<T> tClass =
-            (Class<T>) ((ParameterizedType) getClass().getGenericSuperclass()).getActualTypeArguments()[0];
+    private final AsyncCache<String, Long> countCache = Caffeine.newBuilder()
+            .expireAfterWrite(COUNT_CACHE_TTL)
+            .maximumSize(COUNT_CACHE_SIZE)
+            .buildAsync();
 
     /**
      * The name of the MongoDB collection on which queries are executed.
      */
     private final String collectionName;
 
+    /**
+     * Creates the result object {@code T} from the fetched elements and count information.
+     */
+    private final BiFunction<List<E>, List<CountInfoView>, T> viewFactory;
+
+    /**
+     * The {@link FilterSchema} validating and planning the filters accepted by the collection.
+     */
+    private final FilterSchema filterSchema;
+
+    /**
+     * The {@link ReadRouting} choosing the read preference of each list method.
+     */
+    private final ReadRouting readRouting;
+
     /**
      * Retrieves entities from the collection with pagination and filtering.
+     * <p>
+     * The {@code $sort} stage directly precedes {@code $skip} and {@code $limit}, and the {@link FilterSchema}
+     * only accepts sorts an index can return in order, so MongoDB walks the index and stops after the page
+     * instead of sorting all matches. Ties are broken by {@code _id}, so pages are stable across calls.
+     * The matches of a text search are ranked by relevance, most relevant first.
+     *
+     * @param size      the number of elements per page
+     * @param page      the page number (zero-based)
+     * @param filter    a list of {@link FilterCriteriaDto} representing filtering conditions
+     * @param fields    the names of the fields to return, or {@code null} or empty to return whole entities
+     * @param sort      the sort keys, most significant first, or {@code null} or empty to order by {@code _id}
+     * @param countMode the {@link CountMode} used to compute the total number of elements
+     * @return a {@link Mono} emitting the paginated and filtered result of type {@code T}
+     */
+    public Mono<T> findWithPaginationAndFilter(long size, long page, List<FilterCriteriaDto<?>> filter,
+                                               Set<String> fields, List<SortCriteriaDto> sort, CountMode countMode) {
+        return Mono.defer(() -> {
+            var criteria = filterSchema.toCriteria(filter);
+            var agg = pageAggregation(size, page, criteria, filter, fields, sort);
+            return findPage(agg, criteria, filter, countMode, readPreference("findWithPaginationAndFilter"));
+        });
+    }
+
+    /**
+     * Retrieves entities ordered by {@code _id} that come after the given cursor.
+     * <p>
+     * Instead of {@code $skip}, the page is located with a {@code $match} on {@code _id > lastId},
+     * which is answered by the {@code _id} index, so fetching a deep page costs the same as the first one.
+     * The matches of a text search are therefore also returned in {@code _id} order, not ranked by relevance.
+     * One extra element is fetched to detect whether a next page exists.
+     *
+     * @param size      the number of elements per page
+     * @param cursor    the {@link PageCursor} pointing after the last element of the previous page
+     * @param filter    a list of {@link FilterCriteriaDto} representing filtering conditions
+     * @param fields    the names of the fields to return, or {@code null} or empty to return whole entities
+     * @param countMode the {@link CountMode} used to compute the total number of elements
+     * @return a {@link Mono} emitting the filtered result of type {@code T}
+     */
+    public Mono<T> findWithCursorAndFilter(long size, PageCursor cursor, List<FilterCriteriaDto<?>> filter,
+                                           Set<String> fields, CountMode countMode) {
+        return Mono.defer(() -> {
+            var criteria = filterSchema.toCriteria(filter);
+            var pageCriteria = cursor.lastId() == null
+                    ? criteria
+                    : new Criteria().andOperator(criteria, Criteria.where("_id").gt(cursor.lastId()));
+
+            var stages = new ArrayList<AggregationOperation>(List.of(
+                    Aggregation.match(pageCriteria),
+                    Aggregation.sort(Sort.Direction.ASC, "_id"),
+                    Aggregation.limit(size + 1)
+            ));
+            project(stages, fields);
+            var agg = Aggregation.newAggregation(stages);
+            return findPage(agg, criteria, filter, countMode, readPreference("findWithCursorAndFilter"));
+        });
+    }
+
+    /**
+     * Streams all entities matching the filter straight from a database cursor.
+     * <p>
+     * Documents are fetched in batches of {@value #STREAM_BATCH_SIZE} as downstream demand arrives,
+     * so memory usage does not depend on the size of the result set.
+     *
+     * @param filter a list of {@link FilterCriteriaDto} representing filtering conditions
+     * @param fields the names of the fields to return, or {@code null} or empty to return whole entities
+     * @return a {@link Flux} emitting the matching entities
+     */
+    public Flux<E> streamWithFilter(List<FilterCriteriaDto<?>> filter, Set<String> fields) {
+        return Flux.defer(() -> {
+            var paths = projectedPaths(fields);
+            var query = query(filterSchema.toCriteria(filter), readPreference("streamWithFilter"))
+                    .cursorBatchSize(STREAM_BATCH_SIZE);
+            query.fields().include(paths.toArray(String[]::new));
+            return mongoTemplate.find(query, eClass, collectionName);
+        });
+    }
+
+    /**
+     * Explains how MongoDB executes a page of {@link #findWithPaginationAndFilter}.
+     * <p>
+     * The same aggregation the page is fetched with ({@code $match}, {@code $sort}, {@code $skip}, {@code $limit}
+     * and {@code $project}) is rendered like the template renders it and sent to the {@code explain} command
+     * with {@code queryPlanner} verbosity, so the pipeline is planned but not run.
      *
      * @param size   the number of elements per page
      * @param page   the page number (zero-based)
      * @param filter a list of {@link FilterCriteriaDto} representing filtering conditions
-     * @return a {@link Mono} emitting the paginated and filtered result of type {@code T}
+     * @param fields the names of the fields to return, or {@code null} or empty to return whole entities
+     * @param sort   the sort keys, most significant first, or {@code null} or empty to order by {@code _id}
+     * @return a {@link Mono} emitting the {@code queryPlanner} section of the explain output,
+     * including the parsed query and the winning plan
      */
-    public Mono<T> findWithPaginationAndFilter(long size, long page, List<FilterCriteriaDto<?>> filter) {
-        var agg = Aggregation.newAggregation(
-                Aggregation.facet(
-                                Aggregation.match(buildCriteria(filter)),
-                                Aggregation.skip(size * page),
-                                Aggregation.limit(size)
-                        ).as("elements")
-                        .and(
-                                Aggregation.match(buildCriteria(filter)),
-                                Aggregation.count().as("totalCount")
-                        ).as("countInfo")
-        );
-        return mongoTemplate.aggregate(agg, collectionName, tClass).next();
+    public Mono<Document> explainFilter(long size, long page, List<FilterCriteriaDto<?>> filter,
+                                        Set<String> fields, List<SortCriteriaDto> sort) {
+        return Mono.defer(() -> {
+            var agg = pageAggregation(size, page, filterSchema.toCriteria(filter), filter, fields, sort);
+            var converter = mongoTemplate.getConverter();
+            var context = new TypeBasedAggregationOperationContext(Object.class, converter.getMappingContext(),
+                    new QueryMapper(converter), FieldLookupPolicy.relaxed());
+            var command = new Document("explain", new Document("aggregate", collectionName)
+                    .append("pipeline", agg.toPipeline(context))
+                    .append("cursor", new Document()))
+                    .append("verbosity", "queryPlanner");
+
+            return mongoTemplate.executeCommand(command).mapNotNull(CustomGenericFilter::queryPlanner);
+        });
     }
 
     /**
-     * Builds a {@link Criteria} object based on the provided filtering conditions.
+     * Inserts the entities with an unordered bulk write.
      * <p>
-     * Each filter is converted to a {@link Criteria} and all are combined using {@link Criteria#andOperator(Criteria...)}.
+     * The server attempts every insert even if some fail, and reports the failed ones
+     * as write errors instead of failing the whole write. The template translates the
+     * {@link MongoBulkWriteException} of such a write, e.g. to a
+     * {@link org.springframework.dao.DuplicateKeyException}, so the write errors are read from its cause.
+     * A write concern error is still signalled as an error, since it leaves the outcome of every insert unknown.
      *
-     * @param filters the list of {@link FilterCriteriaDto} to apply
-     * @return the {@link Criteria} representing all combined filtering conditions
-     */
-    private Criteria buildCriteria(List<FilterCriteriaDto<?>> filters) {
-        var criteriaList = new ArrayList<Criteria>();
-
-        for (var filter : filters) {
-            switch (filter.operation()) {
-                case Operation.IS:
-                    criteriaList.add(Criteria.where(filter.key()).is(filter.value()));
-                    break;
-                case Operation.GTE:
-                    criteriaList.add(Criteria.where(filter.key()).gte(filter.value()));
-                    break;
-                case Operation.LTE:
-                    criteriaList.add(Criteria.where(filter.key()).lte(filter.value()));
-                    break;
-                case Operation.GT:
-                    criteriaList.add(Criteria.where(filter.key()).gt(filter.value()));
-                    break;
-                case Operation.LT:
-                    criteriaList.add(Criteria.where(filter.key()).lt(filter.value()));
-                    break;
-                case Operation.REGEX:
-                    criteriaList.add(Criteria.where(filter.key()).regex(filter.value().toString()));
-                    break;
+     * @param entities the entities to insert, with their IDs already assigned
+     * @return a {@link Mono} emitting the errors of the rejected entities, indexed by their position in the list
+     */
+    public Mono<List<BulkWriteError>> insertUnordered(List<E> entities) {
+        if (entities.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, eClass, collectionName)
+                .insert(entities)
+                .execute()
+                .map(result -> List.<BulkWriteError>of())
+                .onErrorResume(e -> {
+                    if (NestedExceptionUtils.getMostSpecificCause(e) instanceof MongoBulkWriteException bulk
+                            && bulk.getWriteConcernError() == null) {
+                        return Mono.just(bulk.getWriteErrors());
+                    }
+                    return Mono.error(e);
+                });
+    }
+
+    /**
+     * Runs the page aggregation and the count query concurrently and combines their results.
+     *
+     * @param agg       the aggregation fetching the page elements
+     * @param criteria  the criteria matching all elements of the result set
+     * @param filter    the filtering conditions the criteria were built from
+     * @param countMode      the {@link CountMode} used to compute the total number of elements
+     * @param readPreference the {@link ReadPreference} of both queries, or {@code null} for the default one
+     * @return a {@link Mono} emitting the result of type {@code T}
+     */
+    private Mono<T> findPage(Aggregation agg, Criteria criteria, List<FilterCriteriaDto<?>> filter,
+                             CountMode countMode, ReadPreference readPreference) {
+        if (readPreference != null) {
+            agg = agg.withOptions(AggregationOptions.builder().readPreference(readPreference).build());
+        }
+        var elements = mongoTemplate.aggregate(agg, collectionName, eClass).collectList();
+        var countInfo = count(criteria, filter, countMode, readPreference)
+                .map(total -> List.of(new CountInfoView(total)))
+                .defaultIfEmpty(List.of());
+
+        return Mono.zip(elements, countInfo)
+                .map(t -> viewFactory.apply(t.getT1(), t.getT2()));
+    }
+
+    /**
+     * Counts the elements matching the criteria according to the requested {@link CountMode}.
+     *
+     * @param criteria  the criteria matching all elements of the result set
+     * @param filter    the filtering conditions the criteria were built from
+     * @param countMode      the {@link CountMode} to apply
+     * @param readPreference the {@link ReadPreference} of the count query, or {@code null} for the default one
+     * @return a {@link Mono} emitting the total, or empty if the count was not requested
+     */
+    private Mono<Long> count(Criteria criteria, List<FilterCriteriaDto<?>> filter, CountMode countMode,
+                             ReadPreference readPreference) {
+        return switch (countMode) {
+            case NONE -> Mono.empty();
+            case EXACT -> mongoTemplate.count(query(criteria, readPreference), collectionName);
+            case ESTIMATED -> {
+                if (filter == null || filter.isEmpty()) {
+                    yield mongoTemplate.estimatedCount(collectionName);
+                }
+                var future = countCache.get(normalize(filter),
+                        (key, executor) -> mongoTemplate.count(query(criteria, readPreference), collectionName).toFuture());
+                yield Mono.fromFuture(future, true);
+            }
+        };
+    }
+
+    /**
+     * Builds the aggregation fetching one page of {@link #findWithPaginationAndFilter}.
+     *
+     * @param size     the number of elements per page
+     * @param page     the page number (zero-based)
+     * @param criteria the criteria built from the filter
+     * @param filter   the filtering conditions the criteria were built from
+     * @param fields   the names of the fields to return, or {@code null} or empty to return whole entities
+     * @param sort     the sort keys, most significant first, or {@code null} or empty to order by {@code _id}
+     * @return the {@link Aggregation}
+     */
+    private Aggregation pageAggregation(long size, long page, Criteria criteria, List<FilterCriteriaDto<?>> filter,
+                                        Set<String> fields, List<SortCriteriaDto> sort) {
+        var order = filterSchema.toSort(sort, filter);
+        var stages = new ArrayList<AggregationOperation>();
+        stages.add(Aggregation.match(criteria));
+        stages.add(filterSchema.isTextSearch(filter) ? TEXT_SCORE_SORT : Aggregation.sort(order));
+        stages.add(Aggregation.skip(size * page));
+        stages.add(Aggregation.limit(size));
+        project(stages, fields);
+        return Aggregation.newAggregation(stages);
+    }
+
+    /**
+     * Extracts the {@code queryPlanner} section from the explain output of an aggregation.
+     * <p>
+     * If the whole pipeline is executed by the query engine, the section is at the top level;
+     * otherwise it belongs to the {@code $cursor} stage feeding the remaining stages.
+     *
+     * @param explain the explain output
+     * @return the {@code queryPlanner} document, or {@code null} if the output has none
+     */
+    private static Document queryPlanner(Document explain) {
+        var queryPlanner = explain.get("queryPlanner", Document.class);
+        if (queryPlanner != null) {
+            return queryPlanner;
+        }
+        var stages = explain.getList("stages", Document.class, List.of());
+        var cursor = stages.isEmpty() ? null : stages.get(0).get("$cursor", Document.class);
+        return cursor == null ? null : cursor.get("queryPlanner", Document.class);
+    }
+
+    /**
+     * Appends a {@code $project} stage keeping only the requested fields, if any were requested.
+     * <p>
+     * The stage runs after {@code $skip} and {@code $limit}, so only the documents of the page are reshaped.
+     *
+     * @param stages the stages of the aggregation
+     * @param fields the names of the requested fields, or {@code null} or empty for whole entities
+     */
+    private void project(List<AggregationOperation> stages, Set<String> fields) {
+        var paths = projectedPaths(fields);
+        if (!paths.isEmpty()) {
+            stages.add(Aggregation.project(paths.toArray(String[]::new)));
+        }
+    }
+
+    /**
+     * Resolves the requested entity properties to the names of the fields in the MongoDB documents.
+     * <p>
+     * The {@code _id} is always returned, since cursor pagination continues after it.
+     *
+     * @param fields the names of the requested properties, or {@code null} or empty for whole entities
+     * @return the document fields to return, or an empty list to return whole documents
+     * @throws IllegalArgumentException if the entity has no property with one of the names
+     */
+    private List<String> projectedPaths(Set<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return List.of();
+        }
+
+        var entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(eClass);
+        var paths = new ArrayList<String>();
+        paths.add("_id");
+        for (var field : fields) {
+            var property = field == null ? null : entity.getPersistentProperty(field);
+            if (property == null) {
+                throw new IllegalArgumentException("Unknown field '%s'.".formatted(field));
+            }
+            if (!property.isIdProperty()) {
+                paths.add(property.getFieldName());
             }
         }
-        return new Criteria().andOperator(criteriaList.toArray(Criteria[]::new));
+        return paths;
+    }
+
+    /**
+     * Returns the read preference the {@link ReadRouting} assigns to a method of this repository.
+     *
+     * @param method the name of the method
+     * @return the {@link ReadPreference}, or {@code null} to keep the default one
+     */
+    private ReadPreference readPreference(String method) {
+        return readRouting.readPreference(collectionName, method);
+    }
+
+    /**
+     * Creates a query for the criteria with the given read preference.
+     *
+     * @param criteria       the query criteria
+     * @param readPreference the {@link ReadPreference}, or {@code null} to keep the default one
+     * @return the {@link Query}
+     */
+    private static Query query(Criteria criteria, ReadPreference readPreference) {
+        var query = new Query(criteria);
+        return readPreference == null ? query : query.withReadPreference(readPreference);
+    }
+
+    /**
+     * Builds a cache key that is independent of the order in which the filters were sent.
+     *
+     * @param filters the filtering conditions
+     * @return the normalized representation of the filters
+     */
+    private String normalize(List<FilterCriteriaDto<?>> filters) {
+        return filters.stream()
+                .map(f -> f.key() + "|" + f.operation() + "|" + f.value())
+                .sorted()
+                .collect(Collectors.joining("&"));
     }
 }
@@ -1,16 +1,23 @@
 package com.app.taskmanager.repository.impl;
 
 import com.app.taskmanager.repository.CustomTaskRepository;
+import com.app.taskmanager.repository.model.Status;
 import com.app.taskmanager.repository.model.Task;
 import com.mongodb.client.result.UpdateResult;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+import java.util.Collection;
+
 /**
  * Implementation of {@link CustomTaskRepository} using {@link ReactiveMongoTemplate}.
  * <p>
@@ -26,28 +33,248 @@ public class CustomTaskRepositoryImpl implements CustomTaskRepository {
 
     /**
      * Unassigns all tasks currently assigned to a specific user.
+     * <p>
+     * Tasks in progress are not unassigned here; they are returned to {@link Status#TO_DO}
+     * with {@link #reopenUserTasks(String)} first.
      *
      * @param userId the ID of the user whose tasks will be unassigned
      * @return a {@link Mono} emitting an {@link UpdateResult} with the update result
      */
     @Override
     public Mono<UpdateResult> unassignUserTasks(String userId) {
-        var query = new Query(Criteria.where("userId").is(userId));
-        var update = new Update().set("userId", null);
+        var query = new Query(Criteria.where("userId").is(userId).and("status").ne(Status.IN_PROGRESS));
+        var update = new Update().set("userId", null).unset("leaseExpiresAt");
         return mongoTemplate.updateMulti(query, update, Task.class);
     }
 
     /**
-     * Unassigns a specific task from a specific user.
+     * Returns all tasks a specific user has in progress to {@link Status#TO_DO}, unassigned,
+     * so they can be claimed or assigned again.
+     *
+     * @param userId the ID of the user whose tasks will be returned
+     * @return a {@link Mono} emitting an {@link UpdateResult} with the number of returned tasks
+     */
+    @Override
+    public Mono<UpdateResult> reopenUserTasks(String userId) {
+        var query = new Query(Criteria.where("userId").is(userId).and("status").is(Status.IN_PROGRESS));
+        return mongoTemplate.updateMulti(query, reopen(), Task.class);
+    }
+
+    /**
+     * Atomically unassigns a specific task from a specific user.
+     * <p>
+     * A task in progress is returned to {@link Status#TO_DO}, so it can be claimed or assigned again;
+     * any other task keeps its status.
      *
      * @param userId the ID of the user
      * @param taskId the ID of the task to unassign
+     * @return a {@link Mono} emitting the task as it was before it was unassigned, or empty if no task matched
+     */
+    @Override
+    public Mono<Task> unassignUserTask(String userId, String taskId) {
+        var inProgress = new Query(Criteria.where("userId").is(userId)
+                .and("id").is(taskId)
+                .and("status").is(Status.IN_PROGRESS));
+        var other = new Query(Criteria.where("userId").is(userId)
+                .and("id").is(taskId)
+                .and("status").ne(Status.IN_PROGRESS));
+        var update = new Update().set("userId", null).unset("leaseExpiresAt");
+        return mongoTemplate.findAndModify(inProgress, reopen(), Task.class)
+                .switchIfEmpty(Mono.defer(() -> mongoTemplate.findAndModify(other, update, Task.class)));
+    }
+
+    /**
+     * Atomically marks a task as completed if it is assigned to the user and not yet completed.
+     *
+     * @param userId the ID of the user the task must be assigned to
+     * @param taskId the ID of the task to complete
+     * @return a {@link Mono} emitting the task as it was before the completion, or empty if the preconditions were not met
+     */
+    @Override
+    public Mono<Task> completeTask(String userId, String taskId) {
+        var query = new Query(Criteria.where("id").is(taskId)
+                .and("userId").is(userId)
+                .and("status").ne(Status.DONE));
+        var update = new Update()
+                .set("status", Status.DONE)
+                .unset("leaseExpiresAt")
+                .inc("version", 1);
+        return mongoTemplate.findAndModify(query, update, Task.class);
+    }
+
+    /**
+     * Atomically updates the title, description and status of a task.
+     * <p>
+     * Only an assigned task can be put {@link Status#IN_PROGRESS}; it is leased until the given time, so the sweeper
+     * releases it unless its user renews the lease. A task leaving {@link Status#IN_PROGRESS} loses its lease, and a task moved back
+     * to {@link Status#TO_DO} is unassigned, so it can be claimed or assigned again.
+     *
+     * @param id              the ID of the task to update
+     * @param expectedVersion the version the task must have, or {@code null} to skip the version check
+     * @param title           the new title
+     * @param description     the new description
+     * @param status          the new status
+     * @param leaseExpiresAt  the time when the lease expires if the new status is {@link Status#IN_PROGRESS}
+     * @return a {@link Mono} emitting the task as it was before the update, or empty if no task matched
+     *         or an unassigned task would be put in progress
+     */
+    @Override
+    public Mono<Task> updateTask(String id, Long expectedVersion, String title, String description, Status status,
+                                 Instant leaseExpiresAt) {
+        var criteria = Criteria.where("id").is(id);
+        if (expectedVersion != null) {
+            criteria.and("version").is(expectedVersion);
+        }
+        if (status == Status.IN_PROGRESS) {
+            criteria.and("userId").ne(null);
+        }
+
+        var update = new Update()
+                .set("title", title)
+                .set("description", description)
+                .set("status", status)
+                .inc("version", 1);
+        if (status == Status.IN_PROGRESS) {
+            update.set("leaseExpiresAt", leaseExpiresAt);
+        } else {
+            update.unset("leaseExpiresAt");
+        }
+        if (status == Status.TO_DO) {
+            update.set("userId", null);
+        }
+        return mongoTemplate.findAndModify(new Query(criteria), update, Task.class);
+    }
+
+    /**
+     * Atomically deletes a task.
+     *
+     * @param id the ID of the task to delete
+     * @return a {@link Mono} emitting the deleted task, or empty if no task matched
+     */
+    @Override
+    public Mono<Task> removeTask(String id) {
+        return mongoTemplate.findAndRemove(new Query(Criteria.where("id").is(id)), Task.class);
+    }
+
+    /**
+     * Assigns all listed tasks that are still {@link Status#TO_DO} and unassigned to a user in a single {@code updateMulti}.
+     *
+     * @param userId         the ID of the user
+     * @param taskIds        the IDs of the tasks to assign
+     * @param leaseExpiresAt the time when the lease of the user on the tasks expires
      * @return a {@link Mono} emitting an {@link UpdateResult} with the update result
      */
     @Override
-    public Mono<UpdateResult> unassignUserTask(String userId, String taskId) {
-        var query = new Query(Criteria.where("userId").is(userId).and("id").is(taskId));
-        var update = new Update().set("userId", null);
-        return mongoTemplate.updateFirst(query, update, Task.class);
+    public Mono<UpdateResult> assignUserTasks(String userId, Collection<String> taskIds, Instant leaseExpiresAt) {
+        var query = new Query(Criteria.where("id").in(taskIds)
+                .and("status").is(Status.TO_DO)
+                .and("userId").is(null));
+        var update = new Update()
+                .set("userId", userId)
+                .set("status", Status.IN_PROGRESS)
+                .set("leaseExpiresAt", leaseExpiresAt)
+                .inc("version", 1);
+        return mongoTemplate.updateMulti(query, update, Task.class);
+    }
+
+    /**
+     * Atomically claims the oldest unassigned {@link Status#TO_DO} task for a user with a single {@code findAndModify}.
+     * <p>
+     * The oldest waiting task is located with the {@code status_creationDate_id} index, and selecting and
+     * assigning it is one atomic step, so concurrent claims never pick the same task. Tasks created at the same
+     * time are claimed in ID order, so the order of the claims is deterministic.
+     *
+     * @param userId         the ID of the user
+     * @param leaseExpiresAt the time when the lease of the user on the task expires
+     * @return a {@link Mono} emitting the claimed task as it is after the claim, or empty if no task is waiting
+     */
+    @Override
+    public Mono<Task> claimTask(String userId, Instant leaseExpiresAt) {
+        var query = new Query(Criteria.where("status").is(Status.TO_DO).and("userId").is(null))
+                .with(Sort.by(Sort.Direction.ASC, "creationDate", "_id"));
+        var update = new Update()
+                .set("userId", userId)
+                .set("status", Status.IN_PROGRESS)
+                .set("leaseExpiresAt", leaseExpiresAt)
+                .inc("version", 1);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Task.class);
+    }
+
+    /**
+     * Atomically extends the lease of a user on a task in progress.
+     * <p>
+     * A lease that already expired can still be renewed as long as the sweeper has not released the task.
+     *
+     * @param userId         the ID of the user the task must be assigned to
+     * @param taskId         the ID of the task
+     * @param leaseExpiresAt the new time when the lease expires
+     * @return a {@link Mono} emitting the task as it is after the renewal, or empty if the user does not hold the task
+     */
+    @Override
+    public Mono<Task> renewLease(String userId, String taskId, Instant leaseExpiresAt) {
+        var query = new Query(Criteria.where("id").is(taskId)
+                .and("userId").is(userId)
+                .and("status").is(Status.IN_PROGRESS));
+        var update = new Update().set("leaseExpiresAt", leaseExpiresAt);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Task.class);
+    }
+
+    /**
+     * Finds the assigned tasks in progress whose lease expired before the given time, longest expired first.
+     * <p>
+     * The tasks are located with the partial {@code status_leaseExpiresAt} index and only their IDs
+     * and assigned users are read.
+     *
+     * @param now   the current time
+     * @param limit the maximum number of tasks
+     * @return a {@link Flux} emitting the tasks with only the ID and the user ID populated
+     */
+    @Override
+    public Flux<Task> findExpiredLeases(Instant now, int limit) {
+        var query = new Query(Criteria.where("status").is(Status.IN_PROGRESS)
+                .and("leaseExpiresAt").lt(now)
+                .and("userId").ne(null))
+                .with(Sort.by(Sort.Direction.ASC, "leaseExpiresAt"))
+                .limit(limit);
+        query.fields().include("userId");
+        return mongoTemplate.find(query, Task.class);
+    }
+
+    /**
+     * Returns the listed tasks of a user whose lease is still expired to {@link Status#TO_DO}
+     * in a single {@code updateMulti}.
+     * <p>
+     * The expiry is checked again, so a task renewed by a heartbeat after it was found is kept.
+     *
+     * @param userId  the ID of the user the tasks are assigned to
+     * @param taskIds the IDs of the tasks
+     * @param now     the current time
+     * @return a {@link Mono} emitting an {@link UpdateResult} with the number of released tasks
+     */
+    @Override
+    public Mono<UpdateResult> releaseExpiredLeases(String userId, Collection<String> taskIds, Instant now) {
+        var query = new Query(Criteria.where("id").in(taskIds)
+                .and("userId").is(userId)
+                .and("status").is(Status.IN_PROGRESS)
+                .and("leaseExpiresAt").lt(now));
+        var update = new Update()
+                .set("userId", null)
+                .set("status", Status.TO_DO)
+                .unset("leaseExpiresAt")
+                .inc("version", 1);
+        return mongoTemplate.updateMulti(query, update, Task.class);
+    }
+
+    /**
+     * Returns the update that returns a task in progress to {@link Status#TO_DO}, unassigned and without a lease.
+     *
+     * @return the update
+     */
+    private static Update reopen() {
+        return new Update()
+                .set("userId", null)
+                .set("status", Status.TO_DO)
+                .unset("leaseExpiresAt")
+                .inc("version", 1);
     }
 }
@@ -0,0 +1,169 @@
+package com.app.taskmanager.repository.impl;
+
+import com.app.taskmanager.repository.CustomTaskStatRepository;
+import com.app.taskmanager.repository.model.Task;
+import com.app.taskmanager.repository.model.TaskStat;
+import com.app.taskmanager.repository.model.TaskStatDeltas;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Implementation of {@link CustomTaskStatRepository} using {@link ReactiveMongoTemplate}.
+ * <p>
+ * Counters are addressed by their ID ({@code <dimension>:<key>}), so range reads of one dimension
+ * are answered by the {@code _id} index.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CustomTaskStatRepositoryImpl implements CustomTaskStatRepository {
+
+    private static final String STATS_COLLECTION = "task_stats";
+
+    private static final String RECONCILE_RUN = "reconcileRun";
+
+    private static final String UPDATED_AT = "updatedAt";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    /**
+     * Applies the changes of the counters in a single unordered bulk write, creating missing counters.
+     * <p>
+     * Every changed counter records the time of the change, so a running reconciliation keeps it.
+     *
+     * @param deltas the changes of the counters
+     * @return a {@link Mono} completing when the counters were updated
+     */
+    @Override
+    public Mono<Void> increment(TaskStatDeltas deltas) {
+        var changes = deltas.nonZero();
+        if (changes.isEmpty()) {
+            return Mono.empty();
+        }
+
+        var now = Instant.now();
+        var bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TaskStat.class);
+        changes.forEach((id, delta) -> bulk.upsert(
+                new Query(Criteria.where("id").is(id)),
+                new Update()
+                        .inc("count", delta.count())
+                        .set(UPDATED_AT, now)
+                        .setOnInsert("dimension", delta.dimension())
+                        .setOnInsert("key", delta.key())));
+        return bulk.execute().then();
+    }
+
+    /**
+     * Retrieves the counters of a dimension whose keys lie in the given range, ordered by key.
+     *
+     * @param dimension the dimension of the counters
+     * @param fromKey   the smallest key, inclusive
+     * @param toKey     the largest key, inclusive
+     * @return a {@link Flux} emitting the counters
+     */
+    @Override
+    public Flux<TaskStat> findRange(TaskStat.Dimension dimension, String fromKey, String toKey) {
+        var query = new Query(Criteria.where("id").gte(dimension.id(fromKey)).lte(dimension.id(toKey)))
+                .with(Sort.by("id"));
+        return mongoTemplate.find(query, TaskStat.class);
+    }
+
+    /**
+     * Retrieves the largest counters of a dimension.
+     *
+     * @param dimension the dimension of the counters
+     * @param limit     the maximum number of counters
+     * @return a {@link Flux} emitting the counters, largest first
+     */
+    @Override
+    public Flux<TaskStat> findTop(TaskStat.Dimension dimension, int limit) {
+        var query = new Query(Criteria.where("dimension").is(dimension))
+                .with(Sort.by(Sort.Direction.DESC, "count"))
+                .limit(limit);
+        return mongoTemplate.find(query, TaskStat.class);
+    }
+
+    /**
+     * Recomputes all counters from the tasks collection.
+     * <p>
+     * One {@code $group} per dimension is merged into the statistics on the server, tagging every written
+     * counter with the ID of this run. A counter incremented since the run started keeps its value, as the
+     * grouping may not have seen the task write behind the increment; it is corrected by a later run.
+     * Counters without the tag belong to values that no longer have any task and are removed afterwards,
+     * except those incremented since the run started, for the same reason.
+     * <p>
+     * The caller ensures that only one reconciliation runs at a time, as a concurrent run would remove
+     * the counters merged by this one.
+     *
+     * @return a {@link Mono} emitting the number of removed counters
+     */
+    @Override
+    public Mono<Long> reconcile() {
+        var run = new ObjectId().toHexString();
+        var startedAt = Instant.now();
+        var stale = new Query(new Criteria().andOperator(
+                Criteria.where(RECONCILE_RUN).ne(run),
+                new Criteria().orOperator(
+                        Criteria.where(UPDATED_AT).exists(false),
+                        Criteria.where(UPDATED_AT).lt(startedAt))));
+
+        return Flux.just(
+                        regroup(run, startedAt, TaskStat.Dimension.STATUS, null, "$status"),
+                        regroup(run, startedAt, TaskStat.Dimension.DAY, null,
+                                new Document("$dateToString", new Document("format", "%Y-%m-%d")
+                                        .append("date", "$creationDate"))),
+                        regroup(run, startedAt, TaskStat.Dimension.USER,
+                                new Document("$match", new Document("userId", new Document("$ne", null))),
+                                "$userId"))
+                .concatMap(pipeline -> mongoTemplate.getCollection(mongoTemplate.getCollectionName(Task.class))
+                        .flatMap(tasks -> Mono.from(tasks.aggregate(pipeline).toCollection())))
+                .then(mongoTemplate.remove(stale, STATS_COLLECTION))
+                .map(result -> result.getDeletedCount());
+    }
+
+    /**
+     * Builds the pipeline recomputing the counters of one dimension.
+     *
+     * @param run       the ID of the reconcile run
+     * @param startedAt when the reconcile run started
+     * @param dimension the dimension of the counters
+     * @param match     an optional {@code $match} stage applied before grouping, or {@code null}
+     * @param key       the expression computing the key of a task
+     * @return the pipeline
+     */
+    private static List<Document> regroup(String run, Instant startedAt, TaskStat.Dimension dimension,
+                                          Document match, Object key) {
+        var group = new Document("$group", new Document("_id", key).append("count", new Document("$sum", 1)));
+        var known = new Document("$match", new Document("_id", new Document("$ne", null)));
+        var project = new Document("$project", new Document("_id",
+                new Document("$concat", List.of(dimension.name() + ":", "$_id")))
+                .append("dimension", dimension.name())
+                .append("key", "$_id")
+                .append("count", 1)
+                .append(RECONCILE_RUN, run));
+        var keepIncremented = new Document("$replaceWith", new Document("$cond", List.of(
+                new Document("$gte", List.of("$" + UPDATED_AT, Date.from(startedAt))),
+                new Document("$mergeObjects", List.of("$$ROOT", new Document(RECONCILE_RUN, run))),
+                "$$new")));
+        var merge = new Document("$merge", new Document("into", STATS_COLLECTION)
+                .append("whenMatched", List.of(keepIncremented))
+                .append("whenNotMatched", "insert"));
+
+        return match == null
+                ? List.of(group, known, project, merge)
+                : List.of(match, group, known, project, merge);
+    }
+}
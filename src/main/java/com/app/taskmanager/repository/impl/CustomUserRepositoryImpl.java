@@ -0,0 +1,78 @@
+package com.app.taskmanager.repository.impl;
+
+import com.app.taskmanager.repository.CustomUserRepository;
+import com.app.taskmanager.repository.model.Status;
+import com.app.taskmanager.repository.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Implementation of {@link CustomUserRepository} using {@link ReactiveMongoTemplate}.
+ * <p>
+ * Counters live in the {@code taskCounts} subdocument of the user, one field per {@link Status}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CustomUserRepositoryImpl implements CustomUserRepository {
+
+    private static final String TASK_COUNTS = "taskCounts";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    /**
+     * Atomically adds the deltas to the task counters of a user with a single {@code $inc}.
+     *
+     * @param userId the ID of the user
+     * @param deltas the change of the number of tasks, by status
+     * @return a {@link Mono} completing when the counters were updated
+     */
+    @Override
+    public Mono<Void> incrementTaskCounts(String userId, Map<Status, Long> deltas) {
+        var update = new Update();
+        deltas.forEach((status, delta) -> {
+            if (delta != 0) {
+                update.inc(TASK_COUNTS + "." + status.name(), delta);
+            }
+        });
+
+        if (update.getUpdateObject().isEmpty()) {
+            return Mono.empty();
+        }
+        return mongoTemplate.updateFirst(byId(userId), update, User.class).then();
+    }
+
+    /**
+     * Resets all task counters of a user.
+     *
+     * @param userId the ID of the user
+     * @return a {@link Mono} completing when the counters were reset
+     */
+    @Override
+    public Mono<Void> clearTaskCounts(String userId) {
+        return mongoTemplate.updateFirst(byId(userId), new Update().unset(TASK_COUNTS), User.class).then();
+    }
+
+    /**
+     * Retrieves a user with only the ID and the task counters loaded.
+     *
+     * @param id the ID of the user
+     * @return a {@link Mono} emitting the user, or empty if not found
+     */
+    @Override
+    public Mono<User> findTaskCountsById(String id) {
+        var query = byId(id);
+        query.fields().include(TASK_COUNTS);
+        return mongoTemplate.findOne(query, User.class);
+    }
+
+    private static Query byId(String id) {
+        return new Query(Criteria.where("id").is(id));
+    }
+}
@@ -0,0 +1,55 @@
+package com.app.taskmanager.repository.impl;
+
+import com.app.taskmanager.repository.JobLockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Implementation of {@link JobLockRepository} using {@link ReactiveMongoTemplate}.
+ * <p>
+ * Every job has one document in the {@code job_locks} collection, keyed by the name of the job.
+ * A lock is taken with an upsert that only matches a free or own lock; when another node holds it,
+ * the upsert attempts to insert a second document with the same {@code _id} and fails with a duplicate key.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobLockRepositoryImpl implements JobLockRepository {
+
+    private static final String LOCKS_COLLECTION = "job_locks";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    /**
+     * Acquires or extends the lock of a job for a node with a single upsert.
+     *
+     * @param job   the name of the job
+     * @param owner the ID of the node
+     * @param ttl   how long the lock is held
+     * @return a {@link Mono} emitting {@code true} if the node holds the lock, or {@code false} if another node does
+     */
+    @Override
+    public Mono<Boolean> tryLock(String job, String owner, Duration ttl) {
+        return Mono.defer(() -> {
+            var now = Instant.now();
+            var query = new Query(Criteria.where("_id").is(job).orOperator(
+                    Criteria.where("lockedUntil").lte(now),
+                    Criteria.where("owner").is(owner)));
+            var update = new Update()
+                    .set("owner", owner)
+                    .set("lockedUntil", now.plus(ttl));
+
+            return mongoTemplate.upsert(query, update, LOCKS_COLLECTION)
+                    .thenReturn(true)
+                    .onErrorResume(DuplicateKeyException.class, e -> Mono.just(false));
+        });
+    }
+}
@@ -0,0 +1,317 @@
+package com.app.taskmanager.repository.impl;
+
+import com.app.taskmanager.repository.TaskChangeStream;
+import com.app.taskmanager.repository.model.Task;
+import com.app.taskmanager.repository.model.TaskChange;
+import com.mongodb.MongoException;
+import com.mongodb.MongoNodeIsRecoveringException;
+import com.mongodb.MongoNotPrimaryException;
+import com.mongodb.MongoServerException;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Implementation of {@link TaskChangeStream} using {@link ReactiveMongoTemplate}.
+ * <p>
+ * The shared change stream remembers the resume token of the last change it delivered.
+ * When the stream fails with an error it can resume from, e.g. a network error or an election,
+ * it is reopened after that change with an exponential backoff, so its subscribers neither see the failure
+ * nor miss changes. Any other error, e.g. change streams not being supported by a standalone server,
+ * is passed on to the subscribers.
+ * Updates are delivered with the full document as it is after the update, and updates and deletions with
+ * the document as it was before them if the server recorded its pre-image. Recording pre-images is enabled on
+ * the collection once the application is ready; it requires MongoDB 6.0 or later.
+ */
+@Slf4j
+@Repository
+public class TaskChangeStreamImpl implements TaskChangeStream {
+
+    private static final String TASKS_COLLECTION = "tasks";
+
+    private static final String RESUME_TOKEN_DATA = "_data";
+
+    private static final Pattern RESUME_TOKEN = Pattern.compile("[0-9A-Fa-f]{1,1024}");
+
+    /**
+     * Server error code reported when the change to resume after is no longer in the oplog.
+     */
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    /**
+     * Error label the server attaches to the errors a change stream can be resumed after.
+     */
+    private static final String RESUMABLE_CHANGE_STREAM_ERROR = "ResumableChangeStreamError";
+
+    /**
+     * Maximum number of times the replay of missed changes is reopened after a failure.
+     */
+    private static final int MAX_REPLAY_RETRIES = 3;
+
+    private static final Duration MIN_BACKOFF = Duration.ofSeconds(1);
+
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    private final AtomicReference<BsonValue> lastResumeToken = new AtomicReference<>();
+
+    private final Flux<TaskChange> shared;
+
+    /**
+     * Creates the change stream source.
+     *
+     * @param mongoTemplate the template used to open the change streams
+     */
+    public TaskChangeStreamImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        this.shared = Flux.defer(() -> open(lastResumeToken.get()))
+                .doOnNext(event -> lastResumeToken.set(event.getResumeToken()))
+                .doOnError(this::changeStreamFailed)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, MIN_BACKOFF)
+                        .maxBackoff(MAX_BACKOFF)
+                        .filter(error -> isHistoryLost(error) || isResumable(error)))
+                .doOnCancel(() -> lastResumeToken.set(null))
+                .map(TaskChangeStreamImpl::toTaskChange)
+                .share();
+    }
+
+    /**
+     * Enables recording the pre-images of the changes of the tasks once the application is ready,
+     * creating the collection if it does not exist yet.
+     * <p>
+     * The work is subscribed to asynchronously, so application startup is not blocked. Without pre-images,
+     * the changes carry no task before the change and subscribers filtering by user or status do not hear
+     * about tasks leaving their filter.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void enablePreImagesOnStartup() {
+        enablePreImages().subscribe(
+                null,
+                e -> log.warn("Cannot enable pre-images on collection {}, changes of the tasks carry no previous "
+                        + "state: ", TASKS_COLLECTION, e),
+                () -> log.info("Pre-images are enabled on collection {}.", TASKS_COLLECTION));
+    }
+
+    private Mono<Void> enablePreImages() {
+        return mongoTemplate.collectionExists(TASKS_COLLECTION)
+                .flatMap(exists -> exists
+                        ? mongoTemplate.executeCommand(new Document("collMod", TASKS_COLLECTION)
+                                .append("changeStreamPreAndPostImages", new Document("enabled", true))).then()
+                        : mongoTemplate.createCollection(TASKS_COLLECTION, CollectionOptions.empty()
+                                .changeStream(CollectionOptions.CollectionChangeStreamOptions.preAndPostImages(true)))
+                                .then());
+    }
+
+    /**
+     * Returns the live changes of the tasks from the shared change stream.
+     *
+     * @return a {@link Flux} emitting the changes made after the subscription
+     */
+    @Override
+    public Flux<TaskChange> changes() {
+        return shared;
+    }
+
+    /**
+     * Replays the changes made after the change with the given resume token, then continues with the shared
+     * change stream.
+     * <p>
+     * The subscriber joins the shared stream first and buffers its changes while a dedicated change stream
+     * replays the missed ones. As soon as both streams deliver the same change, the dedicated stream is closed
+     * and the buffered changes following it are delivered, so no change is lost or repeated and the subscriber
+     * holds a server cursor of its own only while catching up.
+     *
+     * @param resumeToken the resume token of the last change received by the subscriber
+     * @return a {@link Flux} emitting the changes made after the given one
+     */
+    @Override
+    public Flux<TaskChange> changesAfter(String resumeToken) {
+        if (resumeToken == null || !RESUME_TOKEN.matcher(resumeToken).matches()) {
+            return Flux.error(new IllegalArgumentException("Invalid resume token."));
+        }
+        return Flux.defer(() -> {
+            var handoff = new Handoff();
+            return Flux.merge(
+                            shared.map(change -> new Delivery(change, true)),
+                            replay(resumeToken)
+                                    .takeUntilOther(handoff.caughtUp.asMono())
+                                    .map(change -> new Delivery(change, false)))
+                    .concatMapIterable(handoff::deliver);
+        });
+    }
+
+    /**
+     * Opens a dedicated change stream replaying the changes made after the given one.
+     * <p>
+     * A failure the stream can resume from reopens it after the last replayed change,
+     * up to {@value #MAX_REPLAY_RETRIES} times.
+     *
+     * @param resumeToken the resume token of the last change received by the subscriber
+     * @return a {@link Flux} emitting the changes made after the given one
+     */
+    private Flux<TaskChange> replay(String resumeToken) {
+        var last = new AtomicReference<BsonValue>(new BsonDocument(RESUME_TOKEN_DATA, new BsonString(resumeToken)));
+        return Flux.defer(() -> open(last.get()))
+                .doOnNext(event -> last.set(event.getResumeToken()))
+                .retryWhen(Retry.backoff(MAX_REPLAY_RETRIES, MIN_BACKOFF)
+                        .maxBackoff(MAX_BACKOFF)
+                        .filter(TaskChangeStreamImpl::isResumable))
+                .map(TaskChangeStreamImpl::toTaskChange);
+    }
+
+    private Flux<ChangeStreamEvent<Task>> open(BsonValue resumeToken) {
+        var operations = Arrays.stream(TaskChange.Operation.values())
+                .map(operation -> operation.name().toLowerCase(Locale.ROOT))
+                .toList();
+        var options = ChangeStreamOptions.builder()
+                .filter(newAggregation(match(where("operationType").in(operations))))
+                .returnFullDocumentOnUpdate()
+                .fullDocumentBeforeChangeLookup(FullDocumentBeforeChange.WHEN_AVAILABLE);
+        if (resumeToken != null) {
+            options.resumeAfter(resumeToken);
+        }
+        return mongoTemplate.changeStream(TASKS_COLLECTION, options.build(), Task.class);
+    }
+
+    private void changeStreamFailed(Throwable error) {
+        if (isHistoryLost(error)) {
+            lastResumeToken.set(null);
+            log.warn("Task change stream lost its history, reopening at the current change.", error);
+        } else if (isResumable(error)) {
+            log.warn("Task change stream failed, reopening.", error);
+        } else {
+            log.error("Task change stream failed and cannot be resumed: ", error);
+        }
+    }
+
+    private static boolean isHistoryLost(Throwable error) {
+        return NestedExceptionUtils.getMostSpecificCause(error) instanceof MongoServerException e
+                && e.getCode() == CHANGE_STREAM_HISTORY_LOST;
+    }
+
+    /**
+     * Checks whether a change stream can be reopened after an error: network and server selection errors,
+     * elections, and server errors labelled {@value #RESUMABLE_CHANGE_STREAM_ERROR}.
+     *
+     * @param error the error of the change stream
+     * @return {@code true} if reopening the change stream may succeed
+     */
+    private static boolean isResumable(Throwable error) {
+        for (var cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoServerException e) {
+                return e.hasErrorLabel(RESUMABLE_CHANGE_STREAM_ERROR)
+                        || e instanceof MongoNotPrimaryException
+                        || e instanceof MongoNodeIsRecoveringException;
+            }
+            if (cause instanceof MongoException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A change delivered by the shared change stream or by the replay of missed changes.
+     *
+     * @param change the change
+     * @param live   {@code true} if the change was delivered by the shared change stream
+     */
+    record Delivery(TaskChange change, boolean live) {
+    }
+
+    /**
+     * Hands a subscriber over from the replay of its missed changes to the shared change stream.
+     * <p>
+     * Both streams deliver the changes in the same order; the subscriber is caught up at the first change
+     * delivered by both. Deliveries are serialized by the merge, so the state needs no synchronization.
+     */
+    static final class Handoff {
+
+        final Sinks.Empty<Void> caughtUp = Sinks.empty();
+
+        private final Set<String> replayed = new HashSet<>();
+
+        private final List<TaskChange> buffered = new ArrayList<>();
+
+        private boolean live;
+
+        /**
+         * Decides which changes to pass on to the subscriber after a delivery.
+         *
+         * @param delivery the delivered change
+         * @return the changes to pass on, in order
+         */
+        List<TaskChange> deliver(Delivery delivery) {
+            if (live) {
+                return delivery.live() ? List.of(delivery.change()) : List.of();
+            }
+
+            var token = delivery.change().resumeToken();
+            if (delivery.live()) {
+                if (replayed.contains(token)) {
+                    catchUp();
+                } else {
+                    buffered.add(delivery.change());
+                }
+                return List.of();
+            }
+
+            for (var i = 0; i < buffered.size(); i++) {
+                if (buffered.get(i).resumeToken().equals(token)) {
+                    var pending = List.copyOf(buffered.subList(i, buffered.size()));
+                    catchUp();
+                    return pending;
+                }
+            }
+            replayed.add(token);
+            return List.of(delivery.change());
+        }
+
+        private void catchUp() {
+            live = true;
+            replayed.clear();
+            buffered.clear();
+            caughtUp.tryEmitEmpty();
+        }
+    }
+
+    private static TaskChange toTaskChange(ChangeStreamEvent<Task> event) {
+        var id = event.getRaw().getDocumentKey().get("_id");
+        return new TaskChange(
+                event.getResumeToken().asDocument().getString(RESUME_TOKEN_DATA).getValue(),
+                TaskChange.Operation.valueOf(event.getOperationType().name()),
+                id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue(),
+                event.getBody(),
+                event.getBodyBeforeChange());
+    }
+}
@@ -1,10 +1,18 @@
 package com.app.taskmanager.repository.impl;
 
+import com.app.taskmanager.repository.filter.FieldType;
+import com.app.taskmanager.repository.filter.FilterField;
+import com.app.taskmanager.repository.filter.FilterSchema;
 import com.app.taskmanager.repository.generic.CustomGenericFilter;
+import com.app.taskmanager.repository.index.IndexManager;
+import com.app.taskmanager.repository.model.Task;
+import com.app.taskmanager.repository.routing.ReadRouting;
 import com.app.taskmanager.repository.view.TaskWithPaginationAndFilterView;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Repository implementation for tasks with pagination and filtering support.
  * <p>
@@ -12,14 +20,31 @@ import org.springframework.stereotype.Repository;
  * pagination and filtering functionality for task entities.
  */
 @Repository
-public class TaskRepositoryImpl extends CustomGenericFilter<TaskWithPaginationAndFilterView> {
+public class TaskRepositoryImpl extends CustomGenericFilter<Task, TaskWithPaginationAndFilterView> {
+
+    /**
+     * Fields of tasks that clients may filter on, ranked by the selectivity of their indexes.
+     * Sorts are checked against the declared indexes of the collection.
+     * <p>
+     * {@code text} is not a field of the document: it searches the {@code title_description_text} index.
+     */
+    public static final FilterSchema FILTER_SCHEMA = new FilterSchema(List.of(
+            new FilterField("text", "$text", FieldType.TEXT, 0),
+            new FilterField("id", "_id", FieldType.OBJECT_ID, 1),
+            new FilterField("userId", "userId", FieldType.STRING, 2),
+            new FilterField("creationDate", "creationDate", FieldType.DATE, 3),
+            new FilterField("status", "status", FieldType.STATUS, 4),
+            new FilterField("title", "title", FieldType.STRING, FilterField.UNINDEXED),
+            new FilterField("description", "description", FieldType.STRING, FilterField.UNINDEXED)
+    ), IndexManager.declaredIndexes("tasks"));
 
     /**
      * Constructs a new {@link TaskRepositoryImpl} with the provided {@link ReactiveMongoTemplate}.
      *
      * @param mongoTemplate the reactive MongoDB template used for executing queries
+     * @param readRouting   the {@link ReadRouting} choosing the read preference of list queries
      */
-    public TaskRepositoryImpl(ReactiveMongoTemplate mongoTemplate) {
-        super(mongoTemplate, "tasks");
+    public TaskRepositoryImpl(ReactiveMongoTemplate mongoTemplate, ReadRouting readRouting) {
+        super(mongoTemplate, "tasks", TaskWithPaginationAndFilterView::new, FILTER_SCHEMA, readRouting);
     }
 }
@@ -1,10 +1,18 @@
 package com.app.taskmanager.repository.impl;
 
+import com.app.taskmanager.repository.filter.FieldType;
+import com.app.taskmanager.repository.filter.FilterField;
+import com.app.taskmanager.repository.filter.FilterSchema;
 import com.app.taskmanager.repository.generic.CustomGenericFilter;
+import com.app.taskmanager.repository.index.IndexManager;
+import com.app.taskmanager.repository.model.User;
+import com.app.taskmanager.repository.routing.ReadRouting;
 import com.app.taskmanager.repository.view.UserWithPaginationAndFilterView;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Repository implementation for users with pagination and filtering support.
  * <p>
@@ -12,14 +20,26 @@ import org.springframework.stereotype.Repository;
  * pagination and filtering functionality for user entities.
  */
 @Repository
-public class UserRepositoryImpl extends CustomGenericFilter<UserWithPaginationAndFilterView> {
+public class UserRepositoryImpl extends CustomGenericFilter<User, UserWithPaginationAndFilterView> {
+
+    /**
+     * Fields of users that clients may filter on, ranked by the selectivity of their indexes.
+     * Sorts are checked against the declared indexes of the collection.
+     */
+    public static final FilterSchema FILTER_SCHEMA = new FilterSchema(List.of(
+            new FilterField("id", "_id", FieldType.OBJECT_ID, 1),
+            new FilterField("username", "username", FieldType.STRING, 2),
+            new FilterField("name", "name", FieldType.STRING, FilterField.UNINDEXED),
+            new FilterField("surname", "surname", FieldType.STRING, FilterField.UNINDEXED)
+    ), IndexManager.declaredIndexes("users"));
 
     /**
      * Constructs a new {@link UserRepositoryImpl} with the provided {@link ReactiveMongoTemplate}.
      *
      * @param mongoTemplate the reactive MongoDB template used for executing queries
+     * @param readRouting   the {@link ReadRouting} choosing the read preference of list queries
      */
-    public UserRepositoryImpl(ReactiveMongoTemplate mongoTemplate) {
-        super(mongoTemplate, "users");
+    public UserRepositoryImpl(ReactiveMongoTemplate mongoTemplate, ReadRouting readRouting) {
+        super(mongoTemplate, "users", UserWithPaginationAndFilterView::new, FILTER_SCHEMA, readRouting);
     }
 }
@@ -0,0 +1,37 @@
+package com.app.taskmanager.repository.index;
+
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+
+import java.util.List;
+
+/**
+ * Index that the application expects to exist on one of its collections.
+ *
+ * @param collection the name of the collection the index belongs to
+ * @param name       the name of the index
+ * @param fields     the indexed fields, in key order
+ * @param definition the {@link IndexDefinition} used to create the index
+ */
+public record DeclaredIndex(String collection, String name, List<String> fields, IndexDefinition definition) {
+
+    /**
+     * Checks whether the index can return documents in the order of its keys for any query.
+     * <p>
+     * Text indexes are not ordered, and partial indexes can only be used by queries that imply their filter.
+     *
+     * @return {@code true} if a sort on the fields of the index can walk the index
+     */
+    public boolean ordered() {
+        return !definition.getIndexKeys().containsValue("text")
+                && !definition.getIndexOptions().containsKey("partialFilterExpression");
+    }
+
+    /**
+     * Checks whether the index rejects duplicate keys.
+     *
+     * @return {@code true} if the index is unique
+     */
+    public boolean unique() {
+        return Boolean.TRUE.equals(definition.getIndexOptions().get("unique"));
+    }
+}
@@ -0,0 +1,208 @@
+package com.app.taskmanager.repository.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Component responsible for the indexes of the application collections.
+ * <p>
+ * Declares the indexes required by the queries issued by the repositories, creates them
+ * in the background once the application has started, drops the indexes they replaced,
+ * verifies them against the indexes that actually exist, and reads index usage statistics.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IndexManager {
+
+    /**
+     * Indexes required by the application queries.
+     */
+    public static final List<DeclaredIndex> DECLARED_INDEXES = List.of(
+            new DeclaredIndex("tasks", "userId_status", List.of("userId", "status"),
+                    new Index()
+                            .on("userId", Sort.Direction.ASC)
+                            .on("status", Sort.Direction.ASC)
+                            .named("userId_status")),
+            new DeclaredIndex("tasks", "status_creationDate_id", List.of("status", "creationDate", "_id"),
+                    new Index()
+                            .on("status", Sort.Direction.ASC)
+                            .on("creationDate", Sort.Direction.ASC)
+                            .on("_id", Sort.Direction.ASC)
+                            .named("status_creationDate_id")),
+            new DeclaredIndex("tasks", "creationDate_id", List.of("creationDate", "_id"),
+                    new Index()
+                            .on("creationDate", Sort.Direction.ASC)
+                            .on("_id", Sort.Direction.ASC)
+                            .named("creationDate_id")),
+            new DeclaredIndex("tasks", "status_leaseExpiresAt", List.of("status", "leaseExpiresAt"),
+                    new Index()
+                            .on("status", Sort.Direction.ASC)
+                            .on("leaseExpiresAt", Sort.Direction.ASC)
+                            .partial(PartialIndexFilter.of(Criteria.where("leaseExpiresAt").exists(true)))
+                            .named("status_leaseExpiresAt")),
+            // the server reports the fields of a text index in alphabetical order
+            new DeclaredIndex("tasks", "title_description_text", List.of("description", "title"),
+                    TextIndexDefinition.builder()
+                            .onField("title", 2F)
+                            .onField("description")
+                            .named("title_description_text")
+                            .build()),
+            new DeclaredIndex("users", "username_unique", List.of("username"),
+                    new Index()
+                            .on("username", Sort.Direction.ASC)
+                            .unique()
+                            .named("username_unique")),
+            new DeclaredIndex("task_stats", "dimension_count", List.of("dimension", "count"),
+                    new Index()
+                            .on("dimension", Sort.Direction.ASC)
+                            .on("count", Sort.Direction.DESC)
+                            .named("dimension_count"))
+    );
+
+    /**
+     * Indexes created by earlier versions of the application and replaced by a declared index.
+     */
+    private static final List<RetiredIndex> RETIRED_INDEXES = List.of(
+            new RetiredIndex("tasks", "status_creationDate", "status_creationDate_id")
+    );
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    /**
+     * Returns the indexes declared for a collection.
+     *
+     * @param collection the name of the collection
+     * @return the {@link DeclaredIndex}es of the collection, in declaration order
+     */
+    public static List<DeclaredIndex> declaredIndexes(String collection) {
+        return DECLARED_INDEXES.stream().filter(index -> index.collection().equals(collection)).toList();
+    }
+
+    /**
+     * Creates the declared indexes, drops the indexes they replaced and verifies them once the application is ready.
+     * <p>
+     * The work is subscribed to asynchronously, so application startup is not blocked.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexesOnStartup() {
+        createIndexes()
+                .thenMany(dropRetiredIndexes())
+                .thenMany(findMissingIndexes())
+                .subscribe(
+                        missing -> log.warn("Declared index {} is missing on collection {}.",
+                                missing.name(), missing.collection()),
+                        e -> log.error("Index verification failed: ", e)
+                );
+    }
+
+    /**
+     * Creates all declared indexes that do not exist yet.
+     * <p>
+     * A failure to create one index is logged and does not prevent the others from being created.
+     *
+     * @return a {@link Flux} emitting the names of the created or already existing indexes
+     */
+    public Flux<String> createIndexes() {
+        return Flux.fromIterable(DECLARED_INDEXES)
+                .concatMap(index -> mongoTemplate
+                        .indexOps(index.collection())
+                        .createIndex(index.definition())
+                        .doOnNext(name -> log.info("Index {} on collection {} is in place.", name, index.collection()))
+                        .onErrorResume(e -> {
+                            log.error("Cannot create index {} on collection {}: ", index.name(), index.collection(), e);
+                            return Mono.empty();
+                        }));
+    }
+
+    /**
+     * Drops the retired indexes whose replacement exists.
+     * <p>
+     * A retired index is kept while its replacement is missing, so the queries it served are not left without
+     * an index. A failure to drop one index is logged and does not prevent the others from being dropped.
+     *
+     * @return a {@link Flux} emitting the names of the dropped indexes
+     */
+    public Flux<String> dropRetiredIndexes() {
+        return Flux.fromIterable(RETIRED_INDEXES)
+                .concatMap(index -> mongoTemplate
+                        .indexOps(index.collection())
+                        .getIndexInfo()
+                        .map(IndexInfo::getName)
+                        .collectList()
+                        .filter(names -> names.contains(index.name()) && names.contains(index.replacement()))
+                        .flatMap(names -> mongoTemplate
+                                .indexOps(index.collection())
+                                .dropIndex(index.name())
+                                .thenReturn(index.name()))
+                        .doOnNext(name -> log.info("Index {} on collection {} was replaced by {} and is dropped.",
+                                name, index.collection(), index.replacement()))
+                        .onErrorResume(e -> {
+                            log.error("Cannot drop index {} on collection {}: ", index.name(), index.collection(), e);
+                            return Mono.empty();
+                        }));
+    }
+
+    /**
+     * Finds the declared indexes for which no index with the same fields exists.
+     *
+     * @return a {@link Flux} emitting the missing indexes
+     */
+    public Flux<DeclaredIndex> findMissingIndexes() {
+        return Flux.fromIterable(DECLARED_INDEXES)
+                .concatMap(index -> mongoTemplate
+                        .indexOps(index.collection())
+                        .getIndexInfo()
+                        .any(info -> fieldsOf(info).equals(index.fields()))
+                        .filter(exists -> !exists)
+                        .map(exists -> index));
+    }
+
+    /**
+     * Reads the usage statistics of all indexes of a collection using the {@code $indexStats} stage.
+     *
+     * @param collection the name of the collection
+     * @return a {@link Flux} emitting one statistics document per index
+     */
+    public Flux<Document> indexStats(String collection) {
+        return mongoTemplate
+                .getCollection(collection)
+                .flatMapMany(c -> c.aggregate(List.of(new Document("$indexStats", new Document()))));
+    }
+
+    /**
+     * Returns the names of the fields covered by an existing index, in key order.
+     *
+     * @param info the {@link IndexInfo} of the existing index
+     * @return the indexed field names
+     */
+    private List<String> fieldsOf(IndexInfo info) {
+        return info.getIndexFields().stream().map(IndexField::getKey).toList();
+    }
+
+    /**
+     * Index created by an earlier version of the application and replaced by a declared index.
+     *
+     * @param collection  the name of the collection the index belongs to
+     * @param name        the name of the index
+     * @param replacement the name of the declared index replacing it
+     */
+    private record RetiredIndex(String collection, String name, String replacement) {
+    }
+}
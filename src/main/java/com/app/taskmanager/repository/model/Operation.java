@@ -25,5 +25,8 @@ public enum Operation {
     LT,
 
     /** Checks if a field matches a regular expression. */
-    REGEX
+    REGEX,
+
+    /** Searches the text index of the collection for words, ranking the matches by relevance. */
+    TEXT
 }
@@ -4,8 +4,10 @@ import com.app.taskmanager.dto.response.TaskResponseDto;
 import lombok.Builder;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 /**
@@ -49,12 +51,24 @@ public class Task {
      */
     private String userId;
 
+    /**
+     * Time when the lease of the assigned user on the task expires, unless renewed by a heartbeat.
+     * Set only while the task is {@link Status#IN_PROGRESS}.
+     */
+    private Instant leaseExpiresAt;
+
+    /**
+     * Version of the task, incremented on every modification and used for optimistic concurrency control.
+     */
+    @Version
+    private Long version;
+
     /**
      * Converts this entity to a {@link TaskResponseDto}.
      *
      * @return a DTO representation of the task
      */
     public TaskResponseDto toResponseTaskDto() {
-        return new TaskResponseDto(id, title, description, creationDate, status, userId);
+        return new TaskResponseDto(id, title, description, creationDate, status, userId, version);
     }
 }
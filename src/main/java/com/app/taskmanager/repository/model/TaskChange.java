@@ -0,0 +1,56 @@
+package com.app.taskmanager.repository.model;
+
+import com.app.taskmanager.dto.response.TaskChangeDto;
+
+/**
+ * A single change of the "tasks" collection, read from its change stream.
+ *
+ * @param resumeToken the resume token of the change, used to continue the stream after it
+ * @param operation   the kind of the change
+ * @param taskId      the ID of the changed task
+ * @param task        the task after the change, or {@code null} if it was deleted
+ * @param taskBefore  the task before the change, or {@code null} for an insert or if the server recorded
+ *                    no pre-image of the change
+ */
+public record TaskChange(String resumeToken, Operation operation, String taskId, Task task, Task taskBefore) {
+
+    /**
+     * Kinds of changes delivered by the change stream.
+     */
+    public enum Operation {
+        INSERT, UPDATE, REPLACE, DELETE
+    }
+
+    /**
+     * Checks whether the changed task is assigned to the given user and has the given status,
+     * either before or after the change.
+     * <p>
+     * A change moving a task out of the filter, e.g. unassigning it from the user, therefore matches as well.
+     * A deletion without a pre-image carries no task at all, so it matches every filter.
+     *
+     * @param userId the ID of the user, or {@code null} to accept every user
+     * @param status the status, or {@code null} to accept every status
+     * @return {@code true} if the change matches
+     */
+    public boolean matches(String userId, Status status) {
+        if (task == null && taskBefore == null) {
+            return true;
+        }
+        return matches(task, userId, status) || matches(taskBefore, userId, status);
+    }
+
+    private static boolean matches(Task task, String userId, Status status) {
+        return task != null
+                && (userId == null || userId.equals(task.getUserId()))
+                && (status == null || status == task.getStatus());
+    }
+
+    /**
+     * Converts this change to a {@link TaskChangeDto}.
+     *
+     * @return a DTO representation of the change
+     */
+    public TaskChangeDto toTaskChangeDto() {
+        return new TaskChangeDto(resumeToken, operation, taskId, task == null ? null : task.toResponseTaskDto());
+    }
+}
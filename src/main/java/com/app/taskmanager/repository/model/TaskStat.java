@@ -0,0 +1,72 @@
+package com.app.taskmanager.repository.model;
+
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Represents one counter of the task statistics stored in the MongoDB collection "task_stats".
+ * <p>
+ * Each counter holds the number of tasks sharing one value of one {@link Dimension},
+ * e.g. the tasks that are {@link Status#DONE} or the tasks created on a given day.
+ * The ID is derived from the dimension and the value, so counters can be upserted without a lookup.
+ */
+@Data
+@Document(collection = "task_stats")
+@Builder
+public class TaskStat {
+
+    /**
+     * Identifier of the counter, {@code <dimension>:<key>}.
+     */
+    @Id
+    private String id;
+
+    /**
+     * The dimension the tasks are counted by.
+     */
+    private Dimension dimension;
+
+    /**
+     * The value of the dimension, e.g. a status, a day ({@code yyyy-MM-dd}, UTC) or a user ID.
+     */
+    private String key;
+
+    /**
+     * Number of tasks with this value.
+     */
+    private long count;
+
+    /**
+     * Time of the last incremental update of the counter, or {@code null} if it was last written by a reconciliation.
+     */
+    private Instant updatedAt;
+
+    /**
+     * Dimensions the tasks are counted by.
+     */
+    public enum Dimension {
+
+        /** Tasks by {@link Status}. */
+        STATUS,
+
+        /** Tasks by the UTC day of their creation date. */
+        DAY,
+
+        /** Assigned tasks by user ID. */
+        USER;
+
+        /**
+         * Returns the ID of the counter of a value of this dimension.
+         *
+         * @param key the value of the dimension
+         * @return the ID of the counter
+         */
+        public String id(String key) {
+            return name() + ":" + key;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.app.taskmanager.repository.model;
+
+import com.app.taskmanager.repository.model.TaskStat.Dimension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Changes of the {@link TaskStat} counters caused by one write.
+ * <p>
+ * Changes of the same counter are summed up, so a write is applied to the statistics
+ * with at most one update per counter.
+ */
+public class TaskStatDeltas {
+
+    private final Map<String, Delta> deltas = new LinkedHashMap<>();
+
+    /**
+     * Counts a new task.
+     *
+     * @param task the created task
+     * @return this {@link TaskStatDeltas}
+     */
+    public TaskStatDeltas created(Task task) {
+        return change(task, 1);
+    }
+
+    /**
+     * Stops counting a deleted task.
+     *
+     * @param task the deleted task
+     * @return this {@link TaskStatDeltas}
+     */
+    public TaskStatDeltas removed(Task task) {
+        return change(task, -1);
+    }
+
+    /**
+     * Moves tasks from one status to another.
+     *
+     * @param from  the previous status
+     * @param to    the new status
+     * @param count the number of moved tasks
+     * @return this {@link TaskStatDeltas}
+     */
+    public TaskStatDeltas moved(Status from, Status to, long count) {
+        if (from != null) {
+            add(Dimension.STATUS, from.name(), -count);
+        }
+        if (to != null) {
+            add(Dimension.STATUS, to.name(), count);
+        }
+        return this;
+    }
+
+    /**
+     * Changes the number of tasks assigned to a user.
+     *
+     * @param userId the ID of the user
+     * @param count  the number of assigned tasks, negative for unassigned ones
+     * @return this {@link TaskStatDeltas}
+     */
+    public TaskStatDeltas assigned(String userId, long count) {
+        if (userId != null) {
+            add(Dimension.USER, userId, count);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the non-zero changes.
+     *
+     * @return the changes keyed by the ID of their counter
+     */
+    public Map<String, Delta> nonZero() {
+        var result = new LinkedHashMap<String, Delta>();
+        deltas.forEach((id, delta) -> {
+            if (delta.count() != 0) {
+                result.put(id, delta);
+            }
+        });
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Returns the UTC day of a creation date, the key of the {@link Dimension#DAY} counters.
+     * <p>
+     * Creation dates are stored as instants in the default time zone, so the day is computed the same way
+     * MongoDB computes it from the stored value.
+     *
+     * @param creationDate the creation date of a task
+     * @return the day of the creation date in UTC
+     */
+    public static LocalDate dayOf(LocalDateTime creationDate) {
+        return creationDate.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).toLocalDate();
+    }
+
+    private TaskStatDeltas change(Task task, long count) {
+        moved(null, task.getStatus(), count);
+        if (task.getCreationDate() != null) {
+            add(Dimension.DAY, dayOf(task.getCreationDate()).toString(), count);
+        }
+        return assigned(task.getUserId(), count);
+    }
+
+    private void add(Dimension dimension, String key, long count) {
+        deltas.merge(dimension.id(key), new Delta(dimension, key, count),
+                (a, b) -> new Delta(dimension, key, a.count() + b.count()));
+    }
+
+    /**
+     * Change of one counter.
+     *
+     * @param dimension the dimension of the counter
+     * @param key       the value of the dimension
+     * @param count     the change of the number of tasks
+     */
+    public record Delta(Dimension dimension, String key, long count) {
+    }
+}
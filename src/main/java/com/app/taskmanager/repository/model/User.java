@@ -6,6 +6,8 @@ import lombok.Data;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.Map;
+
 /**
  * Represents a user entity stored in the MongoDB collection "users".
  * <p>
@@ -37,6 +39,14 @@ public class User {
      */
     String username;
 
+    /**
+     * Number of tasks assigned to the user, by status.
+     * <p>
+     * Maintained with {@code $inc} by every write that assigns, completes, unassigns or deletes a task;
+     * a status without tasks may be missing.
+     */
+    Map<Status, Long> taskCounts;
+
     /**
      * Converts this entity to a {@link UserResponseDto}.
      *
@@ -0,0 +1,69 @@
+package com.app.taskmanager.repository.routing;
+
+import com.mongodb.ReadPreference;
+
+import java.util.Set;
+
+/**
+ * Decides which replica set members serve the reads of each repository method.
+ * <p>
+ * Methods are identified as {@code <collection>.<method>}, e.g. {@code tasks.findWithPaginationAndFilter}.
+ * Listed methods read with the secondary read preference; every other read, including lookups by ID
+ * that must observe the caller's own writes, keeps the default read preference of the client.
+ */
+public class ReadRouting {
+
+    /**
+     * Repository methods whose reads can be routed.
+     */
+    public static final Set<String> ROUTABLE_METHODS = Set.of(
+            "findWithPaginationAndFilter",
+            "findWithCursorAndFilter",
+            "streamWithFilter"
+    );
+
+    private final ReadPreference secondaryReadPreference;
+
+    private final Set<String> secondaryMethods;
+
+    /**
+     * Creates the routing.
+     *
+     * @param secondaryReadPreference the read preference of the routed methods
+     * @param secondaryMethods        the routed methods, as {@code <collection>.<method>}
+     * @throws IllegalArgumentException if a method is malformed or cannot be routed
+     */
+    public ReadRouting(ReadPreference secondaryReadPreference, Set<String> secondaryMethods) {
+        for (var method : secondaryMethods) {
+            var separator = method.indexOf('.');
+
+            if (separator < 1 || !ROUTABLE_METHODS.contains(method.substring(separator + 1))) {
+                throw new IllegalArgumentException(
+                        "Cannot route reads of '%s'; expected <collection>.<method> with one of %s."
+                                .formatted(method, ROUTABLE_METHODS));
+            }
+        }
+        this.secondaryReadPreference = secondaryReadPreference;
+        this.secondaryMethods = Set.copyOf(secondaryMethods);
+    }
+
+    /**
+     * Creates a routing that keeps every read on the default read preference.
+     *
+     * @return the {@link ReadRouting}
+     */
+    public static ReadRouting primaryOnly() {
+        return new ReadRouting(ReadPreference.primary(), Set.of());
+    }
+
+    /**
+     * Returns the read preference of a repository method.
+     *
+     * @param collection the collection the method reads
+     * @param method     the name of the method
+     * @return the {@link ReadPreference} to apply, or {@code null} to keep the default read preference
+     */
+    public ReadPreference readPreference(String collection, String method) {
+        return secondaryMethods.contains(collection + "." + method) ? secondaryReadPreference : null;
+    }
+}
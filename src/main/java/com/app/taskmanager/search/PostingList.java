@@ -0,0 +1,208 @@
+package com.app.taskmanager.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable, compressed list of strictly increasing document numbers.
+ * <p>
+ * Every number is stored as the difference to the previous one, encoded as a variable-length integer
+ * of 7 bits per byte. Document numbers are handed out in increasing order, so differences are small
+ * and most entries take a single byte. The entries are split into blocks of {@value #BLOCK_SIZE}
+ * whose first numbers and byte offsets are kept uncompressed, so a {@link Reader} can skip to the block
+ * holding a number and decode only that block. Not thread-safe; access is guarded by the owning index.
+ */
+final class PostingList {
+
+    /**
+     * Number of entries per block.
+     */
+    static final int BLOCK_SIZE = 128;
+
+    private byte[] bytes = new byte[8];
+
+    private int length;
+
+    private int size;
+
+    private int last = -1;
+
+    private int[] blockFirst = new int[1];
+
+    private int[] blockOffset = new int[1];
+
+    private int blocks;
+
+    /**
+     * Creates a posting list of the given document numbers.
+     *
+     * @param docs the strictly increasing document numbers
+     * @param size the number of document numbers to take from the array
+     * @return the posting list
+     */
+    static PostingList of(int[] docs, int size) {
+        var list = new PostingList();
+        for (var i = 0; i < size; i++) {
+            list.add(docs[i]);
+        }
+        return list;
+    }
+
+    /**
+     * Appends a document number.
+     *
+     * @param doc the document number, greater than every number already in the list
+     * @throws IllegalArgumentException if the number is not greater than the last one
+     */
+    void add(int doc) {
+        if (doc <= last) {
+            throw new IllegalArgumentException("Document numbers must be strictly increasing.");
+        }
+        if (bytes.length - length < 5) {
+            bytes = Arrays.copyOf(bytes, bytes.length * 2);
+        }
+        if (size % BLOCK_SIZE == 0) {
+            if (blocks == blockFirst.length) {
+                blockFirst = Arrays.copyOf(blockFirst, blocks * 2);
+                blockOffset = Arrays.copyOf(blockOffset, blocks * 2);
+            }
+            blockFirst[blocks] = doc;
+            blockOffset[blocks] = length;
+            blocks++;
+        }
+
+        var delta = doc - last;
+        while ((delta & ~0x7F) != 0) {
+            bytes[length++] = (byte) ((delta & 0x7F) | 0x80);
+            delta >>>= 7;
+        }
+        bytes[length++] = (byte) delta;
+        last = doc;
+        size++;
+    }
+
+    /**
+     * Returns the number of document numbers in the list.
+     *
+     * @return the size of the list
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Decodes the list.
+     *
+     * @return the document numbers in increasing order
+     */
+    int[] toArray() {
+        var docs = new int[size];
+        var block = new int[BLOCK_SIZE];
+        for (var b = 0; b < blocks; b++) {
+            var count = decodeBlock(b, block);
+            System.arraycopy(block, 0, docs, b * BLOCK_SIZE, count);
+        }
+        return docs;
+    }
+
+    /**
+     * Creates a reader walking the list from the largest number down.
+     *
+     * @return a new {@link Reader}
+     */
+    Reader reader() {
+        return new Reader();
+    }
+
+    private int decodeBlock(int block, int[] docs) {
+        var count = block == blocks - 1 ? size - block * BLOCK_SIZE : BLOCK_SIZE;
+        var position = blockOffset[block];
+        var doc = blockFirst[block];
+
+        for (var i = 0; i < count; i++) {
+            var delta = 0;
+            var shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            if (i > 0) {
+                doc += delta;
+            }
+            docs[i] = doc;
+        }
+        return count;
+    }
+
+    /**
+     * Reads a posting list one block at a time.
+     * <p>
+     * A reader is used either to iterate the list with {@link #next()} or to look numbers up
+     * with {@link #contains(int)}, not both; in either case it moves from the largest number down.
+     */
+    final class Reader {
+
+        private final int[] docs = new int[BLOCK_SIZE];
+
+        private int block = blocks;
+
+        private int count;
+
+        private int position = -1;
+
+        /**
+         * Returns the size of the list being read.
+         *
+         * @return the size of the list
+         */
+        int size() {
+            return size;
+        }
+
+        /**
+         * Returns the next document number, from the largest down.
+         *
+         * @return the next document number, or {@code -1} if the list is exhausted
+         */
+        int next() {
+            while (position < 0) {
+                if (block == 0) {
+                    return -1;
+                }
+                count = decodeBlock(--block, docs);
+                position = count - 1;
+            }
+            return docs[position--];
+        }
+
+        /**
+         * Checks whether the list contains a document number.
+         * <p>
+         * Numbers must be looked up from the largest down. The reader only moves forward through the list,
+         * skipping whole blocks that cannot hold the number, so a series of lookups decodes every block at most once.
+         *
+         * @param doc the document number, smaller than the previously looked up one
+         * @return {@code true} if the list contains the number
+         */
+        boolean contains(int doc) {
+            if (block == blocks || doc < blockFirst[block]) {
+                var found = Arrays.binarySearch(blockFirst, 0, block, doc);
+                var candidate = found >= 0 ? found : -found - 2;
+                if (candidate < 0) {
+                    block = 0;
+                    position = -1;
+                    return false;
+                }
+                block = candidate;
+                count = decodeBlock(block, docs);
+                position = count - 1;
+            }
+
+            while (position >= 0 && docs[position] > doc) {
+                position--;
+            }
+            return position >= 0 && docs[position] == doc;
+        }
+    }
+}
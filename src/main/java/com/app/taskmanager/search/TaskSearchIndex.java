@@ -0,0 +1,370 @@
+package com.app.taskmanager.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the words of task titles and descriptions.
+ * <p>
+ * Every indexed revision of a task gets a new, increasing document number, and each word maps to a
+ * compressed {@link PostingList} of the document numbers containing it. Re-indexing a task marks its
+ * previous document as dead instead of rewriting posting lists; dead documents are dropped by a
+ * compaction once they outnumber the live ones.
+ * <p>
+ * Each task keeps the version it was indexed at, so a write carrying an older version (for example
+ * a row of the startup scan read before a concurrent update) never replaces a newer one. While a build
+ * is running, removed tasks are remembered as well, so a row read before the removal cannot bring them back.
+ * <p>
+ * A query matches tasks containing all of its words, where the last word may also be the beginning
+ * of a longer one. A short prefix is expanded to its most frequent words only, so rare words starting
+ * with it are found once more of the word is typed. Matches are returned most recently indexed first.
+ */
+public final class TaskSearchIndex {
+
+    /**
+     * Longest word kept by the index; longer words are truncated.
+     */
+    public static final int MAX_TOKEN_LENGTH = 32;
+
+    /**
+     * Maximum number of words the last query word is expanded to when matched as a prefix;
+     * the words with the most documents are kept.
+     */
+    public static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private static final int MIN_COMPACTION_DEAD_DOCS = 10_000;
+
+    private static final int REMOVED = -1;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private final BitSet live = new BitSet();
+
+    private List<String> docTaskIds = new ArrayList<>();
+
+    private int liveDocs;
+
+    private boolean building;
+
+    private record Entry(int doc, long version) {
+    }
+
+    /**
+     * Indexes a revision of a task, replacing any older revision.
+     *
+     * @param taskId  the ID of the task
+     * @param version the version of the task; the revision is ignored if the index already holds this or a newer one
+     * @param texts   the indexed texts, {@code null} values are skipped
+     */
+    public void put(String taskId, long version, String... texts) {
+        var words = new LinkedHashSet<String>();
+        for (var text : texts) {
+            words.addAll(tokenize(text));
+        }
+
+        lock.writeLock().lock();
+        try {
+            var previous = entries.get(taskId);
+            if (previous != null && previous.version() >= version) {
+                return;
+            }
+            kill(previous);
+            compactIfNeeded();
+
+            var doc = docTaskIds.size();
+            docTaskIds.add(taskId);
+            live.set(doc);
+            liveDocs++;
+            entries.put(taskId, new Entry(doc, version));
+
+            for (var word : words) {
+                postings.computeIfAbsent(word, w -> new PostingList()).add(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param taskId the ID of the task
+     */
+    public void remove(String taskId) {
+        lock.writeLock().lock();
+        try {
+            kill(building ? entries.put(taskId, new Entry(REMOVED, Long.MAX_VALUE)) : entries.remove(taskId));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks the start of a full build, from which on removed tasks are remembered until {@link #endBuild()}.
+     */
+    public void beginBuild() {
+        lock.writeLock().lock();
+        try {
+            building = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks the end of a full build and forgets the tasks removed while it was running.
+     */
+    public void endBuild() {
+        lock.writeLock().lock();
+        try {
+            building = false;
+            entries.values().removeIf(entry -> entry.doc() == REMOVED);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the tasks matching a query.
+     *
+     * @param query the words to look for
+     * @param limit the maximum number of results
+     * @return the IDs of the matching tasks, most recently indexed first
+     */
+    public List<String> search(String query, int limit) {
+        var words = tokenize(query);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            var terms = new ArrayList<Term>(words.size());
+            for (var word : words.subList(0, words.size() - 1)) {
+                var list = postings.get(word);
+                if (list == null) {
+                    return List.of();
+                }
+                terms.add(new Term(List.of(list)));
+            }
+
+            var expansions = expand(words.getLast());
+            if (expansions.isEmpty()) {
+                return List.of();
+            }
+            terms.add(new Term(expansions));
+            terms.sort(Comparator.comparingLong(Term::size));
+
+            var driver = terms.getFirst();
+            var others = terms.subList(1, terms.size());
+            var taskIds = new ArrayList<String>(limit);
+            for (var doc = driver.next(); doc >= 0 && taskIds.size() < limit; doc = driver.next()) {
+                if (live.get(doc) && containedInAll(others, doc)) {
+                    taskIds.add(docTaskIds.get(doc));
+                }
+            }
+            return taskIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of tasks currently in the index.
+     *
+     * @return the number of indexed tasks
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits a text into normalized words: lower-cased, stripped of accents and truncated to
+     * {@link #MAX_TOKEN_LENGTH} characters.
+     *
+     * @param text the text, may be {@code null}
+     * @return the distinct words in order of first appearance
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        var folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        var words = new LinkedHashSet<String>();
+        for (var word : SEPARATORS.split(folded.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word.length() > MAX_TOKEN_LENGTH ? word.substring(0, MAX_TOKEN_LENGTH) : word);
+            }
+        }
+        return List.copyOf(words);
+    }
+
+    /**
+     * Finds the posting lists of the words starting with a prefix: the prefix itself if it is a word,
+     * and the largest lists of the longer words, up to {@value #MAX_PREFIX_EXPANSIONS} lists in total.
+     *
+     * @param prefix the beginning of the words
+     * @return the posting lists of the prefix and of the most frequent words starting with it
+     */
+    private List<PostingList> expand(String prefix) {
+        var exact = postings.get(prefix);
+        var limit = exact == null ? MAX_PREFIX_EXPANSIONS : MAX_PREFIX_EXPANSIONS - 1;
+        var largest = new PriorityQueue<PostingList>(Comparator.comparingInt(PostingList::size));
+        for (var list : postings.subMap(prefix, false, prefix + Character.MAX_VALUE, false).values()) {
+            if (largest.size() < limit) {
+                largest.add(list);
+            } else if (list.size() > largest.peek().size()) {
+                largest.poll();
+                largest.add(list);
+            }
+        }
+        if (exact != null) {
+            largest.add(exact);
+        }
+        return List.copyOf(largest);
+    }
+
+    private static boolean containedInAll(List<Term> terms, int doc) {
+        for (var term : terms) {
+            if (!term.contains(doc)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void kill(Entry entry) {
+        if (entry != null && entry.doc() != REMOVED) {
+            live.clear(entry.doc());
+            liveDocs--;
+        }
+    }
+
+    private void compactIfNeeded() {
+        var deadDocs = docTaskIds.size() - liveDocs;
+        if (deadDocs >= MIN_COMPACTION_DEAD_DOCS && deadDocs > liveDocs) {
+            compact();
+        }
+    }
+
+    /**
+     * Drops dead documents, renumbering the live ones in their original order so posting lists stay sorted.
+     */
+    private void compact() {
+        var renumbered = new int[docTaskIds.size()];
+        var compactedTaskIds = new ArrayList<String>(liveDocs);
+        for (var doc = 0; doc < docTaskIds.size(); doc++) {
+            if (live.get(doc)) {
+                renumbered[doc] = compactedTaskIds.size();
+                compactedTaskIds.add(docTaskIds.get(doc));
+            }
+        }
+
+        var words = postings.entrySet().iterator();
+        while (words.hasNext()) {
+            var word = words.next();
+            var docs = word.getValue().toArray();
+            var size = 0;
+            for (var doc : docs) {
+                if (live.get(doc)) {
+                    docs[size++] = renumbered[doc];
+                }
+            }
+            if (size == 0) {
+                words.remove();
+            } else {
+                word.setValue(PostingList.of(docs, size));
+            }
+        }
+
+        entries.replaceAll((taskId, entry) ->
+                entry.doc() == REMOVED ? entry : new Entry(renumbered[entry.doc()], entry.version()));
+        live.clear();
+        live.set(0, compactedTaskIds.size());
+        docTaskIds = compactedTaskIds;
+    }
+
+    /**
+     * A query word, matched by any of the posting lists of the words it stands for.
+     * <p>
+     * An exact word has a single posting list; the last query word has one per word it is a prefix of.
+     * Iterating a term merges its lists from the largest document number down.
+     */
+    private static final class Term {
+
+        private final PostingList.Reader[] readers;
+
+        private final int[] heads;
+
+        private final long size;
+
+        Term(List<PostingList> lists) {
+            readers = new PostingList.Reader[lists.size()];
+            heads = new int[lists.size()];
+            var total = 0L;
+            for (var i = 0; i < readers.length; i++) {
+                readers[i] = lists.get(i).reader();
+                heads[i] = Integer.MIN_VALUE;
+                total += readers[i].size();
+            }
+            size = total;
+        }
+
+        long size() {
+            return size;
+        }
+
+        int next() {
+            var max = -1;
+            for (var i = 0; i < readers.length; i++) {
+                if (heads[i] == Integer.MIN_VALUE) {
+                    heads[i] = readers[i].next();
+                }
+                max = Math.max(max, heads[i]);
+            }
+            for (var i = 0; i < readers.length; i++) {
+                if (heads[i] == max) {
+                    heads[i] = Integer.MIN_VALUE;
+                }
+            }
+            return max;
+        }
+
+        boolean contains(int doc) {
+            for (var reader : readers) {
+                if (reader.contains(doc)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
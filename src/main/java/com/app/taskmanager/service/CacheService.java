@@ -0,0 +1,19 @@
+package com.app.taskmanager.service;
+
+import com.app.taskmanager.dto.response.CacheStatsResponseDto;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Service interface for inspecting the application caches.
+ */
+public interface CacheService {
+
+    /**
+     * Retrieves the statistics of all application caches.
+     *
+     * @return a {@link Mono} emitting a list of {@link CacheStatsResponseDto}
+     */
+    Mono<List<CacheStatsResponseDto>> findCacheStats();
+}
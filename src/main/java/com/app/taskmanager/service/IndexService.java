@@ -0,0 +1,20 @@
+package com.app.taskmanager.service;
+
+import com.app.taskmanager.dto.response.IndexStatsResponseDto;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Service interface for inspecting the database indexes.
+ */
+public interface IndexService {
+
+    /**
+     * Retrieves the usage statistics of all indexes of the application collections,
+     * including the declared indexes that are missing.
+     *
+     * @return a {@link Mono} emitting a list of {@link IndexStatsResponseDto}
+     */
+    Mono<List<IndexStatsResponseDto>> findIndexStats();
+}
@@ -0,0 +1,46 @@
+package com.app.taskmanager.service;
+
+import com.app.taskmanager.dto.response.TaskResponseDto;
+import com.app.taskmanager.repository.model.Task;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Service interface for the full-text search over tasks.
+ * <p>
+ * Defines methods for searching tasks by the words of their titles and descriptions,
+ * keeping the search index current with task writes, and rebuilding the index from the tasks.
+ */
+public interface TaskSearchService {
+
+    /**
+     * Searches tasks by the words of their titles and descriptions.
+     *
+     * @param query the words to look for
+     * @param limit the maximum number of tasks to return
+     * @return a {@link Mono} emitting the matching tasks as {@link TaskResponseDto}s
+     */
+    Mono<List<TaskResponseDto>> search(String query, int limit);
+
+    /**
+     * Adds a written task to the search index, replacing any older version of it.
+     *
+     * @param task the task as it was written, including its version
+     */
+    void index(Task task);
+
+    /**
+     * Removes a deleted task from the search index.
+     *
+     * @param taskId the ID of the task
+     */
+    void remove(String taskId);
+
+    /**
+     * Rebuilds the search index from all tasks.
+     *
+     * @return a {@link Mono} emitting the number of scanned tasks
+     */
+    Mono<Long> rebuild();
+}
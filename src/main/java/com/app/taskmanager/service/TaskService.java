@@ -2,11 +2,19 @@ package com.app.taskmanager.service;
 
 import com.app.taskmanager.dto.create.CreateTaskDto;
 import com.app.taskmanager.dto.create.UpdateTaskDto;
+import com.app.taskmanager.dto.filters.CountMode;
 import com.app.taskmanager.dto.filters.FilterDto;
+import com.app.taskmanager.dto.response.BatchResponseDto;
+import com.app.taskmanager.dto.response.ExplainResponseDto;
 import com.app.taskmanager.dto.response.IdResponseDto;
+import com.app.taskmanager.dto.response.ImportProgressDto;
+import com.app.taskmanager.dto.response.LeaseResponseDto;
 import com.app.taskmanager.dto.response.PageResponseDto;
+import com.app.taskmanager.dto.response.TaskChangeDto;
 import com.app.taskmanager.dto.response.TaskResponseDto;
 import com.app.taskmanager.dto.response.UpdateResponseDto;
+import com.app.taskmanager.repository.model.Status;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -32,11 +40,57 @@ public interface TaskService {
      *
      * @param page   the page number (zero-based)
      * @param size   the number of tasks per page
+     * @param count  the {@link CountMode} used to compute the total number of tasks
      * @param filter the {@link FilterDto} containing filtering criteria
      * @return a {@link Mono} emitting a {@link PageResponseDto} of {@link TaskResponseDto}
      */
     Mono<PageResponseDto<TaskResponseDto>> findAllTasks(
-            long page, long size, FilterDto filter);
+            long page, long size, CountMode count, FilterDto filter);
+
+    /**
+     * Retrieves tasks with optional filtering using cursor (keyset) pagination.
+     *
+     * @param cursor the opaque cursor returned with the previous page, or a blank value for the first page
+     * @param size   the number of tasks per page
+     * @param count  the {@link CountMode} used to compute the total number of tasks
+     * @param filter the {@link FilterDto} containing filtering criteria
+     * @return a {@link Mono} emitting a {@link PageResponseDto} of {@link TaskResponseDto}
+     *         with the cursor of the next page
+     */
+    Mono<PageResponseDto<TaskResponseDto>> findAllTasksByCursor(
+            String cursor, long size, CountMode count, FilterDto filter);
+
+    /**
+     * Streams all tasks matching the filter.
+     *
+     * @param filter the {@link FilterDto} containing filtering criteria
+     * @return a {@link Flux} emitting a {@link TaskResponseDto} for every matching task
+     */
+    Flux<TaskResponseDto> streamTasks(FilterDto filter);
+
+    /**
+     * Streams the live changes of the tasks, optionally narrowed to a user and a status.
+     * <p>
+     * A change matches if the task matched the filters before or after it, so subscribers also learn
+     * about tasks leaving the filters. Deletions of which the server recorded no pre-image carry no state,
+     * so they are emitted regardless of the filters.
+     *
+     * @param resumeToken the resume token of the last change received, or {@code null} to receive new changes only
+     * @param userId      the ID of the user the changed tasks are assigned to, or {@code null} for all users
+     * @param status      the status of the changed tasks, or {@code null} for all statuses
+     * @return a {@link Flux} emitting a {@link TaskChangeDto} for every matching change
+     */
+    Flux<TaskChangeDto> streamTaskChanges(String resumeToken, String userId, Status status);
+
+    /**
+     * Explains how the database fetches a page of tasks with the given filter, without running the query.
+     *
+     * @param page   the page number (zero-based)
+     * @param size   the number of tasks per page
+     * @param filter the {@link FilterDto} containing filtering criteria, fields and sort keys
+     * @return a {@link Mono} emitting the {@link ExplainResponseDto} with the winning query plan
+     */
+    Mono<ExplainResponseDto> explainTasks(long page, long size, FilterDto filter);
 
     /**
      * Creates a new task.
@@ -46,6 +100,26 @@ public interface TaskService {
      */
     Mono<IdResponseDto> createTask(CreateTaskDto task);
 
+    /**
+     * Creates many tasks at once.
+     * <p>
+     * Each task is validated on its own; invalid tasks are reported in the response and the others are still created.
+     *
+     * @param tasks the {@link CreateTaskDto}s containing task information
+     * @return a {@link Mono} emitting the {@link BatchResponseDto} with the outcome of every task
+     */
+    Mono<BatchResponseDto> createTasks(Flux<CreateTaskDto> tasks);
+
+    /**
+     * Imports a stream of tasks of any size.
+     * <p>
+     * Tasks are consumed only as fast as they are written, and the progress is reported after every written chunk.
+     *
+     * @param tasks the {@link CreateTaskDto}s containing task information
+     * @return a {@link Flux} emitting an {@link ImportProgressDto} after every written chunk
+     */
+    Flux<ImportProgressDto> importTasks(Flux<CreateTaskDto> tasks);
+
     /**
      * Updates an existing task.
      *
@@ -81,6 +155,32 @@ public interface TaskService {
      */
     Mono<List<IdResponseDto>> assignUserTasks(String userId, List<String> taskId);
 
+    /**
+     * Claims up to {@code count} of the oldest {@link Status#TO_DO} tasks for a user.
+     *
+     * @param userId the ID of the user
+     * @param count  the maximum number of tasks to claim
+     * @return a {@link Mono} emitting the claimed tasks, oldest first; fewer than requested if not enough are waiting
+     */
+    Mono<List<TaskResponseDto>> claimTasks(String userId, int count);
+
+    /**
+     * Extends the lease of a user on a task in progress.
+     *
+     * @param userId the ID of the user
+     * @param taskId the ID of the task
+     * @return a {@link Mono} emitting the {@link LeaseResponseDto} with the new expiry,
+     *         or an error if the task is not in progress for the user
+     */
+    Mono<LeaseResponseDto> renewLease(String userId, String taskId);
+
+    /**
+     * Returns the tasks whose lease expired to {@link Status#TO_DO}, unassigning them.
+     *
+     * @return a {@link Mono} completing when the expired leases were released
+     */
+    Mono<Void> releaseExpiredLeases();
+
     /**
      * Marks a task as completed for a specific user.
      *
@@ -0,0 +1,38 @@
+package com.app.taskmanager.service;
+
+import com.app.taskmanager.dto.response.TaskStatsResponseDto;
+import com.app.taskmanager.repository.model.TaskStatDeltas;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service interface for the task statistics.
+ * <p>
+ * Defines methods for reading the statistics, applying the changes caused by task writes,
+ * and recomputing the statistics from the tasks.
+ */
+public interface TaskStatsService {
+
+    /**
+     * Retrieves the task statistics.
+     *
+     * @param days  the number of most recent days to report creations for
+     * @param users the number of users with the most assigned tasks to report
+     * @return a {@link Mono} emitting the {@link TaskStatsResponseDto}
+     */
+    Mono<TaskStatsResponseDto> findStats(int days, int users);
+
+    /**
+     * Applies the changes caused by a task write to the statistics.
+     *
+     * @param deltas the changes of the counters
+     * @return a {@link Mono} completing when the statistics were updated
+     */
+    Mono<Void> record(TaskStatDeltas deltas);
+
+    /**
+     * Recomputes the statistics from the tasks, correcting any drift of the incremental updates.
+     *
+     * @return a {@link Mono} completing when the statistics were recomputed
+     */
+    Mono<Void> reconcile();
+}
@@ -2,11 +2,18 @@ package com.app.taskmanager.service;
 
 import com.app.taskmanager.dto.create.AddTaskDto;
 import com.app.taskmanager.dto.create.CreateUserDto;
+import com.app.taskmanager.dto.filters.CountMode;
 import com.app.taskmanager.dto.filters.FilterDto;
+import com.app.taskmanager.dto.response.BatchResponseDto;
+import com.app.taskmanager.dto.response.ExplainResponseDto;
 import com.app.taskmanager.dto.response.IdResponseDto;
+import com.app.taskmanager.dto.response.LeaseResponseDto;
 import com.app.taskmanager.dto.response.PageResponseDto;
+import com.app.taskmanager.dto.response.TaskResponseDto;
 import com.app.taskmanager.dto.response.UpdateResponseDto;
 import com.app.taskmanager.dto.response.UserResponseDto;
+import com.app.taskmanager.dto.response.UserStatsResponseDto;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -27,6 +34,16 @@ public interface UserService {
      */
     Mono<IdResponseDto> createUser(CreateUserDto user);
 
+    /**
+     * Creates many users at once.
+     * <p>
+     * Each user is validated on its own; invalid users are reported in the response and the others are still created.
+     *
+     * @param users the {@link CreateUserDto}s containing user information
+     * @return a {@link Mono} emitting the {@link BatchResponseDto} with the outcome of every user
+     */
+    Mono<BatchResponseDto> createUsers(Flux<CreateUserDto> users);
+
     /**
      * Retrieves a user by their ID.
      *
@@ -35,6 +52,14 @@ public interface UserService {
      */
     Mono<UserResponseDto> findUserByID(String id);
 
+    /**
+     * Retrieves the number of tasks assigned to a user, by status.
+     *
+     * @param id the ID of the user
+     * @return a {@link Mono} emitting the {@link UserStatsResponseDto} if found, or an error if not found
+     */
+    Mono<UserStatsResponseDto> findUserStats(String id);
+
     /**
      * Finds a user by their username.
      *
@@ -48,11 +73,34 @@ public interface UserService {
      *
      * @param page   the page number (zero-based)
      * @param size   the number of users per page
+     * @param count  the {@link CountMode} used to compute the total number of users
      * @param filter the {@link FilterDto} containing filtering criteria
      * @return a {@link Mono} emitting a {@link PageResponseDto} containing a list of {@link UserResponseDto},
      *         total number of users, and pagination details
      */
-    Mono<PageResponseDto<UserResponseDto>> findAllUsers(int page, int size, FilterDto filter);
+    Mono<PageResponseDto<UserResponseDto>> findAllUsers(int page, int size, CountMode count, FilterDto filter);
+
+    /**
+     * Retrieves users with optional filtering using cursor (keyset) pagination.
+     *
+     * @param cursor the opaque cursor returned with the previous page, or a blank value for the first page
+     * @param size   the number of users per page
+     * @param count  the {@link CountMode} used to compute the total number of users
+     * @param filter the {@link FilterDto} containing filtering criteria
+     * @return a {@link Mono} emitting a {@link PageResponseDto} containing a list of {@link UserResponseDto},
+     *         total number of users, and the cursor of the next page
+     */
+    Mono<PageResponseDto<UserResponseDto>> findAllUsersByCursor(String cursor, int size, CountMode count, FilterDto filter);
+
+    /**
+     * Explains how the database fetches a page of users with the given filter, without running the query.
+     *
+     * @param page   the page number (zero-based)
+     * @param size   the number of users per page
+     * @param filter the {@link FilterDto} containing filtering criteria, fields and sort keys
+     * @return a {@link Mono} emitting the {@link ExplainResponseDto} with the winning query plan
+     */
+    Mono<ExplainResponseDto> explainUsers(long page, long size, FilterDto filter);
 
     /**
      * Assigns tasks to a user.
@@ -63,6 +111,24 @@ public interface UserService {
      */
     Mono<List<IdResponseDto>> addTasks(String userId, AddTaskDto addTaskDto);
 
+    /**
+     * Claims up to {@code count} of the oldest waiting tasks for a user.
+     *
+     * @param userId the ID of the user
+     * @param count  the maximum number of tasks to claim
+     * @return a {@link Mono} emitting the claimed tasks, oldest first
+     */
+    Mono<List<TaskResponseDto>> claimTasks(String userId, int count);
+
+    /**
+     * Extends the lease of a user on a task in progress.
+     *
+     * @param userId the ID of the user
+     * @param taskId the ID of the task
+     * @return a {@link Mono} emitting the {@link LeaseResponseDto} with the new expiry
+     */
+    Mono<LeaseResponseDto> heartbeat(String userId, String taskId);
+
     /**
      * Marks a task as completed for a specific user.
      *
@@ -0,0 +1,161 @@
+package com.app.taskmanager.service.impl;
+
+import com.app.taskmanager.dto.response.BatchItemResponseDto;
+import com.app.taskmanager.dto.response.BatchResponseDto;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates entities from a stream of create requests in chunks.
+ * <p>
+ * Every element is validated on its own, so an invalid element is reported in the response
+ * instead of rejecting the whole batch. Valid elements are written {@value #CHUNK_SIZE} at a time
+ * with unordered inserts, at most {@value #CONCURRENCY} chunks concurrently.
+ * <p>
+ * {@link #create} collects the outcome of a whole batch, while {@link #stream} emits the outcome
+ * of every chunk as soon as it is written and only requests more elements when a chunk slot is free,
+ * so an unbounded stream is imported without being buffered.
+ */
+final class BatchCreation {
+
+    /**
+     * Number of elements written per insert.
+     */
+    static final int CHUNK_SIZE = 1000;
+
+    /**
+     * Number of chunks written concurrently.
+     */
+    static final int CONCURRENCY = 4;
+
+    /**
+     * How long {@link #stream} waits for a chunk to fill up before writing it anyway.
+     */
+    static final Duration MAX_CHUNK_WAIT = Duration.ofSeconds(1);
+
+    /**
+     * Server error code of a duplicate key.
+     */
+    private static final int DUPLICATE_KEY = 11000;
+
+    private BatchCreation() {
+    }
+
+    /**
+     * Validates and writes the requested entities.
+     *
+     * @param requests  the create requests
+     * @param validator the {@link Validator} checking each request
+     * @param toEntity  converts a request into an entity with a client-assigned ID
+     * @param idOf      returns the ID of an entity
+     * @param insert    writes a chunk of entities and emits the errors of the rejected ones
+     * @param <D>       the type of the create request
+     * @param <E>       the type of the entity
+     * @return a {@link Mono} emitting the {@link BatchResponseDto} with the outcome of every element
+     */
+    static <D, E> Mono<BatchResponseDto> create(Flux<D> requests, Validator validator,
+                                                Function<D, E> toEntity, Function<E, String> idOf,
+                                                Function<List<E>, Mono<List<BulkWriteError>>> insert) {
+        return validate(requests, validator, toEntity)
+                .buffer(CHUNK_SIZE)
+                .flatMap(chunk -> write(chunk, idOf, insert), CONCURRENCY)
+                .flatMapIterable(Function.identity())
+                .collectSortedList(Comparator.comparingInt(BatchItemResponseDto::index))
+                .map(BatchResponseDto::of);
+    }
+
+    /**
+     * Validates and writes the requested entities, emitting the outcome of every chunk once it is written.
+     * <p>
+     * A chunk is written when it reaches {@value #CHUNK_SIZE} elements or {@link #MAX_CHUNK_WAIT} after
+     * its first element arrived, whichever comes first. Chunks are emitted in request order.
+     *
+     * @param requests  the create requests
+     * @param validator the {@link Validator} checking each request
+     * @param toEntity  converts a request into an entity with a client-assigned ID
+     * @param idOf      returns the ID of an entity
+     * @param insert    writes a chunk of entities and emits the errors of the rejected ones
+     * @param <D>       the type of the create request
+     * @param <E>       the type of the entity
+     * @return a {@link Flux} emitting the outcome of the elements of every chunk
+     */
+    static <D, E> Flux<List<BatchItemResponseDto>> stream(Flux<D> requests, Validator validator,
+                                                          Function<D, E> toEntity, Function<E, String> idOf,
+                                                          Function<List<E>, Mono<List<BulkWriteError>>> insert) {
+        return validate(requests, validator, toEntity)
+                .bufferTimeout(CHUNK_SIZE, MAX_CHUNK_WAIT, true)
+                .flatMapSequential(chunk -> write(chunk, idOf, insert), CONCURRENCY, 1);
+    }
+
+    private static <D, E> Flux<Element<E>> validate(Flux<D> requests, Validator validator, Function<D, E> toEntity) {
+        return requests
+                .index()
+                .map(t -> {
+                    var index = t.getT1().intValue();
+                    var violations = validator.validate(t.getT2());
+                    return violations.isEmpty()
+                            ? new Element<>(index, toEntity.apply(t.getT2()), null)
+                            : new Element<E>(index, null, describe(violations));
+                });
+    }
+
+    private static <E> Mono<List<BatchItemResponseDto>> write(List<Element<E>> chunk, Function<E, String> idOf,
+                                                              Function<List<E>, Mono<List<BulkWriteError>>> insert) {
+        var valid = chunk.stream().filter(element -> element.error() == null).toList();
+        var written = valid.isEmpty()
+                ? Mono.just(List.<BulkWriteError>of())
+                : insert.apply(valid.stream().map(Element::entity).toList());
+
+        return written.map(errors -> {
+            var rejected = new String[valid.size()];
+            errors.forEach(error -> rejected[error.getIndex()] = describe(error));
+
+            var items = new ArrayList<BatchItemResponseDto>(chunk.size());
+            for (var element : chunk) {
+                if (element.error() != null) {
+                    items.add(BatchItemResponseDto.failed(element.index(), element.error()));
+                }
+            }
+            for (var i = 0; i < valid.size(); i++) {
+                var element = valid.get(i);
+                items.add(rejected[i] == null
+                        ? BatchItemResponseDto.created(element.index(), idOf.apply(element.entity()))
+                        : BatchItemResponseDto.failed(element.index(), rejected[i]));
+            }
+            return items;
+        });
+    }
+
+    private static String describe(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(" "));
+    }
+
+    private static String describe(BulkWriteError error) {
+        return error.getCode() == DUPLICATE_KEY ? "Already exists." : "Could not be written.";
+    }
+
+    /**
+     * A validated element of the batch.
+     *
+     * @param index  the position of the element in the request
+     * @param entity the entity to write, or {@code null} if the element is invalid
+     * @param error  the validation error, or {@code null} if the element is valid
+     * @param <E>    the type of the entity
+     */
+    private record Element<E>(int index, E entity, String error) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.app.taskmanager.service.impl;
+
+import com.app.taskmanager.cache.ReactiveEntityCache;
+import com.app.taskmanager.dto.response.CacheStatsResponseDto;
+import com.app.taskmanager.service.CacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Service implementation for inspecting the application caches.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheServiceImpl implements CacheService {
+
+    private final List<ReactiveEntityCache<?, ?>> caches;
+
+    /**
+     * Retrieves the statistics of all application caches.
+     *
+     * @return a {@link Mono} emitting a list of {@link CacheStatsResponseDto}
+     */
+    @Override
+    public Mono<List<CacheStatsResponseDto>> findCacheStats() {
+        return Mono.fromSupplier(() -> caches.stream().map(ReactiveEntityCache::stats).toList());
+    }
+}
@@ -0,0 +1,75 @@
+package com.app.taskmanager.service.impl;
+
+import com.app.taskmanager.dto.response.IndexStatsResponseDto;
+import com.app.taskmanager.repository.index.DeclaredIndex;
+import com.app.taskmanager.repository.index.IndexManager;
+import com.app.taskmanager.service.IndexService;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Service implementation for inspecting the database indexes.
+ * <p>
+ * Combines the {@code $indexStats} output of every managed collection with the declared indexes,
+ * so unused indexes and missing indexes can both be spotted.
+ */
+@Service
+@RequiredArgsConstructor
+public class IndexServiceImpl implements IndexService {
+
+    private final IndexManager indexManager;
+
+    /**
+     * Retrieves the usage statistics of all indexes of the application collections,
+     * including the declared indexes that are missing.
+     *
+     * @return a {@link Mono} emitting a list of {@link IndexStatsResponseDto}
+     */
+    @Override
+    public Mono<List<IndexStatsResponseDto>> findIndexStats() {
+        var collections = IndexManager.DECLARED_INDEXES.stream()
+                .map(DeclaredIndex::collection)
+                .distinct()
+                .toList();
+
+        var present = Flux.fromIterable(collections)
+                .concatMap(collection -> indexManager
+                        .indexStats(collection)
+                        .map(stats -> toIndexStats(collection, stats)));
+
+        var missing = indexManager
+                .findMissingIndexes()
+                .map(index -> new IndexStatsResponseDto(
+                        index.collection(), index.name(), null, 0, null, true, false));
+
+        return Flux.concat(present, missing).collectList();
+    }
+
+    /**
+     * Converts an {@code $indexStats} document into an {@link IndexStatsResponseDto}.
+     *
+     * @param collection the name of the collection
+     * @param stats      the statistics document of one index
+     * @return the statistics DTO
+     */
+    private IndexStatsResponseDto toIndexStats(String collection, Document stats) {
+        var name = stats.getString("name");
+        var accesses = stats.get("accesses", Document.class);
+        var declared = IndexManager.DECLARED_INDEXES.stream()
+                .anyMatch(index -> index.collection().equals(collection) && index.name().equals(name));
+
+        return new IndexStatsResponseDto(
+                collection,
+                name,
+                stats.get("key", Document.class),
+                accesses.get("ops", Number.class).longValue(),
+                accesses.getDate("since").toInstant(),
+                declared,
+                true);
+    }
+}
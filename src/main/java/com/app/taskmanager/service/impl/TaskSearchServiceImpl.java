@@ -0,0 +1,182 @@
+package com.app.taskmanager.service.impl;
+
+import com.app.taskmanager.dto.response.TaskResponseDto;
+import com.app.taskmanager.metrics.ServiceMetrics;
+import com.app.taskmanager.repository.TaskChangeStream;
+import com.app.taskmanager.repository.TaskRepository;
+import com.app.taskmanager.repository.model.Task;
+import com.app.taskmanager.repository.model.TaskChange;
+import com.app.taskmanager.search.TaskSearchIndex;
+import com.app.taskmanager.service.TaskSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Service implementation for the full-text search over tasks.
+ * <p>
+ * Queries are answered by an in-memory {@link TaskSearchIndex}, without touching the database;
+ * only the matching tasks are then loaded with a single multi-get by ID.
+ * The index is built from a streaming scan of the tasks once the application is ready. It is kept current
+ * by the task writes of this node, so they are searchable at once, and by the {@link TaskChangeStream},
+ * which delivers the writes of every node. A write seen both ways is applied once, as the index ignores
+ * revisions it already holds. If the change stream fails and cannot be resumed, writes made by other nodes
+ * show up after the next restart; tasks deleted by them are dropped when the matches are loaded.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskSearchServiceImpl implements TaskSearchService {
+
+    /**
+     * Name of the service in the {@link ServiceMetrics} timers.
+     */
+    private static final String SERVICE = "TaskSearchService";
+
+    /**
+     * Maximum number of tasks a search may return.
+     */
+    static final int MAX_LIMIT = 100;
+
+    /**
+     * Maximum length of a search query.
+     */
+    static final int MAX_QUERY_LENGTH = 200;
+
+    /**
+     * Fields of the tasks read by the scan building the index.
+     */
+    private static final Set<String> INDEXED_FIELDS = Set.of("title", "description", "version");
+
+    private final TaskRepository taskRepository;
+    private final TaskChangeStream taskChangeStream;
+    private final ServiceMetrics serviceMetrics;
+
+    private final TaskSearchIndex index = new TaskSearchIndex();
+
+    /**
+     * Searches tasks by the words of their titles and descriptions.
+     * <p>
+     * A task matches if it contains every word of the query, where the last word may also be
+     * the beginning of a longer word. Matching ignores case and accents.
+     * Tasks are returned most recently written first.
+     *
+     * @param query the words to look for, at most {@value #MAX_QUERY_LENGTH} characters
+     * @param limit the maximum number of tasks to return, between 1 and {@value #MAX_LIMIT}
+     * @return a {@link Mono} emitting the matching tasks as {@link TaskResponseDto}s,
+     *         or an error if the query is blank or too long or the limit is out of range
+     */
+    @Override
+    public Mono<List<TaskResponseDto>> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return Mono.error(new IllegalArgumentException("Query must not be blank."));
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            return Mono.error(new IllegalArgumentException(
+                    "Query must be at most %d characters.".formatted(MAX_QUERY_LENGTH)));
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return Mono.error(new IllegalArgumentException("Limit must be between 1 and %d.".formatted(MAX_LIMIT)));
+        }
+
+        return Mono.fromSupplier(() -> index.search(query, limit))
+                .filter(ids -> !ids.isEmpty())
+                .flatMap(ids -> taskRepository
+                        .findAllById(ids)
+                        .collectMap(Task::getId)
+                        .map(tasks -> ids.stream()
+                                .map(tasks::get)
+                                .filter(Objects::nonNull)
+                                .map(Task::toResponseTaskDto)
+                                .toList()))
+                .defaultIfEmpty(List.of())
+                .transform(serviceMetrics.timed(SERVICE, "search"));
+    }
+
+    /**
+     * Adds a written task to the search index, replacing any older version of it.
+     * <p>
+     * A task without a version is treated as version 0.
+     *
+     * @param task the task as it was written, including its version
+     */
+    @Override
+    public void index(Task task) {
+        index.put(task.getId(), versionOf(task), task.getTitle(), task.getDescription());
+    }
+
+    /**
+     * Removes a deleted task from the search index.
+     *
+     * @param taskId the ID of the task
+     */
+    @Override
+    public void remove(String taskId) {
+        index.remove(taskId);
+    }
+
+    /**
+     * Starts following the task changes and rebuilds the search index once the application is ready.
+     * <p>
+     * The changes are followed before the scan starts, so a write made during the scan is not missed.
+     * Both are subscribed to asynchronously, so application startup is not blocked.
+     * Until the scan completes, searches only see the tasks indexed so far.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        taskChangeStream.changes().subscribe(
+                this::apply,
+                e -> log.error("Task search index stopped following task changes: ", e)
+        );
+        rebuild().subscribe(
+                scanned -> log.info("Task search index built from {} tasks.", scanned),
+                e -> log.error("Task search index build failed: ", e)
+        );
+    }
+
+    /**
+     * Applies a change of the tasks, made by any node, to the search index.
+     * <p>
+     * An update of a task deleted before its change was read carries no task and is skipped;
+     * the deletion follows.
+     *
+     * @param change the change read from the change stream
+     */
+    void apply(TaskChange change) {
+        if (change.operation() == TaskChange.Operation.DELETE) {
+            remove(change.taskId());
+        } else if (change.task() != null) {
+            index(change.task());
+        }
+    }
+
+    /**
+     * Rebuilds the search index from a streaming scan of all tasks.
+     * <p>
+     * Only the indexed fields are read. Task writes made during the scan are indexed as usual;
+     * the versions of the tasks keep a row read before such a write from replacing it,
+     * and removed tasks are remembered until the scan completes.
+     *
+     * @return a {@link Mono} emitting the number of scanned tasks
+     */
+    @Override
+    public Mono<Long> rebuild() {
+        return Mono.fromRunnable(index::beginBuild)
+                .thenMany(taskRepository.streamWithFilter(List.of(), INDEXED_FIELDS))
+                .doOnNext(this::index)
+                .count()
+                .doFinally(signal -> index.endBuild())
+                .transform(serviceMetrics.timed(SERVICE, "rebuild"));
+    }
+
+    private static long versionOf(Task task) {
+        return task.getVersion() == null ? 0 : task.getVersion();
+    }
+}
@@ -1,35 +1,119 @@
 package com.app.taskmanager.service.impl;
 
 import com.app.taskmanager.EntityNotFoundException;
+import com.app.taskmanager.VersionConflictException;
+import com.app.taskmanager.cache.ReactiveEntityCache;
+import com.app.taskmanager.configuration.TaskLeaseProperties;
 import com.app.taskmanager.dto.create.CreateTaskDto;
 import com.app.taskmanager.dto.create.UpdateTaskDto;
+import com.app.taskmanager.dto.filters.CountMode;
 import com.app.taskmanager.dto.filters.FilterDto;
+import com.app.taskmanager.dto.filters.PageCursor;
+import com.app.taskmanager.dto.response.BatchResponseDto;
+import com.app.taskmanager.dto.response.ExplainResponseDto;
 import com.app.taskmanager.dto.response.IdResponseDto;
+import com.app.taskmanager.dto.response.ImportProgressDto;
+import com.app.taskmanager.dto.response.LeaseResponseDto;
 import com.app.taskmanager.dto.response.PageResponseDto;
+import com.app.taskmanager.dto.response.TaskChangeDto;
 import com.app.taskmanager.dto.response.TaskResponseDto;
 import com.app.taskmanager.dto.response.UpdateResponseDto;
+import com.app.taskmanager.metrics.ServiceMetrics;
+import com.app.taskmanager.repository.JobLockRepository;
+import com.app.taskmanager.repository.TaskChangeStream;
 import com.app.taskmanager.repository.TaskRepository;
+import com.app.taskmanager.repository.UserRepository;
 import com.app.taskmanager.repository.model.Status;
 import com.app.taskmanager.repository.model.Task;
+import com.app.taskmanager.repository.model.TaskChange;
+import com.app.taskmanager.repository.model.TaskStatDeltas;
+import com.app.taskmanager.service.TaskSearchService;
 import com.app.taskmanager.service.TaskService;
+import com.app.taskmanager.service.TaskStatsService;
+import com.mongodb.MongoException;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Service implementation for managing tasks.
  * <p>
  * Provides methods for creating, updating, retrieving, assigning, completing,
  * unassigning, and deleting tasks.
+ * <p>
+ * Tasks looked up by ID are served from a {@link ReactiveEntityCache};
+ * every write invalidates the cached entries of the tasks it touches.
+ * <p>
+ * Writes that change which user a task is assigned to, or the status of an assigned task,
+ * also update the task counters of that user with {@code $inc}, based on the task as it was before the write.
+ * Every write records its changes in the task statistics of the {@link TaskStatsService} the same way.
+ * Writes that create, retitle or delete tasks also update the search index of the {@link TaskSearchService}.
  */
+@Slf4j
 @RequiredArgsConstructor
 @Service
 public class TaskServiceImpl implements TaskService {
 
+    /**
+     * Name of the service in the {@link ServiceMetrics} timers.
+     */
+    private static final String SERVICE = "TaskService";
+
+    /**
+     * Maximum number of tasks a single request may claim.
+     */
+    static final int MAX_CLAIM = 100;
+
+    /**
+     * Maximum number of tasks on a cursor page.
+     */
+    static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Name of the lock held by the node releasing expired leases.
+     */
+    private static final String LEASE_SWEEPER = "task-lease-sweeper";
+
+    /**
+     * Maximum number of times a transaction aborted by a write conflict is retried.
+     */
+    static final int MAX_TRANSACTION_RETRIES = 3;
+
     private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final JobLockRepository jobLockRepository;
+    private final TaskStatsService taskStatsService;
+    private final TaskChangeStream taskChangeStream;
+    private final TaskSearchService taskSearchService;
+    private final ReactiveEntityCache<String, TaskResponseDto> taskCache;
+    private final ServiceMetrics serviceMetrics;
+    private final Validator validator;
+    private final TaskLeaseProperties leaseProperties;
+    private final TransactionalOperator transactionalOperator;
+
+    /**
+     * ID of this node in the job locks.
+     */
+    private final String nodeId = UUID.randomUUID().toString();
 
     /**
      * Retrieves a task by its ID.
@@ -38,10 +122,26 @@ public class TaskServiceImpl implements TaskService {
      * @return a {@link Mono} emitting the {@link TaskResponseDto} if found, or an error if not found
      */
     public Mono<TaskResponseDto> findTaskByID(String id) {
-        return taskRepository
-                .findById(id)
+        return taskCache
+                .get(id, key -> taskRepository.findById(key).map(Task::toResponseTaskDto))
                 .switchIfEmpty(Mono.error(new EntityNotFoundException("Task not found.")))
-                .map(Task::toResponseTaskDto);
+                .transform(serviceMetrics.timed(SERVICE, "findTaskByID"));
+    }
+
+    /**
+     * Explains how the database fetches a page of tasks with the given filter.
+     *
+     * @param page   the page number (zero-based)
+     * @param size   the number of tasks per page
+     * @param filter the {@link FilterDto} containing filtering criteria, fields and sort keys
+     * @return a {@link Mono} emitting the {@link ExplainResponseDto} with the winning query plan
+     */
+    @Override
+    public Mono<ExplainResponseDto> explainTasks(long page, long size, FilterDto filter) {
+        return taskRepository
+                .explainFilter(size, page, filter.filterCriteria(), filter.fields(), filter.sort())
+                .map(ExplainResponseDto::of)
+                .transform(serviceMetrics.timed(SERVICE, "explainTasks"));
     }
 
     /**
@@ -49,20 +149,99 @@ public class TaskServiceImpl implements TaskService {
      *
      * @param page   the page number (zero-based)
      * @param size   the number of tasks per page
+     * @param count  the {@link CountMode} used to compute the total number of tasks
      * @param filter the {@link FilterDto} containing filtering criteria
      * @return a {@link Mono} emitting a {@link PageResponseDto} of {@link TaskResponseDto}
      */
     @Override
     public Mono<PageResponseDto<TaskResponseDto>> findAllTasks(
-            long page, long size, FilterDto filter) {
+            long page, long size, CountMode count, FilterDto filter) {
 
 
-        return taskRepository.findWithPaginationAndFilter(size, page, filter.filterCriteria())
+        return taskRepository
+                .findWithPaginationAndFilter(size, page, filter.filterCriteria(), filter.fields(), filter.sort(), count)
                 .map(t ->
                         new PageResponseDto<>(
                                 t.elements().stream().map(Task::toResponseTaskDto).toList(),
-                                t.countInfo().isEmpty() ? 0 : t.countInfo().get(0).totalCount(), page, size)
-                );
+                                t.countInfo().isEmpty() ? PageResponseDto.UNKNOWN_TOTAL : t.countInfo().get(0).totalCount(),
+                                page, size)
+                )
+                .transform(serviceMetrics.timed(SERVICE, "findAllTasks"));
+    }
+
+    /**
+     * Retrieves tasks with optional filtering using cursor (keyset) pagination.
+     *
+     * @param cursor the opaque cursor returned with the previous page, or a blank value for the first page
+     * @param size   the number of tasks per page, between 1 and {@value #MAX_PAGE_SIZE}
+     * @param count  the {@link CountMode} used to compute the total number of tasks
+     * @param filter the {@link FilterDto} containing filtering criteria; cursor pages are always ordered by ID
+     * @return a {@link Mono} emitting a {@link PageResponseDto} of {@link TaskResponseDto}
+     *         with the cursor of the next page,
+     *         or an error if the size is out of range or the filter contains sort keys
+     */
+    @Override
+    public Mono<PageResponseDto<TaskResponseDto>> findAllTasksByCursor(
+            String cursor, long size, CountMode count, FilterDto filter) {
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return Mono.error(new IllegalArgumentException("Size must be between 1 and %d.".formatted(MAX_PAGE_SIZE)));
+        }
+        if (filter.sort() != null && !filter.sort().isEmpty()) {
+            return Mono.error(new IllegalArgumentException("Cursor pages are ordered by ID and cannot be sorted."));
+        }
+
+        return Mono.fromCallable(() -> PageCursor.decode(cursor))
+                .flatMap(c -> taskRepository.findWithCursorAndFilter(size, c, filter.filterCriteria(), filter.fields(), count))
+                .map(t -> {
+                    var hasNext = t.elements().size() > size;
+                    var elements = hasNext ? t.elements().subList(0, (int) size) : t.elements();
+                    var nextCursor = hasNext
+                            ? PageCursor.after(elements.get(elements.size() - 1).getId()).encode()
+                            : null;
+
+                    return new PageResponseDto<>(
+                            elements.stream().map(Task::toResponseTaskDto).toList(),
+                            t.countInfo().isEmpty() ? PageResponseDto.UNKNOWN_TOTAL : t.countInfo().get(0).totalCount(),
+                            0, size, nextCursor);
+                })
+                .transform(serviceMetrics.timed(SERVICE, "findAllTasksByCursor"));
+    }
+
+    /**
+     * Streams all tasks matching the filter.
+     *
+     * @param filter the {@link FilterDto} containing filtering criteria
+     * @return a {@link Flux} emitting a {@link TaskResponseDto} for every matching task
+     */
+    @Override
+    public Flux<TaskResponseDto> streamTasks(FilterDto filter) {
+        return taskRepository
+                .streamWithFilter(filter.filterCriteria(), filter.fields())
+                .map(Task::toResponseTaskDto)
+                .transform(serviceMetrics.timedFlux(SERVICE, "streamTasks"));
+    }
+
+    /**
+     * Streams the live changes of the tasks, optionally narrowed to a user and a status.
+     * <p>
+     * All subscribers share a single change stream; a subscriber resuming after a change first receives
+     * the changes it missed from a dedicated replay, which is closed once it has caught up.
+     *
+     * @param resumeToken the resume token of the last change received, or {@code null} to receive new changes only
+     * @param userId      the ID of the user the changed tasks are assigned to, or {@code null} for all users
+     * @param status      the status of the changed tasks, or {@code null} for all statuses
+     * @return a {@link Flux} emitting a {@link TaskChangeDto} for every matching change
+     */
+    @Override
+    public Flux<TaskChangeDto> streamTaskChanges(String resumeToken, String userId, Status status) {
+        var changes = resumeToken == null || resumeToken.isBlank()
+                ? taskChangeStream.changes()
+                : taskChangeStream.changesAfter(resumeToken);
+        return changes
+                .filter(change -> change.matches(userId, status))
+                .map(TaskChange::toTaskChangeDto)
+                .transform(serviceMetrics.timedFlux(SERVICE, "streamTaskChanges"));
     }
 
     /**
@@ -74,43 +253,136 @@ public class TaskServiceImpl implements TaskService {
     public Mono<IdResponseDto> createTask(CreateTaskDto task) {
         return taskRepository
                 .save(task.toTaskModel())
-                .map(t -> new IdResponseDto(t.getId()));
+                .doOnNext(taskSearchService::index)
+                .flatMap(t -> taskStatsService.record(new TaskStatDeltas().created(t)).thenReturn(t))
+                .map(t -> new IdResponseDto(t.getId()))
+                .transform(serviceMetrics.timed(SERVICE, "createTask"));
+    }
+
+    /**
+     * Creates many tasks at once.
+     * <p>
+     * Valid tasks get their IDs assigned up front and are written in chunks of unordered inserts,
+     * so a rejected task neither stops the rest of its chunk nor hides the IDs of the created ones.
+     *
+     * @param tasks the {@link CreateTaskDto}s containing task information
+     * @return a {@link Mono} emitting the {@link BatchResponseDto} with the outcome of every task
+     */
+    public Mono<BatchResponseDto> createTasks(Flux<CreateTaskDto> tasks) {
+        return BatchCreation
+                .create(tasks, validator, this::toNewTask, Task::getId, this::insertTasks)
+                .transform(serviceMetrics.timed(SERVICE, "createTasks"));
+    }
+
+    /**
+     * Imports a stream of tasks of any size.
+     * <p>
+     * Tasks are grouped into chunks by size or by time and written with unordered inserts,
+     * a bounded number of chunks at a time. New tasks are requested from the client only when a chunk
+     * slot is free, so a slow database slows the upload down instead of filling the memory.
+     *
+     * @param tasks the {@link CreateTaskDto}s containing task information
+     * @return a {@link Flux} emitting an {@link ImportProgressDto} after every written chunk, in request order
+     */
+    public Flux<ImportProgressDto> importTasks(Flux<CreateTaskDto> tasks) {
+        return BatchCreation
+                .stream(tasks, validator, this::toNewTask, Task::getId, this::insertTasks)
+                .scan(ImportProgressDto.START, ImportProgressDto::next)
+                .skip(1)
+                .transform(serviceMetrics.timedFlux(SERVICE, "importTasks"));
     }
 
     /**
      * Updates an existing task.
+     * <p>
+     * The update is applied atomically in a single round trip. If the request carries a version,
+     * the update succeeds only when the stored task still has that version. A task moved back to
+     * {@link Status#TO_DO} is unassigned, and a task put {@link Status#IN_PROGRESS} is leased for the configured
+     * lease duration. Only an assigned task can be put {@link Status#IN_PROGRESS}, so the sweeper can release it.
+     * The task and the task counters of its user are written in one transaction.
      *
      * @param id   the ID of the task to update
      * @param task the {@link UpdateTaskDto} containing updated information
      * @return a {@link Mono} emitting the {@link IdResponseDto} of the updated task
      */
     public Mono<IdResponseDto> updateTask(String id, UpdateTaskDto task) {
-        return taskRepository
-                .findById(id)
-                .switchIfEmpty(Mono.error(new EntityNotFoundException("Task not found.")))
+        var unassigned = task.status() == Status.TO_DO;
+        var update = taskRepository
+                .updateTask(id, task.version(), task.title(), task.description(), task.status(), leaseExpiry())
+                .flatMap(t -> countTasks(t.getUserId(), moved(t.getStatus(), unassigned ? null : task.status()))
+                        .thenReturn(t));
+
+        return inTransaction(update, "Task was modified by another request.")
+                .doOnTerminate(() -> taskCache.invalidate(id))
+                .doOnNext(t -> taskSearchService.index(Task.builder()
+                        .id(id)
+                        .title(task.title())
+                        .description(task.description())
+                        .version(t.getVersion() == null ? 1 : t.getVersion() + 1)
+                        .build()))
                 .flatMap(t -> {
-                    t.setTitle(task.title());
-                    t.setDescription(task.description());
-                    t.setStatus(task.status());
-                    return taskRepository.save(t);
-                }).map(t -> new IdResponseDto(t.getId()));
+                    var deltas = new TaskStatDeltas().moved(t.getStatus(), task.status(), 1);
+                    if (unassigned && t.getUserId() != null) {
+                        deltas.assigned(t.getUserId(), -1);
+                    }
+                    return taskStatsService.record(deltas).thenReturn(t);
+                })
+                .switchIfEmpty(Mono.defer(() -> updateFailure(id, task.status())))
+                .map(t -> new IdResponseDto(t.getId()))
+                .transform(serviceMetrics.timed(SERVICE, "updateTask"));
+    }
+
+    /**
+     * Determines why a task could not be updated.
+     *
+     * @param id     the ID of the task
+     * @param status the requested status
+     * @return a {@link Mono} terminating with an error describing the failed precondition
+     */
+    private Mono<Task> updateFailure(String id, Status status) {
+        return taskRepository.findById(id)
+                .switchIfEmpty(Mono.error(new EntityNotFoundException("Task not found.")))
+                .flatMap(t -> status == Status.IN_PROGRESS && t.getUserId() == null
+                        ? Mono.error(new IllegalArgumentException("Cannot put an unassigned task in progress: assign or claim it instead."))
+                        : Mono.error(new VersionConflictException("Task was modified by another request.")));
     }
 
     /**
      * Unassigns all tasks from a user.
+     * <p>
+     * Tasks in progress are returned to {@link Status#TO_DO}, so they can be claimed or assigned again.
+     * The tasks and the task counters of the user are written in one transaction.
      *
      * @param userId the ID of the user
      * @return a {@link Mono} emitting an {@link UpdateResponseDto} with matched and modified counts
      */
     @Override
     public Mono<UpdateResponseDto> unassignUserTasks(String userId) {
-        return taskRepository
-                .unassignUserTasks(userId)
-                .map(t -> new UpdateResponseDto(t.getMatchedCount(), t.getModifiedCount()));
+        var unassignment = taskRepository
+                .reopenUserTasks(userId)
+                .zipWhen(reopened -> taskRepository.unassignUserTasks(userId))
+                .flatMap(u -> userRepository.clearTaskCounts(userId).thenReturn(u));
+
+        return inTransaction(unassignment, "Tasks of the user were modified by another request.")
+                .doOnTerminate(() -> taskCache.invalidateIf(t -> userId.equals(t.userID())))
+                .flatMap(u -> {
+                    var reopened = u.getT1().getModifiedCount();
+                    var modified = reopened + u.getT2().getModifiedCount();
+                    return taskStatsService
+                            .record(new TaskStatDeltas()
+                                    .moved(Status.IN_PROGRESS, Status.TO_DO, reopened)
+                                    .assigned(userId, -modified))
+                            .thenReturn(new UpdateResponseDto(
+                                    u.getT1().getMatchedCount() + u.getT2().getMatchedCount(), modified));
+                })
+                .transform(serviceMetrics.timed(SERVICE, "unassignUserTasks"));
     }
 
     /**
      * Unassigns a specific task from a user.
+     * <p>
+     * A task in progress is returned to {@link Status#TO_DO}, so it can be claimed or assigned again.
+     * The task and the task counters of the user are written in one transaction.
      *
      * @param userId the ID of the user
      * @param taskId the ID of the task
@@ -118,17 +390,29 @@ public class TaskServiceImpl implements TaskService {
      */
     @Override
     public Mono<UpdateResponseDto> unassignUserTask(String userId, String taskId) {
-        return taskRepository.unassignUserTask(userId, taskId)
-                .flatMap(u -> {
-                    if (u.getMatchedCount() == 0) {
-                        return Mono.error(new EntityNotFoundException("Task not found."));
-                    }
-                    return Mono.just(new UpdateResponseDto(u.getMatchedCount(), u.getModifiedCount()));
-                });
+        var unassignment = taskRepository
+                .unassignUserTask(userId, taskId)
+                .flatMap(t -> countTasks(userId, moved(t.getStatus(), null)).thenReturn(t));
+
+        return inTransaction(unassignment, "Task was modified by another request.")
+                .doOnTerminate(() -> taskCache.invalidate(taskId))
+                .switchIfEmpty(Mono.error(new EntityNotFoundException("Task not found.")))
+                .flatMap(t -> taskStatsService
+                        .record(new TaskStatDeltas()
+                                .moved(t.getStatus(), unassigned(t.getStatus()), 1)
+                                .assigned(userId, -1))
+                        .thenReturn(new UpdateResponseDto(1, 1)))
+                .transform(serviceMetrics.timed(SERVICE, "unassignUserTask"));
     }
 
     /**
      * Assigns a list of tasks to a user.
+     * <p>
+     * The precondition that every task exists, is {@link Status#TO_DO} and is unassigned is verified with a single count
+     * on the server, and the assignment itself is a single {@code updateMulti}, so no task documents are transferred.
+     * The count, the assignment and the task counters of the user are written in one transaction:
+     * if a concurrent write takes any of the tasks, none of them is assigned. A transaction aborted by a write
+     * conflict is retried up to {@value #MAX_TRANSACTION_RETRIES} times before the conflict is reported.
      *
      * @param userId the ID of the user
      * @param taskId the list of task IDs to assign
@@ -136,35 +420,118 @@ public class TaskServiceImpl implements TaskService {
      */
     @Override
     public Mono<List<IdResponseDto>> assignUserTasks(String userId, List<String> taskId) {
-        return taskRepository
-                .findAllById(taskId)
-                .collectList()
-                .publishOn(Schedulers.boundedElastic())
-                .flatMap(tasks -> {
+        var ids = List.copyOf(new LinkedHashSet<>(taskId));
 
-                    var allToDo = tasks.stream().allMatch(t -> t.getStatus() == Status.TO_DO);
+        var assignment = taskRepository
+                .countByIdInAndStatusAndUserIdIsNull(ids, Status.TO_DO)
+                .flatMap(assignable -> assignable < ids.size()
+                        ? assignmentFailure(ids)
+                        : taskRepository.assignUserTasks(userId, ids, leaseExpiry()))
+                .flatMap(u -> u.getModifiedCount() < ids.size()
+                        ? Mono.error(new VersionConflictException("Some tasks were assigned by another request."))
+                        : userRepository.incrementTaskCounts(userId, Map.of(Status.IN_PROGRESS, (long) ids.size())));
 
-                    if (tasks.size() < taskId.size()) {
-                        return Mono.error(new EntityNotFoundException("Not all task were found."));
-                    }
+        return inTransaction(assignment, "Some tasks were assigned by another request.")
+                .doOnTerminate(() -> taskCache.invalidateAll(ids))
+                .then(taskStatsService.record(new TaskStatDeltas()
+                        .moved(Status.TO_DO, Status.IN_PROGRESS, ids.size())
+                        .assigned(userId, ids.size())))
+                .thenReturn(ids.stream().map(IdResponseDto::new).toList())
+                .transform(serviceMetrics.timed(SERVICE, "assignUserTasks"));
+    }
 
-                    if (!allToDo) {
-                        return Mono.error(new IllegalArgumentException(
-                                "Cannot assign tasks: some tasks are not TODO."
-                        ));
-                    }
+    /**
+     * Claims up to {@code count} of the oldest unassigned {@link Status#TO_DO} tasks for a user.
+     * <p>
+     * Every task is claimed with its own atomic {@code findAndModify}, outside a transaction: all concurrent
+     * claims go for the oldest waiting task, and the server retries a claim that lost that race internally,
+     * so it receives the next waiting task instead of failing. Claiming stops at the first attempt that finds
+     * no waiting task. A failed claim also stops claiming: the tasks claimed before it are already leased
+     * to the user, so they are returned and counted, and the error is reported only if no task was claimed.
+     *
+     * @param userId the ID of the user
+     * @param count  the maximum number of tasks to claim, between 1 and {@value #MAX_CLAIM}
+     * @return a {@link Mono} emitting the claimed tasks, oldest first, or an error if the count is out of range
+     */
+    @Override
+    public Mono<List<TaskResponseDto>> claimTasks(String userId, int count) {
+        if (count < 1 || count > MAX_CLAIM) {
+            return Mono.error(new IllegalArgumentException("Count must be between 1 and %d.".formatted(MAX_CLAIM)));
+        }
 
-                    tasks.forEach(t -> {
-                        t.setUserId(userId);
-                        t.setStatus(Status.IN_PROGRESS);
-                    });
+        var leaseExpiresAt = leaseExpiry();
+        return Mono.defer(() -> {
+                    var claimed = new ArrayList<Task>();
+                    return Flux.range(0, count)
+                            .concatMap(i -> claimTask(userId, leaseExpiresAt)
+                                    .map(Optional::of)
+                                    .defaultIfEmpty(Optional.empty()))
+                            .takeWhile(Optional::isPresent)
+                            .map(Optional::get)
+                            .doOnNext(t -> {
+                                taskCache.invalidate(t.getId());
+                                claimed.add(t);
+                            })
+                            .then(Mono.just(claimed))
+                            .onErrorResume(e -> {
+                                if (claimed.isEmpty()) {
+                                    return Mono.error(e);
+                                }
+                                log.warn("Claiming tasks for user {} failed after {} tasks: ", userId, claimed.size(), e);
+                                return Mono.just(claimed);
+                            });
+                })
+                .flatMap(claimed -> claimed.isEmpty()
+                        ? Mono.just(claimed)
+                        : taskStatsService.record(new TaskStatDeltas()
+                                .moved(Status.TO_DO, Status.IN_PROGRESS, claimed.size())
+                                .assigned(userId, claimed.size()))
+                        .thenReturn(claimed))
+                .map(claimed -> claimed.stream().map(Task::toResponseTaskDto).toList())
+                .transform(serviceMetrics.timed(SERVICE, "claimTasks"));
+    }
 
-                    return taskRepository.saveAll(tasks).map(t -> new IdResponseDto(t.getId())).collectList();
-                });
+    /**
+     * Claims the oldest unassigned {@link Status#TO_DO} task for a user and counts it.
+     * <p>
+     * The task counter of the user is incremented after the claim, not in a transaction with it: claims
+     * contend for the same task, and inside a transaction every lost race would abort the claim.
+     * The claim is committed at that point, so a failed increment is logged and the task is still returned.
+     *
+     * @param userId         the ID of the user
+     * @param leaseExpiresAt the time when the lease of the user on the task expires
+     * @return a {@link Mono} emitting the claimed task, or empty if no task is waiting
+     */
+    private Mono<Task> claimTask(String userId, Instant leaseExpiresAt) {
+        return taskRepository
+                .claimTask(userId, leaseExpiresAt)
+                .flatMap(t -> countTasks(userId, Map.of(Status.IN_PROGRESS, 1L))
+                        .onErrorResume(e -> {
+                            log.error("Cannot count task {} claimed by user {}: ", t.getId(), userId, e);
+                            return Mono.empty();
+                        })
+                        .thenReturn(t));
+    }
+
+    /**
+     * Determines why a list of tasks could not be assigned.
+     *
+     * @param ids the IDs of the tasks
+     * @return a {@link Mono} terminating with an error describing the failed precondition
+     */
+    private <T> Mono<T> assignmentFailure(List<String> ids) {
+        return taskRepository
+                .countByIdIn(ids)
+                .flatMap(found -> found < ids.size()
+                        ? Mono.error(new EntityNotFoundException("Not all task were found."))
+                        : Mono.error(new IllegalArgumentException("Cannot assign tasks: some tasks are not TODO or are assigned.")));
     }
 
     /**
      * Marks a task as completed for a specific user.
+     * <p>
+     * The task is completed atomically in a single round trip, in one transaction with the task counters
+     * of the user. The task is read again only when the completion was rejected, to report the reason.
      *
      * @param userId the ID of the user
      * @param taskId the ID of the task
@@ -172,11 +539,33 @@ public class TaskServiceImpl implements TaskService {
      */
     @Override
     public Mono<IdResponseDto> completeTask(String userId, String taskId) {
+        var completion = taskRepository
+                .completeTask(userId, taskId)
+                .flatMap(t -> countTasks(userId, moved(t.getStatus(), Status.DONE)).thenReturn(t));
+
+        return inTransaction(completion, "Task was modified by another request.")
+                .doOnTerminate(() -> taskCache.invalidate(taskId))
+                .flatMap(t -> taskStatsService
+                        .record(new TaskStatDeltas().moved(t.getStatus(), Status.DONE, 1))
+                        .thenReturn(t))
+                .switchIfEmpty(Mono.defer(() -> completionFailure(userId, taskId)))
+                .map(t -> new IdResponseDto(t.getId()))
+                .transform(serviceMetrics.timed(SERVICE, "completeTask"));
+    }
+
+    /**
+     * Determines why a task could not be completed.
+     *
+     * @param userId the ID of the user
+     * @param taskId the ID of the task
+     * @return a {@link Mono} terminating with an error describing the failed precondition
+     */
+    private Mono<Task> completionFailure(String userId, String taskId) {
         return taskRepository.findById(taskId)
                 .switchIfEmpty(Mono.error(new EntityNotFoundException("Task not found.")))
                 .flatMap(t -> {
 
-                    if (!t.getUserId().equals(userId)) {
+                    if (!userId.equals(t.getUserId())) {
                         return Mono.error(new IllegalArgumentException("Task is not assigned to user."));
                     }
 
@@ -184,15 +573,14 @@ public class TaskServiceImpl implements TaskService {
                         return Mono.error(new IllegalArgumentException("Task already completed."));
                     }
 
-                    t.setStatus(Status.DONE);
-
-                    return taskRepository.save(t)
-                            .map(ts -> new IdResponseDto(ts.getId()));
+                    return Mono.error(new VersionConflictException("Task was modified by another request."));
                 });
     }
 
     /**
      * Deletes a task by its ID.
+     * <p>
+     * The task is deleted in one transaction with the task counters of its user.
      *
      * @param id the ID of the task to delete
      * @return a {@link Mono} emitting the {@link IdResponseDto} of the deleted task,
@@ -200,11 +588,244 @@ public class TaskServiceImpl implements TaskService {
      */
     @Override
     public Mono<IdResponseDto> deleteTask(String id) {
+        var removal = taskRepository
+                .removeTask(id)
+                .flatMap(t -> countTasks(t.getUserId(), moved(t.getStatus(), null)).thenReturn(t));
+
+        return inTransaction(removal, "Task was modified by another request.")
+                .doOnTerminate(() -> taskCache.invalidate(id))
+                .switchIfEmpty(Mono.error(new EntityNotFoundException("Task not found.")))
+                .doOnNext(t -> taskSearchService.remove(id))
+                .flatMap(t -> taskStatsService
+                        .record(new TaskStatDeltas().removed(t))
+                        .thenReturn(new IdResponseDto(id)))
+                .transform(serviceMetrics.timed(SERVICE, "deleteTask"));
+    }
+
+    /**
+     * Converts a create request into a task whose ID is assigned up front,
+     * so it is known even if the task is written in a batch.
+     *
+     * @param dto the {@link CreateTaskDto} containing task information
+     * @return the new {@link Task}
+     */
+    private Task toNewTask(CreateTaskDto dto) {
+        var task = dto.toTaskModel();
+        task.setId(new ObjectId().toHexString());
+        task.setVersion(0L);
+        return task;
+    }
+
+    /**
+     * Inserts a chunk of new tasks and records the inserted ones in the task statistics and the search index.
+     *
+     * @param tasks the new tasks
+     * @return a {@link Mono} emitting the errors of the rejected tasks, indexed by their position in the list
+     */
+    private Mono<List<BulkWriteError>> insertTasks(List<Task> tasks) {
         return taskRepository
-                .findById(id)
+                .insertUnordered(tasks)
+                .flatMap(errors -> {
+                    var rejected = errors.stream().map(BulkWriteError::getIndex).collect(Collectors.toSet());
+                    var deltas = new TaskStatDeltas();
+                    for (var i = 0; i < tasks.size(); i++) {
+                        if (!rejected.contains(i)) {
+                            deltas.created(tasks.get(i));
+                            taskSearchService.index(tasks.get(i));
+                        }
+                    }
+                    return taskStatsService.record(deltas).thenReturn(errors);
+                });
+    }
+
+    /**
+     * Extends the lease of a user on a task in progress by the configured lease duration.
+     * <p>
+     * The user is not checked; a task can only be leased to an existing user.
+     *
+     * @param userId the ID of the user
+     * @param taskId the ID of the task
+     * @return a {@link Mono} emitting the {@link LeaseResponseDto} with the new expiry,
+     *         or an error if the task is not in progress for the user
+     */
+    @Override
+    public Mono<LeaseResponseDto> renewLease(String userId, String taskId) {
+        return Mono.defer(() -> taskRepository.renewLease(userId, taskId, leaseExpiry()))
                 .switchIfEmpty(Mono.error(new EntityNotFoundException("Task not found.")))
-                .flatMap(t ->
-                        taskRepository.delete(t)
-                                .thenReturn(new IdResponseDto(id)));
+                .map(t -> new LeaseResponseDto(t.getId(), t.getLeaseExpiresAt()))
+                .transform(serviceMetrics.timed(SERVICE, "renewLease"));
+    }
+
+    /**
+     * Returns the tasks whose lease expired to {@link Status#TO_DO}, unassigning them.
+     * <p>
+     * Runs periodically, every {@code app.tasks.lease.sweep-interval}, on the node holding the sweeper lock.
+     * The lock is extended before every further batch, and the sweep stops if the lock was lost.
+     * Expired tasks are released in batches of {@code app.tasks.lease.sweep-batch-size} with one
+     * {@code updateMulti} per user, in one transaction with the task counters of the user, so the counters
+     * are adjusted exactly.
+     *
+     * @return a {@link Mono} completing when the expired leases were released
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${app.tasks.lease.sweep-interval}",
+            initialDelayString = "${app.tasks.lease.sweep-interval}")
+    public Mono<Void> releaseExpiredLeases() {
+        return lockSweeper()
+                .filter(locked -> locked)
+                .flatMap(locked -> {
+                    var now = Instant.now();
+                    return releaseBatch(now)
+                            .expand(batch -> batch.found() == leaseProperties.sweepBatchSize()
+                                    ? lockSweeper().filter(held -> held).flatMap(held -> releaseBatch(now))
+                                    : Mono.empty())
+                            .map(ReleasedBatch::released)
+                            .reduce(0L, Long::sum);
+                })
+                .doOnNext(released -> {
+                    if (released > 0) {
+                        log.info("Released {} tasks with expired leases.", released);
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.error("Releasing expired task leases failed: ", e);
+                    return Mono.empty();
+                })
+                .then()
+                .transform(serviceMetrics.timed(SERVICE, "releaseExpiredLeases"));
+    }
+
+    /**
+     * Acquires or extends the sweeper lock of this node for twice the sweep interval.
+     *
+     * @return a {@link Mono} emitting {@code true} if this node holds the lock
+     */
+    private Mono<Boolean> lockSweeper() {
+        return jobLockRepository.tryLock(LEASE_SWEEPER, nodeId, leaseProperties.sweepInterval().multipliedBy(2));
+    }
+
+    /**
+     * Releases one batch of tasks whose lease expired.
+     *
+     * @param now the time the leases must have expired by
+     * @return a {@link Mono} emitting the numbers of found and released tasks
+     */
+    private Mono<ReleasedBatch> releaseBatch(Instant now) {
+        return taskRepository
+                .findExpiredLeases(now, leaseProperties.sweepBatchSize())
+                .collectMultimap(Task::getUserId, Task::getId)
+                .flatMap(expired -> Flux.fromIterable(expired.entrySet())
+                        .concatMap(e -> inTransaction(taskRepository
+                                        .releaseExpiredLeases(e.getKey(), e.getValue(), now)
+                                        .flatMap(u -> countTasks(e.getKey(), Map.of(Status.IN_PROGRESS, -u.getModifiedCount()))
+                                                .thenReturn(u)),
+                                "Expired leases were modified by another request.")
+                                .doOnTerminate(() -> taskCache.invalidateAll(e.getValue()))
+                                .flatMap(u -> taskStatsService
+                                        .record(new TaskStatDeltas()
+                                                .moved(Status.IN_PROGRESS, Status.TO_DO, u.getModifiedCount())
+                                                .assigned(e.getKey(), -u.getModifiedCount()))
+                                        .thenReturn(u.getModifiedCount())))
+                        .reduce(0L, Long::sum)
+                        .map(released -> new ReleasedBatch(
+                                expired.values().stream().mapToLong(Collection::size).sum(), released)));
+    }
+
+    /**
+     * Returns the time when a lease taken or renewed now expires.
+     *
+     * @return the expiry of the lease
+     */
+    private Instant leaseExpiry() {
+        return Instant.now().plus(leaseProperties.duration());
+    }
+
+    /**
+     * Applies a change of the task counters of a user.
+     * <p>
+     * Runs in the transaction of the task write, so a failed counter update rolls the task write back;
+     * only claims increment the counter after the task write.
+     *
+     * @param userId the ID of the user, or {@code null} if the task is not assigned
+     * @param deltas the change of the number of tasks, by status
+     * @return a {@link Mono} completing when the counters were updated
+     */
+    private Mono<Void> countTasks(String userId, Map<Status, Long> deltas) {
+        if (userId == null) {
+            return Mono.empty();
+        }
+        return userRepository.incrementTaskCounts(userId, deltas);
+    }
+
+    /**
+     * Runs a task write and the counter updates depending on it in one transaction.
+     * <p>
+     * A transaction aborted by a write conflict is retried up to {@value #MAX_TRANSACTION_RETRIES} times
+     * before the conflict is reported.
+     *
+     * @param work     the writes to run
+     * @param conflict the message reported if the writes keep conflicting
+     * @return a {@link Mono} emitting the result of the writes once they were committed
+     */
+    private <T> Mono<T> inTransaction(Mono<T> work, String conflict) {
+        return transactionalOperator
+                .transactional(work)
+                .retryWhen(Retry.max(MAX_TRANSACTION_RETRIES)
+                        .filter(TaskServiceImpl::isTransientTransactionError)
+                        .onRetryExhaustedThrow((spec, signal) -> new VersionConflictException(conflict)));
+    }
+
+    /**
+     * Checks whether a transaction failed with an error the server labelled as transient,
+     * e.g. a write conflict with a concurrent transaction, so running it again may succeed.
+     *
+     * @param error the error of the transaction
+     * @return {@code true} if the transaction can be retried
+     */
+    private static boolean isTransientTransactionError(Throwable error) {
+        for (var cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongoException
+                    && mongoException.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Describes a task moving from one status to another as counter deltas.
+     *
+     * @param from the previous status, or {@code null} if the task was not counted before
+     * @param to   the new status, or {@code null} if the task is no longer counted
+     * @return the change of the number of tasks, by status
+     */
+    private static Map<Status, Long> moved(Status from, Status to) {
+        var deltas = new EnumMap<Status, Long>(Status.class);
+        if (from != null) {
+            deltas.merge(from, -1L, Long::sum);
+        }
+        if (to != null) {
+            deltas.merge(to, 1L, Long::sum);
+        }
+        return deltas;
+    }
+
+    /**
+     * Returns the status a task has after it was unassigned: a task in progress is returned to {@link Status#TO_DO}.
+     *
+     * @param status the status of the task while it was assigned
+     * @return the status of the unassigned task
+     */
+    private static Status unassigned(Status status) {
+        return status == Status.IN_PROGRESS ? Status.TO_DO : status;
+    }
+
+    /**
+     * Outcome of releasing one batch of expired leases.
+     *
+     * @param found    the number of tasks found with an expired lease; less than the batch size for the last batch
+     * @param released the number of tasks released; tasks renewed in the meantime are found but not released
+     */
+    private record ReleasedBatch(long found, long released) {
     }
 }
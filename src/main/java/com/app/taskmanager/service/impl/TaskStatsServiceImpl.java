@@ -0,0 +1,160 @@
+package com.app.taskmanager.service.impl;
+
+import com.app.taskmanager.configuration.TaskStatsProperties;
+import com.app.taskmanager.dto.response.TaskStatsResponseDto;
+import com.app.taskmanager.metrics.ServiceMetrics;
+import com.app.taskmanager.repository.JobLockRepository;
+import com.app.taskmanager.repository.TaskStatRepository;
+import com.app.taskmanager.repository.model.Status;
+import com.app.taskmanager.repository.model.TaskStat;
+import com.app.taskmanager.repository.model.TaskStatDeltas;
+import com.app.taskmanager.service.TaskStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.UUID;
+
+/**
+ * Service implementation for the task statistics.
+ * <p>
+ * The statistics are a materialized view in the {@code task_stats} collection: every task write applies its
+ * changes with {@code $inc}, and a periodic job recomputes the view from the tasks to correct any drift,
+ * e.g. after a failed increment. Reading the statistics touches a number of counters bounded by the request,
+ * independent of the number of tasks.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskStatsServiceImpl implements TaskStatsService {
+
+    /**
+     * Name of the service in the {@link ServiceMetrics} timers.
+     */
+    private static final String SERVICE = "TaskStatsService";
+
+    /**
+     * Maximum number of days a request may report creations for.
+     */
+    static final int MAX_DAYS = 366;
+
+    /**
+     * Maximum number of users a request may report.
+     */
+    static final int MAX_USERS = 100;
+
+    /**
+     * Name of the lock ensuring that the statistics are reconciled by one node at a time.
+     */
+    private static final String STATS_RECONCILER = "task-stats-reconciler";
+
+    private final TaskStatRepository taskStatRepository;
+    private final JobLockRepository jobLockRepository;
+    private final TaskStatsProperties statsProperties;
+    private final ServiceMetrics serviceMetrics;
+
+    /**
+     * ID of this node in the job locks.
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * Retrieves the task statistics.
+     * <p>
+     * Statuses and days without tasks are reported as zero.
+     *
+     * @param days  the number of most recent days to report creations for, between 1 and {@value #MAX_DAYS}
+     * @param users the number of users with the most assigned tasks to report, between 0 and {@value #MAX_USERS}
+     * @return a {@link Mono} emitting the {@link TaskStatsResponseDto}, or an error if a limit is out of range
+     */
+    @Override
+    public Mono<TaskStatsResponseDto> findStats(int days, int users) {
+        if (days < 1 || days > MAX_DAYS) {
+            return Mono.error(new IllegalArgumentException("Days must be between 1 and %d.".formatted(MAX_DAYS)));
+        }
+        if (users < 0 || users > MAX_USERS) {
+            return Mono.error(new IllegalArgumentException("Users must be between 0 and %d.".formatted(MAX_USERS)));
+        }
+
+        var today = LocalDate.now(ZoneOffset.UTC);
+        var from = today.minusDays(days - 1);
+
+        var byStatus = taskStatRepository
+                .findRange(TaskStat.Dimension.STATUS, "", "\uffff")
+                .collectMap(TaskStat::getKey, TaskStat::getCount);
+        var byDay = taskStatRepository
+                .findRange(TaskStat.Dimension.DAY, from.toString(), today.toString())
+                .collectMap(TaskStat::getKey, TaskStat::getCount);
+        var topUsers = (users == 0 ? Flux.<TaskStat>empty() : taskStatRepository.findTop(TaskStat.Dimension.USER, users))
+                .filter(stat -> stat.getCount() > 0)
+                .map(stat -> new TaskStatsResponseDto.UserCount(stat.getKey(), stat.getCount()))
+                .collectList();
+
+        return Mono.zip(byStatus, byDay, topUsers)
+                .map(t -> {
+                    var statuses = new EnumMap<Status, Long>(Status.class);
+                    for (var status : Status.values()) {
+                        statuses.put(status, t.getT1().getOrDefault(status.name(), 0L));
+                    }
+                    var total = statuses.values().stream().mapToLong(Long::longValue).sum();
+
+                    var created = new LinkedHashMap<String, Long>();
+                    for (var day = from; !day.isAfter(today); day = day.plusDays(1)) {
+                        created.put(day.toString(), t.getT2().getOrDefault(day.toString(), 0L));
+                    }
+                    return new TaskStatsResponseDto(statuses, total, created, t.getT3());
+                })
+                .transform(serviceMetrics.timed(SERVICE, "findStats"));
+    }
+
+    /**
+     * Applies the changes caused by a task write to the statistics.
+     * <p>
+     * The task write is already applied when the statistics are updated, so a failed update is logged
+     * instead of failing the request; the next reconciliation corrects it.
+     *
+     * @param deltas the changes of the counters
+     * @return a {@link Mono} completing when the statistics were updated
+     */
+    @Override
+    public Mono<Void> record(TaskStatDeltas deltas) {
+        return taskStatRepository
+                .increment(deltas)
+                .onErrorResume(e -> {
+                    log.warn("Could not update the task statistics.", e);
+                    return Mono.empty();
+                })
+                .transform(serviceMetrics.timed(SERVICE, "record"));
+    }
+
+    /**
+     * Recomputes the statistics from the tasks, correcting any drift of the incremental updates.
+     * <p>
+     * Runs periodically, every {@code app.stats.reconcile-interval}, on the node holding the reconciler lock.
+     *
+     * @return a {@link Mono} completing when the statistics were recomputed
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval}",
+            initialDelayString = "${app.stats.reconcile-interval}")
+    public Mono<Void> reconcile() {
+        return jobLockRepository
+                .tryLock(STATS_RECONCILER, nodeId, statsProperties.reconcileInterval().multipliedBy(2))
+                .filter(locked -> locked)
+                .flatMap(locked -> taskStatRepository.reconcile())
+                .doOnNext(removed -> log.info("Task statistics reconciled; {} stale counters removed.", removed))
+                .onErrorResume(e -> {
+                    log.error("Task statistics reconciliation failed: ", e);
+                    return Mono.empty();
+                })
+                .then()
+                .transform(serviceMetrics.timed(SERVICE, "reconcile"));
+    }
+}
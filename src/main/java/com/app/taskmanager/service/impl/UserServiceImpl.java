@@ -1,19 +1,31 @@
 package com.app.taskmanager.service.impl;
 
 import com.app.taskmanager.EntityNotFoundException;
+import com.app.taskmanager.cache.ReactiveEntityCache;
 import com.app.taskmanager.dto.create.AddTaskDto;
 import com.app.taskmanager.dto.create.CreateUserDto;
+import com.app.taskmanager.dto.filters.CountMode;
 import com.app.taskmanager.dto.filters.FilterDto;
+import com.app.taskmanager.dto.filters.PageCursor;
+import com.app.taskmanager.dto.response.BatchResponseDto;
+import com.app.taskmanager.dto.response.ExplainResponseDto;
 import com.app.taskmanager.dto.response.IdResponseDto;
+import com.app.taskmanager.dto.response.LeaseResponseDto;
 import com.app.taskmanager.dto.response.PageResponseDto;
+import com.app.taskmanager.dto.response.TaskResponseDto;
 import com.app.taskmanager.dto.response.UpdateResponseDto;
+import com.app.taskmanager.metrics.ServiceMetrics;
 import com.app.taskmanager.dto.response.UserResponseDto;
+import com.app.taskmanager.dto.response.UserStatsResponseDto;
 import com.app.taskmanager.repository.UserRepository;
 import com.app.taskmanager.repository.model.User;
 import com.app.taskmanager.service.TaskService;
 import com.app.taskmanager.service.UserService;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -23,13 +35,31 @@ import java.util.List;
  * <p>
  * Provides methods for creating, retrieving, updating, and deleting users,
  * as well as assigning, completing, and unassigning tasks for users.
+ * <p>
+ * Users looked up by ID are served from a {@link ReactiveEntityCache} that is invalidated when a user is deleted.
+ * Existence checks never load a whole user and never trust the cache, since they gate writes: they are answered
+ * by an {@code _id}-only query, and where the task mutation itself proves that the user exists they only run
+ * when the mutation fails.
  */
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    /**
+     * Name of the service in the {@link ServiceMetrics} timers.
+     */
+    private static final String SERVICE = "UserService";
+
+    /**
+     * Maximum number of users on a cursor page.
+     */
+    static final int MAX_PAGE_SIZE = 1000;
+
     private final UserRepository userRepository;
     private final TaskService taskService;
+    private final ReactiveEntityCache<String, UserResponseDto> userCache;
+    private final ServiceMetrics serviceMetrics;
+    private final Validator validator;
 
     /**
      * Creates a new user.
@@ -41,7 +71,28 @@ public class UserServiceImpl implements UserService {
     public Mono<IdResponseDto> createUser(CreateUserDto user) {
         return userRepository
                 .save(user.toUser())
-                .map(u -> new IdResponseDto(u.getId()));
+                .map(u -> new IdResponseDto(u.getId()))
+                .transform(serviceMetrics.timed(SERVICE, "createUser"));
+    }
+
+    /**
+     * Creates many users at once.
+     * <p>
+     * Valid users get their IDs assigned up front and are written in chunks of unordered inserts,
+     * so a rejected user neither stops the rest of its chunk nor hides the IDs of the created ones.
+     *
+     * @param users the {@link CreateUserDto}s containing user information
+     * @return a {@link Mono} emitting the {@link BatchResponseDto} with the outcome of every user
+     */
+    @Override
+    public Mono<BatchResponseDto> createUsers(Flux<CreateUserDto> users) {
+        return BatchCreation
+                .create(users, validator, dto -> {
+                    var user = dto.toUser();
+                    user.setId(new ObjectId().toHexString());
+                    return user;
+                }, User::getId, userRepository::insertUnordered)
+                .transform(serviceMetrics.timed(SERVICE, "createUsers"));
     }
 
     /**
@@ -52,10 +103,55 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public Mono<UserResponseDto> findUserByID(String id) {
+        return userCache
+                .get(id, key -> userRepository.findById(key).map(User::toUserResponseDto))
+                .switchIfEmpty(Mono.error(new EntityNotFoundException("User not found.")))
+                .transform(serviceMetrics.timed(SERVICE, "findUserByID"));
+    }
+
+    /**
+     * Retrieves the number of tasks assigned to a user, by status.
+     * <p>
+     * The counters are kept on the user document by every task write, so this is a single
+     * {@code _id} lookup that reads only the counters, regardless of how many tasks the user has.
+     *
+     * @param id the ID of the user
+     * @return a {@link Mono} emitting the {@link UserStatsResponseDto} if found, or an error if not found
+     */
+    @Override
+    public Mono<UserStatsResponseDto> findUserStats(String id) {
         return userRepository
-                .findById(id)
+                .findTaskCountsById(id)
                 .switchIfEmpty(Mono.error(new EntityNotFoundException("User not found.")))
-                .map(User::toUserResponseDto);
+                .map(UserStatsResponseDto::of)
+                .transform(serviceMetrics.timed(SERVICE, "findUserStats"));
+    }
+
+    /**
+     * Checks whether a user exists.
+     * <p>
+     * Only the {@code _id} index is queried. The cache is not consulted, since a user deleted on another node
+     * may still be cached here and the check gates writes.
+     *
+     * @param id the ID of the user
+     * @return a {@link Mono} emitting {@code true} if the user exists
+     */
+    private Mono<Boolean> userExists(String id) {
+        return userRepository.existsById(id);
+    }
+
+    /**
+     * Replaces the error of a failed task operation with a "user not found" error if the user does not exist.
+     *
+     * @param userId the ID of the user
+     * @param error  the error of the task operation
+     * @return a {@link Mono} terminating with the error to report
+     */
+    private <T> Mono<T> userNotFoundOr(String userId, Throwable error) {
+        return userExists(userId)
+                .flatMap(exists -> exists
+                        ? Mono.error(error)
+                        : Mono.error(new EntityNotFoundException("User not found")));
     }
 
     /**
@@ -69,7 +165,8 @@ public class UserServiceImpl implements UserService {
         return userRepository
                 .findByUsername(username)
                 .switchIfEmpty(Mono.error(new EntityNotFoundException("User not found.")))
-                .map(User::toUserResponseDto);
+                .map(User::toUserResponseDto)
+                .transform(serviceMetrics.timed(SERVICE, "findUserByUsername"));
     }
 
     /**
@@ -77,18 +174,76 @@ public class UserServiceImpl implements UserService {
      *
      * @param page   the page number (zero-based)
      * @param size   the number of users per page
+     * @param count  the {@link CountMode} used to compute the total number of users
      * @param filter the {@link FilterDto} containing filtering criteria
      * @return a {@link Mono} emitting a {@link PageResponseDto} containing a list of {@link UserResponseDto},
      *         total number of users, and pagination details
      */
     @Override
-    public Mono<PageResponseDto<UserResponseDto>> findAllUsers(int page, int size, FilterDto filter) {
+    public Mono<PageResponseDto<UserResponseDto>> findAllUsers(int page, int size, CountMode count, FilterDto filter) {
 
-        return userRepository.findWithPaginationAndFilter(size, page, filter.filterCriteria())
-                .map(db -> new PageResponseDto(
+        return userRepository
+                .findWithPaginationAndFilter(size, page, filter.filterCriteria(), filter.fields(), filter.sort(), count)
+                .map(db -> new PageResponseDto<>(
                         db.elements().stream().map(User::toUserResponseDto).toList(),
-                        db.countInfo().get(0).totalCount(),
-                        page, size));
+                        db.countInfo().isEmpty() ? PageResponseDto.UNKNOWN_TOTAL : db.countInfo().get(0).totalCount(),
+                        page, size))
+                .transform(serviceMetrics.timed(SERVICE, "findAllUsers"));
+    }
+
+    /**
+     * Retrieves users with optional filtering using cursor (keyset) pagination.
+     *
+     * @param cursor the opaque cursor returned with the previous page, or a blank value for the first page
+     * @param size   the number of users per page, between 1 and {@value #MAX_PAGE_SIZE}
+     * @param count  the {@link CountMode} used to compute the total number of users
+     * @param filter the {@link FilterDto} containing filtering criteria; cursor pages are always ordered by ID
+     * @return a {@link Mono} emitting a {@link PageResponseDto} containing a list of {@link UserResponseDto},
+     *         total number of users, and the cursor of the next page,
+     *         or an error if the size is out of range or the filter contains sort keys
+     */
+    @Override
+    public Mono<PageResponseDto<UserResponseDto>> findAllUsersByCursor(String cursor, int size, CountMode count,
+                                                                        FilterDto filter) {
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return Mono.error(new IllegalArgumentException("Size must be between 1 and %d.".formatted(MAX_PAGE_SIZE)));
+        }
+        if (filter.sort() != null && !filter.sort().isEmpty()) {
+            return Mono.error(new IllegalArgumentException("Cursor pages are ordered by ID and cannot be sorted."));
+        }
+
+        return Mono.fromCallable(() -> PageCursor.decode(cursor))
+                .flatMap(c -> userRepository.findWithCursorAndFilter(size, c, filter.filterCriteria(), filter.fields(), count))
+                .map(db -> {
+                    var hasNext = db.elements().size() > size;
+                    var elements = hasNext ? db.elements().subList(0, size) : db.elements();
+                    var nextCursor = hasNext
+                            ? PageCursor.after(elements.get(elements.size() - 1).getId()).encode()
+                            : null;
+
+                    return new PageResponseDto<>(
+                            elements.stream().map(User::toUserResponseDto).toList(),
+                            db.countInfo().isEmpty() ? PageResponseDto.UNKNOWN_TOTAL : db.countInfo().get(0).totalCount(),
+                            0, size, nextCursor);
+                })
+                .transform(serviceMetrics.timed(SERVICE, "findAllUsersByCursor"));
+    }
+
+    /**
+     * Explains how the database fetches a page of users with the given filter.
+     *
+     * @param page   the page number (zero-based)
+     * @param size   the number of users per page
+     * @param filter the {@link FilterDto} containing filtering criteria, fields and sort keys
+     * @return a {@link Mono} emitting the {@link ExplainResponseDto} with the winning query plan
+     */
+    @Override
+    public Mono<ExplainResponseDto> explainUsers(long page, long size, FilterDto filter) {
+        return userRepository
+                .explainFilter(size, page, filter.filterCriteria(), filter.fields(), filter.sort())
+                .map(ExplainResponseDto::of)
+                .transform(serviceMetrics.timed(SERVICE, "explainUsers"));
     }
 
     /**
@@ -100,14 +255,52 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public Mono<List<IdResponseDto>> addTasks(String userId, AddTaskDto addTaskDto) {
-        return userRepository
-                .findById(userId)
+        return userExists(userId)
+                .filter(exists -> exists)
+                .switchIfEmpty(Mono.error(new EntityNotFoundException("User not found")))
+                .flatMap(u -> taskService.assignUserTasks(userId, addTaskDto.taskIds()))
+                .transform(serviceMetrics.timed(SERVICE, "addTasks"));
+    }
+
+    /**
+     * Claims up to {@code count} of the oldest waiting tasks for a user.
+     *
+     * @param userId the ID of the user
+     * @param count  the maximum number of tasks to claim
+     * @return a {@link Mono} emitting the claimed tasks, oldest first, or an error if the user does not exist
+     */
+    @Override
+    public Mono<List<TaskResponseDto>> claimTasks(String userId, int count) {
+        return userExists(userId)
+                .filter(exists -> exists)
                 .switchIfEmpty(Mono.error(new EntityNotFoundException("User not found")))
-                .flatMap(u -> taskService.assignUserTasks(userId, addTaskDto.taskIds()));
+                .flatMap(u -> taskService.claimTasks(userId, count))
+                .transform(serviceMetrics.timed(SERVICE, "claimTasks"));
+    }
+
+    /**
+     * Extends the lease of a user on a task in progress.
+     * <p>
+     * A task can only be leased to an existing user, so a successful renewal proves that the user exists.
+     * The user is checked only when the renewal was rejected.
+     *
+     * @param userId the ID of the user
+     * @param taskId the ID of the task
+     * @return a {@link Mono} emitting the {@link LeaseResponseDto} with the new expiry
+     */
+    @Override
+    public Mono<LeaseResponseDto> heartbeat(String userId, String taskId) {
+        return taskService
+                .renewLease(userId, taskId)
+                .onErrorResume(EntityNotFoundException.class, e -> userNotFoundOr(userId, e))
+                .transform(serviceMetrics.timed(SERVICE, "heartbeat"));
     }
 
     /**
      * Unassigns a specific task from a user.
+     * <p>
+     * A task can only be assigned to an existing user, so a successful unassignment proves that the user exists.
+     * The user is checked only when no matching task was found.
      *
      * @param userId the ID of the user
      * @param taskId the ID of the task
@@ -115,14 +308,17 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public Mono<UpdateResponseDto> deleteAssignedTask(String userId, String taskId) {
-        return userRepository
-                .findById(userId)
-                .switchIfEmpty(Mono.error(new EntityNotFoundException("User not found")))
-                .flatMap(u -> taskService.unassignUserTask(userId, taskId));
+        return taskService
+                .unassignUserTask(userId, taskId)
+                .onErrorResume(EntityNotFoundException.class, e -> userNotFoundOr(userId, e))
+                .transform(serviceMetrics.timed(SERVICE, "deleteAssignedTask"));
     }
 
     /**
      * Marks a task as completed for a specific user.
+     * <p>
+     * A task can only be assigned to an existing user, so a successful completion proves that the user exists.
+     * The user is checked only when the completion was rejected.
      *
      * @param userId the ID of the user
      * @param taskId the ID of the task
@@ -130,27 +326,34 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public Mono<IdResponseDto> completeTask(String userId, String taskId) {
-        return userRepository
-                .findById(userId)
-                .switchIfEmpty(Mono.error(new EntityNotFoundException("User not found")))
-                .flatMap(u -> taskService.completeTask(userId, taskId));
+        return taskService
+                .completeTask(userId, taskId)
+                .onErrorResume(e -> e instanceof EntityNotFoundException || e instanceof IllegalArgumentException,
+                        e -> userNotFoundOr(userId, e))
+                .transform(serviceMetrics.timed(SERVICE, "completeTask"));
     }
 
     /**
-     * Deletes a task by its ID.
+     * Deletes a user by their ID and unassigns all of their tasks.
+     * <p>
+     * The tasks are unassigned before the user is deleted, so a failed unassignment leaves the user in place
+     * and the request can be retried, instead of leaving tasks assigned to a deleted user.
+     * The number of deleted documents then tells whether the user existed, so no separate existence check
+     * is needed; unassigning the tasks of an unknown user changes nothing.
      *
-     * @param id the ID of the task to delete
+     * @param id the ID of the user to delete
      * @return a {@link Mono} emitting the {@link IdResponseDto} of the deleted user,
      *         or an error if the user does not exist
      */
     @Override
     public Mono<IdResponseDto> deleteUser(String id) {
-        return userRepository
-                .findById(id)
-                .switchIfEmpty(Mono.error(new EntityNotFoundException("User not found")))
-                .flatMap(u ->
-                        taskService.unassignUserTasks(id)
-                                .then(userRepository.deleteById(id))
-                                .thenReturn(new IdResponseDto(id)));
+        return taskService
+                .unassignUserTasks(id)
+                .then(userRepository.removeById(id))
+                .doOnTerminate(() -> userCache.invalidate(id))
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.error(new EntityNotFoundException("User not found"))
+                        : Mono.just(new IdResponseDto(id)))
+                .transform(serviceMetrics.timed(SERVICE, "deleteUser"));
     }
 }
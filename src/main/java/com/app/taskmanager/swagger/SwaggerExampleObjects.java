@@ -10,6 +10,27 @@ public class SwaggerExampleObjects {
             }
             """;
 
+    public static final String TASK_TEXT_SEARCH = """
+            {
+              "filterCriteria": [
+                { "key": "text", "value": "swagger documentation", "operation": "TEXT" },
+                { "key": "status", "value": "TO_DO", "operation": "IS" }
+              ],
+              "fields": ["title", "status"]
+            }
+            """;
+
+    public static final String TASK_SORTED = """
+            {
+              "filterCriteria": [
+                { "key": "status", "value": "TO_DO", "operation": "IS" }
+              ],
+              "sort": [
+                { "key": "creationDate", "direction": "DESC" }
+              ]
+            }
+            """;
+
     public static final String USER_FILTER_DTO = """
             {
               "filterCriteria": [
@@ -123,6 +144,20 @@ public class SwaggerExampleObjects {
             }
             """;
 
+    public static final String TASK_STREAM = """
+            {"id":"68f245b1d494b40b89286165","title":"Finish documentation","description":"Write Swagger examples for all endpoints","creationDate":"2025-10-22T19:45:37","status":"TO_DO","userID":null}
+            {"id":"68f245b1d494b40b89286167","title":"Finish the security","description":"Write filters for security","creationDate":"2025-09-24T18:45:37","status":"IN_PROGRESS","userID":"68f4101f04083690f4a2df13"}
+            """;
+
+    public static final String TASK_CHANGES = """
+            id:8268F24F81000000012B022C0100296E5A1004A1B2C3D4E5F60718293A4B5C6D7E8F9046645F6964006468F245B1D494B40B892861650004
+            event:UPDATE
+            data:{"resumeToken":"8268F24F81000000012B022C0100296E5A1004A1B2C3D4E5F60718293A4B5C6D7E8F9046645F6964006468F245B1D494B40B892861650004","operation":"UPDATE","id":"68f245b1d494b40b89286165","task":{"id":"68f245b1d494b40b89286165","title":"Finish documentation","description":"Write Swagger examples for all endpoints","creationDate":"2025-10-22T19:45:37","status":"IN_PROGRESS","userID":"68f4101f04083690f4a2df13","version":2}}
+
+            :keep-alive
+
+            """;
+
     public static final String TASK_NOT_FOUND = """
             {
                   "data": null,
@@ -147,6 +182,231 @@ public class SwaggerExampleObjects {
                 }
             """;
 
+    public static final String INDEX_STATS_LIST = """
+            {
+              "data": [
+                {
+                  "collection": "tasks",
+                  "name": "status_creationDate_id",
+                  "key": { "status": 1, "creationDate": 1, "_id": 1 },
+                  "ops": 1520,
+                  "since": "2025-10-24T10:00:00Z",
+                  "declared": true,
+                  "present": true
+                },
+                {
+                  "collection": "users",
+                  "name": "username_unique",
+                  "key": null,
+                  "ops": 0,
+                  "since": null,
+                  "declared": true,
+                  "present": false
+                }
+              ],
+              "message": "success",
+              "timestamp": "2025-10-24T12:00:00Z"
+            }
+            """;
+
+    public static final String CACHE_STATS_LIST = """
+            {
+              "data": [
+                {
+                  "name": "tasks",
+                  "size": 842,
+                  "hits": 15230,
+                  "misses": 1304,
+                  "hitRate": 0.921,
+                  "evictions": 410,
+                  "loadFailures": 0
+                },
+                {
+                  "name": "users",
+                  "size": 57,
+                  "hits": 9120,
+                  "misses": 61,
+                  "hitRate": 0.993,
+                  "evictions": 4,
+                  "loadFailures": 0
+                }
+              ],
+              "message": "success",
+              "timestamp": "2025-10-24T12:00:00Z"
+            }
+            """;
+
+    public static final String TASK_EXPLAIN = """
+            {
+              "data": {
+                "namespace": "task_manager.tasks",
+                "parsedQuery": "{\\"$and\\": [{\\"userId\\": {\\"$eq\\": \\"6705f1a2b3c4d5e6f7a8b9c0\\"}}, {\\"status\\": {\\"$eq\\": \\"IN_PROGRESS\\"}}]}",
+                "winningPlan": {
+                  "stage": "SORT",
+                  "sortPattern": { "_id": 1 },
+                  "limitAmount": 10,
+                  "inputStage": {
+                    "stage": "FETCH",
+                    "inputStage": {
+                      "stage": "IXSCAN",
+                      "keyPattern": { "userId": 1, "status": 1 },
+                      "indexName": "userId_status"
+                    }
+                  }
+                },
+                "rejectedPlans": 0
+              },
+              "message": "success",
+              "timestamp": "2025-10-24T12:00:00Z"
+            }
+            """;
+
+    public static final String USER_EXPLAIN = """
+            {
+              "data": {
+                "namespace": "task_manager.users",
+                "parsedQuery": "{\\"$and\\": [{\\"username\\": {\\"$gte\\": \\"Sky\\"}}, {\\"username\\": {\\"$lt\\": \\"Skz\\"}}]}",
+                "winningPlan": {
+                  "stage": "SORT",
+                  "sortPattern": { "_id": 1 },
+                  "limitAmount": 10,
+                  "inputStage": {
+                    "stage": "FETCH",
+                    "inputStage": {
+                      "stage": "IXSCAN",
+                      "keyPattern": { "username": 1 },
+                      "indexName": "username_unique"
+                    }
+                  }
+                },
+                "rejectedPlans": 0
+              },
+              "message": "success",
+              "timestamp": "2025-10-24T12:00:00Z"
+            }
+            """;
+
+    public static final String TASK_BATCH_REQUEST = """
+            [
+              { "title": "Finish documentation", "description": "Write Swagger examples for all endpoints" },
+              { "title": "", "description": "Review the pull request" }
+            ]
+            """;
+
+    public static final String USER_BATCH_REQUEST = """
+            [
+              { "name": "Jony", "surname": "Deep", "username": "SkyForest" },
+              { "name": "Anna", "surname": "Smith", "username": "SkyForest" }
+            ]
+            """;
+
+    public static final String BATCH_RESPONSE = """
+            {
+              "data": {
+                "created": 1,
+                "failed": 1,
+                "items": [
+                  { "index": 0, "id": "68f0d968af9623a741efba36", "error": null },
+                  { "index": 1, "id": null, "error": "Fill the title. Wrong format of title." }
+                ]
+              },
+              "message": "success",
+              "timestamp": "2025-10-24T12:00:00Z"
+            }
+            """;
+
+    public static final String TASK_IMPORT_REQUEST = """
+            {"title": "Finish documentation", "description": "Write Swagger examples for all endpoints"}
+            {"title": "Finish the security", "description": "Write filters for security"}
+            """;
+
+    public static final String TASK_IMPORT_PROGRESS = """
+            {"created":2,"failed":0,"totalCreated":2,"totalFailed":0,"successes":[{"index":0,"id":"68f4101f04083690f4a2df13","error":null},{"index":1,"id":"68f4101f04083690f4a2df14","error":null}],"failures":[]}
+            {"created":1,"failed":1,"totalCreated":3,"totalFailed":1,"successes":[{"index":3,"id":"68f4101f04083690f4a2df15","error":null}],"failures":[{"index":2,"id":null,"error":"Fill the title. Wrong format of title."}]}
+            """;
+
+    public static final String USER_STATS = """
+            {
+              "data": {
+                "id": "68f4101f04083690f4a2df13",
+                "taskCounts": { "TO_DO": 0, "IN_PROGRESS": 3, "DONE": 12 },
+                "total": 15
+              },
+              "message": "success",
+              "timestamp": "2025-10-24T12:00:00Z"
+            }
+            """;
+
+    public static final String LEASE_RESPONSE = """
+            {
+              "data": {
+                "id": "68f245b1d494b40b89286165",
+                "leaseExpiresAt": "2025-10-24T12:05:00Z"
+              },
+              "message": "success",
+              "timestamp": "2025-10-24T12:00:00Z"
+            }
+            """;
+
+    public static final String USER_CLAIM = """
+            {
+              "data": [
+                {
+                  "id": "68f245b1d494b40b89286165",
+                  "title": "Finish documentation",
+                  "description": "Write Swagger examples for all endpoints",
+                  "creationDate": "2025-10-22T19:45:37",
+                  "status": "IN_PROGRESS",
+                  "userID": "68f4101f04083690f4a2df13",
+                  "version": 1
+                }
+              ],
+              "message": "success",
+              "timestamp": "2025-10-24T12:00:00Z"
+            }
+            """;
+
+    public static final String TASK_STATS = """
+            {
+              "data": {
+                "byStatus": { "TO_DO": 120, "IN_PROGRESS": 45, "DONE": 830 },
+                "total": 995,
+                "byDay": { "2025-10-22": 14, "2025-10-23": 0, "2025-10-24": 9 },
+                "topUsers": [
+                  { "userId": "68f4101f04083690f4a2df13", "tasks": 31 },
+                  { "userId": "68f4101f04083690f4a2df14", "tasks": 17 }
+                ]
+              },
+              "message": "success",
+              "timestamp": "2025-10-24T12:00:00Z"
+            }
+            """;
+
+    public static final String TASK_SEARCH = """
+            {
+              "data": [
+                {
+                  "id": "68f245b1d494b40b89286165",
+                  "title": "Finish documentation",
+                  "description": "Write Swagger examples for all endpoints",
+                  "creationDate": "2025-10-22T19:45:37",
+                  "status": "TO_DO",
+                  "version": 0
+                }
+              ],
+              "message": "success",
+              "timestamp": "2025-10-24T12:00:00Z"
+            }
+            """;
+
+    public static final String CONFLICT = """
+            {
+                  "data": null,
+                  "message": "Task was modified by another request.",
+                  "timestamp": "2025-10-24T12:00:00Z"
+                }
+            """;
+
     public static final String INTERNAL_ERROR = """
             {
                   "data": null,
@@ -0,0 +1,221 @@
+package com.app.taskmanager.web;
+
+import com.app.taskmanager.dto.response.ResponseDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.ReactiveAdapterRegistry;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.HandlerResult;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolver;
+import org.springframework.web.reactive.result.method.annotation.ResponseBodyResultHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Result handler writing REST controller responses wrapped in the {@link ResponseDto} envelope.
+ * <p>
+ * The envelope is written directly into the response buffer around the serialized body, so no
+ * {@link ResponseDto} is allocated and no proxy is placed in front of the controllers:
+ * <ul>
+ *     <li>single values and {@link Mono}s are written as {@code {"data": ..., "timestamp": ..., "message": "success"}},
+ *     with {@code "data": null} for an empty {@link Mono};</li>
+ *     <li>{@link Flux}es are streamed as a JSON array in the {@code data} field, element by element;</li>
+ *     <li>bodies that already are a {@link ResponseDto} are written unchanged.</li>
+ * </ul>
+ * The media type is selected from the {@code Accept} header and the producible types of the endpoint as in the
+ * default handler. Only JSON responses are wrapped; any other selected media type (e.g. NDJSON), as well as a
+ * request accepting no type the endpoint produces, is left to the default {@link ResponseBodyResultHandler}.
+ * <p>
+ * It applies to all classes annotated with {@code @RestController}, except the springdoc endpoints,
+ * and runs before the default {@link ResponseBodyResultHandler}.
+ *
+ * @see ResponseDto
+ */
+@Component
+public final class ResponseEnvelopeResultHandler extends ResponseBodyResultHandler {
+
+    /**
+     * Order of the handler, just before the default {@link ResponseBodyResultHandler}.
+     */
+    private static final int ORDER = 99;
+
+    private static final List<MediaType> JSON_MEDIA_TYPES = List.of(MediaType.APPLICATION_JSON);
+
+    private static final String SUCCESS = "success";
+
+    private static final String ARRAY_START = "{\"data\":[";
+
+    private final ObjectMapper objectMapper;
+
+    private final ReactiveAdapterRegistry adapterRegistry;
+
+    /**
+     * Creates the handler.
+     *
+     * @param codecConfigurer the configured codecs, used for the responses written unchanged
+     * @param resolver        the resolver of the requested content type
+     * @param adapterRegistry the registry of reactive type adapters
+     * @param objectMapper    the object mapper serializing the response bodies
+     */
+    public ResponseEnvelopeResultHandler(ServerCodecConfigurer codecConfigurer, RequestedContentTypeResolver resolver,
+                                         ReactiveAdapterRegistry adapterRegistry, ObjectMapper objectMapper) {
+        super(codecConfigurer.getWriters(), resolver, adapterRegistry);
+        this.objectMapper = objectMapper;
+        this.adapterRegistry = adapterRegistry;
+        setOrder(ORDER);
+    }
+
+    /**
+     * Checks whether the result was returned by one of the application REST controllers.
+     *
+     * @param result the result of the handler invocation
+     * @return {@code true} if the response has to be wrapped
+     */
+    @Override
+    public boolean supports(HandlerResult result) {
+        return result.getHandler() instanceof HandlerMethod method
+                && AnnotatedElementUtils.hasAnnotation(method.getBeanType(), RestController.class)
+                && !method.getBeanType().getPackageName().startsWith("org.springdoc");
+    }
+
+    /**
+     * Writes the result wrapped in the envelope.
+     *
+     * @param exchange the current exchange
+     * @param result   the result of the handler invocation
+     * @return a {@link Mono} completing when the response is written
+     */
+    @Override
+    public Mono<Void> handleResult(ServerWebExchange exchange, HandlerResult result) {
+        var mediaType = selectMediaType(exchange, () -> JSON_MEDIA_TYPES);
+        if (mediaType == null || !mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            return super.handleResult(exchange, result);
+        }
+
+        var response = exchange.getResponse();
+        var bufferFactory = response.bufferFactory();
+        var returnValue = result.getReturnValue();
+        var adapter = adapterRegistry.getAdapter(result.getReturnType().resolve(), returnValue);
+
+        response.getHeaders().setContentType(mediaType);
+
+        if (adapter != null && adapter.isMultiValue()) {
+            Flux<?> elements = returnValue == null ? Flux.empty() : Flux.from(adapter.toPublisher(returnValue));
+            return response.writeWith(encodeArray(elements, bufferFactory));
+        }
+
+        Mono<?> body = adapter == null
+                ? Mono.justOrEmpty(returnValue)
+                : Mono.from(adapter.toPublisher(returnValue));
+
+        return response.writeWith(body
+                .map(value -> encode(bufferFactory, generator -> writeEnvelope(generator, value)))
+                .switchIfEmpty(Mono.fromSupplier(() ->
+                        encode(bufferFactory, generator -> writeEnvelope(generator, null)))));
+    }
+
+    /**
+     * Streams the elements as the {@code data} array of the envelope.
+     * <p>
+     * Each element is serialized into its own buffer as it arrives; the opening and closing parts of the
+     * envelope are written as raw fragments around them. The opening fragment goes out with the first element,
+     * or with the closing one for an empty {@link Flux}, so an error signalled before the first element leaves
+     * the response uncommitted for the exception handler. An error after it can only abort the response,
+     * since the status and the start of the body are already sent.
+     *
+     * @param elements      the elements
+     * @param bufferFactory the factory of the response buffers
+     * @return a {@link Flux} emitting the buffers of the response
+     */
+    private Flux<DataBuffer> encodeArray(Flux<?> elements, DataBufferFactory bufferFactory) {
+        var start = Mono.fromSupplier(() -> encode(bufferFactory, generator -> generator.writeRaw(ARRAY_START)));
+        var end = Mono.fromSupplier(() -> encode(bufferFactory, generator -> {
+            generator.writeRaw("],\"timestamp\":");
+            objectMapper.writeValue(generator, Instant.now());
+            generator.writeRaw(",\"message\":\"" + SUCCESS + "\"}");
+        }));
+        var body = elements
+                .index()
+                .map(element -> encode(bufferFactory, generator -> {
+                    generator.writeRaw(element.getT1() == 0 ? ARRAY_START : ",");
+                    objectMapper.writeValue(generator, element.getT2());
+                }))
+                .switchIfEmpty(start);
+
+        return body.concatWith(end);
+    }
+
+    /**
+     * Writes the value wrapped in the envelope, or as it is if it already is a {@link ResponseDto}.
+     *
+     * @param generator the generator writing into the response buffer
+     * @param value     the value, or {@code null} for an empty body
+     * @throws IOException if writing fails
+     */
+    private void writeEnvelope(JsonGenerator generator, Object value) throws IOException {
+        if (value instanceof ResponseDto<?>) {
+            objectMapper.writeValue(generator, value);
+            return;
+        }
+
+        generator.writeStartObject();
+        generator.writeFieldName("data");
+        objectMapper.writeValue(generator, value);
+        writeMetadata(generator);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the {@code timestamp} and {@code message} fields of the envelope.
+     *
+     * @param generator the generator writing into the response buffer
+     * @throws IOException if writing fails
+     */
+    private void writeMetadata(JsonGenerator generator) throws IOException {
+        generator.writeFieldName("timestamp");
+        objectMapper.writeValue(generator, Instant.now());
+        generator.writeStringField("message", SUCCESS);
+    }
+
+    /**
+     * Serializes JSON content into a new buffer.
+     *
+     * @param bufferFactory the factory of the response buffers
+     * @param writer        the writer of the content
+     * @return the buffer holding the content
+     */
+    private DataBuffer encode(DataBufferFactory bufferFactory, JsonWriter writer) {
+        var buffer = bufferFactory.allocateBuffer(256);
+
+        try (var generator = objectMapper.createGenerator(buffer.asOutputStream())) {
+            writer.write(generator);
+            return buffer;
+        } catch (IOException | RuntimeException e) {
+            DataBufferUtils.release(buffer);
+            throw new EncodingException("JSON encoding error: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes JSON content with a {@link JsonGenerator}.
+     */
+    @FunctionalInterface
+    private interface JsonWriter {
+
+        void write(JsonGenerator generator) throws IOException;
+    }
+}
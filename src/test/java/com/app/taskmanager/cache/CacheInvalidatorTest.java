@@ -0,0 +1,89 @@
+package com.app.taskmanager.cache;
+
+import com.app.taskmanager.dto.response.TaskResponseDto;
+import com.app.taskmanager.dto.response.UserResponseDto;
+import com.app.taskmanager.repository.TaskChangeStream;
+import com.app.taskmanager.repository.model.Status;
+import com.app.taskmanager.repository.model.Task;
+import com.app.taskmanager.repository.model.TaskChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Drops the cached tasks and users of a node on task changes made by other nodes, read from a mocked
+ * {@link TaskChangeStream}.
+ */
+public class CacheInvalidatorTest {
+
+    private final Sinks.Many<TaskChange> changes = Sinks.many().multicast().directBestEffort();
+
+    private final ReactiveEntityCache<String, TaskResponseDto> taskCache =
+            new ReactiveEntityCache<>("tasks", Duration.ofMinutes(1), 100);
+
+    private final ReactiveEntityCache<String, UserResponseDto> userCache =
+            new ReactiveEntityCache<>("users", Duration.ofMinutes(1), 100);
+
+    @BeforeEach
+    public void setUp() {
+        var changeStream = Mockito.mock(TaskChangeStream.class);
+        Mockito.when(changeStream.changes()).thenReturn(changes.asFlux());
+
+        new CacheInvalidator(changeStream, taskCache, userCache).followChangesOnStartup();
+
+        taskCache.get("taskID", id -> Mono.just(task(id, "userID").toResponseTaskDto())).block();
+        userCache.get("userID", id -> Mono.just(new UserResponseDto(id, "Name", "Surname", "username"))).block();
+    }
+
+    private static Task task(String id, String userId) {
+        return Task.builder().id(id).title("Title").description("Description").status(Status.TO_DO)
+                .userId(userId).version(1L).build();
+    }
+
+    private void change(TaskChange.Operation operation, Task task, Task taskBefore) {
+        changes.tryEmitNext(new TaskChange("token", operation, "taskID", task, taskBefore));
+    }
+
+    @Test
+    @DisplayName("Should drop the changed task and keep its user when the task stays assigned.")
+    public void test1() {
+
+        change(TaskChange.Operation.UPDATE, task("taskID", "userID"), task("taskID", "userID"));
+
+        assertNull(taskCache.getIfPresent("taskID").block());
+        assertNotNull(userCache.getIfPresent("userID").block());
+    }
+
+    @Test
+    @DisplayName("Should drop the user of a task unassigned or deleted elsewhere.")
+    public void test2() {
+
+        change(TaskChange.Operation.UPDATE, task("taskID", null), task("taskID", "userID"));
+
+        assertNull(taskCache.getIfPresent("taskID").block());
+        assertNull(userCache.getIfPresent("userID").block());
+
+        userCache.get("userID", id -> Mono.just(new UserResponseDto(id, "Name", "Surname", "username"))).block();
+        change(TaskChange.Operation.DELETE, null, task("taskID", "userID"));
+
+        assertNull(userCache.getIfPresent("userID").block());
+    }
+
+    @Test
+    @DisplayName("Should drop the changed task even without its pre-image.")
+    public void test3() {
+
+        change(TaskChange.Operation.DELETE, null, null);
+
+        assertNull(taskCache.getIfPresent("taskID").block());
+        assertNotNull(userCache.getIfPresent("userID").block());
+    }
+}
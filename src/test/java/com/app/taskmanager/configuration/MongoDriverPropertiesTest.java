@@ -0,0 +1,183 @@
+package com.app.taskmanager.configuration;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.TaggableReadPreference;
+import com.mongodb.WriteConcern;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.BindException;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.mongodb.core.MongoActionOperation;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MongoDriverPropertiesTest {
+
+    private static MongoDriverProperties bind(Map<String, String> properties) {
+        return new Binder(new MapConfigurationPropertySource(properties))
+                .bindOrCreate("app.mongo", MongoDriverProperties.class);
+    }
+
+    private static IllegalArgumentException bindFailure(Map<String, String> properties) {
+        var e = assertThrows(BindException.class, () -> bind(properties));
+        return assertInstanceOf(IllegalArgumentException.class, NestedExceptionUtils.getMostSpecificCause(e));
+    }
+
+    private static Long maxStaleness(MongoDriverProperties properties) {
+        return ((TaggableReadPreference) properties.readRouting().toReadPreference())
+                .getMaxStaleness(TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    @DisplayName("Should bind the defaults when no property is set.")
+    public void test1() {
+
+        var properties = bind(Map.of());
+
+        assertEquals(new MongoDriverProperties.Pool(0, 100, 2, Duration.ofMinutes(2), Duration.ZERO),
+                properties.pool());
+        assertEquals(Duration.ofSeconds(10), properties.connectTimeout());
+        assertEquals(Duration.ZERO, properties.socketTimeout());
+        assertEquals(List.of(), properties.compressors());
+        assertEquals(Optional.empty(), properties.toReadPreference());
+        assertEquals(Optional.empty(), properties.writeConcern().toDefault());
+        assertEquals(ReadPreference.secondaryPreferred(), properties.readRouting().toReadPreference());
+    }
+
+    @Test
+    @DisplayName("Should bind every property of a valid configuration.")
+    public void test2() {
+
+        var properties = bind(Map.of(
+                "app.mongo.pool.min-size", "10",
+                "app.mongo.pool.max-size", "50",
+                "app.mongo.compressors", "zstd, zlib",
+                "app.mongo.read-preference", "nearest",
+                "app.mongo.write-concern.default-concern", "majority",
+                "app.mongo.write-concern.operations.insert", "w1",
+                "app.mongo.read-routing.max-staleness", "90s",
+                "app.mongo.read-routing.secondary-methods", "tasks.streamWithFilter"));
+
+        assertEquals(10, properties.pool().minSize());
+        assertEquals(50, properties.pool().maxSize());
+        assertEquals(List.of(MongoDriverProperties.Compressor.ZSTD, MongoDriverProperties.Compressor.ZLIB),
+                properties.compressors());
+        assertEquals(Optional.of(ReadPreference.nearest()), properties.toReadPreference());
+        assertEquals(Optional.of(WriteConcern.MAJORITY), properties.writeConcern().toDefault());
+        assertEquals(Optional.of(WriteConcern.W1),
+                properties.writeConcern().forOperation(MongoActionOperation.INSERT));
+        assertEquals(Optional.empty(), properties.writeConcern().forOperation(MongoActionOperation.REMOVE));
+        assertEquals(90_000L, maxStaleness(properties));
+        assertEquals(Set.of("tasks.streamWithFilter"), properties.readRouting().secondaryMethods());
+    }
+
+    @Test
+    @DisplayName("Should reject a pool whose minimum size exceeds its maximum size.")
+    public void test3() {
+
+        var e = bindFailure(Map.of("app.mongo.pool.min-size", "20", "app.mongo.pool.max-size", "10"));
+
+        assertEquals("app.mongo.pool requires 0 <= min-size <= max-size and max-size >= 1, got 20 and 10.",
+                e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject a pool without connections, a negative minimum size or no concurrent connecting.")
+    public void test4() {
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new MongoDriverProperties.Pool(0, 0, 2, Duration.ZERO, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MongoDriverProperties.Pool(-1, 10, 2, Duration.ZERO, Duration.ZERO));
+
+        var e = assertThrows(IllegalArgumentException.class,
+                () -> new MongoDriverProperties.Pool(0, 10, 0, Duration.ZERO, Duration.ZERO));
+
+        assertEquals("app.mongo.pool.max-connecting must be positive.", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject negative durations.")
+    public void test5() {
+
+        assertEquals("app.mongo.connect-timeout must not be negative.",
+                bindFailure(Map.of("app.mongo.connect-timeout", "-1s")).getMessage());
+        assertEquals("app.mongo.socket-timeout must not be negative.",
+                bindFailure(Map.of("app.mongo.socket-timeout", "-1s")).getMessage());
+        assertEquals("app.mongo.server-selection-timeout must not be negative.",
+                bindFailure(Map.of("app.mongo.server-selection-timeout", "-1s")).getMessage());
+        assertEquals("app.mongo.pool.max-wait-time must not be negative.",
+                bindFailure(Map.of("app.mongo.pool.max-wait-time", "-1ms")).getMessage());
+        assertEquals("app.mongo.pool.max-connection-idle-time must not be negative.",
+                bindFailure(Map.of("app.mongo.pool.max-connection-idle-time", "-1m")).getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject a compressor whose library is not on the classpath.")
+    public void test6() {
+
+        var e = bindFailure(Map.of("app.mongo.compressors", "snappy"));
+
+        assertEquals("Compressor SNAPPY is configured but its library is not on the classpath.", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown compressor.")
+    public void test7() {
+
+        assertThrows(BindException.class, () -> bind(Map.of("app.mongo.compressors", "lz4")));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown read preference.")
+    public void test8() {
+
+        var e = bindFailure(Map.of("app.mongo.read-preference", "fastest"));
+
+        assertEquals("Unknown read preference: fastest", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown write concerns, by default and per operation.")
+    public void test9() {
+
+        assertEquals("Unknown write concern in app.mongo.write-concern.default-concern: sometimes",
+                bindFailure(Map.of("app.mongo.write-concern.default-concern", "sometimes")).getMessage());
+        assertEquals("Unknown write concern in app.mongo.write-concern.operations.UPDATE: w9",
+                bindFailure(Map.of("app.mongo.write-concern.operations.update", "w9")).getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject a max staleness below 90 seconds, but accept zero as no bound.")
+    public void test10() {
+
+        var e = bindFailure(Map.of("app.mongo.read-routing.max-staleness", "89s"));
+
+        assertEquals("app.mongo.read-routing.max-staleness must be at least 90s.", e.getMessage());
+        assertNull(maxStaleness(bind(Map.of("app.mongo.read-routing.max-staleness", "0s"))));
+    }
+
+    @Test
+    @DisplayName("Should reject a max staleness combined with the primary read preference.")
+    public void test11() {
+
+        var e = bindFailure(Map.of(
+                "app.mongo.read-routing.read-preference", "primary",
+                "app.mongo.read-routing.max-staleness", "120s"));
+
+        assertTrue(e.getMessage().startsWith("Invalid read preference in app.mongo.read-routing: primary"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.app.taskmanager.controller;
+
+import com.app.taskmanager.dto.response.CacheStatsResponseDto;
+import com.app.taskmanager.dto.response.IndexStatsResponseDto;
+import com.app.taskmanager.service.CacheService;
+import com.app.taskmanager.service.IndexService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@WebFluxTest(controllers = AdminController.class)
+public class AdminControllerTest {
+
+    @Autowired
+    private WebTestClient webClient;
+
+    @MockitoBean
+    private IndexService indexService;
+
+    @MockitoBean
+    private CacheService cacheService;
+
+    @Test
+    @DisplayName("Should return 200 OK and the index statistics including missing indexes.")
+    public void test1() {
+
+        var present = new IndexStatsResponseDto("tasks", "status_creationDate",
+                Map.of("status", 1, "creationDate", 1), 12, Instant.now(), true, true);
+        var missing = new IndexStatsResponseDto("users", "username_unique",
+                null, 0, null, true, false);
+
+        Mockito.when(indexService.findIndexStats())
+                .thenReturn(Mono.just(List.of(present, missing)));
+
+        webClient
+                .get()
+                .uri("/admin/indexes")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(IndexStatsResponseDto.class)
+                .value(r -> {
+                    assertEquals(2, r.size());
+                    assertEquals(present.name(), r.get(0).name());
+                    assertEquals(12, r.get(0).ops());
+                    assertFalse(r.get(1).present());
+                });
+
+        Mockito.verify(indexService, Mockito.times(1))
+                .findIndexStats();
+    }
+
+    @Test
+    @DisplayName("Should return 200 OK and the statistics of the caches.")
+    public void test2() {
+
+        var tasks = new CacheStatsResponseDto("tasks", 10, 90, 10, 0.9, 2, 0);
+        var users = new CacheStatsResponseDto("users", 3, 40, 3, 0.93, 0, 0);
+
+        Mockito.when(cacheService.findCacheStats())
+                .thenReturn(Mono.just(List.of(tasks, users)));
+
+        webClient
+                .get()
+                .uri("/admin/caches")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(CacheStatsResponseDto.class)
+                .value(r -> {
+                    assertEquals(2, r.size());
+                    assertEquals(tasks.name(), r.get(0).name());
+                    assertEquals(90, r.get(0).hits());
+                    assertEquals(2, r.get(0).evictions());
+                });
+
+        Mockito.verify(cacheService, Mockito.times(1))
+                .findCacheStats();
+    }
+}
@@ -0,0 +1,220 @@
+package com.app.taskmanager.controller;
+
+import com.app.taskmanager.EntityNotFoundException;
+import com.app.taskmanager.dto.filters.FilterDto;
+import com.app.taskmanager.dto.response.TaskResponseDto;
+import com.app.taskmanager.repository.model.Status;
+import com.app.taskmanager.service.TaskSearchService;
+import com.app.taskmanager.service.TaskService;
+import com.app.taskmanager.service.TaskStatsService;
+import com.app.taskmanager.web.ResponseEnvelopeResultHandler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.HandlerResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@WebFluxTest(controllers = TaskController.class)
+@Import(ResponseEnvelopeResultHandler.class)
+public class ResponseEnvelopeTest {
+
+    @Autowired
+    private WebTestClient webClient;
+
+    @MockitoBean
+    private TaskService taskService;
+
+    @MockitoBean
+    private TaskStatsService taskStatsService;
+
+    @MockitoBean
+    private TaskSearchService taskSearchService;
+
+    @Autowired
+    private ResponseEnvelopeResultHandler resultHandler;
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/elements").accept(MediaType.APPLICATION_JSON));
+    }
+
+    private static HandlerResult result(Flux<String> elements) throws NoSuchMethodException {
+        var controller = new ElementController(elements);
+        var method = new HandlerMethod(controller, ElementController.class.getMethod("findElements"));
+        return new HandlerResult(method, controller.findElements(), method.getReturnType());
+    }
+
+    @Test
+    @DisplayName("Should wrap the body of a controller response in the envelope.")
+    public void test1() {
+
+        var task = new TaskResponseDto("taskID", "Title", "Description", LocalDateTime.now(),
+                Status.TO_DO, null, 2L);
+
+        Mockito.when(taskService.findTaskByID("taskID"))
+                .thenReturn(Mono.just(task));
+
+        webClient
+                .get()
+                .uri("/tasks/taskID")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.data.id").isEqualTo("taskID")
+                .jsonPath("$.data.title").isEqualTo("Title")
+                .jsonPath("$.data.version").isEqualTo(2)
+                .jsonPath("$.timestamp").exists()
+                .jsonPath("$.message").isEqualTo("success");
+    }
+
+    @Test
+    @DisplayName("Should write an envelope with null data when the controller returns an empty Mono.")
+    public void test2() {
+
+        Mockito.when(taskService.findTaskByID("taskID"))
+                .thenReturn(Mono.empty());
+
+        webClient
+                .get()
+                .uri("/tasks/taskID")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data").isEmpty()
+                .jsonPath("$.message").isEqualTo("success");
+    }
+
+    @Test
+    @DisplayName("Should keep the error response of the exception handler unchanged.")
+    public void test3() {
+
+        Mockito.when(taskService.findTaskByID("taskID"))
+                .thenReturn(Mono.error(new EntityNotFoundException("Task not found.")));
+
+        webClient
+                .get()
+                .uri("/tasks/taskID")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.data").isEmpty()
+                .jsonPath("$.message").isEqualTo("Task not found.");
+    }
+
+    @Test
+    @DisplayName("Should not wrap the elements of a streaming response.")
+    public void test4() {
+
+        var task = new TaskResponseDto("taskID", "Title", "Description", LocalDateTime.now(),
+                Status.TO_DO, null);
+        var filterDto = new FilterDto(List.of());
+
+        Mockito.when(taskService.streamTasks(filterDto))
+                .thenReturn(Flux.just(task, task));
+
+        webClient
+                .post()
+                .uri("/tasks/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(filterDto)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskResponseDto.class)
+                .value(r -> {
+                    assertEquals(2, r.size());
+                    assertEquals(task.id(), r.get(0).id());
+                });
+    }
+
+    @Test
+    @DisplayName("Should reject a request accepting no media type the endpoint produces.")
+    public void test5() {
+
+        var task = new TaskResponseDto("taskID", "Title", "Description", LocalDateTime.now(),
+                Status.TO_DO, null, 2L);
+
+        Mockito.when(taskService.findTaskByID("taskID"))
+                .thenReturn(Mono.just(task));
+
+        webClient
+                .get()
+                .uri("/tasks/taskID")
+                .accept(MediaType.TEXT_PLAIN)
+                .exchange()
+                .expectStatus().isEqualTo(406);
+    }
+
+    @Test
+    @DisplayName("Should stream the elements of a Flux as the data array of the envelope.")
+    public void test6() throws NoSuchMethodException {
+
+        var exchange = exchange();
+
+        StepVerifier.create(resultHandler.handleResult(exchange, result(Flux.just("a", "b"))))
+                .verifyComplete();
+
+        assertEquals(MediaType.APPLICATION_JSON, exchange.getResponse().getHeaders().getContentType());
+        StepVerifier.create(exchange.getResponse().getBodyAsString())
+                .assertNext(body -> assertTrue(body.startsWith("{\"data\":[\"a\",\"b\"],\"timestamp\":")))
+                .verifyComplete();
+
+        var emptyExchange = exchange();
+
+        StepVerifier.create(resultHandler.handleResult(emptyExchange, result(Flux.empty())))
+                .verifyComplete();
+
+        StepVerifier.create(emptyExchange.getResponse().getBodyAsString())
+                .assertNext(body -> assertTrue(body.startsWith("{\"data\":[],\"timestamp\":")))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should leave the response uncommitted when a Flux fails before its first element.")
+    public void test7() throws NoSuchMethodException {
+
+        var exchange = exchange();
+
+        StepVerifier.create(resultHandler.handleResult(exchange,
+                        result(Flux.error(new EntityNotFoundException("Task not found.")))))
+                .expectError(EntityNotFoundException.class)
+                .verify();
+
+        assertFalse(exchange.getResponse().isCommitted());
+    }
+
+    /**
+     * Controller returning fixed elements.
+     */
+    @RestController
+    public static class ElementController {
+
+        private final Flux<String> elements;
+
+        public ElementController(Flux<String> elements) {
+            this.elements = elements;
+        }
+
+        public Flux<String> findElements() {
+            return elements;
+        }
+    }
+}
@@ -1,27 +1,45 @@
 package com.app.taskmanager.controller;
 
 import com.app.taskmanager.EntityNotFoundException;
+import com.app.taskmanager.VersionConflictException;
 import com.app.taskmanager.dto.create.CreateTaskDto;
 import com.app.taskmanager.dto.create.UpdateTaskDto;
+import com.app.taskmanager.dto.filters.CountMode;
 import com.app.taskmanager.dto.filters.FilterCriteriaDto;
 import com.app.taskmanager.dto.filters.FilterDto;
+import com.app.taskmanager.dto.filters.SortCriteriaDto;
+import com.app.taskmanager.dto.response.BatchItemResponseDto;
+import com.app.taskmanager.dto.response.BatchResponseDto;
+import com.app.taskmanager.dto.response.ExplainResponseDto;
 import com.app.taskmanager.dto.response.IdResponseDto;
+import com.app.taskmanager.dto.response.ImportProgressDto;
 import com.app.taskmanager.dto.response.PageResponseDto;
+import com.app.taskmanager.dto.response.TaskChangeDto;
 import com.app.taskmanager.dto.response.TaskResponseDto;
+import com.app.taskmanager.dto.response.TaskStatsResponseDto;
 import com.app.taskmanager.repository.model.Operation;
 import com.app.taskmanager.repository.model.Status;
+import com.app.taskmanager.repository.model.TaskChange;
+import com.app.taskmanager.service.TaskSearchService;
 import com.app.taskmanager.service.TaskService;
+import com.app.taskmanager.service.TaskStatsService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
@@ -34,6 +52,12 @@ public class TaskControllerTest {
     @MockitoBean
     private TaskService taskService;
 
+    @MockitoBean
+    private TaskStatsService taskStatsService;
+
+    @MockitoBean
+    private TaskSearchService taskSearchService;
+
     @Test
     @DisplayName("Should return 200 OK and the task when requesting a task by ID.")
     public void test1() {
@@ -94,7 +118,7 @@ public class TaskControllerTest {
 
         var pageTaskResponse = new PageResponseDto<>(List.of(task1, task2), 5, 0, 2);
 
-        Mockito.when(taskService.findAllTasks(0, 2, filterDto))
+        Mockito.when(taskService.findAllTasks(0, 2, CountMode.EXACT, filterDto))
                 .thenReturn(Mono.just(pageTaskResponse));
 
         webClient
@@ -120,7 +144,7 @@ public class TaskControllerTest {
 
 
         Mockito.verify(taskService, Mockito.times(1))
-                .findAllTasks(0, 2, filterDto);
+                .findAllTasks(0, 2, CountMode.EXACT, filterDto);
     }
 
     @Test
@@ -137,7 +161,7 @@ public class TaskControllerTest {
 
         var pageTaskResponse = new PageResponseDto<>(List.of(task1, task2), 5, 0, 2);
 
-        Mockito.when(taskService.findAllTasks(0, 10, filterDto))
+        Mockito.when(taskService.findAllTasks(0, 10, CountMode.EXACT, filterDto))
                 .thenReturn(Mono.just(pageTaskResponse));
 
         webClient
@@ -161,7 +185,7 @@ public class TaskControllerTest {
 
 
         Mockito.verify(taskService, Mockito.times(1))
-                .findAllTasks(0, 10, filterDto);
+                .findAllTasks(0, 10, CountMode.EXACT, filterDto);
     }
 
     @Test
@@ -310,4 +334,504 @@ public class TaskControllerTest {
                 .jsonPath("$.timestamp").exists()
                 .jsonPath("$.data").doesNotExist();
     }
+
+    @Test
+    @DisplayName("Should return 200 OK and the next cursor when requesting tasks with cursor pagination.")
+    public void test12() {
+
+        var task = new TaskResponseDto("testID1", "Title1", "Description1", LocalDateTime.now(),
+                Status.TO_DO, null);
+
+        var filterDto = new FilterDto(List.of());
+
+        var pageTaskResponse = new PageResponseDto<>(List.of(task), 5, 0, 1, "nextCursor");
+
+        Mockito.when(taskService.findAllTasksByCursor("", 1, CountMode.EXACT, filterDto))
+                .thenReturn(Mono.just(pageTaskResponse));
+
+        webClient
+                .post()
+                .uri(uri -> uri
+                        .path("/tasks/all")
+                        .queryParam("size", 1)
+                        .queryParam("cursor", "")
+                        .build())
+                .bodyValue(filterDto)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<PageResponseDto<TaskResponseDto>>() {
+                })
+                .value(r -> {
+                    assertEquals(1, r.list().size());
+                    assertEquals(task.id(), r.list().get(0).id());
+                    assertEquals("nextCursor", r.nextCursor());
+                });
+
+        Mockito.verify(taskService, Mockito.times(1))
+                .findAllTasksByCursor("", 1, CountMode.EXACT, filterDto);
+        Mockito.verify(taskService, Mockito.never())
+                .findAllTasks(Mockito.anyLong(), Mockito.anyLong(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Should return 200 OK and skip counting when requesting tasks with count mode none.")
+    public void test13() {
+
+        var filterDto = new FilterDto(List.of());
+
+        var pageTaskResponse = new PageResponseDto<TaskResponseDto>(List.of(), PageResponseDto.UNKNOWN_TOTAL, 0, 10);
+
+        Mockito.when(taskService.findAllTasks(0, 10, CountMode.NONE, filterDto))
+                .thenReturn(Mono.just(pageTaskResponse));
+
+        webClient
+                .post()
+                .uri(uri -> uri
+                        .path("/tasks/all")
+                        .queryParam("count", "none")
+                        .build())
+                .bodyValue(filterDto)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<PageResponseDto<TaskResponseDto>>() {
+                })
+                .value(r -> assertEquals(PageResponseDto.UNKNOWN_TOTAL, r.total()));
+
+        Mockito.verify(taskService, Mockito.times(1))
+                .findAllTasks(0, 10, CountMode.NONE, filterDto);
+    }
+
+    @Test
+    @DisplayName("Should return 400 Bad Request when requesting tasks with an unknown count mode.")
+    public void test14() {
+
+        webClient
+                .post()
+                .uri(uri -> uri
+                        .path("/tasks/all")
+                        .queryParam("count", "approximate")
+                        .build())
+                .bodyValue(new FilterDto(List.of()))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Unknown count mode: approximate")
+                .jsonPath("$.data").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should return 200 OK and stream matching tasks as NDJSON.")
+    public void test15() {
+
+        var task1 = new TaskResponseDto("testID1", "Title1", "Description1", LocalDateTime.now(),
+                Status.TO_DO, null);
+        var task2 = new TaskResponseDto("testID2", "Title2", "Description2", LocalDateTime.now(),
+                Status.DONE, "userID");
+
+        var filterDto = new FilterDto(List.of());
+
+        Mockito.when(taskService.streamTasks(filterDto))
+                .thenReturn(Flux.just(task1, task2));
+
+        webClient
+                .post()
+                .uri("/tasks/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(filterDto)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(TaskResponseDto.class)
+                .value(r -> {
+                    assertEquals(2, r.size());
+                    assertEquals(task1.id(), r.get(0).id());
+                    assertEquals(task2.id(), r.get(1).id());
+                });
+
+        Mockito.verify(taskService, Mockito.times(1))
+                .streamTasks(filterDto);
+    }
+
+    @Test
+    @DisplayName("Should return 409 CONFLICT when updating a task that was modified concurrently.")
+    public void test16() {
+
+        var updateTaskDto = new UpdateTaskDto("Title", "Description", Status.TO_DO, 3L);
+
+        Mockito.when(taskService.updateTask("taskID", updateTaskDto))
+                .thenReturn(Mono.error(new VersionConflictException("Task was modified by another request.")));
+
+        webClient
+                .put()
+                .uri("/tasks/taskID")
+                .bodyValue(updateTaskDto)
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Task was modified by another request.")
+                .jsonPath("$.timestamp").exists()
+                .jsonPath("$.data").doesNotExist();
+
+        Mockito.verify(taskService, Mockito.times(1))
+                .updateTask("taskID", updateTaskDto);
+    }
+
+    @Test
+    @DisplayName("Should return 200 OK and the winning query plan when explaining a task filter.")
+    public void test17() {
+
+        var filterDto = new FilterDto(List.of(new FilterCriteriaDto<>("status", "TO_DO", Operation.IS)));
+        var explain = new ExplainResponseDto("task_manager.tasks", "{\"status\": {\"$eq\": \"TO_DO\"}}",
+                Map.of("stage", "FETCH"), 1);
+
+        Mockito.when(taskService.explainTasks(0, 10, filterDto))
+                .thenReturn(Mono.just(explain));
+
+        webClient
+                .post()
+                .uri("/tasks/explain")
+                .bodyValue(filterDto)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.namespace").isEqualTo("task_manager.tasks")
+                .jsonPath("$.winningPlan.stage").isEqualTo("FETCH")
+                .jsonPath("$.rejectedPlans").isEqualTo(1);
+
+        Mockito.verify(taskService, Mockito.times(1))
+                .explainTasks(0, 10, filterDto);
+    }
+
+    @Test
+    @DisplayName("Should return 400 BAD REQUEST when filtering tasks by a field that is not allowed.")
+    public void test18() {
+
+        var filterDto = new FilterDto(List.of(new FilterCriteriaDto<>("description", "x", Operation.REGEX)));
+
+        Mockito.when(taskService.findAllTasks(0, 10, CountMode.EXACT, filterDto))
+                .thenReturn(Mono.error(new IllegalArgumentException("Filtering by 'description' is not supported.")));
+
+        webClient
+                .post()
+                .uri("/tasks/all")
+                .bodyValue(filterDto)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Filtering by 'description' is not supported.")
+                .jsonPath("$.data").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should return 200 OK and the outcome of every task when creating tasks from a JSON array.")
+    public void test19() {
+
+        var tasks = List.of(new CreateTaskDto("Title1", "Description1"), new CreateTaskDto("", "Description2"));
+
+        Mockito.when(taskService.createTasks(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<Flux<CreateTaskDto>>getArgument(0)
+                        .collectList()
+                        .map(r -> {
+                            assertEquals(tasks, r);
+                            return BatchResponseDto.of(List.of(
+                                    BatchItemResponseDto.created(0, "taskID1"),
+                                    BatchItemResponseDto.failed(1, "Fill the title. Wrong format of title.")));
+                        }));
+
+        webClient
+                .post()
+                .uri("/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(tasks)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.created").isEqualTo(1)
+                .jsonPath("$.failed").isEqualTo(1)
+                .jsonPath("$.items[0].id").isEqualTo("taskID1")
+                .jsonPath("$.items[1].index").isEqualTo(1)
+                .jsonPath("$.items[1].error").isEqualTo("Fill the title. Wrong format of title.");
+
+        Mockito.verify(taskService, Mockito.times(1))
+                .createTasks(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Should return 200 OK when creating tasks from an NDJSON stream.")
+    public void test20() {
+
+        var body = """
+                {"title": "Title1", "description": "Description1"}
+                {"title": "Title2", "description": "Description2"}
+                """;
+
+        Mockito.when(taskService.createTasks(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<Flux<CreateTaskDto>>getArgument(0)
+                        .map(CreateTaskDto::title)
+                        .collectList()
+                        .map(r -> {
+                            assertEquals(List.of("Title1", "Title2"), r);
+                            return BatchResponseDto.of(List.of(
+                                    BatchItemResponseDto.created(0, "taskID1"),
+                                    BatchItemResponseDto.created(1, "taskID2")));
+                        }));
+
+        webClient
+                .post()
+                .uri("/tasks/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.created").isEqualTo(2)
+                .jsonPath("$.failed").isEqualTo(0)
+                .jsonPath("$.items[1].id").isEqualTo("taskID2");
+
+        Mockito.verify(taskService, Mockito.times(1))
+                .createTasks(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Should stream the progress as NDJSON when importing tasks from an NDJSON stream.")
+    public void test21() {
+
+        var body = """
+                {"title": "Title1", "description": "Description1"}
+                {"title": "", "description": "Description2"}
+                """;
+
+        Mockito.when(taskService.importTasks(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<Flux<CreateTaskDto>>getArgument(0)
+                        .collectList()
+                        .flatMapMany(r -> {
+                            assertEquals(2, r.size());
+                            var first = ImportProgressDto.START.next(List.of(BatchItemResponseDto.created(0, "taskID1")));
+                            var second = first.next(List.of(BatchItemResponseDto.failed(1, "Fill the title.")));
+                            return Flux.just(first, second);
+                        }));
+
+        webClient
+                .post()
+                .uri("/tasks/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(ImportProgressDto.class)
+                .value(r -> {
+                    assertEquals(2, r.size());
+                    assertEquals(1, r.get(0).totalCreated());
+                    assertEquals("taskID1", r.get(0).successes().get(0).id());
+                    assertEquals(1, r.get(1).totalCreated());
+                    assertEquals(1, r.get(1).totalFailed());
+                    assertEquals(List.of(), r.get(1).successes());
+                    assertEquals("Fill the title.", r.get(1).failures().get(0).error());
+                });
+
+        Mockito.verify(taskService, Mockito.times(1))
+                .importTasks(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Should return 200 OK and the statistics when requesting task statistics.")
+    public void test22() {
+
+        var stats = new TaskStatsResponseDto(
+                Map.of(Status.TO_DO, 2L, Status.IN_PROGRESS, 1L, Status.DONE, 4L), 7,
+                Map.of("2025-10-24", 3L),
+                List.of(new TaskStatsResponseDto.UserCount("userID", 5)));
+
+        Mockito.when(taskStatsService.findStats(7, 1))
+                .thenReturn(Mono.just(stats));
+
+        webClient
+                .get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/tasks/stats")
+                        .queryParam("days", "7")
+                        .queryParam("users", "1")
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.byStatus.DONE").isEqualTo(4)
+                .jsonPath("$.total").isEqualTo(7)
+                .jsonPath("$.byDay['2025-10-24']").isEqualTo(3)
+                .jsonPath("$.topUsers[0].userId").isEqualTo("userID");
+
+        Mockito.verify(taskStatsService, Mockito.times(1))
+                .findStats(7, 1);
+    }
+
+    @Test
+    @DisplayName("Should push the changes as server-sent events identified by their resume tokens.")
+    public void test23() {
+
+        var task = new TaskResponseDto("taskID", "Title", "Description", LocalDateTime.now(),
+                Status.IN_PROGRESS, "userID", 2L);
+        var changes = Flux.just(
+                new TaskChangeDto("0A01", TaskChange.Operation.UPDATE, "taskID", task),
+                new TaskChangeDto("0A02", TaskChange.Operation.DELETE, "taskID2", null));
+
+        Mockito.when(taskService.streamTaskChanges("0A00", "userID", Status.IN_PROGRESS))
+                .thenReturn(changes);
+
+        var events = webClient
+                .get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/tasks/changes")
+                        .queryParam("userId", "userID")
+                        .queryParam("status", "IN_PROGRESS")
+                        .build())
+                .header("Last-Event-ID", "0A00")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<TaskChangeDto>>() {})
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertNotNull(events);
+        assertEquals(2, events.size());
+        assertEquals("0A01", events.get(0).id());
+        assertEquals("UPDATE", events.get(0).event());
+        assertEquals(Status.IN_PROGRESS, events.get(0).data().task().status());
+        assertEquals("0A02", events.get(1).id());
+        assertEquals("taskID2", events.get(1).data().id());
+
+        Mockito.verify(taskService, Mockito.times(1))
+                .streamTaskChanges("0A00", "userID", Status.IN_PROGRESS);
+    }
+
+    @Test
+    @DisplayName("Should return 400 Bad Request when subscribing to the changes with a malformed Last-Event-ID.")
+    public void test24() {
+
+        Mockito.when(taskService.streamTaskChanges("not-a-token", null, null))
+                .thenReturn(Flux.error(new IllegalArgumentException("Invalid resume token.")));
+
+        webClient
+                .get()
+                .uri("/tasks/changes")
+                .header("Last-Event-ID", "not-a-token")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid resume token.");
+    }
+
+    @Test
+    @DisplayName("Should return 200 OK and only the requested fields when requesting tasks with a projection.")
+    public void test25() {
+
+        var task = new TaskResponseDto("testID1", "Title1", null, null, Status.TO_DO, null);
+
+        var filterDto = new FilterDto(List.of(), Set.of("title", "status"));
+
+        var pageTaskResponse = new PageResponseDto<>(List.of(task), 1, 0, 10);
+
+        Mockito.when(taskService.findAllTasks(0, 10, CountMode.EXACT, filterDto))
+                .thenReturn(Mono.just(pageTaskResponse));
+
+        webClient
+                .post()
+                .uri("/tasks/all")
+                .bodyValue(filterDto)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.list[0].id").isEqualTo("testID1")
+                .jsonPath("$.list[0].title").isEqualTo("Title1")
+                .jsonPath("$.list[0].status").isEqualTo("TO_DO")
+                .jsonPath("$.list[0].description").doesNotExist()
+                .jsonPath("$.list[0].userID").doesNotExist();
+
+        Mockito.verify(taskService, Mockito.times(1))
+                .findAllTasks(0, 10, CountMode.EXACT, filterDto);
+    }
+
+    @Test
+    @DisplayName("Should return 200 OK and the matching tasks when searching task text.")
+    public void test26() {
+
+        var task = new TaskResponseDto("testID1", "Swagger documentation", "Write Swagger examples",
+                LocalDateTime.now(), Status.TO_DO, null);
+
+        var filterDto = new FilterDto(List.of(new FilterCriteriaDto<>("text", "swagger", Operation.TEXT)));
+
+        Mockito.when(taskService.findAllTasks(0, 10, CountMode.EXACT, filterDto))
+                .thenReturn(Mono.just(new PageResponseDto<>(List.of(task), 1, 0, 10)));
+
+        webClient
+                .post()
+                .uri("/tasks/all")
+                .bodyValue("""
+                        {"filterCriteria": [{"key": "text", "value": "swagger", "operation": "TEXT"}]}
+                        """)
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.list[0].title").isEqualTo("Swagger documentation");
+
+        Mockito.verify(taskService, Mockito.times(1))
+                .findAllTasks(0, 10, CountMode.EXACT, filterDto);
+    }
+
+    @Test
+    @DisplayName("Should return 200 OK and the matching tasks when searching tasks by words.")
+    public void test27() {
+
+        var task = new TaskResponseDto("testID1", "Swagger documentation", "Write Swagger examples",
+                LocalDateTime.now(), Status.TO_DO, null);
+
+        Mockito.when(taskSearchService.search("swagger doc", 20)).thenReturn(Mono.just(List.of(task)));
+
+        webClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/tasks/search").queryParam("q", "swagger doc").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo("testID1")
+                .jsonPath("$[0].title").isEqualTo("Swagger documentation");
+
+        Mockito.verify(taskSearchService, Mockito.times(1)).search("swagger doc", 20);
+    }
+
+    @Test
+    @DisplayName("Should return 200 OK and pass the sort keys to the service when listing sorted tasks.")
+    public void test28() {
+
+        var task = new TaskResponseDto("testID1", "Title", "Description", LocalDateTime.now(), Status.TO_DO, null);
+
+        var filterDto = new FilterDto(List.of(new FilterCriteriaDto<>("status", "TO_DO", Operation.IS)), null,
+                List.of(new SortCriteriaDto("creationDate", Sort.Direction.DESC)));
+
+        Mockito.when(taskService.findAllTasks(0, 10, CountMode.EXACT, filterDto))
+                .thenReturn(Mono.just(new PageResponseDto<>(List.of(task), 1, 0, 10)));
+
+        webClient
+                .post()
+                .uri("/tasks/all")
+                .bodyValue("""
+                        {
+                          "filterCriteria": [{"key": "status", "value": "TO_DO", "operation": "IS"}],
+                          "sort": [{"key": "creationDate", "direction": "DESC"}]
+                        }
+                        """)
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.list[0].id").isEqualTo("testID1");
+
+        Mockito.verify(taskService, Mockito.times(1))
+                .findAllTasks(0, 10, CountMode.EXACT, filterDto);
+    }
 }
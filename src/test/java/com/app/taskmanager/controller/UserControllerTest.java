@@ -3,10 +3,12 @@ package com.app.taskmanager.controller;
 import com.app.taskmanager.EntityNotFoundException;
 import com.app.taskmanager.dto.create.AddTaskDto;
 import com.app.taskmanager.dto.create.CreateUserDto;
+import com.app.taskmanager.dto.filters.CountMode;
 import com.app.taskmanager.dto.filters.FilterCriteriaDto;
 import com.app.taskmanager.dto.filters.FilterDto;
 import com.app.taskmanager.dto.response.*;
 import com.app.taskmanager.repository.model.Operation;
+import com.app.taskmanager.repository.model.Status;
 import com.app.taskmanager.service.UserService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,10 +18,14 @@ import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -153,7 +159,7 @@ public class UserControllerTest {
 
         var pageResponse = new PageResponseDto<>(list, 5, 1, 1);
 
-        Mockito.when(userService.findAllUsers(1, 1, filterDto))
+        Mockito.when(userService.findAllUsers(1, 1, CountMode.EXACT, filterDto))
                 .thenReturn(Mono.just(pageResponse));
 
         webClient
@@ -176,7 +182,7 @@ public class UserControllerTest {
                 });
 
         Mockito.verify(userService, Mockito.times(1))
-                .findAllUsers(1, 1, filterDto);
+                .findAllUsers(1, 1, CountMode.EXACT, filterDto);
     }
 
     @Test
@@ -191,7 +197,7 @@ public class UserControllerTest {
 
         var pageResponse = new PageResponseDto<>(list, 5, 0, 1);
 
-        Mockito.when(userService.findAllUsers(0, 20, filterDto))
+        Mockito.when(userService.findAllUsers(0, 20, CountMode.EXACT, filterDto))
                 .thenReturn(Mono.just(pageResponse));
 
         webClient
@@ -212,7 +218,7 @@ public class UserControllerTest {
                 });
 
         Mockito.verify(userService, Mockito.times(1))
-                .findAllUsers(0, 20, filterDto);
+                .findAllUsers(0, 20, CountMode.EXACT, filterDto);
     }
 
     @Test
@@ -465,4 +471,176 @@ public class UserControllerTest {
                 .jsonPath("$.data").doesNotExist()
                 .jsonPath("$.timestamp").exists();
     }
+
+    @Test
+    @DisplayName("Should return 200 OK and the next cursor when requesting users with cursor pagination.")
+    public void test20() {
+
+        var list = List.of(new UserResponseDto("1ABB22", "firstName", "lastName", "username"));
+
+        var filterDto = new FilterDto(List.of());
+
+        var pageResponse = new PageResponseDto<>(list, 5, 0, 1, "nextCursor");
+
+        Mockito.when(userService.findAllUsersByCursor("cursor", 1, CountMode.EXACT, filterDto))
+                .thenReturn(Mono.just(pageResponse));
+
+        webClient
+                .post()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/users/all")
+                        .queryParam("size", "1")
+                        .queryParam("cursor", "cursor")
+                        .build())
+                .bodyValue(filterDto)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<PageResponseDto<UserResponseDto>>() {
+                })
+                .value(r -> {
+                    assertEquals(pageResponse.list().get(0), r.list().get(0));
+                    assertEquals("nextCursor", r.nextCursor());
+                });
+
+        Mockito.verify(userService, Mockito.times(1))
+                .findAllUsersByCursor("cursor", 1, CountMode.EXACT, filterDto);
+    }
+
+    @Test
+    @DisplayName("Should return 200 OK and the outcome of every user when creating users from a JSON array.")
+    public void test21() {
+
+        var users = List.of(new CreateUserDto("Jony", "Deep", "SkyForest"),
+                new CreateUserDto("Anna", "Smith", "SkyForest"));
+
+        Mockito.when(userService.createUsers(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<Flux<CreateUserDto>>getArgument(0)
+                        .collectList()
+                        .map(r -> {
+                            assertEquals(users, r);
+                            return BatchResponseDto.of(List.of(
+                                    BatchItemResponseDto.created(0, "userID1"),
+                                    BatchItemResponseDto.failed(1, "Already exists.")));
+                        }));
+
+        webClient
+                .post()
+                .uri("/users/batch")
+                .bodyValue(users)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.created").isEqualTo(1)
+                .jsonPath("$.failed").isEqualTo(1)
+                .jsonPath("$.items[0].id").isEqualTo("userID1")
+                .jsonPath("$.items[1].error").isEqualTo("Already exists.");
+
+        Mockito.verify(userService, Mockito.times(1))
+                .createUsers(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Should return 200 OK and the task counts by status when requesting the statistics of a user.")
+    public void test22() {
+
+        var stats = new UserStatsResponseDto("userID",
+                Map.of(Status.TO_DO, 0L, Status.IN_PROGRESS, 3L, Status.DONE, 12L), 15);
+
+        Mockito.when(userService.findUserStats("userID"))
+                .thenReturn(Mono.just(stats));
+
+        webClient
+                .get()
+                .uri("/users/userID/stats")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo("userID")
+                .jsonPath("$.taskCounts.IN_PROGRESS").isEqualTo(3)
+                .jsonPath("$.taskCounts.DONE").isEqualTo(12)
+                .jsonPath("$.total").isEqualTo(15);
+
+        Mockito.verify(userService, Mockito.times(1))
+                .findUserStats("userID");
+    }
+
+    @Test
+    @DisplayName("Should return 404 NOT FOUND when requesting the statistics of a non-existing user.")
+    public void test23() {
+
+        Mockito.when(userService.findUserStats("userID"))
+                .thenReturn(Mono.error(new EntityNotFoundException("User not found.")));
+
+        webClient
+                .get()
+                .uri("/users/userID/stats")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("User not found.");
+    }
+
+    @Test
+    @DisplayName("Should return 200 OK and the claimed tasks when claiming tasks for a user.")
+    public void test24() {
+
+        var task = new TaskResponseDto("taskID", "Title", "Description", LocalDateTime.now(),
+                Status.IN_PROGRESS, "userID", 1L);
+
+        Mockito.when(userService.claimTasks("userID", 2))
+                .thenReturn(Mono.just(List.of(task)));
+
+        webClient
+                .post()
+                .uri("/users/userID/claim?count=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo("taskID")
+                .jsonPath("$[0].status").isEqualTo("IN_PROGRESS")
+                .jsonPath("$[0].userID").isEqualTo("userID");
+
+        Mockito.verify(userService, Mockito.times(1))
+                .claimTasks("userID", 2);
+    }
+
+    @Test
+    @DisplayName("Should return 400 Bad Request when claiming more tasks than allowed.")
+    public void test25() {
+
+        Mockito.when(userService.claimTasks("userID", 1000))
+                .thenReturn(Mono.error(new IllegalArgumentException("Count must be between 1 and 100.")));
+
+        webClient
+                .post()
+                .uri("/users/userID/claim?count=1000")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Count must be between 1 and 100.");
+    }
+
+    @Test
+    @DisplayName("Should return 200 OK and the new lease expiry when sending a heartbeat for a task.")
+    public void test26() {
+
+        var expiry = Instant.parse("2025-10-24T12:05:00Z");
+
+        Mockito.when(userService.heartbeat("userID", "taskID"))
+                .thenReturn(Mono.just(new LeaseResponseDto("taskID", expiry)));
+
+        webClient
+                .patch()
+                .uri("/users/heartbeat/userID/taskID")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(LeaseResponseDto.class)
+                .value(r -> {
+                    assertEquals("taskID", r.id());
+                    assertEquals(expiry, r.leaseExpiresAt());
+                });
+
+        Mockito.verify(userService, Mockito.times(1))
+                .heartbeat("userID", "taskID");
+    }
 }
@@ -0,0 +1,93 @@
+package com.app.taskmanager.metrics;
+
+import com.app.taskmanager.EntityNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ServiceMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final ServiceMetrics serviceMetrics = new ServiceMetrics(registry);
+
+    private long count(String method, String outcome) {
+        var timer = registry.find(ServiceMetrics.METRIC_NAME)
+                .tags("service", "tasks", "method", method, "outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    @Test
+    @DisplayName("Should record a successful Mono, also when it completes empty.")
+    public void test1() {
+
+        StepVerifier.create(Mono.just(1).transform(serviceMetrics.timed("tasks", "find")))
+                .expectNext(1)
+                .verifyComplete();
+        StepVerifier.create(Mono.empty().transform(serviceMetrics.timed("tasks", "find")))
+                .verifyComplete();
+
+        assertEquals(2, count("find", ServiceMetrics.SUCCESS));
+    }
+
+    @Test
+    @DisplayName("Should tag a failed Mono with the simple name of the exception.")
+    public void test2() {
+
+        StepVerifier.create(Mono.error(new EntityNotFoundException("Task not found."))
+                        .transform(serviceMetrics.timed("tasks", "find")))
+                .verifyError(EntityNotFoundException.class);
+
+        assertEquals(1, count("find", "EntityNotFoundException"));
+        assertEquals(0, count("find", ServiceMetrics.SUCCESS));
+    }
+
+    @Test
+    @DisplayName("Should record a cancelled Mono as cancelled.")
+    public void test3() {
+
+        StepVerifier.create(Mono.never().transform(serviceMetrics.timed("tasks", "find")))
+                .thenCancel()
+                .verify();
+
+        assertEquals(1, count("find", ServiceMetrics.CANCELLED));
+    }
+
+    @Test
+    @DisplayName("Should record a Flux once when it completes, fails or is cancelled.")
+    public void test4() {
+
+        StepVerifier.create(Flux.just(1, 2, 3).transform(serviceMetrics.timedFlux("tasks", "stream")))
+                .expectNextCount(3)
+                .verifyComplete();
+        StepVerifier.create(Flux.concat(Flux.just(1), Flux.error(new IllegalArgumentException("Invalid filter.")))
+                        .transform(serviceMetrics.timedFlux("tasks", "stream")))
+                .expectNext(1)
+                .verifyError(IllegalArgumentException.class);
+        StepVerifier.create(Sinks.many().unicast().onBackpressureBuffer().asFlux()
+                        .transform(serviceMetrics.timedFlux("tasks", "stream")))
+                .thenCancel()
+                .verify();
+
+        assertEquals(1, count("stream", ServiceMetrics.SUCCESS));
+        assertEquals(1, count("stream", "IllegalArgumentException"));
+        assertEquals(1, count("stream", ServiceMetrics.CANCELLED));
+    }
+
+    @Test
+    @DisplayName("Should not record anything until the publisher is subscribed.")
+    public void test5() {
+
+        Mono.just(1).transform(serviceMetrics.timed("tasks", "find"));
+
+        assertNull(registry.find(ServiceMetrics.METRIC_NAME).timer());
+    }
+}
@@ -0,0 +1,271 @@
+package com.app.taskmanager.repository.filter;
+
+import com.app.taskmanager.dto.filters.FilterCriteriaDto;
+import com.app.taskmanager.dto.filters.SortCriteriaDto;
+import com.app.taskmanager.repository.impl.TaskRepositoryImpl;
+import com.app.taskmanager.repository.impl.UserRepositoryImpl;
+import com.app.taskmanager.repository.index.DeclaredIndex;
+import com.app.taskmanager.repository.model.Operation;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FilterSchemaTest {
+
+    private static final FilterSchema TASKS = TaskRepositoryImpl.FILTER_SCHEMA;
+
+    private static final FilterSchema USERS = UserRepositoryImpl.FILTER_SCHEMA;
+
+    private static FilterCriteriaDto<?> filter(String key, Operation operation, Object value) {
+        return new FilterCriteriaDto<>(key, value, operation);
+    }
+
+    private static Document criteria(FilterSchema schema, FilterCriteriaDto<?>... filters) {
+        return schema.toCriteria(List.of(filters)).getCriteriaObject();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Document single(FilterSchema schema, FilterCriteriaDto<?> filter) {
+        var and = (List<Document>) criteria(schema, filter).get("$and");
+        assertEquals(1, and.size());
+        return and.get(0);
+    }
+
+    private static String rejected(FilterSchema schema, FilterCriteriaDto<?>... filters) {
+        return assertThrows(IllegalArgumentException.class, () -> schema.toCriteria(List.of(filters))).getMessage();
+    }
+
+    private static String rejectedSort(FilterSchema schema, List<SortCriteriaDto> sort,
+                                       List<FilterCriteriaDto<?>> filters) {
+        return assertThrows(IllegalArgumentException.class, () -> schema.toSort(sort, filters)).getMessage();
+    }
+
+    @Test
+    @DisplayName("Should accept filters on whitelisted keys and reject unknown keys.")
+    public void test1() {
+
+        assertEquals(new Document("status", "TO_DO"), single(TASKS, filter("status", Operation.IS, "TO_DO")));
+        assertEquals(new Document("description", "Docs"), single(TASKS, filter("description", Operation.IS, "Docs")));
+
+        assertEquals("Filtering by 'leaseExpiresAt' is not supported.",
+                rejected(TASKS, filter("leaseExpiresAt", Operation.LT, "2024-05-01")));
+        assertEquals("Filtering by 'null' is not supported.", rejected(TASKS, filter(null, Operation.IS, "x")));
+        assertEquals("Filtering by 'status' is not supported.", rejected(USERS, filter("status", Operation.IS, "DONE")));
+    }
+
+    @Test
+    @DisplayName("Should reject operations the type of the field does not support.")
+    public void test2() {
+
+        assertEquals("Operation REGEX is not supported for 'status'.",
+                rejected(TASKS, filter("status", Operation.REGEX, "^TO")));
+        assertEquals("Operation GT is not supported for 'status'.",
+                rejected(TASKS, filter("status", Operation.GT, "TO_DO")));
+        assertEquals("Operation TEXT is not supported for 'title'.",
+                rejected(TASKS, filter("title", Operation.TEXT, "docs")));
+        assertEquals("Operation IS is not supported for 'text'.",
+                rejected(TASKS, filter("text", Operation.IS, "docs")));
+        assertEquals("Operation null is not supported for 'title'.",
+                rejected(TASKS, filter("title", null, "docs")));
+    }
+
+    @Test
+    @DisplayName("Should match missing or null values with an IS filter without a value and reject other null filters.")
+    public void test3() {
+
+        var unassigned = new Document();
+        unassigned.put("userId", null);
+        assertEquals(unassigned, single(TASKS, filter("userId", Operation.IS, null)));
+
+        assertEquals("Provide a value for 'creationDate'.", rejected(TASKS, filter("creationDate", Operation.GT, null)));
+        assertEquals("Provide a value for 'title'.", rejected(TASKS, filter("title", Operation.REGEX, null)));
+        assertEquals("Provide a value for 'text'.", rejected(TASKS, filter("text", Operation.TEXT, null)));
+    }
+
+    @Test
+    @DisplayName("Should rewrite a literal prefix regex to a range with tight index bounds.")
+    public void test4() {
+
+        var range = new Document("$gte", "Sky").append("$lt", "Skz");
+
+        assertEquals(new Document("username", range), single(USERS, filter("username", Operation.REGEX, "^Sky")));
+        assertEquals(new Document("username", range), single(USERS, filter("username", Operation.REGEX, "^Sky.*")));
+    }
+
+    @Test
+    @DisplayName("Should keep a prefix regex whose last character cannot be incremented as a regex.")
+    public void test5() {
+
+        var maxChar = single(USERS, filter("username", Operation.REGEX, "^Sky\uffff"));
+        assertInstanceOf(Pattern.class, maxChar.get("username"));
+        assertEquals("^Sky\uffff", ((Pattern) maxChar.get("username")).pattern());
+
+        var surrogate = single(USERS, filter("username", Operation.REGEX, "^Sky\uD83D\uDE00"));
+        assertInstanceOf(Pattern.class, surrogate.get("username"));
+        assertEquals("^Sky\uD83D\uDE00", ((Pattern) surrogate.get("username")).pattern());
+    }
+
+    @Test
+    @DisplayName("Should reject other regexes, pointing at the text search where there is one, and limit their length.")
+    public void test6() {
+
+        assertEquals("Regex for 'username' must be a prefix match such as ^abc.",
+                rejected(USERS, filter("username", Operation.REGEX, ".*Sky")));
+        assertEquals("Regex for 'userId' must be a prefix match such as ^abc. Search for words with the 'text' filter.",
+                rejected(TASKS, filter("userId", Operation.REGEX, "^66.+0$")));
+
+        assertEquals("Regex for 'name' must be a prefix match such as ^abc.",
+                rejected(USERS, filter("name", Operation.REGEX, ".*ony")));
+        assertEquals("Regex for 'surname' must be a prefix match such as ^abc.",
+                rejected(USERS, filter("surname", Operation.REGEX, "ee")));
+
+        assertEquals("Regex for 'title' must be a prefix match such as ^abc. Search for words with the 'text' filter.",
+                rejected(TASKS, filter("title", Operation.REGEX, ".*docs")));
+        assertEquals("Regex for 'description' must be a prefix match such as ^abc. "
+                        + "Search for words with the 'text' filter.",
+                rejected(TASKS, filter("description", Operation.REGEX, "[docs")));
+        assertEquals("Regex for 'title' must have between 1 and 100 characters.",
+                rejected(TASKS, filter("title", Operation.REGEX, "")));
+        assertEquals("Regex for 'title' must have between 1 and 100 characters.",
+                rejected(TASKS, filter("title", Operation.REGEX, "a".repeat(FilterSchema.MAX_REGEX_LENGTH + 1))));
+    }
+
+    @Test
+    @DisplayName("Should search the text index with limited terms, once per query.")
+    public void test7() {
+
+        assertEquals(new Document("$text", new Document("$search", "write docs")),
+                single(TASKS, filter("text", Operation.TEXT, "  write docs ")));
+
+        assertEquals("Invalid value for 'text'.", rejected(TASKS, filter("text", Operation.TEXT, "   ")));
+        assertEquals("Invalid value for 'text'.",
+                rejected(TASKS, filter("text", Operation.TEXT, "a".repeat(FieldType.MAX_TEXT_LENGTH + 1))));
+        assertEquals("Only one text search is allowed per query.",
+                rejected(TASKS, filter("text", Operation.TEXT, "write"), filter("text", Operation.TEXT, "docs")));
+        assertTrue(TASKS.isTextSearch(List.of(filter("text", Operation.TEXT, "docs"))));
+        assertFalse(TASKS.isTextSearch(List.of(filter("title", Operation.IS, "docs"))));
+    }
+
+    @Test
+    @DisplayName("Should coerce dates, IDs and statuses to their stored types.")
+    public void test8() {
+
+        var day = Date.from(LocalDate.parse("2024-05-01").atStartOfDay(ZoneId.systemDefault()).toInstant());
+        assertEquals(new Document("creationDate", new Document("$gte", day)),
+                single(TASKS, filter("creationDate", Operation.GTE, "2024-05-01")));
+        assertEquals(new Document("creationDate", new Document("$lt", new Date(1714521600000L))),
+                single(TASKS, filter("creationDate", Operation.LT, 1714521600000L)));
+        assertEquals(new Document("creationDate", new Document("$gt", new Date(1714521600000L))),
+                single(TASKS, filter("creationDate", Operation.GT, "2024-05-01T00:00:00Z")));
+
+        var id = new ObjectId();
+        assertEquals(new Document("_id", id), single(TASKS, filter("id", Operation.IS, id.toHexString())));
+
+        assertEquals("Invalid value for 'creationDate'.",
+                rejected(TASKS, filter("creationDate", Operation.GT, "yesterday")));
+        assertEquals("Invalid value for 'status'.", rejected(TASKS, filter("status", Operation.IS, "WAITING")));
+    }
+
+    @Test
+    @DisplayName("Should place predicates on the most selective indexed fields first.")
+    @SuppressWarnings("unchecked")
+    public void test9() {
+
+        var id = new ObjectId();
+        var and = (List<Document>) criteria(TASKS,
+                filter("title", Operation.IS, "Docs"),
+                filter("status", Operation.IS, "DONE"),
+                filter("id", Operation.IS, id.toHexString())).get("$and");
+
+        assertEquals(List.of(new Document("_id", id), new Document("status", "DONE"), new Document("title", "Docs")), and);
+    }
+
+    @Test
+    @DisplayName("Should order by ID without sort keys and append the ID to keys backed by an index.")
+    public void test10() {
+
+        assertEquals(Sort.by(Sort.Direction.ASC, "_id"), TASKS.toSort(null, null));
+        assertEquals(Sort.by(Sort.Direction.ASC, "_id"), TASKS.toSort(List.of(), List.of()));
+        assertEquals(Sort.by(Sort.Direction.DESC, "_id"),
+                TASKS.toSort(List.of(new SortCriteriaDto("id", Sort.Direction.DESC)), null));
+        assertEquals(Sort.by(Sort.Direction.DESC, "creationDate", "_id"),
+                TASKS.toSort(List.of(new SortCriteriaDto("creationDate", Sort.Direction.DESC)), null));
+        assertEquals(Sort.by(Sort.Direction.ASC, "status", "creationDate", "_id"),
+                TASKS.toSort(List.of(new SortCriteriaDto("status", null), new SortCriteriaDto("creationDate", null)),
+                        null));
+    }
+
+    @Test
+    @DisplayName("Should not append the ID to the keys of a unique index.")
+    public void test11() {
+
+        assertEquals(Sort.by(Sort.Direction.ASC, "username"),
+                USERS.toSort(List.of(new SortCriteriaDto("username", Sort.Direction.ASC)), null));
+    }
+
+    @Test
+    @DisplayName("Should reject sorts that no index backs.")
+    public void test12() {
+
+        assertEquals("Sorting by [title] is not backed by an index.",
+                rejectedSort(TASKS, List.of(new SortCriteriaDto("title", null)), null));
+        assertEquals("Sorting by [userId, status] is not backed by an index.",
+                rejectedSort(TASKS, List.of(new SortCriteriaDto("userId", null), new SortCriteriaDto("status", null)),
+                        null));
+        assertEquals("Sorting by [name] is not backed by an index.",
+                rejectedSort(USERS, List.of(new SortCriteriaDto("name", null)), null));
+    }
+
+    @Test
+    @DisplayName("Should accept a sort on index keys that follow fields the filters match by equality.")
+    public void test13() {
+
+        var schema = new FilterSchema(
+                List.of(new FilterField("a", "a", FieldType.STRING, 1), new FilterField("b", "b", FieldType.STRING, 2)),
+                List.of(new DeclaredIndex("items", "a_b_id", List.of("a", "b", "_id"),
+                        new Index().on("a", Sort.Direction.ASC).on("b", Sort.Direction.ASC).on("_id", Sort.Direction.ASC))));
+        var sort = List.of(new SortCriteriaDto("b", Sort.Direction.DESC));
+
+        assertEquals(Sort.by(Sort.Direction.DESC, "b", "_id"),
+                schema.toSort(sort, List.of(filter("a", Operation.IS, "x"))));
+        assertEquals("Sorting by [b] is not backed by an index.", rejectedSort(schema, sort, null));
+        assertEquals("Sorting by [b] is not backed by an index.",
+                rejectedSort(schema, sort, List.of(filter("a", Operation.GT, "x"))));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid sort keys.")
+    public void test14() {
+
+        assertEquals("Sorting by 'text' is not supported.",
+                rejectedSort(TASKS, List.of(new SortCriteriaDto("text", null)), null));
+        assertEquals("Sorting by 'leaseExpiresAt' is not supported.",
+                rejectedSort(TASKS, List.of(new SortCriteriaDto("leaseExpiresAt", null)), null));
+        assertEquals("All sort keys must have the same direction.",
+                rejectedSort(TASKS, List.of(new SortCriteriaDto("status", Sort.Direction.ASC),
+                        new SortCriteriaDto("creationDate", Sort.Direction.DESC)), null));
+        assertEquals("Duplicate sort key 'status'.",
+                rejectedSort(TASKS, List.of(new SortCriteriaDto("status", null), new SortCriteriaDto("status", null)),
+                        null));
+        assertEquals("Sort key 'status' cannot follow the ID.",
+                rejectedSort(TASKS, List.of(new SortCriteriaDto("id", null), new SortCriteriaDto("status", null)), null));
+        assertEquals("Sorting cannot be combined with a text search.",
+                rejectedSort(TASKS, List.of(new SortCriteriaDto("creationDate", null)),
+                        List.of(filter("text", Operation.TEXT, "docs"))));
+    }
+}
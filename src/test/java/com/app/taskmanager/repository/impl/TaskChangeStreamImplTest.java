@@ -0,0 +1,90 @@
+package com.app.taskmanager.repository.impl;
+
+import com.app.taskmanager.repository.model.TaskChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hands a subscriber over from the replay of its missed changes to the shared change stream
+ * with the {@link TaskChangeStreamImpl.Handoff} of {@link TaskChangeStreamImpl#changesAfter(String)}.
+ */
+public class TaskChangeStreamImplTest {
+
+    private final TaskChangeStreamImpl.Handoff handoff = new TaskChangeStreamImpl.Handoff();
+
+    private final AtomicBoolean caughtUp = new AtomicBoolean();
+
+    @BeforeEach
+    public void setUp() {
+        handoff.caughtUp.asMono().subscribe(null, null, () -> caughtUp.set(true));
+    }
+
+    private static TaskChange change(String resumeToken) {
+        return new TaskChange(resumeToken, TaskChange.Operation.UPDATE, "taskID", null, null);
+    }
+
+    private List<String> live(String resumeToken) {
+        return tokens(handoff.deliver(new TaskChangeStreamImpl.Delivery(change(resumeToken), true)));
+    }
+
+    private List<String> replayed(String resumeToken) {
+        return tokens(handoff.deliver(new TaskChangeStreamImpl.Delivery(change(resumeToken), false)));
+    }
+
+    private static List<String> tokens(List<TaskChange> changes) {
+        return changes.stream().map(TaskChange::resumeToken).toList();
+    }
+
+    @Test
+    @DisplayName("Should pass on the replayed changes and then the buffered live changes from the first common one.")
+    public void test1() {
+
+        assertEquals(List.of(), live("c"));
+        assertEquals(List.of(), live("d"));
+        assertEquals(List.of("a"), replayed("a"));
+        assertEquals(List.of("b"), replayed("b"));
+        assertFalse(caughtUp.get());
+
+        assertEquals(List.of("c", "d"), replayed("c"));
+        assertTrue(caughtUp.get());
+
+        assertEquals(List.of(), replayed("d"));
+        assertEquals(List.of("e"), live("e"));
+    }
+
+    @Test
+    @DisplayName("Should switch to the live changes when the shared stream delivers a change already replayed.")
+    public void test2() {
+
+        assertEquals(List.of("a"), replayed("a"));
+        assertEquals(List.of("b"), replayed("b"));
+        assertFalse(caughtUp.get());
+
+        assertEquals(List.of(), live("b"));
+        assertTrue(caughtUp.get());
+
+        assertEquals(List.of("c"), live("c"));
+        assertEquals(List.of(), replayed("c"));
+    }
+
+    @Test
+    @DisplayName("Should keep buffering live changes until the replay reaches them.")
+    public void test3() {
+
+        assertEquals(List.of(), live("b"));
+        assertEquals(List.of("a"), replayed("a"));
+        assertEquals(List.of(), live("c"));
+        assertFalse(caughtUp.get());
+
+        assertEquals(List.of("b", "c"), replayed("b"));
+        assertTrue(caughtUp.get());
+    }
+}
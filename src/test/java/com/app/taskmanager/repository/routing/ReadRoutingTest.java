@@ -0,0 +1,59 @@
+package com.app.taskmanager.repository.routing;
+
+import com.mongodb.ReadPreference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReadRoutingTest {
+
+    @Test
+    @DisplayName("Should route the listed methods to the secondary read preference.")
+    public void test1() {
+
+        var routing = new ReadRouting(ReadPreference.secondaryPreferred(),
+                Set.of("tasks.findWithPaginationAndFilter", "users.streamWithFilter"));
+
+        assertEquals(ReadPreference.secondaryPreferred(), routing.readPreference("tasks", "findWithPaginationAndFilter"));
+        assertEquals(ReadPreference.secondaryPreferred(), routing.readPreference("users", "streamWithFilter"));
+    }
+
+    @Test
+    @DisplayName("Should keep the default read preference for methods that are not listed.")
+    public void test2() {
+
+        var routing = new ReadRouting(ReadPreference.secondaryPreferred(), Set.of("tasks.findWithPaginationAndFilter"));
+
+        assertNull(routing.readPreference("users", "findWithPaginationAndFilter"));
+        assertNull(routing.readPreference("tasks", "findWithCursorAndFilter"));
+        assertNull(ReadRouting.primaryOnly().readPreference("tasks", "findWithPaginationAndFilter"));
+    }
+
+    @Test
+    @DisplayName("Should reject methods whose reads cannot be routed.")
+    public void test3() {
+
+        var e = assertThrows(IllegalArgumentException.class,
+                () -> new ReadRouting(ReadPreference.secondary(), Set.of("tasks.findById")));
+
+        assertTrue(e.getMessage().startsWith("Cannot route reads of 'tasks.findById'"));
+    }
+
+    @Test
+    @DisplayName("Should reject methods that are not qualified by a collection.")
+    public void test4() {
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReadRouting(ReadPreference.secondary(), Set.of("streamWithFilter")));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReadRouting(ReadPreference.secondary(), Set.of(".streamWithFilter")));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReadRouting(ReadPreference.secondary(), Set.of("tasks.")));
+    }
+}
@@ -0,0 +1,90 @@
+package com.app.taskmanager.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PostingListTest {
+
+    @Test
+    @DisplayName("Should decode the numbers it was built from, including differences spanning several bytes.")
+    public void test1() {
+
+        var docs = new int[]{0, 1, 127, 128, 300, 16_384, 70_000, 2_000_000, Integer.MAX_VALUE};
+
+        var list = PostingList.of(docs, docs.length);
+
+        assertEquals(docs.length, list.size());
+        assertArrayEquals(docs, list.toArray());
+    }
+
+    @Test
+    @DisplayName("Should iterate the numbers from the largest down across block boundaries.")
+    public void test2() {
+
+        var docs = IntStream.range(0, PostingList.BLOCK_SIZE * 3 + 5).map(i -> i * 3).toArray();
+        var reader = PostingList.of(docs, docs.length).reader();
+
+        for (var i = docs.length - 1; i >= 0; i--) {
+            assertEquals(docs[i], reader.next());
+        }
+        assertEquals(-1, reader.next());
+    }
+
+    @Test
+    @DisplayName("Should find every number and reject the gaps when looked up from the largest down across blocks.")
+    public void test3() {
+
+        var docs = IntStream.range(0, PostingList.BLOCK_SIZE * 3 + 5).map(i -> i * 2).toArray();
+        var reader = PostingList.of(docs, docs.length).reader();
+
+        for (var doc = docs[docs.length - 1] + 1; doc >= 0; doc--) {
+            assertEquals(doc % 2 == 0, reader.contains(doc), "doc " + doc);
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip whole blocks when the looked up numbers are far apart.")
+    public void test4() {
+
+        var docs = IntStream.range(0, PostingList.BLOCK_SIZE * 4).toArray();
+        var reader = PostingList.of(docs, docs.length).reader();
+
+        assertTrue(reader.contains(PostingList.BLOCK_SIZE * 4 - 1));
+        assertTrue(reader.contains(PostingList.BLOCK_SIZE * 2));
+        assertTrue(reader.contains(PostingList.BLOCK_SIZE * 2 - 1));
+        assertTrue(reader.contains(PostingList.BLOCK_SIZE));
+        assertTrue(reader.contains(0));
+        assertFalse(reader.contains(-1));
+    }
+
+    @Test
+    @DisplayName("Should not find numbers below the first or above the last one.")
+    public void test5() {
+
+        var list = PostingList.of(new int[]{10, 20, 30}, 3);
+
+        assertFalse(list.reader().contains(31));
+        var reader = list.reader();
+        assertTrue(reader.contains(10));
+        assertFalse(reader.contains(9));
+        assertFalse(new PostingList().reader().contains(0));
+    }
+
+    @Test
+    @DisplayName("Should reject numbers that are not strictly increasing.")
+    public void test6() {
+
+        var list = PostingList.of(new int[]{5}, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> list.add(5));
+        assertThrows(IllegalArgumentException.class, () -> list.add(4));
+    }
+}
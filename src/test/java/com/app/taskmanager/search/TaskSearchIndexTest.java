@@ -0,0 +1,125 @@
+package com.app.taskmanager.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskSearchIndexTest {
+
+    @Test
+    @DisplayName("Should match tasks containing all query words, most recently indexed first.")
+    public void test1() {
+
+        var index = new TaskSearchIndex();
+        index.put("t1", 1, "Fix login page", "Broken on Safari");
+        index.put("t2", 1, "Fix signup page", null);
+        index.put("t3", 1, "Write docs", "Login flow");
+
+        assertEquals(List.of("t2", "t1"), index.search("fix page", 10));
+        assertEquals(List.of("t3", "t1"), index.search("LOGIN", 10));
+        assertEquals(List.of("t2"), index.search("fix page", 1));
+        assertEquals(List.of(), index.search("fix docs", 10));
+    }
+
+    @Test
+    @DisplayName("Should match the last query word as the beginning of a longer word.")
+    public void test2() {
+
+        var index = new TaskSearchIndex();
+        index.put("t1", 1, "Deploy service");
+        index.put("t2", 1, "Debug service");
+        index.put("t3", 1, "Design review");
+        index.put("t4", 1, "Dé");
+
+        assertEquals(List.of("t4", "t3", "t2", "t1"), index.search("de", 10));
+        assertEquals(List.of("t1"), index.search("dep", 10));
+        assertEquals(List.of("t2", "t1"), index.search("service de", 10));
+        assertEquals(List.of(), index.search("de service", 10));
+    }
+
+    @Test
+    @DisplayName("Should expand a prefix to its most frequent words and always to the prefix itself.")
+    public void test3() {
+
+        var index = new TaskSearchIndex();
+        index.put("rare", 1, "w");
+        for (var i = 0; i < TaskSearchIndex.MAX_PREFIX_EXPANSIONS + 10; i++) {
+            index.put("single" + i, 1, "wa%03d".formatted(i));
+        }
+        index.put("frequent1", 1, "wzz");
+        index.put("frequent2", 1, "wzz");
+
+        var found = Set.copyOf(index.search("w", 1000));
+
+        assertTrue(found.contains("rare"));
+        assertTrue(found.containsAll(Set.of("frequent1", "frequent2")));
+        assertEquals(TaskSearchIndex.MAX_PREFIX_EXPANSIONS + 1, found.size());
+        assertEquals(List.of("single70"), index.search("wa070", 10));
+    }
+
+    @Test
+    @DisplayName("Should replace an older revision of a task and ignore an older one written later.")
+    public void test4() {
+
+        var index = new TaskSearchIndex();
+        index.put("t1", 2, "New title");
+        index.put("t1", 1, "Old title");
+
+        assertEquals(List.of("t1"), index.search("new", 10));
+        assertEquals(List.of(), index.search("old", 10));
+        assertEquals(1, index.size());
+
+        index.put("t1", 3, "Final title");
+
+        assertEquals(List.of(), index.search("new", 10));
+        assertEquals(List.of("t1"), index.search("final", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Should not bring back a task removed during a build when a stale row of the build is indexed.")
+    public void test5() {
+
+        var index = new TaskSearchIndex();
+        index.put("t1", 1, "Release notes");
+
+        index.beginBuild();
+        index.remove("t1");
+        index.put("t1", 1, "Release notes");
+        index.put("t2", 1, "Release plan");
+        index.endBuild();
+
+        assertEquals(List.of("t2"), index.search("release", 10));
+        assertEquals(1, index.size());
+
+        index.put("t1", 1, "Release notes");
+
+        assertEquals(List.of("t1", "t2"), index.search("release", 10));
+    }
+
+    @Test
+    @DisplayName("Should keep matching the same tasks in the same order after dead documents are compacted.")
+    public void test6() {
+
+        var index = new TaskSearchIndex();
+        index.put("first", 1, "Alpha shared");
+        for (var version = 1; version <= 10_010; version++) {
+            index.put("churn", version, version % 2 == 0 ? "Beta shared" : "Gamma shared");
+        }
+        index.put("last", 1, "Alpha shared");
+        index.put("churn", 10_011, "Beta shared");
+        index.put("later", 1, "Alpha beta");
+
+        assertEquals(4, index.size());
+        assertEquals(List.of("churn", "last", "first"), index.search("shared", 10));
+        assertEquals(List.of("later", "last", "first"), index.search("alpha", 10));
+        assertEquals(List.of("later", "churn"), index.search("beta", 10));
+        assertEquals(List.of(), index.search("gamma", 10));
+        assertEquals(List.of("later", "last", "first"), index.search("al", 10));
+    }
+}
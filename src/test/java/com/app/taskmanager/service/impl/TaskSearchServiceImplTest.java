@@ -0,0 +1,94 @@
+package com.app.taskmanager.service.impl;
+
+import com.app.taskmanager.dto.response.TaskResponseDto;
+import com.app.taskmanager.metrics.ServiceMetrics;
+import com.app.taskmanager.repository.TaskChangeStream;
+import com.app.taskmanager.repository.TaskRepository;
+import com.app.taskmanager.repository.model.Status;
+import com.app.taskmanager.repository.model.Task;
+import com.app.taskmanager.repository.model.TaskChange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+
+/**
+ * Keeps the search index of the {@link TaskSearchServiceImpl} current from task changes made by other nodes,
+ * with mocked repositories holding the stored tasks in a map.
+ */
+public class TaskSearchServiceImplTest {
+
+    private final Sinks.Many<TaskChange> changes = Sinks.many().multicast().directBestEffort();
+
+    private final Map<String, Task> stored = new ConcurrentHashMap<>();
+
+    private TaskSearchServiceImpl searchService;
+
+    @BeforeEach
+    public void setUp() {
+        var taskRepository = Mockito.mock(TaskRepository.class);
+        Mockito.when(taskRepository.streamWithFilter(any(), any())).thenReturn(Flux.empty());
+        Mockito.when(taskRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<String> ids = invocation.getArgument(0);
+            return Flux.fromIterable(ids).filter(stored::containsKey).map(stored::get);
+        });
+
+        var changeStream = Mockito.mock(TaskChangeStream.class);
+        Mockito.when(changeStream.changes()).thenReturn(changes.asFlux());
+
+        searchService = new TaskSearchServiceImpl(taskRepository, changeStream,
+                new ServiceMetrics(new SimpleMeterRegistry()));
+        searchService.rebuildOnStartup();
+    }
+
+    private void write(TaskChange.Operation operation, String id, long version, String title) {
+        var task = Task.builder().id(id).title(title).description("Written elsewhere").status(Status.TO_DO)
+                .version(version).build();
+        stored.put(id, task);
+        changes.tryEmitNext(new TaskChange("token-" + id + "-" + version, operation, id, task, null));
+    }
+
+    private List<String> search(String query) {
+        return searchService.search(query, 10).block().stream().map(TaskResponseDto::id).toList();
+    }
+
+    @Test
+    @DisplayName("Should find tasks created and retitled by other nodes.")
+    public void test1() {
+
+        write(TaskChange.Operation.INSERT, "t1", 0, "Deploy gateway");
+        assertEquals(List.of("t1"), search("gateway"));
+
+        write(TaskChange.Operation.UPDATE, "t1", 1, "Deploy proxy");
+        assertEquals(List.of(), search("gateway"));
+        assertEquals(List.of("t1"), search("proxy"));
+    }
+
+    @Test
+    @DisplayName("Should drop tasks deleted by other nodes and ignore a change delivered twice.")
+    public void test2() {
+
+        write(TaskChange.Operation.INSERT, "t1", 0, "Deploy gateway");
+        write(TaskChange.Operation.UPDATE, "t1", 1, "Deploy proxy");
+        changes.tryEmitNext(new TaskChange("token-t1-0", TaskChange.Operation.INSERT, "t1",
+                Task.builder().id("t1").title("Deploy gateway").version(0L).build(), null));
+
+        assertEquals(List.of(), search("gateway"));
+
+        changes.tryEmitNext(new TaskChange("token-t1-del", TaskChange.Operation.DELETE, "t1", null, null));
+
+        // the task is still stored, so only the index can hide it
+        assertEquals(List.of(), search("proxy"));
+    }
+}
@@ -0,0 +1,515 @@
+package com.app.taskmanager.service.impl;
+
+import com.app.taskmanager.cache.ReactiveEntityCache;
+import com.app.taskmanager.configuration.TaskLeaseProperties;
+import com.app.taskmanager.VersionConflictException;
+import com.app.taskmanager.dto.create.UpdateTaskDto;
+import com.app.taskmanager.dto.filters.CountMode;
+import com.app.taskmanager.dto.filters.FilterDto;
+import com.app.taskmanager.dto.response.IdResponseDto;
+import com.app.taskmanager.dto.response.TaskChangeDto;
+import com.app.taskmanager.dto.response.UpdateResponseDto;
+import com.app.taskmanager.metrics.ServiceMetrics;
+import com.app.taskmanager.repository.JobLockRepository;
+import com.app.taskmanager.repository.TaskChangeStream;
+import com.app.taskmanager.repository.TaskRepository;
+import com.app.taskmanager.repository.UserRepository;
+import com.app.taskmanager.repository.model.Status;
+import com.app.taskmanager.repository.model.Task;
+import com.app.taskmanager.repository.model.TaskChange;
+import com.app.taskmanager.repository.model.TaskStatDeltas;
+import com.app.taskmanager.service.TaskSearchService;
+import com.app.taskmanager.service.TaskStatsService;
+import com.mongodb.MongoException;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+
+/**
+ * Runs the transactional writes of the {@link TaskServiceImpl} against mocked repositories, with a
+ * {@link TransactionalOperator} that runs the writes as they are, and checks the counter and statistics deltas.
+ */
+public class TaskServiceImplTest {
+
+    private static final String USER_ID = "6650f1a2b3c4d5e6f7a8b9c0";
+
+    private static final String TASK_ID = "6650f1a2b3c4d5e6f7a8b9c1";
+
+    private final TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+
+    private final UserRepository userRepository = Mockito.mock(UserRepository.class);
+
+    private final JobLockRepository jobLockRepository = Mockito.mock(JobLockRepository.class);
+
+    private final TaskStatsService taskStatsService = Mockito.mock(TaskStatsService.class);
+
+    private final TaskChangeStream taskChangeStream = Mockito.mock(TaskChangeStream.class);
+
+    private final TransactionalOperator transactionalOperator = Mockito.mock(TransactionalOperator.class);
+
+    private TaskServiceImpl taskService;
+
+    @BeforeEach
+    public void setUp() {
+        Mockito.when(transactionalOperator.transactional(ArgumentMatchers.<Mono<Object>>any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        Mockito.when(taskStatsService.record(any())).thenReturn(Mono.empty());
+        Mockito.when(userRepository.incrementTaskCounts(anyString(), anyMap())).thenReturn(Mono.empty());
+        Mockito.when(userRepository.clearTaskCounts(anyString())).thenReturn(Mono.empty());
+
+        taskService = new TaskServiceImpl(
+                taskRepository,
+                userRepository,
+                jobLockRepository,
+                taskStatsService,
+                taskChangeStream,
+                Mockito.mock(TaskSearchService.class),
+                new ReactiveEntityCache<>("tasks", Duration.ofMinutes(5), 100),
+                new ServiceMetrics(new SimpleMeterRegistry()),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TaskLeaseProperties(Duration.ofMinutes(5), Duration.ofSeconds(30), 2),
+                transactionalOperator);
+    }
+
+    private static Task task(Status status, String userId) {
+        return Task.builder()
+                .id(TASK_ID)
+                .title("Write documentation")
+                .description("Document every endpoint")
+                .status(status)
+                .userId(userId)
+                .version(3L)
+                .build();
+    }
+
+    private static Task expired(String taskId, String userId) {
+        return Task.builder().id(taskId).userId(userId).build();
+    }
+
+    private static Mono<UpdateResult> released(long count) {
+        return Mono.just(UpdateResult.acknowledged(count, count, null));
+    }
+
+    private static MongoException writeConflict() {
+        var e = new MongoException(112, "WriteConflict");
+        e.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+        return e;
+    }
+
+    private Map<String, Long> recordedDeltas() {
+        var deltas = ArgumentCaptor.forClass(TaskStatDeltas.class);
+        Mockito.verify(taskStatsService).record(deltas.capture());
+        return deltas.getValue().nonZero().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().count()));
+    }
+
+    @Test
+    @DisplayName("Should return a task in progress to TO_DO when it is unassigned and count it as moved.")
+    public void test1() {
+
+        Mockito.when(taskRepository.unassignUserTask(USER_ID, TASK_ID))
+                .thenReturn(Mono.just(task(Status.IN_PROGRESS, USER_ID)));
+
+        StepVerifier.create(taskService.unassignUserTask(USER_ID, TASK_ID))
+                .expectNext(new UpdateResponseDto(1, 1))
+                .verifyComplete();
+
+        Mockito.verify(userRepository).incrementTaskCounts(USER_ID, Map.of(Status.IN_PROGRESS, -1L));
+        assertEquals(Map.of(
+                "STATUS:IN_PROGRESS", -1L,
+                "STATUS:TO_DO", 1L,
+                "USER:" + USER_ID, -1L), recordedDeltas());
+    }
+
+    @Test
+    @DisplayName("Should keep a completed task DONE when it is unassigned.")
+    public void test2() {
+
+        Mockito.when(taskRepository.unassignUserTask(USER_ID, TASK_ID))
+                .thenReturn(Mono.just(task(Status.DONE, USER_ID)));
+
+        StepVerifier.create(taskService.unassignUserTask(USER_ID, TASK_ID))
+                .expectNext(new UpdateResponseDto(1, 1))
+                .verifyComplete();
+
+        Mockito.verify(userRepository).incrementTaskCounts(USER_ID, Map.of(Status.DONE, -1L));
+        assertEquals(Map.of("USER:" + USER_ID, -1L), recordedDeltas());
+    }
+
+    @Test
+    @DisplayName("Should return the tasks a user has in progress to TO_DO when all of their tasks are unassigned.")
+    public void test3() {
+
+        Mockito.when(taskRepository.reopenUserTasks(USER_ID))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(2, 2L, null)));
+        Mockito.when(taskRepository.unassignUserTasks(USER_ID))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(3, 3L, null)));
+
+        StepVerifier.create(taskService.unassignUserTasks(USER_ID))
+                .expectNext(new UpdateResponseDto(5, 5))
+                .verifyComplete();
+
+        Mockito.verify(userRepository).clearTaskCounts(USER_ID);
+        assertEquals(Map.of(
+                "STATUS:IN_PROGRESS", -2L,
+                "STATUS:TO_DO", 2L,
+                "USER:" + USER_ID, -5L), recordedDeltas());
+    }
+
+    @Test
+    @DisplayName("Should reject putting an unassigned task in progress.")
+    public void test4() {
+
+        Mockito.when(taskRepository.updateTask(eq(TASK_ID), isNull(), anyString(), anyString(),
+                        eq(Status.IN_PROGRESS), any()))
+                .thenReturn(Mono.empty());
+        Mockito.when(taskRepository.findById(TASK_ID)).thenReturn(Mono.just(task(Status.TO_DO, null)));
+
+        StepVerifier.create(taskService.updateTask(TASK_ID,
+                        new UpdateTaskDto("Write documentation", "Document every endpoint", Status.IN_PROGRESS)))
+                .verifyError(IllegalArgumentException.class);
+
+        Mockito.verify(taskStatsService, Mockito.never()).record(any());
+    }
+
+    @Test
+    @DisplayName("Should reject cursor pages with a size out of range without querying.")
+    public void test5() {
+
+        StepVerifier.create(taskService.findAllTasksByCursor(null, 0, CountMode.NONE, new FilterDto(List.of())))
+                .verifyErrorMessage("Size must be between 1 and 1000.");
+        StepVerifier.create(taskService.findAllTasksByCursor(null, -5, CountMode.NONE, new FilterDto(List.of())))
+                .verifyError(IllegalArgumentException.class);
+        StepVerifier.create(taskService.findAllTasksByCursor(null, TaskServiceImpl.MAX_PAGE_SIZE + 1, CountMode.NONE,
+                        new FilterDto(List.of())))
+                .verifyError(IllegalArgumentException.class);
+
+        Mockito.verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("Should retry a transaction aborted by a write conflict.")
+    public void test6() {
+
+        var attempts = new AtomicInteger();
+        Mockito.when(taskRepository.completeTask(USER_ID, TASK_ID))
+                .thenReturn(Mono.defer(() -> attempts.incrementAndGet() < 3
+                        ? Mono.error(writeConflict())
+                        : Mono.just(task(Status.IN_PROGRESS, USER_ID))));
+
+        StepVerifier.create(taskService.completeTask(USER_ID, TASK_ID))
+                .expectNext(new IdResponseDto(TASK_ID))
+                .verifyComplete();
+
+        assertEquals(3, attempts.get());
+        Mockito.verify(taskStatsService, Mockito.times(1)).record(any());
+    }
+
+    @Test
+    @DisplayName("Should report a conflict once the retries of a conflicting transaction are exhausted.")
+    public void test7() {
+
+        var attempts = new AtomicInteger();
+        Mockito.when(taskRepository.completeTask(USER_ID, TASK_ID))
+                .thenReturn(Mono.defer(() -> {
+                    attempts.incrementAndGet();
+                    return Mono.error(writeConflict());
+                }));
+
+        StepVerifier.create(taskService.completeTask(USER_ID, TASK_ID))
+                .verifyErrorSatisfies(e -> {
+                    assertEquals(VersionConflictException.class, e.getClass());
+                    assertEquals("Task was modified by another request.", e.getMessage());
+                });
+
+        assertEquals(TaskServiceImpl.MAX_TRANSACTION_RETRIES + 1, attempts.get());
+        Mockito.verify(taskStatsService, Mockito.never()).record(any());
+    }
+
+    @Test
+    @DisplayName("Should not retry a transaction that failed with an error that is not transient.")
+    public void test8() {
+
+        var attempts = new AtomicInteger();
+        Mockito.when(taskRepository.completeTask(USER_ID, TASK_ID))
+                .thenReturn(Mono.defer(() -> {
+                    attempts.incrementAndGet();
+                    return Mono.error(new MongoException(8000, "AtlasError"));
+                }));
+
+        StepVerifier.create(taskService.completeTask(USER_ID, TASK_ID))
+                .verifyError(MongoException.class);
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Should move a completed task from its previous status in the counters and statistics.")
+    public void test9() {
+
+        Mockito.when(taskRepository.completeTask(USER_ID, TASK_ID))
+                .thenReturn(Mono.just(task(Status.IN_PROGRESS, USER_ID)));
+
+        StepVerifier.create(taskService.completeTask(USER_ID, TASK_ID))
+                .expectNext(new IdResponseDto(TASK_ID))
+                .verifyComplete();
+
+        Mockito.verify(userRepository).incrementTaskCounts(USER_ID, Map.of(Status.IN_PROGRESS, -1L, Status.DONE, 1L));
+        assertEquals(Map.of("STATUS:IN_PROGRESS", -1L, "STATUS:DONE", 1L), recordedDeltas());
+    }
+
+    @Test
+    @DisplayName("Should move an updated task between statuses in the counters of its user and the statistics.")
+    public void test10() {
+
+        Mockito.when(taskRepository.updateTask(eq(TASK_ID), eq(3L), anyString(), anyString(), eq(Status.DONE), any()))
+                .thenReturn(Mono.just(task(Status.IN_PROGRESS, USER_ID)));
+
+        StepVerifier.create(taskService.updateTask(TASK_ID,
+                        new UpdateTaskDto("Write documentation", "Document every endpoint", Status.DONE, 3L)))
+                .expectNext(new IdResponseDto(TASK_ID))
+                .verifyComplete();
+
+        Mockito.verify(userRepository).incrementTaskCounts(USER_ID, Map.of(Status.IN_PROGRESS, -1L, Status.DONE, 1L));
+        assertEquals(Map.of("STATUS:IN_PROGRESS", -1L, "STATUS:DONE", 1L), recordedDeltas());
+    }
+
+    @Test
+    @DisplayName("Should stop counting a task moved back to TO_DO for its previous user.")
+    public void test11() {
+
+        Mockito.when(taskRepository.updateTask(eq(TASK_ID), isNull(), anyString(), anyString(), eq(Status.TO_DO), any()))
+                .thenReturn(Mono.just(task(Status.IN_PROGRESS, USER_ID)));
+
+        StepVerifier.create(taskService.updateTask(TASK_ID,
+                        new UpdateTaskDto("Write documentation", "Document every endpoint", Status.TO_DO)))
+                .expectNext(new IdResponseDto(TASK_ID))
+                .verifyComplete();
+
+        Mockito.verify(userRepository).incrementTaskCounts(USER_ID, Map.of(Status.IN_PROGRESS, -1L));
+        assertEquals(Map.of(
+                "STATUS:IN_PROGRESS", -1L,
+                "STATUS:TO_DO", 1L,
+                "USER:" + USER_ID, -1L), recordedDeltas());
+    }
+
+    @Test
+    @DisplayName("Should not touch any user counters when an unassigned task is updated.")
+    public void test12() {
+
+        Mockito.when(taskRepository.updateTask(eq(TASK_ID), isNull(), anyString(), anyString(), eq(Status.DONE), any()))
+                .thenReturn(Mono.just(task(Status.TO_DO, null)));
+
+        StepVerifier.create(taskService.updateTask(TASK_ID,
+                        new UpdateTaskDto("Write documentation", "Document every endpoint", Status.DONE)))
+                .expectNext(new IdResponseDto(TASK_ID))
+                .verifyComplete();
+
+        Mockito.verify(userRepository, Mockito.never()).incrementTaskCounts(anyString(), anyMap());
+        assertEquals(Map.of("STATUS:TO_DO", -1L, "STATUS:DONE", 1L), recordedDeltas());
+    }
+
+    @Test
+    @DisplayName("Should stop counting a deleted task for its user and in the statistics.")
+    public void test13() {
+
+        Mockito.when(taskRepository.removeTask(TASK_ID)).thenReturn(Mono.just(task(Status.IN_PROGRESS, USER_ID)));
+
+        StepVerifier.create(taskService.deleteTask(TASK_ID))
+                .expectNext(new IdResponseDto(TASK_ID))
+                .verifyComplete();
+
+        Mockito.verify(userRepository).incrementTaskCounts(USER_ID, Map.of(Status.IN_PROGRESS, -1L));
+        assertEquals(Map.of("STATUS:IN_PROGRESS", -1L, "USER:" + USER_ID, -1L), recordedDeltas());
+    }
+
+    @Test
+    @DisplayName("Should stop claiming at the first attempt that finds no waiting task.")
+    public void test14() {
+
+        Mockito.when(taskRepository.claimTask(eq(USER_ID), any()))
+                .thenReturn(Mono.just(task(Status.IN_PROGRESS, USER_ID)))
+                .thenReturn(Mono.just(task(Status.IN_PROGRESS, USER_ID)))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(taskService.claimTasks(USER_ID, 5))
+                .assertNext(claimed -> assertEquals(2, claimed.size()))
+                .verifyComplete();
+
+        Mockito.verify(taskRepository, Mockito.times(3)).claimTask(eq(USER_ID), any());
+        Mockito.verify(userRepository, Mockito.times(2)).incrementTaskCounts(USER_ID, Map.of(Status.IN_PROGRESS, 1L));
+        assertEquals(Map.of(
+                "STATUS:TO_DO", -2L,
+                "STATUS:IN_PROGRESS", 2L,
+                "USER:" + USER_ID, 2L), recordedDeltas());
+    }
+
+    @Test
+    @DisplayName("Should reject claiming a number of tasks out of range.")
+    public void test15() {
+
+        StepVerifier.create(taskService.claimTasks(USER_ID, 0))
+                .verifyError(IllegalArgumentException.class);
+        StepVerifier.create(taskService.claimTasks(USER_ID, TaskServiceImpl.MAX_CLAIM + 1))
+                .verifyError(IllegalArgumentException.class);
+
+        Mockito.verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("Should release expired leases in batches, one update per user, while the sweeper lock is held.")
+    public void test16() {
+
+        Mockito.when(jobLockRepository.tryLock(anyString(), anyString(), any())).thenReturn(Mono.just(true));
+        Mockito.when(taskRepository.findExpiredLeases(any(), eq(2)))
+                .thenReturn(Flux.just(expired("t1", "u1"), expired("t2", "u2")))
+                .thenReturn(Flux.just(expired("t3", "u1")));
+        Mockito.when(taskRepository.releaseExpiredLeases(anyString(), any(), any())).thenReturn(released(1));
+
+        StepVerifier.create(taskService.releaseExpiredLeases())
+                .verifyComplete();
+
+        Mockito.verify(jobLockRepository, Mockito.times(2)).tryLock(anyString(), anyString(), any());
+        Mockito.verify(taskRepository, Mockito.times(2)).findExpiredLeases(any(), anyInt());
+        Mockito.verify(taskRepository, Mockito.times(2)).releaseExpiredLeases(eq("u1"), any(), any());
+        Mockito.verify(taskRepository).releaseExpiredLeases(eq("u2"), any(), any());
+        Mockito.verify(userRepository, Mockito.times(2)).incrementTaskCounts("u1", Map.of(Status.IN_PROGRESS, -1L));
+        Mockito.verify(taskStatsService, Mockito.times(3)).record(any());
+    }
+
+    @Test
+    @DisplayName("Should stop releasing expired leases when the sweeper lock was lost between batches.")
+    public void test17() {
+
+        Mockito.when(jobLockRepository.tryLock(anyString(), anyString(), any()))
+                .thenReturn(Mono.just(true))
+                .thenReturn(Mono.just(false));
+        Mockito.when(taskRepository.findExpiredLeases(any(), eq(2)))
+                .thenReturn(Flux.just(expired("t1", "u1"), expired("t2", "u1")));
+        Mockito.when(taskRepository.releaseExpiredLeases(anyString(), any(), any())).thenReturn(released(2));
+
+        StepVerifier.create(taskService.releaseExpiredLeases())
+                .verifyComplete();
+
+        Mockito.verify(jobLockRepository, Mockito.times(2)).tryLock(anyString(), anyString(), any());
+        Mockito.verify(taskRepository, Mockito.times(1)).findExpiredLeases(any(), anyInt());
+        Mockito.verify(userRepository).incrementTaskCounts("u1", Map.of(Status.IN_PROGRESS, -2L));
+    }
+
+    @Test
+    @DisplayName("Should not look for expired leases on a node that does not hold the sweeper lock.")
+    public void test18() {
+
+        Mockito.when(jobLockRepository.tryLock(anyString(), anyString(), any())).thenReturn(Mono.just(false));
+
+        StepVerifier.create(taskService.releaseExpiredLeases())
+                .verifyComplete();
+
+        Mockito.verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("Should count only the tasks whose lease was still expired when they were released.")
+    public void test19() {
+
+        Mockito.when(jobLockRepository.tryLock(anyString(), anyString(), any())).thenReturn(Mono.just(true));
+        Mockito.when(taskRepository.findExpiredLeases(any(), eq(2)))
+                .thenReturn(Flux.just(expired("t1", "u1")));
+        Mockito.when(taskRepository.releaseExpiredLeases(anyString(), any(), any())).thenReturn(released(0));
+
+        StepVerifier.create(taskService.releaseExpiredLeases())
+                .verifyComplete();
+
+        assertEquals(Map.of(), recordedDeltas());
+    }
+
+    @Test
+    @DisplayName("Should stream the changes of tasks matching the filter before or after the change.")
+    public void test20() {
+
+        var otherTask = task(Status.TO_DO, "u2");
+        Mockito.when(taskChangeStream.changes()).thenReturn(Flux.just(
+                new TaskChange("t1", TaskChange.Operation.UPDATE, TASK_ID,
+                        task(Status.TO_DO, null), task(Status.IN_PROGRESS, USER_ID)),
+                new TaskChange("t2", TaskChange.Operation.UPDATE, TASK_ID, otherTask, otherTask),
+                new TaskChange("t3", TaskChange.Operation.DELETE, TASK_ID, null, otherTask),
+                new TaskChange("t4", TaskChange.Operation.DELETE, TASK_ID, null, null)));
+
+        StepVerifier.create(taskService.streamTaskChanges(null, USER_ID, null).map(TaskChangeDto::resumeToken))
+                .expectNext("t1", "t4")
+                .verifyComplete();
+
+        StepVerifier.create(taskService.streamTaskChanges(null, null, Status.IN_PROGRESS).map(TaskChangeDto::resumeToken))
+                .expectNext("t1", "t4")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should claim outside a transaction and keep a claimed task when counting it fails.")
+    public void test21() {
+
+        Mockito.when(taskRepository.claimTask(eq(USER_ID), any()))
+                .thenReturn(Mono.just(task(Status.IN_PROGRESS, USER_ID)))
+                .thenReturn(Mono.empty());
+        Mockito.when(userRepository.incrementTaskCounts(USER_ID, Map.of(Status.IN_PROGRESS, 1L)))
+                .thenReturn(Mono.error(new MongoException("Connection reset")));
+
+        StepVerifier.create(taskService.claimTasks(USER_ID, 2))
+                .assertNext(claimed -> assertEquals(List.of(TASK_ID), claimed.stream().map(t -> t.id()).toList()))
+                .verifyComplete();
+
+        Mockito.verifyNoInteractions(transactionalOperator);
+        assertEquals(Map.of(
+                "STATUS:TO_DO", -1L,
+                "STATUS:IN_PROGRESS", 1L,
+                "USER:" + USER_ID, 1L), recordedDeltas());
+    }
+
+    @Test
+    @DisplayName("Should return and count the tasks claimed before a claim failed, and fail only without any claim.")
+    public void test22() {
+
+        Mockito.when(taskRepository.claimTask(eq(USER_ID), any()))
+                .thenReturn(Mono.just(task(Status.IN_PROGRESS, USER_ID)))
+                .thenReturn(Mono.error(new MongoException("Timed out")));
+
+        StepVerifier.create(taskService.claimTasks(USER_ID, 3))
+                .assertNext(claimed -> assertEquals(List.of(TASK_ID), claimed.stream().map(t -> t.id()).toList()))
+                .verifyComplete();
+
+        Mockito.verify(taskRepository, Mockito.times(2)).claimTask(eq(USER_ID), any());
+        assertEquals(Map.of(
+                "STATUS:TO_DO", -1L,
+                "STATUS:IN_PROGRESS", 1L,
+                "USER:" + USER_ID, 1L), recordedDeltas());
+
+        Mockito.when(taskRepository.claimTask(eq(USER_ID), any())).thenReturn(Mono.error(new MongoException("Timed out")));
+
+        StepVerifier.create(taskService.claimTasks(USER_ID, 3))
+                .verifyError(MongoException.class);
+    }
+}
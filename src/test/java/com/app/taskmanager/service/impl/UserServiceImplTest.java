@@ -0,0 +1,190 @@
+package com.app.taskmanager.service.impl;
+
+import com.app.taskmanager.cache.ReactiveEntityCache;
+import com.app.taskmanager.dto.create.CreateUserDto;
+import com.app.taskmanager.dto.filters.CountMode;
+import com.app.taskmanager.dto.filters.FilterDto;
+import com.app.taskmanager.dto.response.BatchItemResponseDto;
+import com.app.taskmanager.metrics.ServiceMetrics;
+import com.app.taskmanager.repository.UserRepository;
+import com.app.taskmanager.repository.impl.CustomUserRepositoryImpl;
+import com.app.taskmanager.repository.impl.UserRepositoryImpl;
+import com.app.taskmanager.repository.routing.ReadRouting;
+import com.app.taskmanager.service.TaskService;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteInsert;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.WriteConcernError;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.support.ReactiveMongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+/**
+ * Creates users in batches through the real {@link ReactiveMongoTemplate} and repository, with only the
+ * driver collection replaced, so the errors of the driver go through the exception translation of the template.
+ */
+public class UserServiceImplTest {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoCollection<Document> collection = Mockito.mock();
+
+    private UserServiceImpl userService;
+
+    @BeforeEach
+    public void setUp() {
+        var database = Mockito.mock(MongoDatabase.class);
+        Mockito.when(database.getCollection(eq("users"), eq(Document.class))).thenReturn(collection);
+
+        var factory = Mockito.mock(ReactiveMongoDatabaseFactory.class);
+        Mockito.when(factory.getMongoDatabase()).thenReturn(Mono.just(database));
+        Mockito.when(factory.getMongoDatabase(anyString())).thenReturn(Mono.just(database));
+        Mockito.when(factory.getExceptionTranslator()).thenReturn(new MongoExceptionTranslator());
+        Mockito.when(factory.getCodecRegistry()).thenReturn(MongoClientSettings.getDefaultCodecRegistry());
+
+        var conversions = new MongoCustomConversions(List.of());
+        var mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        var converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        var template = new ReactiveMongoTemplate(factory, converter);
+        var userRepository = new ReactiveMongoRepositoryFactory(template).getRepository(UserRepository.class,
+                RepositoryFragments.just(
+                        new UserRepositoryImpl(template, ReadRouting.primaryOnly()),
+                        new CustomUserRepositoryImpl(template)));
+
+        userService = new UserServiceImpl(
+                userRepository,
+                Mockito.mock(TaskService.class),
+                new ReactiveEntityCache<>("users", Duration.ofMinutes(5), 100),
+                new ServiceMetrics(new SimpleMeterRegistry()),
+                Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    private static List<CreateUserDto> users() {
+        return List.of(
+                new CreateUserDto("Jony", "Deep", "SkyForest"),
+                new CreateUserDto("Anna", "Smith", "SkyForest"),
+                new CreateUserDto("Mark", "Brown", "OceanBlue"));
+    }
+
+    private void rejectSecondInsert(WriteConcernError writeConcernError) {
+        Mockito.when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenAnswer(invocation -> {
+                    List<WriteModel<Document>> models = invocation.getArgument(0);
+                    var inserts = List.of(
+                            new BulkWriteInsert(0, id(models.get(0))),
+                            new BulkWriteInsert(2, id(models.get(2))));
+                    var duplicate = new BulkWriteError(DUPLICATE_KEY,
+                            "E11000 duplicate key error collection: task_manager.users index: username_unique",
+                            new BsonDocument(), 1);
+
+                    return Mono.error(new MongoBulkWriteException(
+                            BulkWriteResult.acknowledged(2, 0, 0, 0, List.of(), inserts),
+                            List.of(duplicate), writeConcernError, new ServerAddress(), Set.of()));
+                });
+    }
+
+    private static BsonObjectId id(WriteModel<Document> model) {
+        return new BsonObjectId(((InsertOneModel<Document>) model).getDocument().getObjectId("_id"));
+    }
+
+    @Test
+    @DisplayName("Should report a duplicate username as failed and return the IDs of the users that were inserted.")
+    public void test1() {
+
+        rejectSecondInsert(null);
+
+        StepVerifier.create(userService.createUsers(Flux.fromIterable(users())))
+                .assertNext(response -> {
+                    assertEquals(2, response.created());
+                    assertEquals(1, response.failed());
+                    assertEquals(new BatchItemResponseDto(1, null, "Already exists."), response.items().get(1));
+                    assertEquals(0, response.items().get(0).index());
+                    assertEquals(2, response.items().get(2).index());
+                    assertEquals(true, ObjectId.isValid(response.items().get(0).id()));
+                    assertEquals(true, ObjectId.isValid(response.items().get(2).id()));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should insert all users in a single unordered bulk write.")
+    public void test2() {
+
+        rejectSecondInsert(null);
+
+        userService.createUsers(Flux.fromIterable(users())).block();
+
+        var options = ArgumentCaptor.forClass(BulkWriteOptions.class);
+        Mockito.verify(collection, Mockito.times(1)).bulkWrite(anyList(), options.capture());
+        assertEquals(false, options.getValue().isOrdered());
+    }
+
+    @Test
+    @DisplayName("Should fail the batch when the write concern could not be satisfied.")
+    public void test3() {
+
+        rejectSecondInsert(new WriteConcernError(64, "WriteConcernFailed", "waiting for replication timed out",
+                new BsonDocument()));
+
+        StepVerifier.create(userService.createUsers(Flux.fromIterable(users())))
+                .verifyError(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject cursor pages with a size out of range without querying.")
+    public void test4() {
+
+        StepVerifier.create(userService.findAllUsersByCursor(null, 0, CountMode.NONE, new FilterDto(List.of())))
+                .verifyErrorMessage("Size must be between 1 and 1000.");
+        StepVerifier.create(userService.findAllUsersByCursor(null, -1, CountMode.NONE, new FilterDto(List.of())))
+                .verifyError(IllegalArgumentException.class);
+        StepVerifier.create(userService.findAllUsersByCursor(null, UserServiceImpl.MAX_PAGE_SIZE + 1, CountMode.NONE,
+                        new FilterDto(List.of())))
+                .verifyError(IllegalArgumentException.class);
+
+        Mockito.verifyNoInteractions(collection);
+    }
+}